@@ -133,6 +133,11 @@ struct AnalysisConfig {
     // Timing
     int aggregationIntervalSeconds;     // How often to calculate aggregates
 
+    // Shared-memory IPC (same directory and capacity as app.ipc on the Gateway)
+    bool ipcEnabled;
+    std::string ipcDirectory;
+    long ipcCapacity;                   // Data bytes per ring, a power of two
+
     AnalysisConfig()
         : dbHost("localhost"), dbPort(5432), dbName("market_db"),
           dbUser("postgres"), dbPassword("1q2w3e"),
@@ -144,7 +149,10 @@ struct AnalysisConfig {
           smaWindowSize(5),
           emaWindowSize(15),
           volatilityThreshold(2.0),
-          aggregationIntervalSeconds(60) {}
+          aggregationIntervalSeconds(60),
+          ipcEnabled(false),
+          ipcDirectory("/dev/shm/market-data-aggregator"),
+          ipcCapacity(4 * 1024 * 1024) {}
 };
 
 } // namespace analysis
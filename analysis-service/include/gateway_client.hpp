@@ -2,30 +2,27 @@
 #define GATEWAY_CLIENT_HPP
 
 #include "data_structures.hpp"
+#include "httplib.h"
 #include <string>
+#include <chrono>
+#include <vector>
+#include <mutex>
+#include <ctime>
 #include <iostream>
 #include <sstream>
 
-#ifdef _WIN32
-    #include <winsock2.h>
-    #include <ws2tcpip.h>
-    #pragma comment(lib, "ws2_32.lib")
-#else
-    #include <sys/socket.h>
-    #include <netinet/in.h>
-    #include <arpa/inet.h>
-    #include <unistd.h>
-    #include <netdb.h>
-    #define SOCKET int
-    #define INVALID_SOCKET -1
-    #define SOCKET_ERROR -1
-    #define closesocket close
-#endif
-
 namespace analysis {
 
 /**
  * HTTP client for sending results to Gateway
+ *
+ * Keeps one persistent (keep-alive) connection to the Gateway instead of opening a
+ * new TCP connection per result. A request is retried once on a fresh connection only
+ * when it cannot have reached the Gateway: the write failed on a connection the Gateway
+ * had closed, or the connection closed before any response arrived. A read timeout is
+ * never retried, since the Gateway may already have persisted the request. Batch
+ * methods post JSON arrays to the
+ * /internal/.../batch endpoints, persisted by the Gateway in one transaction.
  */
 class GatewayClient {
 public:
@@ -33,16 +30,18 @@ public:
         : gatewayUrl_(gatewayUrl), internalSecret_(secret) {
         parseUrl(gatewayUrl);
 
-        #ifdef _WIN32
-        WSADATA wsaData;
-        WSAStartup(MAKEWORD(2, 2), &wsaData);
-        #endif
+        client_.reset(new httplib::Client(host_, port_));
+        client_->set_keep_alive(true);
+        client_->set_connection_timeout(3, 0);
+        client_->set_read_timeout(READ_TIMEOUT_SECONDS, 0);
+        client_->set_write_timeout(10, 0);
+        client_->set_default_headers({{"X-Internal-Secret", internalSecret_}});
     }
 
     ~GatewayClient() {
-        #ifdef _WIN32
-        WSACleanup();
-        #endif
+        if (client_) {
+            client_->stop();
+        }
     }
 
     /**
@@ -53,17 +52,8 @@ public:
         std::cout << "  Price: $" << data.currentPrice << ", SMA: $" << data.sma
                   << ", EMA: $" << data.ema << std::endl;
 
-        // Create JSON body
         std::ostringstream json;
-        json << "{"
-             << "\"symbolCode\":\"" << data.symbol << "\","
-             << "\"currentPrice\":" << data.currentPrice << ","
-             << "\"sma\":" << data.sma << ","
-             << "\"ema\":" << data.ema << ","
-             << "\"volume\":" << data.volume << ","
-             << "\"windowSize\":" << data.windowSize << ","
-             << "\"timestamp\":\"" << getCurrentTimestamp() << "\""
-             << "}";
+        writeAnalysisResult(json, data, getCurrentTimestamp());
 
         return sendPost("/internal/analysis-results", json.str());
     }
@@ -75,25 +65,86 @@ public:
         std::cout << "[Gateway] Sending alert for " << alert.symbol << std::endl;
         std::cout << "  Type: " << alertTypeToString(alert.alertType) << std::endl;
 
-        // Create JSON body
         std::ostringstream json;
-        json << "{"
-             << "\"symbolCode\":\"" << alert.symbol << "\","
-             << "\"alertType\":\"" << alertTypeToString(alert.alertType) << "\","
-             << "\"threshold\":" << alert.threshold << ","
-             << "\"triggeredAt\":\"" << getCurrentTimestamp() << "\","
-             << "\"details\":\"" << alert.details << "\","
-             << "\"acknowledged\":false"
-             << "}";
+        writeAlert(json, alert, getCurrentTimestamp());
 
         return sendPost("/internal/alerts", json.str());
     }
 
+    /**
+     * Send a batch of analysis results in one request
+     */
+    bool sendAnalysisResultsBatch(const std::vector<AggregatedData>& results) {
+        if (results.empty()) {
+            return true;
+        }
+        std::cout << "[Gateway] Sending " << results.size() << " analysis results" << std::endl;
+
+        std::string timestamp = getCurrentTimestamp();
+        std::ostringstream json;
+        json << "[";
+        for (size_t i = 0; i < results.size(); ++i) {
+            if (i > 0) json << ",";
+            writeAnalysisResult(json, results[i], timestamp);
+        }
+        json << "]";
+
+        return sendPost("/internal/analysis-results/batch", json.str());
+    }
+
+    /**
+     * Send a batch of alerts in one request
+     */
+    bool sendAlertsBatch(const std::vector<Alert>& alerts) {
+        if (alerts.empty()) {
+            return true;
+        }
+        std::cout << "[Gateway] Sending " << alerts.size() << " alerts" << std::endl;
+
+        std::string timestamp = getCurrentTimestamp();
+        std::ostringstream json;
+        json << "[";
+        for (size_t i = 0; i < alerts.size(); ++i) {
+            if (i > 0) json << ",";
+            writeAlert(json, alerts[i], timestamp);
+        }
+        json << "]";
+
+        return sendPost("/internal/alerts/batch", json.str());
+    }
+
 private:
+    static constexpr int READ_TIMEOUT_SECONDS = 10;
+
     std::string gatewayUrl_;
     std::string internalSecret_;
     std::string host_;
     int port_;
+    std::unique_ptr<httplib::Client> client_;
+    std::mutex mutex_;
+
+    void writeAnalysisResult(std::ostringstream& json, const AggregatedData& data, const std::string& timestamp) {
+        json << "{"
+             << "\"symbolCode\":\"" << data.symbol << "\","
+             << "\"currentPrice\":" << data.currentPrice << ","
+             << "\"sma\":" << data.sma << ","
+             << "\"ema\":" << data.ema << ","
+             << "\"volume\":" << data.volume << ","
+             << "\"windowSize\":" << data.windowSize << ","
+             << "\"timestamp\":\"" << timestamp << "\""
+             << "}";
+    }
+
+    void writeAlert(std::ostringstream& json, const Alert& alert, const std::string& timestamp) {
+        json << "{"
+             << "\"symbolCode\":\"" << alert.symbol << "\","
+             << "\"alertType\":\"" << alertTypeToString(alert.alertType) << "\","
+             << "\"threshold\":" << alert.threshold << ","
+             << "\"triggeredAt\":\"" << timestamp << "\","
+             << "\"details\":\"" << alert.details << "\","
+             << "\"acknowledged\":false"
+             << "}";
+    }
 
     void parseUrl(const std::string& url) {
         // Simple URL parsing: http://host:port
@@ -123,74 +174,44 @@ private:
     }
 
     bool sendPost(const std::string& path, const std::string& body) {
-        SOCKET sock = socket(AF_INET, SOCK_STREAM, 0);
-        if (sock == INVALID_SOCKET) {
-            std::cerr << "[Gateway] Failed to create socket" << std::endl;
-            return false;
-        }
+        std::lock_guard<std::mutex> lock(mutex_);
 
-        // Resolve hostname
-        struct hostent* he = gethostbyname(host_.c_str());
-        if (!he) {
-            std::cerr << "[Gateway] Failed to resolve host: " << host_ << std::endl;
-            closesocket(sock);
+        auto started = std::chrono::steady_clock::now();
+        httplib::Result res = client_->Post(path, body, "application/json");
+        if (!res && !reachedGateway(res.error(), std::chrono::steady_clock::now() - started)) {
+            res = client_->Post(path, body, "application/json");
+        }
+        if (!res) {
+            std::cerr << "[Gateway] Request to " << host_ << ":" << port_ << path
+                      << " failed: " << httplib::to_string(res.error()) << std::endl;
             return false;
         }
 
-        // Connect
-        sockaddr_in addr;
-        addr.sin_family = AF_INET;
-        addr.sin_port = htons(port_);
-        addr.sin_addr = *((struct in_addr*)he->h_addr);
-
-        if (connect(sock, (sockaddr*)&addr, sizeof(addr)) == SOCKET_ERROR) {
-            std::cerr << "[Gateway] Connection failed to " << host_ << ":" << port_ << std::endl;
-            closesocket(sock);
-            return false;
+        // 200 for results, 201/202 for created or coalesced alerts
+        bool success = res->status >= 200 && res->status < 300;
+        if (success) {
+            std::cout << "[Gateway] Request successful (" << res->status << ")" << std::endl;
+        } else {
+            std::cout << "[Gateway] Request failed (" << res->status << "): "
+                      << res->body.substr(0, 100) << std::endl;
         }
+        return success;
+    }
 
-        // Build HTTP request
-        std::ostringstream request;
-        request << "POST " << path << " HTTP/1.1\r\n";
-        request << "Host: " << host_ << ":" << port_ << "\r\n";
-        request << "Content-Type: application/json\r\n";
-        request << "X-Internal-Secret: " << internalSecret_ << "\r\n";
-        request << "Content-Length: " << body.length() << "\r\n";
-        request << "Connection: close\r\n";
-        request << "\r\n";
-        request << body;
-
-        std::string requestStr = request.str();
-
-        // Send request
-        int sent = send(sock, requestStr.c_str(), requestStr.length(), 0);
-        if (sent == SOCKET_ERROR) {
-            std::cerr << "[Gateway] Failed to send request" << std::endl;
-            closesocket(sock);
+    /**
+     * Whether a failed request may have been received by the Gateway. A failed write means the
+     * request was not sent in full; a read that fails before the read timeout means the
+     * connection was closed (typically an idle keep-alive connection the Gateway dropped)
+     * before any response. Anything else, a read timeout included, may have been processed.
+     */
+    static bool reachedGateway(httplib::Error error, std::chrono::steady_clock::duration elapsed) {
+        if (error == httplib::Error::Write) {
             return false;
         }
-
-        // Receive response
-        char buffer[4096];
-        int received = recv(sock, buffer, sizeof(buffer) - 1, 0);
-        if (received > 0) {
-            buffer[received] = '\0';
-            std::string response(buffer);
-
-            // Check if response contains "200 OK"
-            bool success = response.find("200 OK") != std::string::npos;
-            if (success) {
-                std::cout << "[Gateway] Request successful" << std::endl;
-            } else {
-                std::cout << "[Gateway] Request failed: " << response.substr(0, 100) << std::endl;
-            }
-
-            closesocket(sock);
-            return success;
+        if (error == httplib::Error::Read) {
+            return elapsed >= std::chrono::seconds(READ_TIMEOUT_SECONDS);
         }
-
-        closesocket(sock);
-        return false;
+        return true;
     }
 
     std::string getCurrentTimestamp() {
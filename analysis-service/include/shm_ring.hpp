@@ -0,0 +1,235 @@
+#ifndef SHM_RING_HPP
+#define SHM_RING_HPP
+
+#include "data_structures.hpp"
+#include <atomic>
+#include <cstdint>
+#include <cstring>
+#include <functional>
+#include <string>
+
+#ifndef _WIN32
+    #include <fcntl.h>
+    #include <sys/mman.h>
+    #include <sys/stat.h>
+    #include <unistd.h>
+#endif
+
+namespace analysis {
+
+/**
+ * Single-producer/single-consumer ring buffer in a memory-mapped file, shared with the Gateway
+ *
+ * Same layout as unitbv.devops.ipc.SpscRing on the Java side: a 192-byte header (magic, version,
+ * capacity; write position and read position on separate cache lines) followed by a power-of-two
+ * data region of records [int32 length][payload], padded to 8 bytes, with length -1 marking a jump
+ * back to index 0. Positions are published with release stores and read with acquire loads.
+ *
+ * The Gateway writes ticks.ring (we consume it) and reads results.ring (we produce into it).
+ * Linux only; the files live on a tmpfs directory shared by both containers.
+ */
+class ShmRing {
+public:
+    static constexpr int HEADER_SIZE = 192;
+    static constexpr int32_t MAGIC = 0x53505343; // "SPSC"
+    static constexpr int32_t VERSION = 1;
+
+    // Record types, see unitbv.devops.ipc.IpcMessages
+    static constexpr int32_t TICK = 1;
+    static constexpr int32_t ANALYSIS_RESULT = 2;
+    static constexpr int32_t ALERT = 3;
+
+    ShmRing() = default;
+    ShmRing(const ShmRing&) = delete;
+    ShmRing& operator=(const ShmRing&) = delete;
+
+    ~ShmRing() { close(); }
+
+    /**
+     * Map the ring file, creating it if missing; an existing file keeps its own capacity
+     */
+    bool open(const std::string& path, int64_t capacity) {
+#ifdef _WIN32
+        (void)path; (void)capacity;
+        return false;
+#else
+        fd_ = ::open(path.c_str(), O_RDWR | O_CREAT, 0660);
+        if (fd_ < 0) return false;
+
+        struct stat st;
+        if (fstat(fd_, &st) != 0) return false;
+        bool fresh = st.st_size == 0;
+        if (!fresh) {
+            int32_t header[4];
+            if (pread(fd_, header, sizeof(header), 0) != (ssize_t)sizeof(header)) return false;
+            if (header[0] != MAGIC || header[1] != VERSION) return false;
+            std::memcpy(&capacity, reinterpret_cast<char*>(header) + 8, sizeof(capacity));
+        } else if (ftruncate(fd_, HEADER_SIZE + capacity) != 0) {
+            return false;
+        }
+
+        size_ = HEADER_SIZE + capacity;
+        void* base = mmap(nullptr, size_, PROT_READ | PROT_WRITE, MAP_SHARED, fd_, 0);
+        if (base == MAP_FAILED) return false;
+        base_ = static_cast<char*>(base);
+        capacity_ = capacity;
+        mask_ = capacity - 1;
+
+        if (fresh) {
+            std::memcpy(base_ + 4, &VERSION, sizeof(VERSION));
+            std::memcpy(base_ + 8, &capacity, sizeof(capacity));
+            writePos()->store(0, std::memory_order_release);
+            readPos()->store(0, std::memory_order_release);
+            std::memcpy(base_, &MAGIC, sizeof(MAGIC));
+        }
+        writePosition_ = cachedWritePosition_ = writePos()->load(std::memory_order_acquire);
+        readPosition_ = cachedReadPosition_ = readPos()->load(std::memory_order_acquire);
+        return true;
+#endif
+    }
+
+    void close() {
+#ifndef _WIN32
+        if (base_) munmap(base_, size_);
+        if (fd_ >= 0) ::close(fd_);
+#endif
+        base_ = nullptr;
+        fd_ = -1;
+    }
+
+    /**
+     * Append one record; false if the ring is full
+     */
+    bool offer(const void* payload, int32_t length) {
+        int64_t recordSize = align(4 + length);
+        if (length < 0 || recordSize > capacity_) return false;
+
+        int64_t position = writePosition_;
+        int64_t index = position & mask_;
+        int64_t tail = capacity_ - index;
+        int64_t required = tail < recordSize ? tail + recordSize : recordSize;
+        if (position + required - cachedReadPosition_ > capacity_) {
+            cachedReadPosition_ = readPos()->load(std::memory_order_acquire);
+            if (position + required - cachedReadPosition_ > capacity_) return false;
+        }
+        if (tail < recordSize) {
+            int32_t padding = -1;
+            std::memcpy(data() + index, &padding, sizeof(padding));
+            position += tail;
+            index = 0;
+        }
+        std::memcpy(data() + index, &length, sizeof(length));
+        std::memcpy(data() + index + 4, payload, length);
+        position += recordSize;
+        writePosition_ = position;
+        writePos()->store(position, std::memory_order_release);
+        return true;
+    }
+
+    /**
+     * Hand up to limit records to handler (pointer valid only during the call), then release them
+     */
+    int poll(const std::function<void(const char*, int32_t)>& handler, int limit) {
+        int64_t position = readPosition_;
+        int count = 0;
+        while (count < limit) {
+            if (position == cachedWritePosition_) {
+                cachedWritePosition_ = writePos()->load(std::memory_order_acquire);
+                if (position == cachedWritePosition_) break;
+            }
+            int64_t index = position & mask_;
+            int32_t length;
+            std::memcpy(&length, data() + index, sizeof(length));
+            if (length == -1) {
+                position += capacity_ - index;
+                continue;
+            }
+            handler(data() + index + 4, length);
+            position += align(4 + length);
+            count++;
+        }
+        if (position != readPosition_) {
+            readPosition_ = position;
+            readPos()->store(position, std::memory_order_release);
+        }
+        return count;
+    }
+
+    /**
+     * Decode a TICK record (prices are fixed point, 8 implied decimals)
+     */
+    static bool readTick(const char* record, int32_t length, PriceData& tick) {
+        if (length < 32 || readInt(record) != TICK) return false;
+        int32_t symbolLength = readInt(record + 4);
+        if (32 + symbolLength > length) return false;
+        tick.symbol.assign(record + 32, symbolLength);
+        tick.timestamp = std::chrono::system_clock::time_point(std::chrono::microseconds(readLong(record + 8)));
+        tick.price = readLong(record + 16) / SCALE;
+        tick.volume = readLong(record + 24);
+        return true;
+    }
+
+    bool offerAnalysisResult(const AggregatedData& data) {
+        std::string record(56 + data.symbol.size(), '\0');
+        char* out = &record[0];
+        writeInt(out, ANALYSIS_RESULT);
+        writeInt(out + 4, (int32_t)data.symbol.size());
+        writeInt(out + 8, data.windowSize);
+        writeLong(out + 16, micros(data.timestamp));
+        writeLong(out + 24, (int64_t)(data.currentPrice * SCALE + 0.5));
+        writeLong(out + 32, (int64_t)(data.sma * SCALE + 0.5));
+        writeLong(out + 40, (int64_t)(data.ema * SCALE + 0.5));
+        writeLong(out + 48, data.volume);
+        std::memcpy(out + 56, data.symbol.data(), data.symbol.size());
+        return offer(record.data(), (int32_t)record.size());
+    }
+
+    bool offerAlert(const Alert& alert) {
+        std::string type = alertTypeToString(alert.alertType);
+        std::string record(32 + alert.symbol.size() + type.size() + alert.details.size(), '\0');
+        char* out = &record[0];
+        writeInt(out, ALERT);
+        writeInt(out + 4, (int32_t)alert.symbol.size());
+        writeInt(out + 8, (int32_t)type.size());
+        writeInt(out + 12, (int32_t)alert.details.size());
+        writeLong(out + 16, micros(alert.triggeredAt));
+        writeLong(out + 24, (int64_t)(alert.threshold * SCALE + 0.5));
+        std::memcpy(out + 32, alert.symbol.data(), alert.symbol.size());
+        std::memcpy(out + 32 + alert.symbol.size(), type.data(), type.size());
+        std::memcpy(out + 32 + alert.symbol.size() + type.size(), alert.details.data(), alert.details.size());
+        return offer(record.data(), (int32_t)record.size());
+    }
+
+private:
+    static constexpr double SCALE = 100000000.0;
+
+    int fd_ = -1;
+    char* base_ = nullptr;
+    size_t size_ = 0;
+    int64_t capacity_ = 0;
+    int64_t mask_ = 0;
+
+    int64_t writePosition_ = 0;
+    int64_t cachedReadPosition_ = 0;
+    int64_t readPosition_ = 0;
+    int64_t cachedWritePosition_ = 0;
+
+    char* data() { return base_ + HEADER_SIZE; }
+    std::atomic<int64_t>* writePos() { return reinterpret_cast<std::atomic<int64_t>*>(base_ + 64); }
+    std::atomic<int64_t>* readPos() { return reinterpret_cast<std::atomic<int64_t>*>(base_ + 128); }
+
+    static int64_t align(int64_t size) { return (size + 7) & ~int64_t(7); }
+
+    static int64_t micros(std::chrono::system_clock::time_point time) {
+        return std::chrono::duration_cast<std::chrono::microseconds>(time.time_since_epoch()).count();
+    }
+
+    static int32_t readInt(const char* p) { int32_t v; std::memcpy(&v, p, sizeof(v)); return v; }
+    static int64_t readLong(const char* p) { int64_t v; std::memcpy(&v, p, sizeof(v)); return v; }
+    static void writeInt(char* p, int32_t v) { std::memcpy(p, &v, sizeof(v)); }
+    static void writeLong(char* p, int64_t v) { std::memcpy(p, &v, sizeof(v)); }
+};
+
+} // namespace analysis
+
+#endif // SHM_RING_HPP
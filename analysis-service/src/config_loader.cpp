@@ -85,6 +85,11 @@ AnalysisConfig ConfigLoader::load() {
     config.volatilityThreshold = getEnvDouble("VOLATILITY_THRESHOLD", 2.0);
     config.aggregationIntervalSeconds = getEnvInt("AGGREGATION_INTERVAL_SECONDS", 60);
 
+    // Shared-memory IPC
+    config.ipcEnabled = getEnv("IPC_ENABLED", "false") == "true";
+    config.ipcDirectory = getEnv("IPC_DIRECTORY", "/dev/shm/market-data-aggregator");
+    config.ipcCapacity = getEnvInt("IPC_CAPACITY", 4 * 1024 * 1024);
+
     return config;
 }
 
@@ -111,6 +116,12 @@ void ConfigLoader::printConfig(const AnalysisConfig& config) {
     std::cout << "    EMA Window: " << config.emaWindowSize << " points" << std::endl;
     std::cout << "    Volatility Threshold: " << config.volatilityThreshold << " std dev" << std::endl;
     std::cout << "    Aggregation Interval: " << config.aggregationIntervalSeconds << "s" << std::endl;
+    std::cout << std::endl;
+
+    std::cout << "  IPC:" << std::endl;
+    std::cout << "    Enabled: " << (config.ipcEnabled ? "true" : "false") << std::endl;
+    std::cout << "    Directory: " << config.ipcDirectory << std::endl;
+    std::cout << "    Capacity: " << config.ipcCapacity << " bytes" << std::endl;
 }
 
 } // namespace analysis
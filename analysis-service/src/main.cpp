@@ -2,8 +2,17 @@
 #include <string>
 #include <chrono>
 #include <map>
+#include <mutex>
+#include <deque>
+#include <algorithm>
+#include <vector>
+#include <thread>
+#include <condition_variable>
 #include "httplib.h"
 #include "json.hpp"
+#include "config_loader.hpp"
+#include "gateway_client.hpp"
+#include "shm_ring.hpp"
 #include <libpq-fe.h>
 
 using json = nlohmann::json;
@@ -56,6 +65,228 @@ struct ServiceMetrics {
 
 ServiceMetrics metrics;
 
+
+// --- TRIMITERE CATRE GATEWAY ---
+// Rezultatele si alertele se aduna intr-o coada si pleaca in loturi (/internal/.../batch) pe conexiunea
+// keep-alive a GatewayClient, dintr-un fir separat: raspunsul 202 pentru tick-uri nu asteapta dupa Gateway
+class GatewayPublisher {
+public:
+    static constexpr size_t MAX_BATCH = 500;
+    static constexpr size_t MAX_PENDING = 20000;
+
+    explicit GatewayPublisher(analysis::GatewayClient& client)
+        : client_(client), worker_(&GatewayPublisher::run, this) {}
+
+    ~GatewayPublisher() {
+        {
+            lock_guard<mutex> lock(mutex_);
+            stopping_ = true;
+        }
+        ready_.notify_one();
+        worker_.join();
+    }
+
+    void publish(vector<analysis::AggregatedData> results, vector<analysis::Alert> alerts) {
+        if (results.empty() && alerts.empty()) return;
+        {
+            lock_guard<mutex> lock(mutex_);
+            // Gateway-ul nu raspunde: nu crestem coada la nesfarsit
+            if (results_.size() + alerts_.size() >= MAX_PENDING) {
+                dropped_ += results.size() + alerts.size();
+                return;
+            }
+            results_.insert(results_.end(), results.begin(), results.end());
+            alerts_.insert(alerts_.end(), alerts.begin(), alerts.end());
+        }
+        ready_.notify_one();
+    }
+
+    long dropped() {
+        lock_guard<mutex> lock(mutex_);
+        return dropped_;
+    }
+
+private:
+    analysis::GatewayClient& client_;
+    mutex mutex_;
+    condition_variable ready_;
+    vector<analysis::AggregatedData> results_;
+    vector<analysis::Alert> alerts_;
+    long dropped_ = 0;
+    bool stopping_ = false;
+    thread worker_;
+
+    void run() {
+        while (true) {
+            vector<analysis::AggregatedData> results;
+            vector<analysis::Alert> alerts;
+            {
+                unique_lock<mutex> lock(mutex_);
+                ready_.wait(lock, [this] { return stopping_ || !results_.empty() || !alerts_.empty(); });
+                if (results_.empty() && alerts_.empty()) return;
+                results.swap(results_);
+                alerts.swap(alerts_);
+            }
+            for (size_t i = 0; i < results.size(); i += MAX_BATCH) {
+                client_.sendAnalysisResultsBatch(vector<analysis::AggregatedData>(
+                    results.begin() + i, results.begin() + min(results.size(), i + MAX_BATCH)));
+            }
+            for (size_t i = 0; i < alerts.size(); i += MAX_BATCH) {
+                client_.sendAlertsBatch(vector<analysis::Alert>(
+                    alerts.begin() + i, alerts.begin() + min(alerts.size(), i + MAX_BATCH)));
+            }
+        }
+    }
+};
+
+GatewayPublisher* publisher = nullptr;
+
+// --- ANALIZA TICK-URILOR ---
+// Aceeasi cale pentru /analyze/price si /analyze/prices/batch: SMA pe ultimele SMA_WINDOW_SIZE tick-uri,
+// EMA cu perioada EMA_WINDOW_SIZE si saltul fata de tick-ul anterior, per simbol.
+// Pragul de salt vine din SPIKE_THRESHOLD_PERCENT (implicit 5%)
+struct SymbolState {
+    deque<double> window;
+    double windowSum = 0.0;
+    double ema = 0.0;
+    double lastPrice = 0.0;
+    bool seen = false;
+};
+
+class TickAnalyzer {
+public:
+    explicit TickAnalyzer(const analysis::AnalysisConfig& config)
+        : spikeThresholdPercent_(config.spikeThresholdPercent),
+          smaWindow_(max(1, config.smaWindowSize)),
+          emaAlpha_(2.0 / (max(1, config.emaWindowSize) + 1)) {}
+
+    // Un rezultat per simbol din lot (starea dupa ultimul lui tick) si o alerta per salt; intoarce numarul de salturi
+    int analyze(const vector<analysis::PriceData>& ticks,
+                vector<analysis::AggregatedData>& results, vector<analysis::Alert>& alerts) {
+        lock_guard<mutex> lock(mutex_);
+        map<string, size_t> resultIndex;
+        int anomalies = 0;
+        for (const auto& tick : ticks) {
+            SymbolState& state = states_[tick.symbol];
+
+            if (state.seen && state.lastPrice > 0) {
+                double change = (tick.price - state.lastPrice) / state.lastPrice * 100.0;
+                if (change >= spikeThresholdPercent_ || change <= -spikeThresholdPercent_) {
+                    anomalies++;
+                    metrics.recordAnomaly();
+                    alerts.emplace_back(tick.symbol,
+                        change > 0 ? analysis::AlertType::SPIKE_UP : analysis::AlertType::SPIKE_DOWN,
+                        spikeThresholdPercent_, tick.price, change,
+                        "Price moved " + to_string(change) + "% from " + to_string(state.lastPrice));
+                }
+            }
+
+            state.window.push_back(tick.price);
+            state.windowSum += tick.price;
+            if ((int)state.window.size() > smaWindow_) {
+                state.windowSum -= state.window.front();
+                state.window.pop_front();
+            }
+            state.ema = state.seen ? emaAlpha_ * tick.price + (1.0 - emaAlpha_) * state.ema : tick.price;
+            state.lastPrice = tick.price;
+            state.seen = true;
+
+            analysis::AggregatedData data;
+            data.symbol = tick.symbol;
+            data.currentPrice = tick.price;
+            data.sma = state.windowSum / state.window.size();
+            data.ema = state.ema;
+            data.volume = tick.volume;
+            auto range = minmax_element(state.window.begin(), state.window.end());
+            data.minPrice = *range.first;
+            data.maxPrice = *range.second;
+            data.timestamp = tick.timestamp;
+            data.windowSize = smaWindow_;
+
+            auto existing = resultIndex.find(tick.symbol);
+            if (existing != resultIndex.end()) {
+                results[existing->second] = data;
+            } else {
+                resultIndex[tick.symbol] = results.size();
+                results.push_back(data);
+            }
+        }
+        return anomalies;
+    }
+
+private:
+    const double spikeThresholdPercent_;
+    const int smaWindow_;
+    const double emaAlpha_;
+    mutex mutex_;
+    map<string, SymbolState> states_;
+};
+
+TickAnalyzer* analyzer = nullptr;
+
+// Analizeaza tick-urile si trimite rezultatele si alertele catre Gateway
+int analyze_and_publish(const vector<analysis::PriceData>& ticks) {
+    vector<analysis::AggregatedData> results;
+    vector<analysis::Alert> alerts;
+    int anomalies = analyzer->analyze(ticks, results, alerts);
+    publisher->publish(std::move(results), std::move(alerts));
+    return anomalies;
+}
+
+// --- TRANSPORT IPC (memorie partajata) ---
+// Cu IPC_ENABLED=true (si app.ipc.enabled=true in Gateway) tick-urile vin din ticks.ring, trec prin aceeasi
+// analiza, iar rezultatele si alertele pleaca in results.ring. Daca results.ring e plin, pleaca prin HTTP.
+// IPC_DIRECTORY si IPC_CAPACITY trebuie sa fie aceleasi ca app.ipc.directory si app.ipc.capacity
+void run_ipc(const string& directory, int64_t capacity) {
+    analysis::ShmRing ticksRing;
+    analysis::ShmRing resultsRing;
+    // Gateway-ul poate porni dupa noi: reincercam pana se deschid ambele fisiere
+    bool logged = false;
+    while (!ticksRing.open(directory + "/ticks.ring", capacity)
+           || !resultsRing.open(directory + "/results.ring", capacity)) {
+        ticksRing.close();
+        resultsRing.close();
+        if (!logged) {
+            cerr << "[IPC] Nu pot deschide ring-urile din " << directory << ", reincerc" << endl;
+            logged = true;
+        }
+        this_thread::sleep_for(chrono::seconds(1));
+    }
+    cout << "[IPC] Conectat la " << directory << endl;
+
+    vector<analysis::PriceData> ticks;
+    int idle = 0;
+    while (true) {
+        ticks.clear();
+        int polled = ticksRing.poll([&ticks](const char* record, int32_t length) {
+            analysis::PriceData tick;
+            if (analysis::ShmRing::readTick(record, length, tick)) {
+                ticks.push_back(std::move(tick));
+            }
+        }, 256);
+        if (polled == 0) {
+            // Cateva incercari in bucla stransa, apoi pauze scurte
+            if (++idle > 1000) this_thread::sleep_for(chrono::microseconds(50));
+            continue;
+        }
+        idle = 0;
+
+        vector<analysis::AggregatedData> results;
+        vector<analysis::Alert> alerts;
+        analyzer->analyze(ticks, results, alerts);
+
+        vector<analysis::AggregatedData> overflowResults;
+        vector<analysis::Alert> overflowAlerts;
+        for (const auto& result : results) {
+            if (!resultsRing.offerAnalysisResult(result)) overflowResults.push_back(result);
+        }
+        for (const auto& alert : alerts) {
+            if (!resultsRing.offerAlert(alert)) overflowAlerts.push_back(alert);
+        }
+        publisher->publish(std::move(overflowResults), std::move(overflowAlerts));
+    }
+}
+
 // --- DATABASE HELPERS ---
 
 bool execute_query(const string& sql) {
@@ -149,6 +380,19 @@ int main() {
 
     cout << "--- Market Analysis Service (Linux/Docker Compatible) ---" << endl;
 
+    // GATEWAY_URL si secretul intern (/run/secrets/api_key sau INTERNAL_SECRET), ca in docker-compose
+    analysis::AnalysisConfig config = analysis::ConfigLoader::load();
+    analysis::GatewayClient gatewayClient(config.gatewayUrl, config.internalSecret);
+    GatewayPublisher gatewayPublisher(gatewayClient);
+    publisher = &gatewayPublisher;
+    TickAnalyzer tickAnalyzer(config);
+    analyzer = &tickAnalyzer;
+    analysis::ConfigLoader::printConfig(config);
+
+    if (config.ipcEnabled) {
+        thread(run_ipc, config.ipcDirectory, (int64_t)config.ipcCapacity).detach();
+    }
+
     // 1. Health Check
     svr.Get("/analyze/health", [](const httplib::Request&, httplib::Response& res) {
         res.set_content(R"({"status":"UP"})", "application/json");
@@ -164,6 +408,7 @@ int main() {
         metricsJson["metrics"]["anomaliesDetected"] = metrics.anomaliesDetected;
         metricsJson["metrics"]["averageProcessingTimeMs"] = metrics.getAverageProcessingTimeMs();
         metricsJson["metrics"]["totalProcessingTimeMs"] = metrics.totalProcessingTimeMs;
+        metricsJson["metrics"]["gatewayDropped"] = publisher->dropped();
 
         // Convertim timpul in string sau timestamp pt JSON
         auto time_c = std::chrono::system_clock::to_time_t(metrics.lastAnalysisTime);
@@ -189,6 +434,7 @@ int main() {
 
             cout << "[HTTP] Primit date pentru " << symbol << endl;
             save_price_to_db(symbol, price, volume);
+            analyze_and_publish({analysis::PriceData(symbol, price, (long)volume, chrono::system_clock::now())});
 
             res.status = 200;
             res.set_content("Data processed", "text/plain");
@@ -201,6 +447,46 @@ int main() {
         }
     });
 
+    // 4. Receive Price Batch (push de la Gateway, in locul interogarii periodice a bazei de date)
+    // Gateway-ul a salvat deja tick-urile; aici doar le analizam, rezultatele si alertele pleaca inapoi in fundal
+    svr.Post("/analyze/prices/batch", [](const httplib::Request& req, httplib::Response& res) {
+        auto start = std::chrono::high_resolution_clock::now();
+        try {
+            auto body = json::parse(req.body);
+            if (!body.is_array()) {
+                res.status = 400;
+                res.set_content("Expected a JSON array", "text/plain");
+                return;
+            }
+
+            vector<analysis::PriceData> ticks;
+            ticks.reserve(body.size());
+            auto receivedAt = chrono::system_clock::now();
+            for (const auto& tick : body) {
+                string symbol = tick.value("symbolCode", tick.value("symbol", string()));
+                if (symbol.empty() || !tick.contains("price") || !tick["price"].is_number()) continue;
+                long volume = tick.contains("volume") && tick["volume"].is_number() ? tick["volume"].get<long>() : 0;
+                ticks.emplace_back(symbol, tick["price"].get<double>(), volume, receivedAt);
+            }
+            int anomalies = analyze_and_publish(ticks);
+
+            auto end = std::chrono::high_resolution_clock::now();
+            metrics.recordBatchAnalysis((int)body.size(),
+                std::chrono::duration_cast<std::chrono::milliseconds>(end - start).count());
+
+            json response;
+            response["accepted"] = body.size();
+            response["anomalies"] = anomalies;
+            res.status = 202;
+            res.set_content(response.dump(), "application/json");
+        }
+        catch (const std::exception& e) {
+            res.status = 400;
+            res.set_content("Invalid JSON", "text/plain");
+            cerr << "[Eroare Parsare] " << e.what() << endl;
+        }
+    });
+
     cout << "Serverul porneste pe portul " << SERVER_PORT << "..." << endl;
     svr.listen("0.0.0.0", SERVER_PORT);
 
@@ -83,11 +83,13 @@ function connectWebSocket() {
     stompClient.connect({}, (frame) => {
         console.log('Connected: ' + frame);
 
-        // Subscribe to Prices
-        stompClient.subscribe('/topic/prices', (message) => {
-            const data = JSON.parse(message.body);
-            updatePriceUI(data);
-            updateChart(data);
+        // Subscribe to Prices (un singur cadru la 50ms cu toate simbolurile schimbate)
+        stompClient.subscribe('/topic/prices/batch', (message) => {
+            const batch = JSON.parse(message.body);
+            batch.updates.forEach(data => {
+                updatePriceUI(data);
+                updateChart(data);
+            });
         });
 
         // Subscribe to Alerts
@@ -2,9 +2,11 @@ package unitbv.devops;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import unitbv.devops.configuration.SecretsConfiguration;
 
 @SpringBootApplication
+@EnableScheduling
 public class MarketDataAggregatorApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,292 @@
+package unitbv.devops.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import unitbv.devops.client.AnalysisServiceClient.CircuitState;
+import unitbv.devops.configuration.AnalysisClientProperties;
+import unitbv.devops.dto.PriceDTO;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * O instanță a serviciului C++ de analiză, cu propria coadă, propriul fir sender și propriul circuit
+ *
+ * Tick-urile simbolurilor atribuite instanței de AnalysisServiceClient intră în coada ei mărginită și sunt
+ * trimise în micro-loturi la /analyze/prices/batch. Circuitul și latența medie (EWMA) a cererilor sunt
+ * urmărite separat pe instanță; cât timp circuitul e deschis sau sonda de sănătate a căzut, clientul
+ * îi trece simbolurile pe următoarea instanță din inel.
+ */
+public final class AnalysisInstance {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisInstance.class);
+    private static final double EWMA_ALPHA = 0.2;
+
+    private final String url;
+    private final AnalysisClientProperties properties;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final BlockingQueue<PriceDTO> queue;
+    private final URI batchUri;
+    private final Counter enqueued;
+    private final Counter sent;
+    private final Counter droppedQueueFull;
+    private final Counter droppedCircuitOpen;
+    private final Counter droppedFailed;
+    private final Timer requests;
+
+    private volatile CircuitState state = CircuitState.CLOSED;
+    private volatile Boolean healthy;
+    private volatile double latencyEwmaNanos;
+    private volatile double tickLatencyEwmaNanos;
+    private volatile double loadFactor = 1.0;
+    private volatile boolean running;
+    private Thread sender;
+    // Modificate doar de firul sender
+    private int consecutiveFailures;
+    private long openedAt;
+
+    AnalysisInstance(String url,
+                     AnalysisClientProperties properties,
+                     HttpClient httpClient,
+                     ObjectMapper objectMapper,
+                     MeterRegistry meterRegistry) {
+        this.url = url;
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        this.batchUri = URI.create(url + "/analyze/prices/batch");
+        this.enqueued = meterRegistry.counter("analysis.client.enqueued", "instance", url);
+        this.sent = meterRegistry.counter("analysis.client.sent", "instance", url);
+        this.droppedQueueFull = meterRegistry.counter("analysis.client.dropped", "instance", url, "reason", "queue_full");
+        this.droppedCircuitOpen = meterRegistry.counter("analysis.client.dropped", "instance", url, "reason", "circuit_open");
+        this.droppedFailed = meterRegistry.counter("analysis.client.dropped", "instance", url, "reason", "request_failed");
+        this.requests = meterRegistry.timer("analysis.client.requests", "instance", url);
+        meterRegistry.gauge("analysis.client.queue", Tags.of("instance", url), queue, BlockingQueue::size);
+        meterRegistry.gauge("analysis.client.circuit.open", Tags.of("instance", url), this,
+                instance -> instance.state == CircuitState.OPEN ? 1 : 0);
+    }
+
+    void start(int index) {
+        running = true;
+        sender = new Thread(this::run, "analysis-client-sender-" + index);
+        sender.setDaemon(true);
+        sender.start();
+    }
+
+    void stop() throws InterruptedException {
+        running = false;
+        if (sender != null) {
+            sender.interrupt();
+            sender.join(properties.getRequestTimeout().toMillis() + 1_000);
+        }
+    }
+
+    /**
+     * Pune tick-ul în coada instanței; nu blochează niciodată. Returnează false dacă tick-ul a fost aruncat.
+     */
+    boolean offer(PriceDTO price) {
+        if (state == CircuitState.OPEN) {
+            droppedCircuitOpen.increment();
+            return false;
+        }
+        if (!queue.offer(price)) {
+            droppedQueueFull.increment();
+            return false;
+        }
+        enqueued.increment();
+        return true;
+    }
+
+    /**
+     * Rezultatul sondei de sănătate; o instanță căzută iese din inel până la următoarea sondă reușită
+     */
+    public void reportHealth(boolean up) {
+        Boolean previous = healthy;
+        healthy = up;
+        if (previous != null && previous != up) {
+            logger.info("Analysis instance {} is {}", url, up ? "healthy again" : "failing its health probe");
+        }
+    }
+
+    /**
+     * Instanța primește simboluri cât timp circuitul nu e deschis și ultima sondă (dacă există) a reușit
+     */
+    public boolean isAvailable() {
+        return state != CircuitState.OPEN && !Boolean.FALSE.equals(healthy);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public CircuitState getCircuitState() {
+        return state;
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Latența medie exponențială a cererilor de lot, în milisecunde (0 până la prima cerere)
+     */
+    public double getLatencyMs() {
+        return latencyEwmaNanos / 1e6;
+    }
+
+    /**
+     * Latența medie exponențială raportată la numărul de tick-uri din lot, în milisecunde
+     */
+    public double getLatencyPerTickMs() {
+        return tickLatencyEwmaNanos / 1e6;
+    }
+
+    /**
+     * Fracțiunea din punctele virtuale pe care instanța le primește în inel (1 = pondere întreagă)
+     */
+    public double getLoadFactor() {
+        return loadFactor;
+    }
+
+    double getTickLatencyEwmaNanos() {
+        return tickLatencyEwmaNanos;
+    }
+
+    /**
+     * Returnează true dacă factorul s-a schimbat și inelul trebuie reconstruit
+     */
+    boolean setLoadFactor(double loadFactor) {
+        if (this.loadFactor == loadFactor) {
+            return false;
+        }
+        this.loadFactor = loadFactor;
+        return true;
+    }
+
+    private void run() {
+        List<PriceDTO> batch = new ArrayList<>(properties.getBatchSize());
+        while (running) {
+            try {
+                if (state == CircuitState.OPEN && System.nanoTime() - openedAt >= properties.getOpenDuration().toNanos()) {
+                    state = CircuitState.HALF_OPEN;
+                }
+                PriceDTO first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                if (state == CircuitState.OPEN) {
+                    droppedCircuitOpen.increment(batch.size());
+                } else {
+                    send(batch);
+                }
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                logger.error("Analysis client sender for {} failed on a batch of {} ticks: {}", url, batch.size(), e.getMessage());
+                droppedFailed.increment(batch.size());
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Completează lotul cu ce e deja în coadă, apoi așteaptă cel mult linger tick-urile care mai sosesc
+     */
+    private void fill(List<PriceDTO> batch) throws InterruptedException {
+        int batchSize = properties.getBatchSize();
+        queue.drainTo(batch, batchSize - batch.size());
+        long deadline = System.nanoTime() + properties.getLinger().toNanos();
+        while (batch.size() < batchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PriceDTO next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+            queue.drainTo(batch, batchSize - batch.size());
+        }
+    }
+
+    void send(List<PriceDTO> batch) throws InterruptedException {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(batch);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize tick batch", e);
+        }
+        HttpRequest request = HttpRequest.newBuilder(batchUri)
+                .timeout(properties.getRequestTimeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() / 100 == 2) {
+                onSuccess(batch.size());
+            } else {
+                onFailure(batch.size(), "HTTP " + response.statusCode());
+            }
+        } catch (IOException e) {
+            onFailure(batch.size(), e.toString());
+        } finally {
+            long elapsed = System.nanoTime() - started;
+            requests.record(elapsed, TimeUnit.NANOSECONDS);
+            latencyEwmaNanos = ewma(latencyEwmaNanos, elapsed);
+            if (!batch.isEmpty()) {
+                tickLatencyEwmaNanos = ewma(tickLatencyEwmaNanos, (double) elapsed / batch.size());
+            }
+        }
+    }
+
+    private static double ewma(double previous, double sample) {
+        return previous == 0 ? sample : previous + EWMA_ALPHA * (sample - previous);
+    }
+
+    private void onSuccess(int ticks) {
+        sent.increment(ticks);
+        consecutiveFailures = 0;
+        if (state != CircuitState.CLOSED) {
+            logger.info("Analysis instance {} reachable again, circuit closed", url);
+            state = CircuitState.CLOSED;
+        }
+    }
+
+    private void onFailure(int ticks, String reason) {
+        droppedFailed.increment(ticks);
+        consecutiveFailures++;
+        if (state == CircuitState.HALF_OPEN || consecutiveFailures >= properties.getFailureThreshold()) {
+            if (state != CircuitState.OPEN) {
+                logger.warn("Analysis instance {} failing ({}), circuit open for {}", url, reason, properties.getOpenDuration());
+            }
+            state = CircuitState.OPEN;
+            openedAt = System.nanoTime();
+        } else {
+            logger.debug("Analysis instance {} request failed: {}", url, reason);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package unitbv.devops.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import unitbv.devops.configuration.AnalysisClientProperties;
+import unitbv.devops.dto.PriceDTO;
+
+import java.net.http.HttpClient;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Trimite tick-urile ingerate către instanțele serviciului C++ de analiză, fără să blocheze firul de ingestie
+ *
+ * Fiecare simbol e atribuit unei singure instanțe printr-un inel de hashing consistent peste lista
+ * app.analysis.client.instances (sau doar analysis.service.url), deci ordinea tick-urilor unui simbol se păstrează.
+ * sendPriceUpdate doar pune tick-ul în coada mărginită a instanței (offer, O(1)); fiecare instanță are firul ei
+ * sender, care trimite micro-loturi la /analyze/prices/batch, și propriul circuit (vezi AnalysisInstance).
+ * Cât timp circuitul unei instanțe e deschis sau sonda ei de sănătate a căzut, căutarea în inel o sare,
+ * deci doar simbolurile ei se mută pe instanța următoare; revin singure când instanța își revine. La fiecare rebalance-interval,
+ * instanțele mult mai lente decât cea mai rapidă (latența per tick, nu per lot, pentru că loturile au mărimi diferite)
+ * primesc mai puține puncte virtuale, deci mai puține simboluri.
+ */
+@Component
+public class AnalysisServiceClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisServiceClient.class);
+    private static final double MIN_LOAD_FACTOR = 0.25;
+
+    public enum CircuitState { CLOSED, OPEN, HALF_OPEN }
+
+    private final AnalysisClientProperties properties;
+    private final List<AnalysisInstance> instances;
+    private final Counter droppedNoInstance;
+    private final ScheduledExecutorService rebalancer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "analysis-client-rebalancer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ConsistentHashRing<AnalysisInstance> ring;
+
+    public AnalysisServiceClient(AnalysisClientProperties properties,
+                                 @Value("${analysis.service.url:http://localhost:8081}") String analysisServiceUrl,
+                                 ObjectMapper objectMapper,
+                                 MeterRegistry meterRegistry) {
+        this.properties = properties;
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+        List<String> urls = properties.getInstances().isEmpty() ? List.of(analysisServiceUrl) : properties.getInstances();
+        List<AnalysisInstance> created = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            created.add(new AnalysisInstance(url, properties, httpClient, objectMapper, meterRegistry));
+        }
+        this.instances = Collections.unmodifiableList(created);
+        this.droppedNoInstance = meterRegistry.counter("analysis.client.dropped", "instance", "none", "reason", "circuit_open");
+        meterRegistry.gauge("analysis.client.instances.available", this,
+                client -> client.instances.stream().filter(AnalysisInstance::isAvailable).count());
+        rebuild();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (int i = 0; i < instances.size(); i++) {
+            instances.get(i).start(i);
+        }
+        long interval = properties.getRebalanceInterval().toMillis();
+        rebalancer.scheduleWithFixedDelay(this::rebalance, interval, interval, TimeUnit.MILLISECONDS);
+        logger.info("Forwarding ticks to {} analysis instance(s) in batches of up to {}",
+                instances.size(), properties.getBatchSize());
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        rebalancer.shutdownNow();
+        for (AnalysisInstance instance : instances) {
+            instance.stop();
+        }
+    }
+
+    /**
+     * Pune tick-ul în coada instanței care deține simbolul; nu blochează niciodată.
+     * Returnează false dacă tick-ul a fost aruncat.
+     */
+    public boolean sendPriceUpdate(PriceDTO price) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        AnalysisInstance instance = route(price.getSymbolCode());
+        if (instance == null) {
+            droppedNoInstance.increment();
+            return false;
+        }
+        return instance.offer(price);
+    }
+
+    /**
+     * Starea celui mai bun circuit: CLOSED cât timp cel puțin o instanță primește tick-uri normal
+     */
+    public CircuitState getCircuitState() {
+        CircuitState best = CircuitState.OPEN;
+        for (AnalysisInstance instance : instances) {
+            CircuitState state = instance.getCircuitState();
+            if (state == CircuitState.CLOSED) {
+                return state;
+            }
+            if (state == CircuitState.HALF_OPEN) {
+                best = state;
+            }
+        }
+        return best;
+    }
+
+    public int getQueueSize() {
+        return instances.stream().mapToInt(AnalysisInstance::getQueueSize).sum();
+    }
+
+    public List<AnalysisInstance> getInstances() {
+        return instances;
+    }
+
+    /**
+     * Instanța care primește acum tick-urile simbolului, sau null dacă nicio instanță nu e disponibilă
+     */
+    public AnalysisInstance route(String symbolCode) {
+        return ring.locate(symbolCode, AnalysisInstance::isAvailable);
+    }
+
+    /**
+     * Reconstruiește inelul, cu punctele virtuale ale fiecărei instanțe scalate de factorul ei de încărcare
+     */
+    private void rebuild() {
+        Map<AnalysisInstance, Integer> virtualNodes = new LinkedHashMap<>();
+        for (AnalysisInstance instance : instances) {
+            virtualNodes.put(instance, Math.max(1, (int) Math.round(properties.getVirtualNodes() * instance.getLoadFactor())));
+        }
+        ring = new ConsistentHashRing<>(virtualNodes, AnalysisInstance::getUrl);
+    }
+
+    /**
+     * Compară latența medie per tick a fiecărei instanțe cu cea mai rapidă și ajustează ponderile în pași de 25%
+     */
+    void rebalance() {
+        double fastest = instances.stream()
+                .filter(AnalysisInstance::isAvailable)
+                .mapToDouble(AnalysisInstance::getTickLatencyEwmaNanos)
+                .filter(latency -> latency > 0)
+                .min()
+                .orElse(0);
+        if (fastest == 0) {
+            return;
+        }
+        boolean changed = false;
+        for (AnalysisInstance instance : instances) {
+            double latency = instance.getTickLatencyEwmaNanos();
+            if (instance.isAvailable() && latency > 0) {
+                double factor = Math.max(MIN_LOAD_FACTOR, Math.round(fastest / latency * 4) / 4.0);
+                changed |= instance.setLoadFactor(factor);
+            }
+        }
+        if (changed) {
+            rebuild();
+            logger.info("Analysis instances rebalanced by latency: {}", instances.stream()
+                    .map(instance -> instance.getUrl() + "=" + instance.getLoadFactor())
+                    .toList());
+        }
+    }
+}
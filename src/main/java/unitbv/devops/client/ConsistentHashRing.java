@@ -0,0 +1,97 @@
+package unitbv.devops.client;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Inel de hashing consistent: fiecare membru ocupă mai multe puncte virtuale, iar o cheie aparține
+ * primului punct aflat după hash-ul ei (în sensul acelor de ceasornic)
+ *
+ * Când un membru iese sau intră, se mută doar cheile din arcele lui; restul își păstrează proprietarul.
+ * Numărul de puncte virtuale al unui membru îi stabilește ponderea. Inelul e imutabil: la o schimbare
+ * de pondere se construiește unul nou, iar căutarea (căutare binară) nu are nevoie de lock.
+ */
+public final class ConsistentHashRing<T> {
+
+    private final long[] points;
+    private final Object[] owners;
+
+    /**
+     * @param virtualNodes numărul de puncte virtuale pentru fiecare membru (ponderea lui)
+     * @param names        numele stabil al membrului, din care sunt derivate punctele
+     */
+    public ConsistentHashRing(Map<T, Integer> virtualNodes, Function<T, String> names) {
+        int total = virtualNodes.values().stream().mapToInt(Integer::intValue).sum();
+        long[][] entries = new long[total][];
+        Object[] members = virtualNodes.keySet().toArray();
+        int count = 0;
+        for (int member = 0; member < members.length; member++) {
+            @SuppressWarnings("unchecked")
+            T owner = (T) members[member];
+            String name = names.apply(owner);
+            for (int node = 0; node < virtualNodes.get(owner); node++) {
+                entries[count++] = new long[]{hash(name + "#" + node), member};
+            }
+        }
+        Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+
+        this.points = new long[total];
+        this.owners = new Object[total];
+        for (int i = 0; i < total; i++) {
+            points[i] = entries[i][0];
+            owners[i] = members[(int) entries[i][1]];
+        }
+    }
+
+    /**
+     * Membrul care deține cheia, sau null dacă inelul e gol
+     */
+    public T locate(String key) {
+        return locate(key, owner -> true);
+    }
+
+    /**
+     * Primul membru eligibil de la poziția cheii înainte, sau null dacă niciun membru nu e eligibil
+     *
+     * Rezultatul e același ca într-un inel construit doar din membrii eligibili, fără să fie reconstruit:
+     * cheile unui membru ieșit trec la următorul punct, iar ale celorlalți rămân pe loc.
+     */
+    @SuppressWarnings("unchecked")
+    public T locate(String key, Predicate<? super T> eligible) {
+        int index = Arrays.binarySearch(points, hash(key));
+        if (index < 0) {
+            index = -index - 1;
+        }
+        for (int step = 0; step < points.length; step++) {
+            T owner = (T) owners[(index + step) % points.length];
+            if (eligible.test(owner)) {
+                return owner;
+            }
+        }
+        return null;
+    }
+
+    public boolean isEmpty() {
+        return points.length == 0;
+    }
+
+    /**
+     * FNV-1a pe 64 de biți, urmat de finalizatorul MurmurHash3 pentru o distribuție uniformă pe inel
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
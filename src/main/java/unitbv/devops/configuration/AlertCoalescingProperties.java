@@ -0,0 +1,54 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Coalescing of alerts posted by the analysis service: repeats of the same (symbol, alertType)
+ * within the window are merged into the first persisted alert as an occurrence count
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.alerts.coalescing")
+public class AlertCoalescingProperties {
+
+    /**
+     * Merge bursts of identical alerts from /internal/alerts
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long after the first alert of a burst repeats are folded into it
+     */
+    private Duration window = Duration.ofSeconds(5);
+
+    /**
+     * Resolution of the timing wheel; windows are rounded up to a whole number of ticks
+     */
+    private Duration tick = Duration.ofMillis(100);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getTick() {
+        return tick;
+    }
+
+    public void setTick(Duration tick) {
+        this.tick = tick;
+    }
+}
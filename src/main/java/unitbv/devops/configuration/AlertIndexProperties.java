@@ -0,0 +1,41 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-memory bitmap index over hot alerts: everything triggered inside the window plus
+ * every unacknowledged alert, whatever its age. Queries reaching further back go to the database.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.alerts.index")
+public class AlertIndexProperties {
+
+    /**
+     * Serve filtered alert queries and counts from the index
+     */
+    private boolean enabled = false;
+
+    /**
+     * How far back acknowledged alerts stay indexed
+     */
+    private Duration window = Duration.ofDays(7);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+}
@@ -0,0 +1,152 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Forwarding of ingested ticks to the C++ analysis service: ticks are queued by the ingest thread
+ * and posted in micro-batches to /analyze/prices/batch by a background sender.
+ * With several instances configured, symbols are spread across them by consistent hashing.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analysis.client")
+public class AnalysisClientProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Base URLs of the analysis service instances; empty means the single analysis.service.url
+     */
+    private List<String> instances = new ArrayList<>();
+
+    /**
+     * Points each instance gets on the hash ring at full weight
+     */
+    private int virtualNodes = 128;
+
+    /**
+     * How often instance latencies are compared and slow instances are given fewer symbols
+     */
+    private Duration rebalanceInterval = Duration.ofSeconds(5);
+
+    /**
+     * Ticks waiting to be sent; when full, new ticks are dropped instead of blocking ingestion
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * Maximum ticks per request
+     */
+    private int batchSize = 256;
+
+    /**
+     * How long the sender waits for more ticks after the first one of a batch
+     */
+    private Duration linger = Duration.ofMillis(2);
+
+    private Duration connectTimeout = Duration.ofSeconds(2);
+
+    private Duration requestTimeout = Duration.ofSeconds(2);
+
+    /**
+     * Consecutive failed requests that open the circuit breaker
+     */
+    private int failureThreshold = 5;
+
+    /**
+     * How long the circuit stays open (ticks are dropped) before a trial request is let through
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getInstances() {
+        return instances;
+    }
+
+    public void setInstances(List<String> instances) {
+        this.instances = instances;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public Duration getRebalanceInterval() {
+        return rebalanceInterval;
+    }
+
+    public void setRebalanceInterval(Duration rebalanceInterval) {
+        this.rebalanceInterval = rebalanceInterval;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getLinger() {
+        return linger;
+    }
+
+    public void setLinger(Duration linger) {
+        this.linger = linger;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Duration getOpenDuration() {
+        return openDuration;
+    }
+
+    public void setOpenDuration(Duration openDuration) {
+        this.openDuration = openDuration;
+    }
+}
@@ -0,0 +1,64 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Background probing of the C++ analysis service's /analyze/health endpoint; the actuator health
+ * indicator only reports the last probe result
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analysis.health")
+public class AnalysisHealthProperties {
+
+    /**
+     * Probe interval while the service is healthy
+     */
+    private Duration interval = Duration.ofSeconds(10);
+
+    /**
+     * First retry after a failed probe; doubled on every further failure up to max-interval
+     */
+    private Duration minInterval = Duration.ofSeconds(1);
+
+    private Duration maxInterval = Duration.ofSeconds(60);
+
+    /**
+     * Connect and read timeout of one probe
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+
+    public Duration getMinInterval() {
+        return minInterval;
+    }
+
+    public void setMinInterval(Duration minInterval) {
+        this.minInterval = minInterval;
+    }
+
+    public Duration getMaxInterval() {
+        return maxInterval;
+    }
+
+    public void setMaxInterval(Duration maxInterval) {
+        this.maxInterval = maxInterval;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
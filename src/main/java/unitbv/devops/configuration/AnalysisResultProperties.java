@@ -0,0 +1,54 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Results posted by the C++ analysis service: the latest one per (symbol, window) stays in memory,
+ * all of them are appended to analysis_results in JDBC batches.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analysis.results")
+public class AnalysisResultProperties {
+
+    /**
+     * Rows per JDBC batch insert
+     */
+    private int batchSize = 500;
+
+    /**
+     * How often buffered results are written; this bounds how far the history endpoint lags the cache
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * Buffered results above which the posting thread flushes itself instead of waiting for the scheduler
+     */
+    private int maxPending = 20_000;
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+}
@@ -1,54 +1,219 @@
 package unitbv.devops.configuration;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestTemplate;
+import unitbv.devops.client.AnalysisInstance;
+import unitbv.devops.client.AnalysisServiceClient;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Custom health indicator for C++ Analysis Service connectivity
- * Checks if the C++ service is reachable and healthy
+ *
+ * Every analysis instance is probed on a background thread, never on the caller's (one thread per
+ * instance, so a stalled instance cannot delay the probes of the others): health() only reads the last
+ * probe results, so actuator requests return immediately even if an instance stalls. While an instance
+ * is healthy it is probed every interval; after a failure it is retried after min-interval, doubling the
+ * delay on each further failure up to max-interval. Each result is also reported to the instance, so a
+ * failing instance leaves the forwarding hash ring until it answers again. Round trips are recorded in the
+ * analysis.service.health.latency timer (tagged by instance), whose percentiles are part of the details.
+ * The service is UP while at least one instance is.
  */
 @Component("analysisServiceHealth")
 public class AnalysisServiceHealthIndicator implements HealthIndicator {
 
-    @Value("${analysis.service.url:http://localhost:8081}")
-    private String analysisServiceUrl;
-
     private final RestTemplate restTemplate;
+    private final AnalysisHealthProperties properties;
+    private final AnalysisServiceClient analysisServiceClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Probe> last = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public AnalysisServiceHealthIndicator(RestTemplateBuilder restTemplateBuilder,
+                                          AnalysisHealthProperties properties,
+                                          AnalysisServiceClient analysisServiceClient,
+                                          MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.analysisServiceClient = analysisServiceClient;
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newScheduledThreadPool(Math.max(1, analysisServiceClient.getInstances().size()), runnable -> {
+            Thread thread = new Thread(runnable, "analysis-health-probe");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.restTemplate = restTemplateBuilder
+            .setConnectTimeout(properties.getTimeout())
+            .setReadTimeout(properties.getTimeout())
+            .build();
+    }
+
+    @PostConstruct
+    public void start() {
+        for (AnalysisInstance instance : analysisServiceClient.getInstances()) {
+            scheduler.execute(() -> run(instance));
+        }
+    }
 
-    public AnalysisServiceHealthIndicator(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
     }
 
     @Override
     public Health health() {
+        if (last.isEmpty()) {
+            return Health.unknown()
+                .withDetail("service", "Analysis Service")
+                .withDetail("reason", "No probe completed yet")
+                .build();
+        }
+
+        Instant now = Instant.now();
+        Map<String, Object> instances = new LinkedHashMap<>();
+        int up = 0;
+        for (AnalysisInstance instance : analysisServiceClient.getInstances()) {
+            Probe probe = last.get(instance.getUrl());
+            if (probe == null) {
+                instances.put(instance.getUrl(), Map.of("status", "Not probed yet"));
+                continue;
+            }
+            if (probe.up) {
+                up++;
+            }
+            instances.put(instance.getUrl(), instanceDetails(instance, probe, now));
+        }
+
+        return (up > 0 ? Health.up() : Health.down())
+            .withDetail("service", "Analysis Service")
+            .withDetail("endpoint", "/analyze/health")
+            .withDetail("healthyInstances", up + "/" + instances.size())
+            .withDetail("forwardingCircuit", analysisServiceClient.getCircuitState().name())
+            .withDetail("instances", instances)
+            .build();
+    }
+
+    /**
+     * Runs one probe of the instance and schedules its next one
+     */
+    private void run(AnalysisInstance instance) {
+        Duration next = properties.getMaxInterval();
+        try {
+            next = probe(instance).nextDelay;
+        } finally {
+            if (!scheduler.isShutdown()) {
+                scheduler.schedule(() -> run(instance), next.toMillis(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    Probe probe(AnalysisInstance instance) {
+        Probe previous = last.get(instance.getUrl());
+        long started = System.nanoTime();
+        String error = null;
         try {
-            String healthEndpoint = analysisServiceUrl + "/analyze/health";
-            String response = restTemplate.getForObject(healthEndpoint, String.class);
-
-            if (response != null && !response.isEmpty()) {
-                return Health.up()
-                    .withDetail("service", "Analysis Service")
-                    .withDetail("url", analysisServiceUrl)
-                    .withDetail("endpoint", "/analyze/health")
-                    .withDetail("status", "Connected")
-                    .build();
-            } else {
-                return Health.down()
-                    .withDetail("service", "Analysis Service")
-                    .withDetail("reason", "Empty response from health endpoint")
-                    .build();
+            String response = restTemplate.getForObject(instance.getUrl() + "/analyze/health", String.class);
+            if (response == null || response.isEmpty()) {
+                error = "Empty response from health endpoint";
             }
         } catch (Exception e) {
-            return Health.down()
-                .withDetail("service", "Analysis Service")
-                .withDetail("url", analysisServiceUrl)
-                .withDetail("error", e.getMessage())
-                .withException(e)
-                .build();
+            error = e.getMessage();
         }
+        long elapsed = System.nanoTime() - started;
+        latency(instance).record(elapsed, TimeUnit.NANOSECONDS);
+
+        Instant now = Instant.now();
+        boolean up = error == null;
+        int failures = up ? 0 : (previous != null ? previous.consecutiveFailures : 0) + 1;
+        Duration nextDelay = up ? properties.getInterval() : backoff(failures);
+        Instant lastSuccessAt = up ? now : previous != null ? previous.lastSuccessAt : null;
+        Probe probe = new Probe(up, now, lastSuccessAt, failures, elapsed, error, nextDelay);
+        last.put(instance.getUrl(), probe);
+        instance.reportHealth(up);
+        return probe;
+    }
+
+    private Duration backoff(int failures) {
+        Duration delay = properties.getMinInterval().multipliedBy(1L << Math.min(failures - 1, 20));
+        return delay.compareTo(properties.getMaxInterval()) > 0 ? properties.getMaxInterval() : delay;
+    }
+
+    private Timer latency(AnalysisInstance instance) {
+        return latencies.computeIfAbsent(instance.getUrl(), url -> Timer.builder("analysis.service.health.latency")
+            .description("Round trip of the analysis service health probe")
+            .tag("instance", url)
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
     }
-}
 
+    private Map<String, Object> instanceDetails(AnalysisInstance instance, Probe probe, Instant now) {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("status", probe.up ? "Connected" : "Unreachable");
+        details.put("checkedAt", probe.checkedAt.toString());
+        details.put("lastSuccessAgeMs", probe.lastSuccessAt != null
+            ? Duration.between(probe.lastSuccessAt, now).toMillis() : "never");
+        details.put("consecutiveFailures", probe.consecutiveFailures);
+        details.put("nextProbeInMs", Math.max(0, Duration.between(now, probe.checkedAt.plus(probe.nextDelay)).toMillis()));
+        details.put("latencyMs", latencyDetails(instance, probe));
+        details.put("forwardingCircuit", instance.getCircuitState().name());
+        details.put("forwardingLatencyMs", instance.getLatencyMs());
+        details.put("forwardingLatencyPerTickMs", instance.getLatencyPerTickMs());
+        details.put("loadFactor", instance.getLoadFactor());
+        if (probe.error != null) {
+            details.put("error", probe.error);
+        }
+        return details;
+    }
+
+    private Map<String, Object> latencyDetails(AnalysisInstance instance, Probe probe) {
+        Timer latency = latency(instance);
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("last", probe.latencyNanos / 1e6);
+        for (ValueAtPercentile percentile : latency.takeSnapshot().percentileValues()) {
+            details.put("p" + Math.round(percentile.percentile() * 100), percentile.value(TimeUnit.MILLISECONDS));
+        }
+        details.put("max", latency.max(TimeUnit.MILLISECONDS));
+        details.put("probes", latency.count());
+        return details;
+    }
+
+    /**
+     * Result of one probe, replaced as a whole so health() always sees a consistent state
+     */
+    static final class Probe {
+        final boolean up;
+        final Instant checkedAt;
+        final Instant lastSuccessAt;
+        final int consecutiveFailures;
+        final long latencyNanos;
+        final String error;
+        final Duration nextDelay;
+
+        Probe(boolean up, Instant checkedAt, Instant lastSuccessAt, int consecutiveFailures,
+              long latencyNanos, String error, Duration nextDelay) {
+            this.up = up;
+            this.checkedAt = checkedAt;
+            this.lastSuccessAt = lastSuccessAt;
+            this.consecutiveFailures = consecutiveFailures;
+            this.latencyNanos = latencyNanos;
+            this.error = error;
+            this.nextDelay = nextDelay;
+        }
+    }
+}
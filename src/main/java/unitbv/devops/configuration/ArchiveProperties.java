@@ -0,0 +1,67 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cold tick archive: ticks older than the hot window are moved out of PostgreSQL
+ * into compressed per-symbol, per-day chunk files
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.archive")
+public class ArchiveProperties {
+
+    /**
+     * Master switch for exporting ticks and for reading archived chunks in history queries
+     */
+    private boolean enabled = false;
+
+    /**
+     * Root directory of the chunk files ({directory}/{SYMBOL}/{yyyy-MM-dd}.tck)
+     */
+    private String directory = "./data/tick-archive";
+
+    /**
+     * Ticks newer than this stay in PostgreSQL; whole days older than it are archived
+     */
+    private Duration hotWindow = Duration.ofDays(3);
+
+    /**
+     * Rows read per query and deleted per transaction while archiving one day
+     */
+    private int batchSize = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public Duration getHotWindow() {
+        return hotWindow;
+    }
+
+    public void setHotWindow(Duration hotWindow) {
+        this.hotWindow = hotWindow;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
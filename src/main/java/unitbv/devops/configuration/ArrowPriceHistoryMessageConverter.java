@@ -0,0 +1,114 @@
+package unitbv.devops.configuration;
+
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.TimeUnit;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.apache.arrow.vector.types.pojo.Schema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.dto.PriceHistoryDTO;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a PriceHistoryDTO as an Apache Arrow IPC stream
+ *
+ * The ticks become three contiguous non-nullable columns: {@code timestamp} (microseconds, no time zone,
+ * like LocalDateTime), {@code price} (Int64 fixed-point, field metadata {@code scale=8}) and {@code volume}
+ * (Int64). The symbol code and the statistics travel once, in the schema metadata, instead of per tick.
+ * Rows are sent in record batches of {@link #BATCH_ROWS} so off-heap buffers stay bounded.
+ */
+public class ArrowPriceHistoryMessageConverter extends AbstractHttpMessageConverter<PriceHistoryDTO> {
+
+    public static final String ARROW_STREAM_VALUE = "application/vnd.apache.arrow.stream";
+    public static final MediaType ARROW_STREAM = MediaType.parseMediaType(ARROW_STREAM_VALUE);
+
+    static final int BATCH_ROWS = 64 * 1024;
+
+    public static final Schema SCHEMA = new Schema(List.of(
+            new Field("timestamp", FieldType.notNullable(new ArrowType.Timestamp(TimeUnit.MICROSECOND, null)), null),
+            new Field("price", new FieldType(false, new ArrowType.Int(64, true), null,
+                    Map.of("scale", Integer.toString(FixedPoint.SCALE))), null),
+            new Field("volume", FieldType.notNullable(new ArrowType.Int(64, true)), null)));
+
+    private final BufferAllocator allocator;
+
+    public ArrowPriceHistoryMessageConverter(BufferAllocator allocator) {
+        super(ARROW_STREAM);
+        this.allocator = allocator;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return PriceHistoryDTO.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected PriceHistoryDTO readInternal(Class<? extends PriceHistoryDTO> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Arrow price history is a response-only format", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(PriceHistoryDTO history, HttpOutputMessage outputMessage) throws IOException {
+        List<PriceDTO> prices = history.getPrices();
+        Schema schema = new Schema(SCHEMA.getFields(), metadata(history));
+
+        try (BufferAllocator requestAllocator = allocator.newChildAllocator("price-history", 0, Long.MAX_VALUE);
+             VectorSchemaRoot root = VectorSchemaRoot.create(schema, requestAllocator);
+             ArrowStreamWriter writer = new ArrowStreamWriter(root, null, Channels.newChannel(outputMessage.getBody()))) {
+            TimeStampMicroVector timestamps = (TimeStampMicroVector) root.getVector("timestamp");
+            BigIntVector priceColumn = (BigIntVector) root.getVector("price");
+            BigIntVector volumes = (BigIntVector) root.getVector("volume");
+
+            writer.start();
+            for (int from = 0; from < prices.size(); from += BATCH_ROWS) {
+                int rows = Math.min(BATCH_ROWS, prices.size() - from);
+                root.allocateNew();
+                for (int i = 0; i < rows; i++) {
+                    PriceDTO price = prices.get(from + i);
+                    timestamps.setSafe(i, TickChunk.toMicros(price.getTimestamp()));
+                    priceColumn.setSafe(i, price.getPrice());
+                    volumes.setSafe(i, price.getVolume() != null ? price.getVolume() : 0L);
+                }
+                root.setRowCount(rows);
+                writer.writeBatch();
+            }
+            writer.end();
+        }
+    }
+
+    private static Map<String, String> metadata(PriceHistoryDTO history) {
+        Map<String, String> metadata = new LinkedHashMap<>();
+        metadata.put("symbolCode", history.getSymbolCode());
+        PriceHistoryDTO.PriceStatistics statistics = history.getStatistics();
+        if (statistics != null) {
+            metadata.put("count", String.valueOf(statistics.getCount()));
+            metadata.put("min", FixedPoint.toString(statistics.getMin()));
+            metadata.put("max", FixedPoint.toString(statistics.getMax()));
+            metadata.put("average", FixedPoint.toString(statistics.getAverage()));
+            metadata.put("totalVolume", String.valueOf(statistics.getTotalVolume()));
+        }
+        return metadata;
+    }
+}
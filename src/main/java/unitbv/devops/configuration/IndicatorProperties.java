@@ -0,0 +1,79 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-process technical indicators, updated on every ingested tick. Periods are counted in ticks.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.analytics.indicators")
+public class IndicatorProperties {
+
+    /**
+     * Update indicators on ingest and serve them at /api/analytics/{symbol}
+     */
+    private boolean enabled = false;
+
+    /**
+     * SMA, EMA and Bollinger Bands period
+     */
+    private int period = 20;
+
+    /**
+     * RSI and ATR period (Wilder smoothing)
+     */
+    private int wilderPeriod = 14;
+
+    /**
+     * Bollinger Band width, in standard deviations
+     */
+    private double bollingerWidth = 2.0;
+
+    /**
+     * Minimum time between two snapshots pushed on /topic/analytics/{symbol}; zero pushes every tick
+     */
+    private Duration publishInterval = Duration.ofMillis(250);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getPeriod() {
+        return period;
+    }
+
+    public void setPeriod(int period) {
+        this.period = period;
+    }
+
+    public int getWilderPeriod() {
+        return wilderPeriod;
+    }
+
+    public void setWilderPeriod(int wilderPeriod) {
+        this.wilderPeriod = wilderPeriod;
+    }
+
+    public double getBollingerWidth() {
+        return bollingerWidth;
+    }
+
+    public void setBollingerWidth(double bollingerWidth) {
+        this.bollingerWidth = bollingerWidth;
+    }
+
+    public Duration getPublishInterval() {
+        return publishInterval;
+    }
+
+    public void setPublishInterval(Duration publishInterval) {
+        this.publishInterval = publishInterval;
+    }
+}
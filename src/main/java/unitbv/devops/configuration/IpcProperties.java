@@ -0,0 +1,143 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Shared-memory transport to a co-located analysis service: two memory-mapped SPSC ring files,
+ * ticks.ring (gateway to analysis service) and results.ring (analysis results and alerts back).
+ * Meant for a directory on tmpfs (e.g. an emptyDir with medium Memory shared by both containers).
+ * The analysis service attaches when started with IPC_ENABLED=true and the same IPC_DIRECTORY and
+ * IPC_CAPACITY; results and alerts that do not fit in results.ring fall back to the HTTP batch endpoints.
+ * Independently, a Unix domain socket can accept the same binary records over a stream.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.ipc")
+public class IpcProperties {
+
+    private boolean enabled = false;
+
+    private String directory = "/dev/shm/market-data-aggregator";
+
+    /**
+     * Data bytes per ring, a power of two
+     */
+    private int capacity = 4 * 1024 * 1024;
+
+    /**
+     * Empty polls the reader busy-spins before parking for idle-park
+     */
+    private int idleSpins = 1_000;
+
+    private Duration idlePark = Duration.ofNanos(50_000);
+
+    private final Socket socket = new Socket();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getIdleSpins() {
+        return idleSpins;
+    }
+
+    public void setIdleSpins(int idleSpins) {
+        this.idleSpins = idleSpins;
+    }
+
+    public Duration getIdlePark() {
+        return idlePark;
+    }
+
+    public void setIdlePark(Duration idlePark) {
+        this.idlePark = idlePark;
+    }
+
+    public Socket getSocket() {
+        return socket;
+    }
+
+    public static class Socket {
+
+        private boolean enabled = false;
+
+        private String path = "/tmp/market-data-aggregator/internal.sock";
+
+        /**
+         * Largest frame accepted; a bigger length prefix closes the connection
+         */
+        private int maxFrame = 1024 * 1024;
+
+        /**
+         * Time a new connection has to present the secret before it is closed
+         */
+        private Duration authTimeout = Duration.ofSeconds(5);
+
+        /**
+         * Open connections at once; further connections are closed right after accept
+         */
+        private int maxConnections = 16;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public int getMaxFrame() {
+            return maxFrame;
+        }
+
+        public void setMaxFrame(int maxFrame) {
+            this.maxFrame = maxFrame;
+        }
+
+        public Duration getAuthTimeout() {
+            return authTimeout;
+        }
+
+        public void setAuthTimeout(Duration authTimeout) {
+            this.authTimeout = authTimeout;
+        }
+
+        public int getMaxConnections() {
+            return maxConnections;
+        }
+
+        public void setMaxConnections(int maxConnections) {
+            this.maxConnections = maxConnections;
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Conflation of WebSocket price broadcasts: display topics get at most the latest price per symbol
+ * once per interval, while every tick stays available on the lossless topic
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket.conflation")
+public class PriceConflationProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Flush period of /topic/prices/{symbol}; each symbol topic gets at most one update per period
+     */
+    private Duration symbolInterval = Duration.ofMillis(100);
+
+    /**
+     * Flush period of /topic/prices; each symbol appears at most once per period
+     */
+    private Duration allSymbolsInterval = Duration.ofMillis(100);
+
+    /**
+     * Period of /topic/prices/batch; one frame per period carries the latest price of every symbol changed since
+     * the previous frame. Batch frames are sent whether or not conflation is enabled
+     */
+    private Duration batchInterval = Duration.ofMillis(50);
+
+    /**
+     * Also send every tick, unconflated, to /topic/ticks and /topic/ticks/{symbol}
+     */
+    private boolean lossless = true;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getSymbolInterval() {
+        return symbolInterval;
+    }
+
+    public void setSymbolInterval(Duration symbolInterval) {
+        this.symbolInterval = symbolInterval;
+    }
+
+    public Duration getAllSymbolsInterval() {
+        return allSymbolsInterval;
+    }
+
+    public void setAllSymbolsInterval(Duration allSymbolsInterval) {
+        this.allSymbolsInterval = allSymbolsInterval;
+    }
+
+    public Duration getBatchInterval() {
+        return batchInterval;
+    }
+
+    public void setBatchInterval(Duration batchInterval) {
+        this.batchInterval = batchInterval;
+    }
+
+    public boolean isLossless() {
+        return lossless;
+    }
+
+    public void setLossless(boolean lossless) {
+        this.lossless = lossless;
+    }
+}
@@ -0,0 +1,78 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * In-memory change feed of ingested ticks, streamed to internal consumers (the C++ analysis service)
+ * as server-sent events from /internal/price-stream.
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.prices.stream")
+public class PriceStreamProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * Ticks kept for replay, rounded up to a power of two; a consumer that falls further behind
+     * gets a reset event and must backfill from the price history endpoint
+     */
+    private int capacity = 65_536;
+
+    /**
+     * Maximum ticks in one event
+     */
+    private int maxBatch = 500;
+
+    /**
+     * Comment line sent to idle consumers so dead connections are detected
+     */
+    private Duration heartbeat = Duration.ofSeconds(15);
+
+    /**
+     * A consumer whose write stays blocked longer than this is disconnected
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getMaxBatch() {
+        return maxBatch;
+    }
+
+    public void setMaxBatch(int maxBatch) {
+        this.maxBatch = maxBatch;
+    }
+
+    public Duration getHeartbeat() {
+        return heartbeat;
+    }
+
+    public void setHeartbeat(Duration heartbeat) {
+        this.heartbeat = heartbeat;
+    }
+
+    public Duration getSendTimeout() {
+        return sendTimeout;
+    }
+
+    public void setSendTimeout(Duration sendTimeout) {
+        this.sendTimeout = sendTimeout;
+    }
+}
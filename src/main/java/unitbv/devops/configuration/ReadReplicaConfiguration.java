@@ -0,0 +1,80 @@
+package unitbv.devops.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Replaces the auto-configured DataSource with a primary pool plus one pool per read replica
+ * All pools report Hikari metrics (hikaricp.connections.*) tagged with their pool name:
+ * "primary" and "replica-{name}".
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "app.datasource.read-replicas", name = "enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Bean
+    @ConfigurationProperties(prefix = "spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties dataSourceProperties) {
+        HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName(ReadReplicaRoutingDataSource.PRIMARY);
+        return dataSource;
+    }
+
+    @Bean
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                     ReadReplicaProperties readReplicaProperties,
+                                                                     MeterRegistry meterRegistry) {
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+        if (primaryDataSource.getMetricsTrackerFactory() == null) {
+            primaryDataSource.setMetricsTrackerFactory(metricsTrackerFactory);
+        }
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (ReadReplicaProperties.Instance instance : readReplicaProperties.getInstances()) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + instance.getName());
+            replica.setJdbcUrl(instance.getUrl());
+            replica.setUsername(instance.getUsername());
+            replica.setPassword(instance.getPassword());
+            replica.setMaximumPoolSize(instance.getMaximumPoolSize());
+            replica.setReadOnly(true);
+            // A replica that is down must not block startup; the lag check keeps it out of rotation
+            replica.setInitializationFailTimeout(-1);
+            replica.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.put(instance.getName(), replica);
+        }
+
+        routingDataSource = new ReadReplicaRoutingDataSource(primaryDataSource, replicas,
+                readReplicaProperties.getMaxLag(), readReplicaProperties.getLagQuery(),
+                readReplicaProperties.getLagCheckTimeout(), meterRegistry);
+        return routingDataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readReplicaRoutingDataSource);
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.read-replicas.lag-check-interval:PT5S}")
+    public void refreshReplicaLag() {
+        if (routingDataSource != null) {
+            routingDataSource.refreshLag();
+        }
+    }
+}
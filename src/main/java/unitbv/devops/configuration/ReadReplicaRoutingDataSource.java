@@ -0,0 +1,191 @@
+package unitbv.devops.configuration;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes connections of read-only transactions to a read replica, everything else to the primary
+ *
+ * Replicas are picked round-robin among those whose last lag check succeeded and reported
+ * a lag within the limit; if none qualifies the primary serves the read. The route is chosen
+ * when the connection is first used, so this must be wrapped in a LazyConnectionDataSourceProxy
+ * for the transaction's read-only flag to be visible.
+ *
+ * Lag checks run on their own threads and the caller waits at most the lag-check timeout, so an
+ * unreachable replica (whose pool would block for Hikari's connectionTimeout) cannot stall the
+ * shared scheduler. A replica whose previous check is still running is not probed again.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaRoutingDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final Duration lagCheckTimeout;
+    private final Map<String, Counter> routedConnections = new HashMap<>();
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final ExecutorService lagChecks = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ReadReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicaDataSources,
+                                        Duration maxLag, String lagQuery, Duration lagCheckTimeout,
+                                        MeterRegistry meterRegistry) {
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+        this.lagCheckTimeout = lagCheckTimeout;
+        for (String name : replicaDataSources.keySet()) {
+            if (name == null || name.isBlank() || PRIMARY.equalsIgnoreCase(name)) {
+                throw new IllegalArgumentException("Invalid read replica name '" + name
+                        + "': a name is required and '" + PRIMARY + "' is reserved for the primary route");
+            }
+        }
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        routedConnections.put(PRIMARY, meterRegistry.counter("datasource.route.connections", "route", PRIMARY));
+        replicaDataSources.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            replicas.add(replica);
+            targets.put(name, dataSource);
+            routedConnections.put(name, meterRegistry.counter("datasource.route.connections", "route", name));
+            meterRegistry.gauge("datasource.replica.lag.seconds", Tags.of("replica", name),
+                    replica, r -> r.available ? r.lagSeconds : Double.NaN);
+        });
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        refreshLag();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String route = TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? pickReplica() : PRIMARY;
+        routedConnections.get(route).increment();
+        return route;
+    }
+
+    /**
+     * Re-measures the lag of every replica; a replica that cannot be queried in time is taken out of rotation
+     */
+    public void refreshLag() {
+        for (Replica replica : replicas) {
+            if (replica.check == null || replica.check.isDone()) {
+                replica.check = lagChecks.submit(() -> checkLag(replica));
+            }
+        }
+        long deadline = System.nanoTime() + lagCheckTimeout.toNanos();
+        for (Replica replica : replicas) {
+            try {
+                replica.check.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                markUnavailable(replica, "lag check timed out after " + lagCheckTimeout.toMillis() + " ms");
+            } catch (ExecutionException e) {
+                markUnavailable(replica, e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void checkLag(Replica replica) {
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, (lagCheckTimeout.toMillis() + 999) / 1000));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                replica.lagSeconds = resultSet.next() ? resultSet.getDouble(1) : 0;
+            }
+            if (!replica.available) {
+                logger.info("Read replica {} is available (lag {}s)", replica.name, replica.lagSeconds);
+            }
+            replica.available = true;
+        } catch (SQLException e) {
+            markUnavailable(replica, e.getMessage());
+        }
+    }
+
+    private void markUnavailable(Replica replica, String reason) {
+        if (replica.available) {
+            logger.warn("Read replica {} taken out of rotation: {}", replica.name, reason);
+        }
+        replica.available = false;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("maxLagSeconds", maxLag.toMillis() / 1000.0);
+        for (Replica replica : replicas) {
+            Map<String, Object> details = new LinkedHashMap<>();
+            details.put("available", replica.available);
+            details.put("lagSeconds", replica.lagSeconds);
+            details.put("inRotation", isEligible(replica));
+            details.put("routedConnections", (long) routedConnections.get(replica.name).count());
+            status.put(replica.name, details);
+        }
+        status.put("primaryRoutedConnections", (long) routedConnections.get(PRIMARY).count());
+        return status;
+    }
+
+    private String pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (isEligible(replica)) {
+                return replica.name;
+            }
+        }
+        return PRIMARY;
+    }
+
+    private boolean isEligible(Replica replica) {
+        return replica.available && replica.lagSeconds * 1000 <= maxLag.toMillis();
+    }
+
+    private static final class Replica {
+        final String name;
+        final DataSource dataSource;
+        volatile boolean available;
+        volatile double lagSeconds;
+        volatile Future<?> check;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
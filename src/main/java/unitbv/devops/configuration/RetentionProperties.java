@@ -0,0 +1,85 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retention policies for raw ticks, keyed by symbol type (STOCK, CRYPTOCURRENCY, ...)
+ * Expired ticks are downsampled into price_rollups, which are kept forever
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.retention")
+public class RetentionProperties {
+
+    /**
+     * Master switch for the background retention job
+     */
+    private boolean enabled = false;
+
+    /**
+     * How long raw ticks are kept per symbol type, e.g. CRYPTOCURRENCY=7d
+     * Symbol types without a policy are never purged
+     */
+    private Map<String, Duration> policies = new HashMap<>();
+
+    /**
+     * Bucket size of the rollup rows produced from expired ticks
+     * Should divide a day (1440) so buckets stay aligned to midnight
+     */
+    private int rollupMinutes = 60;
+
+    /**
+     * Ticks processed (rolled up and deleted) per transaction
+     * Small batches keep row locks short and let autovacuum keep up
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between two batches so the job never saturates the database
+     */
+    private Duration batchPause = Duration.ofMillis(50);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Duration> getPolicies() {
+        return policies;
+    }
+
+    public void setPolicies(Map<String, Duration> policies) {
+        this.policies = policies;
+    }
+
+    public int getRollupMinutes() {
+        return rollupMinutes;
+    }
+
+    public void setRollupMinutes(int rollupMinutes) {
+        this.rollupMinutes = rollupMinutes;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getBatchPause() {
+        return batchPause;
+    }
+
+    public void setBatchPause(Duration batchPause) {
+        this.batchPause = batchPause;
+    }
+}
@@ -0,0 +1,81 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tick storage engine selection
+ * "jdbc" keeps every tick in the prices table; "journal" appends ticks to per-symbol
+ * memory-mapped segment files and leaves only symbols, alerts and rollups in PostgreSQL
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.storage")
+public class StorageProperties {
+
+    public static final String ENGINE_JDBC = "jdbc";
+    public static final String ENGINE_JOURNAL = "journal";
+
+    private String engine = ENGINE_JDBC;
+
+    private final Journal journal = new Journal();
+
+    public boolean isJournalEnabled() {
+        return ENGINE_JOURNAL.equalsIgnoreCase(engine);
+    }
+
+    public String getEngine() {
+        return engine;
+    }
+
+    public void setEngine(String engine) {
+        this.engine = engine;
+    }
+
+    public Journal getJournal() {
+        return journal;
+    }
+
+    public static class Journal {
+
+        /**
+         * Root directory of the segment files ({directory}/{SYMBOL}/{firstSequence}.seg)
+         */
+        private String directory = "./data/tick-journal";
+
+        /**
+         * Records per segment file; 32 bytes each, must fill whole 4 KiB pages (multiple of 128)
+         */
+        private int segmentRecords = 131072;
+
+        /**
+         * How often dirty pages are flushed to disk; ticks newer than this can be lost on power failure
+         */
+        private Duration forceInterval = Duration.ofSeconds(1);
+
+        public String getDirectory() {
+            return directory;
+        }
+
+        public void setDirectory(String directory) {
+            this.directory = directory;
+        }
+
+        public int getSegmentRecords() {
+            return segmentRecords;
+        }
+
+        public void setSegmentRecords(int segmentRecords) {
+            this.segmentRecords = segmentRecords;
+        }
+
+        public Duration getForceInterval() {
+            return forceInterval;
+        }
+
+        public void setForceInterval(Duration forceInterval) {
+            this.forceInterval = forceInterval;
+        }
+    }
+}
@@ -1,11 +1,18 @@
 package unitbv.devops.configuration;
 
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import unitbv.devops.controller.AlertController;
+
+import java.util.List;
 
 /**
- * Configurație pentru Web MVC (CORS, etc.)
+ * Configurație pentru Web MVC (CORS, formatul Arrow pentru istoric, etc.)
  */
 @Configuration
 public class WebConfiguration implements WebMvcConfigurer {
@@ -16,7 +23,20 @@ public class WebConfiguration implements WebMvcConfigurer {
                 .allowedOrigins("*")
                 .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                 .allowedHeaders("*")
+                .exposedHeaders(AlertController.TOTAL_COUNT_HEADER)
                 .maxAge(3600);
     }
-}
 
+    /**
+     * Alocator off-heap pentru răspunsurile Arrow, eliberat la oprirea aplicației
+     */
+    @Bean(destroyMethod = "close")
+    public BufferAllocator arrowAllocator() {
+        return new RootAllocator();
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new ArrowPriceHistoryMessageConverter(arrowAllocator()));
+    }
+}
@@ -1,10 +1,13 @@
 package unitbv.devops.configuration;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+import unitbv.devops.websocket.WebSocketSessionGovernor;
 
 /**
  * Configurație pentru WebSocket cu STOMP protocol
@@ -14,6 +17,12 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 @EnableWebSocketMessageBroker
 public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer {
 
+    @Autowired
+    private WebSocketSessionProperties sessionProperties;
+
+    @Autowired
+    private WebSocketSessionGovernor sessionGovernor;
+
     /**
      * Configurează message broker-ul pentru rutarea mesajelor
      */
@@ -35,5 +44,17 @@ public class WebSocketConfiguration implements WebSocketMessageBrokerConfigurer
                 .setAllowedOriginPatterns("*")  // Permite toate originile (pentru dezvoltare)
                 .withSockJS();  // Fallback pentru browsere care nu suportă WebSocket nativ
     }
-}
 
+    /**
+     * Limite de trimitere per sesiune și politica pentru consumatorii lenți (conflate, drop-oldest, disconnect)
+     */
+    @Override
+    public void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+        if (!sessionProperties.isEnabled()) {
+            return;
+        }
+        registration.setSendTimeLimit((int) sessionProperties.getSendTimeLimit().toMillis());
+        registration.setSendBufferSizeLimit((int) sessionProperties.getSendBufferSizeLimit().toBytes());
+        registration.addDecoratorFactory(sessionGovernor::decorate);
+    }
+}
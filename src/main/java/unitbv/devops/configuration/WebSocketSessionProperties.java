@@ -0,0 +1,106 @@
+package unitbv.devops.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outbound limits for WebSocket sessions: each session gets a bounded send buffer, and a consumer
+ * that falls behind is handled by the overflow policy instead of growing the buffer without limit
+ */
+@Configuration
+@ConfigurationProperties(prefix = "app.websocket.session")
+public class WebSocketSessionProperties {
+
+    public enum OverflowPolicy {
+        /**
+         * Keep only the newest queued frame per conflatable destination and subscription; drop the oldest frames
+         * if that is not enough
+         */
+        CONFLATE,
+        /**
+         * Drop the oldest queued frames until the buffer fits
+         */
+        DROP_OLDEST,
+        /**
+         * Close the session
+         */
+        DISCONNECT
+    }
+
+    private boolean enabled = false;
+
+    /**
+     * Frames queued for one session, in bytes, before the overflow policy applies
+     */
+    private DataSize sendBufferSizeLimit = DataSize.ofKilobytes(512);
+
+    /**
+     * A single send blocked longer than this closes the session, whatever the policy
+     */
+    private Duration sendTimeLimit = Duration.ofSeconds(10);
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.CONFLATE;
+
+    /**
+     * Destination patterns whose queued frames may be replaced by a newer frame for the same destination
+     */
+    private List<String> conflateDestinations = new ArrayList<>(List.of("/topic/prices/*", "/topic/analytics/*", "/topic/analysis/*"));
+
+    /**
+     * Destinations never conflated even if they match a pattern above (every frame carries different data)
+     */
+    private List<String> losslessDestinations = new ArrayList<>(List.of("/topic/prices/batch"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public DataSize getSendBufferSizeLimit() {
+        return sendBufferSizeLimit;
+    }
+
+    public void setSendBufferSizeLimit(DataSize sendBufferSizeLimit) {
+        this.sendBufferSizeLimit = sendBufferSizeLimit;
+    }
+
+    public Duration getSendTimeLimit() {
+        return sendTimeLimit;
+    }
+
+    public void setSendTimeLimit(Duration sendTimeLimit) {
+        this.sendTimeLimit = sendTimeLimit;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public List<String> getConflateDestinations() {
+        return conflateDestinations;
+    }
+
+    public void setConflateDestinations(List<String> conflateDestinations) {
+        this.conflateDestinations = conflateDestinations;
+    }
+
+    public List<String> getLosslessDestinations() {
+        return losslessDestinations;
+    }
+
+    public void setLosslessDestinations(List<String> losslessDestinations) {
+        this.losslessDestinations = losslessDestinations;
+    }
+}
@@ -1,6 +1,11 @@
 package unitbv.devops.controller;
 
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -11,12 +16,16 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import unitbv.devops.dto.AlertBulkRequest;
+import unitbv.devops.dto.AlertBulkResultDTO;
+import unitbv.devops.dto.AlertCountsDTO;
 import unitbv.devops.dto.AlertDTO;
 import unitbv.devops.service.AlertService;
 import unitbv.devops.service.WebSocketService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Supplier;
 
 /**
  * REST Controller pentru operații pe alerte
@@ -27,6 +36,8 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class AlertController {
 
+    public static final String TOTAL_COUNT_HEADER = "X-Total-Count";
+
     @Autowired
     private AlertService alertService;
 
@@ -52,15 +63,17 @@ public class AlertController {
     }
 
     /**
-     * GET /api/alerts - Obține toate alertele cu filtre opționale
+     * GET /api/alerts - Obține alertele cu filtre opționale, paginat (totalul în header-ul X-Total-Count)
      */
     @GetMapping
     @Operation(
         summary = "Get all alerts",
-        description = "Returnează lista cu toate alertele, cu posibilitate de filtrare după simbol, tip, și interval de date"
+        description = "Returnează o pagină de alerte, cu posibilitate de filtrare după simbol, tip, interval de date și confirmare. "
+                + "Paginare cu page/size/sort (implicit 100 pe pagină, descrescător după triggeredAt); numărul total de alerte este în header-ul X-Total-Count"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de alerte returnată cu succes"),
+        @ApiResponse(responseCode = "400", description = "Câmp de sortare invalid"),
         @ApiResponse(responseCode = "401", description = "Neautorizat")
     })
     public ResponseEntity<List<AlertDTO>> getAllAlerts(
@@ -78,10 +91,60 @@ public class AlertController {
             @Parameter(description = "Data de sfârșit (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-09T23:59:59")
             @RequestParam(required = false)
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
-            LocalDateTime endDate
+            LocalDateTime endDate,
+
+            @Parameter(description = "Doar alertele confirmate (true) sau neconfirmate (false)", example = "false")
+            @RequestParam(required = false) Boolean acknowledged,
+
+            @ParameterObject
+            @PageableDefault(size = 100, sort = "triggeredAt", direction = Sort.Direction.DESC)
+            Pageable pageable
     ) {
-        List<AlertDTO> alerts = alertService.getAllAlerts(symbolCode, alertType, startDate, endDate);
-        return ResponseEntity.ok(alerts);
+        Page<AlertDTO> alerts;
+        try {
+            alerts = alertService.getAllAlerts(symbolCode, alertType, startDate, endDate, acknowledged, pageable);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok()
+                .header(TOTAL_COUNT_HEADER, String.valueOf(alerts.getTotalElements()))
+                .body(alerts.getContent());
+    }
+
+    /**
+     * GET /api/alerts/counts - Numărul de alerte pe simbol și pe tip, cu aceleași filtre ca lista
+     */
+    @GetMapping("/counts")
+    @Operation(
+        summary = "Count alerts",
+        description = "Returnează numărul de alerte care corespund filtrelor, total și defalcat pe simbol și pe tip. "
+                + "Alertele neconfirmate și cele recente sunt numărate din indexul în memorie"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Numărătorile au fost calculate"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertCountsDTO> getAlertCounts(
+            @Parameter(description = "Codul simbolului (opțional)", example = "AAPL")
+            @RequestParam(required = false) String symbolCode,
+
+            @Parameter(description = "Tipul alertei (opțional)", example = "SPIKE_UP")
+            @RequestParam(required = false) String alertType,
+
+            @Parameter(description = "Data de început (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime startDate,
+
+            @Parameter(description = "Data de sfârșit (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-09T23:59:59")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime endDate,
+
+            @Parameter(description = "Doar alertele confirmate (true) sau neconfirmate (false)", example = "false")
+            @RequestParam(required = false) Boolean acknowledged
+    ) {
+        return ResponseEntity.ok(alertService.getAlertCounts(symbolCode, alertType, startDate, endDate, acknowledged));
     }
 
     /**
@@ -128,6 +191,55 @@ public class AlertController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * POST /api/alerts/bulk/acknowledge - Confirmă în masă alertele selectate (ID-uri și/sau filtre)
+     */
+    @PostMapping("/bulk/acknowledge")
+    @Operation(
+        summary = "Acknowledge alerts in bulk",
+        description = "Confirmă printr-un singur UPDATE toate alertele din listă de ID-uri și/sau care corespund filtrelor "
+                + "(symbolCode, alertType, startDate, endDate, acknowledged). Trimite o singură notificare pe /topic/alerts/bulk"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alertele au fost confirmate; răspunsul conține numărul lor"),
+        @ApiResponse(responseCode = "400", description = "Nicio selecție sau prea multe ID-uri"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertBulkResultDTO> acknowledgeAlerts(@RequestBody AlertBulkRequest criteria) {
+        return bulk(() -> alertService.acknowledgeAlerts(criteria));
+    }
+
+    /**
+     * POST /api/alerts/bulk/delete - Șterge în masă alertele selectate (ID-uri și/sau filtre)
+     */
+    @PostMapping("/bulk/delete")
+    @Operation(
+        summary = "Delete alerts in bulk",
+        description = "Șterge printr-un singur DELETE toate alertele din listă de ID-uri și/sau care corespund filtrelor. "
+                + "Trimite o singură notificare pe /topic/alerts/bulk"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Alertele au fost șterse; răspunsul conține numărul lor"),
+        @ApiResponse(responseCode = "400", description = "Nicio selecție sau prea multe ID-uri"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertBulkResultDTO> deleteAlerts(@RequestBody AlertBulkRequest criteria) {
+        return bulk(() -> alertService.deleteAlerts(criteria));
+    }
+
+    private ResponseEntity<AlertBulkResultDTO> bulk(Supplier<AlertBulkResultDTO> operation) {
+        AlertBulkResultDTO result;
+        try {
+            result = operation.get();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (result.getAffected() > 0) {
+            webSocketService.broadcastAlertsBulk(result);
+        }
+        return ResponseEntity.ok(result);
+    }
+
     /**
      * POST /api/alerts - Creează o alertă nouă
      */
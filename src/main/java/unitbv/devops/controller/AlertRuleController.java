@@ -0,0 +1,139 @@
+package unitbv.devops.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import unitbv.devops.dto.AlertRuleDTO;
+import unitbv.devops.service.AlertRuleService;
+
+import java.util.List;
+
+/**
+ * REST Controller pentru regulile de alertă evaluate la fiecare tick
+ */
+@RestController
+@RequestMapping("/api/alert-rules")
+@Tag(name = "Alert Rules", description = "API pentru regulile de alertă definite de utilizatori")
+@SecurityRequirement(name = "bearerAuth")
+public class AlertRuleController {
+
+    @Autowired
+    private AlertRuleService alertRuleService;
+
+    /**
+     * GET /api/alert-rules - Obține regulile, opțional filtrate după simbol
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get alert rules",
+        description = "Returnează regulile de alertă, opțional doar pentru un simbol"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de reguli returnată cu succes"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<List<AlertRuleDTO>> getRules(
+            @Parameter(description = "Codul simbolului (opțional)", example = "AAPL")
+            @RequestParam(required = false) String symbolCode
+    ) {
+        return ResponseEntity.ok(alertRuleService.getRules(symbolCode));
+    }
+
+    /**
+     * GET /api/alert-rules/{id} - Obține o regulă după ID
+     */
+    @GetMapping("/{id}")
+    @Operation(
+        summary = "Get alert rule by ID",
+        description = "Returnează detaliile unei reguli de alertă"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Regula a fost găsită"),
+        @ApiResponse(responseCode = "404", description = "Regula nu a fost găsită"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertRuleDTO> getRuleById(
+            @Parameter(description = "ID-ul regulii", required = true, example = "1")
+            @PathVariable Long id
+    ) {
+        return alertRuleService.getRuleById(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * POST /api/alert-rules - Creează o regulă nouă
+     */
+    @PostMapping
+    @Operation(
+        summary = "Create alert rule",
+        description = "Creează o regulă evaluată la fiecare tick: PRICE_ABOVE / PRICE_BELOW (prețul traversează pragul), "
+                + "PERCENT_MOVE (mișcare de cel puțin threshold% în ultimele windowSeconds) sau VOLUME_ABOVE (volumul unui tick peste prag). "
+                + "Declanșarea creează o alertă RULE_<tip> și o transmite prin WebSocket"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "201", description = "Regula a fost creată"),
+        @ApiResponse(responseCode = "400", description = "Date invalide sau simbolul nu există"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertRuleDTO> createRule(@RequestBody AlertRuleDTO ruleDTO) {
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(alertRuleService.createRule(ruleDTO));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * PUT /api/alert-rules/{id}/enabled - Activează sau dezactivează o regulă
+     */
+    @PutMapping("/{id}/enabled")
+    @Operation(
+        summary = "Enable or disable alert rule",
+        description = "O regulă dezactivată rămâne salvată, dar nu mai este evaluată"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Regula a fost actualizată"),
+        @ApiResponse(responseCode = "404", description = "Regula nu a fost găsită"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<AlertRuleDTO> setEnabled(
+            @Parameter(description = "ID-ul regulii", required = true, example = "1")
+            @PathVariable Long id,
+            @Parameter(description = "true pentru activare, false pentru dezactivare", required = true)
+            @RequestParam boolean enabled
+    ) {
+        return alertRuleService.setEnabled(id, enabled)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * DELETE /api/alert-rules/{id} - Șterge o regulă
+     */
+    @DeleteMapping("/{id}")
+    @Operation(
+        summary = "Delete alert rule",
+        description = "Șterge o regulă de alertă"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "204", description = "Regula a fost ștearsă"),
+        @ApiResponse(responseCode = "404", description = "Regula nu a fost găsită"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<Void> deleteRule(
+            @Parameter(description = "ID-ul regulii de șters", required = true)
+            @PathVariable Long id
+    ) {
+        return alertRuleService.deleteRule(id)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+}
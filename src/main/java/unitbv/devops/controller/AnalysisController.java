@@ -0,0 +1,102 @@
+package unitbv.devops.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.service.AnalysisResultService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * REST Controller pentru rezultatele serviciului C++ de analiză (SMA/EMA pe ferestre)
+ * Rezultatele noi sunt transmise și în timp real pe /topic/analysis/{symbol}
+ */
+@RestController
+@RequestMapping("/api/analysis")
+@Tag(name = "Analysis Results", description = "API pentru rezultatele serviciului de analiză")
+@SecurityRequirement(name = "bearerAuth")
+public class AnalysisController {
+
+    private static final int MAX_HISTORY = 10_000;
+
+    @Autowired
+    private AnalysisResultService analysisResultService;
+
+    /**
+     * GET /api/analysis/{symbol} - Ultimul rezultat pentru fiecare fereastră, din memorie
+     */
+    @GetMapping("/{symbol}")
+    @Operation(
+        summary = "Get latest analysis results",
+        description = "Returnează ultimul rezultat primit de la serviciul de analiză pentru fiecare fereastră a simbolului, "
+                + "sau doar pentru fereastra cerută"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Rezultatele au fost returnate"),
+        @ApiResponse(responseCode = "404", description = "Nu există rezultat pentru fereastra cerută"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<List<AnalysisResultDTO>> getLatest(
+            @Parameter(description = "Codul simbolului", required = true, example = "BTC")
+            @PathVariable String symbol,
+
+            @Parameter(description = "Dimensiunea ferestrei (opțional)", example = "15")
+            @RequestParam(required = false) Integer windowSize
+    ) {
+        if (windowSize == null) {
+            return ResponseEntity.ok(analysisResultService.getLatest(symbol));
+        }
+        return analysisResultService.getLatest(symbol, windowSize)
+                .map(result -> ResponseEntity.ok(List.of(result)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * GET /api/analysis/{symbol}/history - Istoricul unei ferestre, cele mai recente primele
+     */
+    @GetMapping("/{symbol}/history")
+    @Operation(
+        summary = "Get analysis result history",
+        description = "Returnează rezultatele salvate pentru o fereastră, descrescător după timestamp. "
+                + "Rezultatele ajung în istoric în cel mult flush-interval (implicit 1s)"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Istoricul a fost returnat"),
+        @ApiResponse(responseCode = "400", description = "Limită invalidă"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<List<AnalysisResultDTO>> getHistory(
+            @Parameter(description = "Codul simbolului", required = true, example = "BTC")
+            @PathVariable String symbol,
+
+            @Parameter(description = "Dimensiunea ferestrei", required = true, example = "15")
+            @RequestParam Integer windowSize,
+
+            @Parameter(description = "Data de început (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime startDate,
+
+            @Parameter(description = "Data de sfârșit (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-09T23:59:59")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime endDate,
+
+            @Parameter(description = "Numărul maxim de rezultate (max 10000)", example = "1000")
+            @RequestParam(defaultValue = "1000") int limit
+    ) {
+        if (limit <= 0 || limit > MAX_HISTORY) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(analysisResultService.getHistory(symbol, windowSize, startDate, endDate, limit));
+    }
+}
@@ -0,0 +1,68 @@
+package unitbv.devops.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import unitbv.devops.dto.IndicatorSnapshotDTO;
+import unitbv.devops.service.IndicatorEngine;
+
+import java.util.List;
+
+/**
+ * REST Controller pentru indicatorii tehnici calculați în gateway
+ * Aceleași snapshot-uri sunt transmise în timp real pe /topic/analytics/{symbol}
+ */
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "API pentru indicatorii tehnici (SMA, EMA, VWAP, RSI, Bollinger, ATR)")
+@SecurityRequirement(name = "bearerAuth")
+public class AnalyticsController {
+
+    @Autowired
+    private IndicatorEngine indicatorEngine;
+
+    /**
+     * GET /api/analytics - Indicatorii pentru toate simbolurile care au primit tick-uri
+     */
+    @GetMapping
+    @Operation(
+        summary = "Get indicators for all symbols",
+        description = "Returnează indicatorii tehnici la ultimul tick, pentru fiecare simbol"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Lista de indicatori returnată cu succes"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<List<IndicatorSnapshotDTO>> getAllIndicators() {
+        return ResponseEntity.ok(indicatorEngine.getSnapshots());
+    }
+
+    /**
+     * GET /api/analytics/{symbol} - Indicatorii unui simbol
+     */
+    @GetMapping("/{symbol}")
+    @Operation(
+        summary = "Get indicators for symbol",
+        description = "Returnează SMA, EMA, Bollinger Bands (pe ultimele period tick-uri), VWAP pe ziua curentă, "
+                + "RSI și ATR (Wilder) la ultimul tick. Un indicator lipsește până când are destule tick-uri"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Indicatorii au fost găsiți"),
+        @ApiResponse(responseCode = "404", description = "Simbolul nu are tick-uri de la pornire sau indicatorii sunt dezactivați"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<IndicatorSnapshotDTO> getIndicators(
+            @Parameter(description = "Codul simbolului", required = true, example = "BTC")
+            @PathVariable String symbol
+    ) {
+        return indicatorEngine.getSnapshot(symbol)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -3,17 +3,22 @@ package unitbv.devops.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import io.swagger.v3.oas.annotations.Hidden;
 import unitbv.devops.dto.AnalysisResultDTO;
 import unitbv.devops.dto.AlertDTO;
-import unitbv.devops.service.AlertService;
-import unitbv.devops.service.WebSocketService;
+import unitbv.devops.service.AlertCoalescer;
+import unitbv.devops.service.AnalysisResultService;
+import unitbv.devops.service.PriceChangeFeed;
+import unitbv.devops.util.FixedPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -27,14 +32,20 @@ public class InternalController {
 
     private static final Logger logger = LoggerFactory.getLogger(InternalController.class);
 
+    // Dimensiunea maximă a unui lot trimis de serviciul C++
+    private static final int MAX_BATCH = 5_000;
+
     @Value("${app.internal.secret:default-secret-change-in-production}")
     private String internalSecret;
 
     @Autowired
-    private AlertService alertService;
+    private AlertCoalescer alertCoalescer;
+
+    @Autowired
+    private AnalysisResultService analysisResultService;
 
     @Autowired
-    private WebSocketService webSocketService;
+    private PriceChangeFeed priceChangeFeed;
 
     /**
      * POST /internal/analysis-results
@@ -51,14 +62,22 @@ public class InternalController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
         }
 
-        logger.info("Received analysis result for symbol: {} - SMA: {}, EMA: {}, Window: {}",
+        logger.debug("Received analysis result for symbol: {} - SMA: {}, EMA: {}, Window: {}",
                 analysisResult.getSymbolCode(),
-                analysisResult.getSma(),
-                analysisResult.getEma(),
+                FixedPoint.toString(analysisResult.getSma()),
+                FixedPoint.toString(analysisResult.getEma()),
                 analysisResult.getWindowSize());
 
-        // Aici poți procesa rezultatele: salvare în cache, database, etc.
-        // Pentru moment doar logăm
+        // Cache-ul cu ultimul rezultat per fereastră, broadcast și coada de scriere în analysis_results
+        try {
+            analysisResultService.record(analysisResult);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected analysis result: {}", e.getMessage());
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("status", "error");
+            errorResponse.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
 
         Map<String, String> response = new HashMap<>();
         response.put("status", "received");
@@ -68,6 +87,37 @@ public class InternalController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * POST /internal/analysis-results/batch
+     * Primește un lot de rezultate de analiză, salvate într-o singură tranzacție
+     */
+    @PostMapping("/analysis-results/batch")
+    public ResponseEntity<Map<String, Object>> receiveAnalysisResultsBatch(
+            @RequestHeader(value = "X-Internal-Secret", required = false) String secret,
+            @RequestBody List<AnalysisResultDTO> analysisResults
+    ) {
+        if (secret == null || !secret.equals(internalSecret)) {
+            logger.warn("Unauthorized access attempt to /internal/analysis-results/batch");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (analysisResults.size() > MAX_BATCH) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
+
+        logger.debug("Received batch of {} analysis results", analysisResults.size());
+        try {
+            analysisResultService.recordAll(analysisResults);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Rejected analysis result batch: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(error(e));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "received");
+        response.put("count", analysisResults.size());
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * POST /internal/alerts
      * Primește alerte detectate de serviciul C++ (anomalii, spike-uri, etc.)
@@ -89,26 +139,79 @@ public class InternalController {
                 alertDTO.getThreshold());
 
         try {
-            // Salvează alerta în baza de date
-            AlertDTO createdAlert = alertService.createAlert(alertDTO);
-
-            // Broadcast alert via WebSocket în timp real către toți clienții conectați
-            webSocketService.broadcastAlert(createdAlert);
+            // Salvează și transmite alerta prin WebSocket, sau o coalescează în rafala deschisă pentru (simbol, tip)
+            AlertDTO alert = alertCoalescer.submit(alertDTO);
+            boolean coalesced = alert.getOccurrenceCount() != null && alert.getOccurrenceCount() > 1;
 
             Map<String, Object> response = new HashMap<>();
-            response.put("status", "created");
-            response.put("alertId", createdAlert.getId());
-            response.put("symbol", createdAlert.getSymbolCode());
+            response.put("status", coalesced ? "coalesced" : "created");
+            response.put("alertId", alert.getId());
+            response.put("symbol", alert.getSymbolCode());
+            response.put("occurrenceCount", alert.getOccurrenceCount());
 
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(coalesced ? HttpStatus.ACCEPTED : HttpStatus.CREATED).body(response);
         } catch (Exception e) {
             logger.error("Error creating alert from C++ service: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error(e));
+        }
+    }
 
-            Map<String, Object> errorResponse = new HashMap<>();
-            errorResponse.put("status", "error");
-            errorResponse.put("message", e.getMessage());
+    /**
+     * POST /internal/alerts/batch
+     * Primește un lot de alerte; alertele noi sunt salvate într-o singură tranzacție, repetițiile sunt coalescate
+     */
+    @PostMapping("/alerts/batch")
+    public ResponseEntity<Map<String, Object>> receiveAlertsBatch(
+            @RequestHeader(value = "X-Internal-Secret", required = false) String secret,
+            @RequestBody List<AlertDTO> alerts
+    ) {
+        if (secret == null || !secret.equals(internalSecret)) {
+            logger.warn("Unauthorized access attempt to /internal/alerts/batch");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        if (alerts.size() > MAX_BATCH) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }
 
-            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errorResponse);
+        logger.info("Received batch of {} alerts from C++ service", alerts.size());
+        List<AlertDTO> results;
+        try {
+            results = alertCoalescer.submitAll(alerts);
+        } catch (Exception e) {
+            logger.error("Error creating alert batch from C++ service: {}", e.getMessage());
+            return ResponseEntity.badRequest().body(error(e));
+        }
+
+        long coalesced = results.stream()
+                .filter(alert -> alert.getOccurrenceCount() != null && alert.getOccurrenceCount() > 1)
+                .count();
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "processed");
+        response.put("created", results.size() - coalesced);
+        response.put("coalesced", coalesced);
+        response.put("alertIds", results.stream().map(AlertDTO::getId).toList());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * GET /internal/price-stream
+     * Fluxul tick-urilor ingerate ca server-sent events; Last-Event-ID (sau ?from=) reia fluxul după reconectare
+     */
+    @GetMapping(value = "/price-stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> priceStream(
+            @RequestHeader(value = "X-Internal-Secret", required = false) String secret,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(required = false) Long from
+    ) {
+        if (secret == null || !secret.equals(internalSecret)) {
+            logger.warn("Unauthorized access attempt to /internal/price-stream");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        try {
+            return ResponseEntity.ok(priceChangeFeed.subscribe(lastEventId != null ? lastEventId
+                    : from != null ? priceChangeFeed.eventId(from - 1) : null));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
         }
     }
 
@@ -123,5 +226,11 @@ public class InternalController {
         response.put("service", "Market Data Aggregator Gateway");
         return ResponseEntity.ok(response);
     }
-}
 
+    private static Map<String, Object> error(Exception e) {
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("status", "error");
+        errorResponse.put("message", e.getMessage());
+        return errorResponse;
+    }
+}
@@ -1,16 +1,22 @@
 package unitbv.devops.controller;
 
+import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import io.micrometer.core.instrument.search.Search;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import unitbv.devops.configuration.ReadReplicaRoutingDataSource;
 import unitbv.devops.dto.MetricsSummaryDTO;
+import unitbv.devops.service.PriceRetentionService;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.concurrent.TimeUnit;
 
 @RestController
@@ -18,9 +24,14 @@ import java.util.concurrent.TimeUnit;
 public class MetricsController {
 
     private final MeterRegistry meterRegistry;
+    private final PriceRetentionService priceRetentionService;
+    private final ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRouting;
 
-    public MetricsController(MeterRegistry meterRegistry) {
+    public MetricsController(MeterRegistry meterRegistry, PriceRetentionService priceRetentionService,
+                             ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRouting) {
         this.meterRegistry = meterRegistry;
+        this.priceRetentionService = priceRetentionService;
+        this.readReplicaRouting = readReplicaRouting;
     }
 
     @GetMapping("/gateway")
@@ -85,4 +96,32 @@ public class MetricsController {
 
         return ResponseEntity.ok(summary);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/retention")
+    public ResponseEntity<Map<String, Object>> getRetentionProgress() {
+        return ResponseEntity.ok(priceRetentionService.getProgress());
+    }
+
+    /**
+     * Starea pool-urilor de conexiuni, per rută (primary / replica-*), plus lag-ul replicilor
+     */
+    @GetMapping("/datasource")
+    public ResponseEntity<Map<String, Object>> getDataSourceMetrics() {
+        Map<String, Map<String, Object>> pools = new TreeMap<>();
+        for (String name : new String[]{"active", "idle", "pending", "max"}) {
+            for (Gauge gauge : meterRegistry.find("hikaricp.connections." + name).gauges()) {
+                pools.computeIfAbsent(gauge.getId().getTag("pool"), pool -> new LinkedHashMap<>())
+                        .put(name, (int) gauge.value());
+            }
+        }
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        ReadReplicaRoutingDataSource routing = readReplicaRouting.getIfAvailable();
+        metrics.put("readReplicasEnabled", routing != null);
+        metrics.put("pools", pools);
+        if (routing != null) {
+            metrics.put("replicas", routing.getStatus());
+        }
+        return ResponseEntity.ok(metrics);
+    }
+}
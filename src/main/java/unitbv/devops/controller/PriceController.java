@@ -2,22 +2,32 @@ package unitbv.devops.controller;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import unitbv.devops.client.AnalysisServiceClient;
+import unitbv.devops.configuration.ArrowPriceHistoryMessageConverter;
 import unitbv.devops.dto.PriceDTO;
 import unitbv.devops.dto.PriceHistoryDTO;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.service.PriceExportService;
 import unitbv.devops.service.PriceService;
 import unitbv.devops.service.WebSocketService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
 
 /**
  * REST Controller pentru operații pe prețuri
@@ -34,6 +44,12 @@ public class PriceController {
     @Autowired
     private WebSocketService webSocketService;
 
+    @Autowired
+    private PriceExportService priceExportService;
+
+    @Autowired
+    private AnalysisServiceClient analysisServiceClient;
+
     /**
      * GET /api/prices/recent - Obține prețurile recente pentru toate simbolurile (ultima oră)
      * IMPORTANT: Acest endpoint trebuie să fie PRIMUL, înainte de /{symbol},
@@ -55,11 +71,13 @@ public class PriceController {
 
     /**
      * GET /api/prices/{symbol} - Obține istoricul prețurilor cu filtre și statistici
+     * (JSON sau, cu Accept: application/vnd.apache.arrow.stream, coloane Arrow)
      */
-    @GetMapping("/{symbol}")
+    @GetMapping(value = "/{symbol}", produces = {MediaType.APPLICATION_JSON_VALUE, ArrowPriceHistoryMessageConverter.ARROW_STREAM_VALUE})
     @Operation(
         summary = "Get price history",
-        description = "Returnează istoricul prețurilor pentru un simbol cu filtre opționale (date, limit) și statistici (min, max, average, total volume)"
+        description = "Returnează istoricul prețurilor pentru un simbol cu filtre opționale (date, limit) și statistici (min, max, average, total volume). "
+                + "Cu Accept: application/vnd.apache.arrow.stream răspunsul este un stream Arrow IPC cu coloanele timestamp, price (Int64, scale=8) și volume"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Istoric de prețuri returnat cu succes"),
@@ -93,6 +111,59 @@ public class PriceController {
         return ResponseEntity.ok(history);
     }
 
+    /**
+     * GET /api/prices/{symbol}/export - Export complet al istoricului (CSV sau NDJSON), în stream
+     */
+    @GetMapping("/{symbol}/export")
+    @Operation(
+        summary = "Export price history",
+        description = "Exportă toate tick-urile din interval ([startDate, endDate), implicit tot istoricul) ca CSV sau NDJSON. "
+                + "Răspunsul este scris în stream, cu memorie constantă indiferent de mărimea intervalului"
+    )
+    @ApiResponses(value = {
+        @ApiResponse(responseCode = "200", description = "Export început"),
+        @ApiResponse(responseCode = "400", description = "Format necunoscut"),
+        @ApiResponse(responseCode = "404", description = "Simbolul nu a fost găsit"),
+        @ApiResponse(responseCode = "401", description = "Neautorizat")
+    })
+    public ResponseEntity<StreamingResponseBody> exportPrices(
+            @Parameter(description = "Codul simbolului", required = true, example = "AAPL")
+            @PathVariable String symbol,
+
+            @Parameter(description = "Formatul exportului: csv sau ndjson", example = "csv")
+            @RequestParam(defaultValue = "csv")
+            String format,
+
+            @Parameter(description = "Data de început, inclusiv (format: yyyy-MM-ddTHH:mm:ss)", example = "2026-01-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime startDate,
+
+            @Parameter(description = "Data de sfârșit, exclusiv (format: yyyy-MM-ddTHH:mm:ss)", example = "2027-01-01T00:00:00")
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+            LocalDateTime endDate
+    ) {
+        PriceExportService.Format exportFormat;
+        try {
+            exportFormat = PriceExportService.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Symbol> exportSymbol = priceExportService.findSymbol(symbol);
+        if (exportSymbol.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = output -> priceExportService.export(exportSymbol.get(), startDate, endDate, exportFormat, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(PriceExportService.fileName(symbol, exportFormat)).build().toString())
+                .body(body);
+    }
+
     /**
      * GET /api/prices/{symbol}/latest - Obține cel mai recent preț
      */
@@ -139,8 +210,8 @@ public class PriceController {
             // Broadcast price update via WebSocket în timp real
             webSocketService.broadcastPriceUpdate(created);
 
-            // TODO: Send price to C++ Analysis Service for processing
-            // analysisServiceClient.sendPriceUpdate(created);
+            // Trimis asincron, în loturi, către serviciul C++ de analiză
+            analysisServiceClient.sendPriceUpdate(created);
 
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
         } catch (IllegalArgumentException e) {
@@ -0,0 +1,24 @@
+package unitbv.devops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Selecția pentru operațiile în masă pe alerte: o listă de ID-uri și/sau aceleași filtre ca la listare
+ * (criteriile date se combină cu AND; cel puțin unul este obligatoriu)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertBulkRequest {
+    private List<Long> ids;
+    private String symbolCode;
+    private String alertType;
+    private LocalDateTime startDate;
+    private LocalDateTime endDate;
+    private Boolean acknowledged;
+}
@@ -0,0 +1,20 @@
+package unitbv.devops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Rezultatul unei operații în masă, trimis și ca notificare unică pe /topic/alerts/bulk
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertBulkResultDTO {
+    public static final String ACKNOWLEDGED = "ACKNOWLEDGED";
+    public static final String DELETED = "DELETED";
+
+    private String action;
+    private int affected;
+    private AlertBulkRequest criteria;
+}
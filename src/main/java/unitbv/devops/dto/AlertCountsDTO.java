@@ -0,0 +1,19 @@
+package unitbv.devops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * DTO cu numărul de alerte care corespund filtrelor, total și defalcat pe simbol și pe tip
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertCountsDTO {
+    private long total;
+    private Map<String, Long> bySymbol;
+    private Map<String, Long> byType;
+}
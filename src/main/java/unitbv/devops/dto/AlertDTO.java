@@ -20,5 +20,13 @@ public class AlertDTO {
     private LocalDateTime triggeredAt;
     private String details;
     private Boolean acknowledged;
+    // Câte alerte identice (simbol, tip) au fost coalescate în aceasta și când a venit ultima
+    private Integer occurrenceCount;
+    private LocalDateTime lastSeenAt;
+
+    public AlertDTO(Long id, String symbolCode, String alertType, BigDecimal threshold, LocalDateTime triggeredAt,
+                    String details, Boolean acknowledged) {
+        this(id, symbolCode, alertType, threshold, triggeredAt, details, acknowledged, 1, triggeredAt);
+    }
 }
 
@@ -0,0 +1,25 @@
+package unitbv.devops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * DTO pentru regulile de alertă (ruleType: PRICE_ABOVE, PRICE_BELOW, PERCENT_MOVE, VOLUME_ABOVE)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlertRuleDTO {
+    private Long id;
+    private String symbolCode;
+    private String ruleType;
+    private BigDecimal threshold;
+    // Doar pentru PERCENT_MOVE
+    private Integer windowSeconds;
+    private Boolean enabled;
+    private LocalDateTime createdAt;
+}
@@ -1,23 +1,32 @@
 package unitbv.devops.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import unitbv.devops.util.FixedPoint;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 /**
  * DTO pentru rezultatele de analiză primite de la serviciul C++
+ * Prețurile sunt în virgulă fixă (8 zecimale implicite); în JSON rămân numere zecimale
  */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class AnalysisResultDTO {
     private String symbolCode;
-    private BigDecimal currentPrice;
-    private BigDecimal sma;        // Simple Moving Average
-    private BigDecimal ema;        // Exponential Moving Average
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    @JsonDeserialize(using = FixedPoint.Deserializer.class)
+    private long currentPrice;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    @JsonDeserialize(using = FixedPoint.Deserializer.class)
+    private long sma;              // Simple Moving Average
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    @JsonDeserialize(using = FixedPoint.Deserializer.class)
+    private long ema;              // Exponential Moving Average
     private Long volume;
     private LocalDateTime timestamp;
     private Integer windowSize;    // Window size pentru moving average (ex: 5, 15, 60 minute)
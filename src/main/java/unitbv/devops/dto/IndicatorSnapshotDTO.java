@@ -0,0 +1,41 @@
+package unitbv.devops.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pentru indicatorii tehnici ai unui simbol, la ultimul tick
+ * Valorile sunt în virgulă fixă (8 zecimale implicite); un indicator lipsește până are destule tick-uri
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IndicatorSnapshotDTO {
+    private String symbolCode;
+    private LocalDateTime timestamp;
+    private long ticks;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long price;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long sma;              // Simple Moving Average (period tick-uri)
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long ema;              // Exponential Moving Average
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long vwap;             // Volume Weighted Average Price, pe ziua curentă
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long rsi;              // Relative Strength Index (0..100, Wilder)
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long bollingerUpper;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long bollingerLower;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private Long atr;              // Average True Range (Wilder)
+    private Integer period;
+}
@@ -0,0 +1,21 @@
+package unitbv.devops.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * DTO pentru un cadru de pe /topic/prices/batch: ultimul preț al fiecărui simbol schimbat de la cadrul anterior
+ * sequence crește cu fiecare cadru trimis, deci un client poate observa cadrele pierdute
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceBatchDTO {
+    private long sequence;
+    private LocalDateTime sentAt;
+    private List<PriceDTO> updates;
+}
@@ -0,0 +1,25 @@
+package unitbv.devops.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO pentru un tick din fluxul de schimbări (/internal/price-stream)
+ * sequence crește strict cu fiecare tick ingerat; un consumator reia fluxul de la ultimul sequence văzut
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceChangeDTO {
+    private long sequence;
+    private String symbolCode;
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    private long price;
+    private Long volume;
+    private LocalDateTime timestamp;
+}
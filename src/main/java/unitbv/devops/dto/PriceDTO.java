@@ -1,9 +1,12 @@
 package unitbv.devops.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.math.BigDecimal;
+import unitbv.devops.util.FixedPoint;
+
 import java.time.LocalDateTime;
 
 /**
@@ -15,7 +18,12 @@ import java.time.LocalDateTime;
 public class PriceDTO {
     private Long id;
     private String symbolCode;
-    private BigDecimal price;
+    /**
+     * Preț în virgulă fixă (8 zecimale implicite, vezi {@link FixedPoint}); în JSON apare ca număr zecimal
+     */
+    @JsonSerialize(using = FixedPoint.Serializer.class)
+    @JsonDeserialize(using = FixedPoint.Deserializer.class)
+    private long price;
     private Long volume;
     private LocalDateTime timestamp;
 }
@@ -1,9 +1,12 @@
 package unitbv.devops.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import java.math.BigDecimal;
+import unitbv.devops.util.FixedPoint;
+
 import java.util.List;
 
 /**
@@ -17,13 +20,22 @@ public class PriceHistoryDTO {
     private List<PriceDTO> prices;
     private PriceStatistics statistics;
 
+    /**
+     * Statistici calculate în virgulă fixă (average, min, max au 8 zecimale implicite)
+     */
     @Data
     @NoArgsConstructor
     @AllArgsConstructor
     public static class PriceStatistics {
-        private BigDecimal average;
-        private BigDecimal min;
-        private BigDecimal max;
+        @JsonSerialize(using = FixedPoint.Serializer.class)
+        @JsonDeserialize(using = FixedPoint.Deserializer.class)
+        private long average;
+        @JsonSerialize(using = FixedPoint.Serializer.class)
+        @JsonDeserialize(using = FixedPoint.Deserializer.class)
+        private long min;
+        @JsonSerialize(using = FixedPoint.Serializer.class)
+        @JsonDeserialize(using = FixedPoint.Deserializer.class)
+        private long max;
         private Long totalVolume;
         private Integer count;
     }
@@ -6,7 +6,9 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "alerts", indexes = {
-    @Index(name = "idx_alerts_symbol_id", columnList = "symbol_id"),
+    @Index(name = "idx_alerts_symbol_type_triggered", columnList = "symbol_id, alert_type, triggered_at DESC"),
+    @Index(name = "idx_alerts_symbol_triggered", columnList = "symbol_id, triggered_at DESC"),
+    @Index(name = "idx_alerts_type_triggered", columnList = "alert_type, triggered_at DESC"),
     @Index(name = "idx_alerts_triggered_at", columnList = "triggered_at")
 })
 public class Alert {
@@ -33,12 +35,21 @@ public class Alert {
     @Column(nullable = false)
     private Boolean acknowledged = false;
 
+    @Column(nullable = false)
+    private Integer occurrenceCount = 1;
+
+    @Column(nullable = false)
+    private LocalDateTime lastSeenAt;
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        if (lastSeenAt == null) {
+            lastSeenAt = triggeredAt;
+        }
     }
 
     // Constructors
@@ -109,6 +120,22 @@ public class Alert {
         this.acknowledged = acknowledged;
     }
 
+    public Integer getOccurrenceCount() {
+        return occurrenceCount;
+    }
+
+    public void setOccurrenceCount(Integer occurrenceCount) {
+        this.occurrenceCount = occurrenceCount;
+    }
+
+    public LocalDateTime getLastSeenAt() {
+        return lastSeenAt;
+    }
+
+    public void setLastSeenAt(LocalDateTime lastSeenAt) {
+        this.lastSeenAt = lastSeenAt;
+    }
+
     public LocalDateTime getCreatedAt() {
         return createdAt;
     }
@@ -0,0 +1,120 @@
+package unitbv.devops.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Regulă de alertă definită de utilizator, evaluată la fiecare tick ingerat
+ * Pragul este un preț pentru PRICE_ABOVE/PRICE_BELOW, un volum pentru VOLUME_ABOVE
+ * și un procent pentru PERCENT_MOVE (mișcarea față de minimul/maximul din ultimele windowSeconds).
+ */
+@Entity
+@Table(name = "alert_rules", indexes = {
+    @Index(name = "idx_alert_rules_symbol_id", columnList = "symbol_id")
+})
+public class AlertRule {
+
+    public enum RuleType {
+        PRICE_ABOVE,
+        PRICE_BELOW,
+        PERCENT_MOVE,
+        VOLUME_ABOVE
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "symbol_id", nullable = false)
+    private Symbol symbol;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private RuleType ruleType;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal threshold;
+
+    @Column
+    private Integer windowSeconds;
+
+    @Column(nullable = false)
+    private Boolean enabled = true;
+
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public AlertRule() {}
+
+    public AlertRule(Symbol symbol, RuleType ruleType, BigDecimal threshold, Integer windowSeconds) {
+        this.symbol = symbol;
+        this.ruleType = ruleType;
+        this.threshold = threshold;
+        this.windowSeconds = windowSeconds;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
+    public RuleType getRuleType() {
+        return ruleType;
+    }
+
+    public void setRuleType(RuleType ruleType) {
+        this.ruleType = ruleType;
+    }
+
+    public BigDecimal getThreshold() {
+        return threshold;
+    }
+
+    public void setThreshold(BigDecimal threshold) {
+        this.threshold = threshold;
+    }
+
+    public Integer getWindowSeconds() {
+        return windowSeconds;
+    }
+
+    public void setWindowSeconds(Integer windowSeconds) {
+        this.windowSeconds = windowSeconds;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
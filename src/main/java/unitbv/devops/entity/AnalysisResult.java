@@ -0,0 +1,109 @@
+package unitbv.devops.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Un rezultat al serviciului C++ de analiză (SMA/EMA pe o fereastră) pentru un simbol
+ * Rândurile sunt doar adăugate, în loturi, de AnalysisResultService
+ */
+@Entity
+@Table(name = "analysis_results", indexes = {
+    @Index(name = "idx_analysis_results_symbol_window_calculated", columnList = "symbol_id, window_size, calculated_at DESC")
+})
+public class AnalysisResult {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "symbol_id", nullable = false)
+    private Symbol symbol;
+
+    @Column(name = "window_size", nullable = false)
+    private Integer windowSize;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal currentPrice;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal sma;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal ema;
+
+    @Column
+    private Long volume;
+
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+
+    // Constructors
+    public AnalysisResult() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
+    public Integer getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(Integer windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public BigDecimal getCurrentPrice() {
+        return currentPrice;
+    }
+
+    public void setCurrentPrice(BigDecimal currentPrice) {
+        this.currentPrice = currentPrice;
+    }
+
+    public BigDecimal getSma() {
+        return sma;
+    }
+
+    public void setSma(BigDecimal sma) {
+        this.sma = sma;
+    }
+
+    public BigDecimal getEma() {
+        return ema;
+    }
+
+    public void setEma(BigDecimal ema) {
+        this.ema = ema;
+    }
+
+    public Long getVolume() {
+        return volume;
+    }
+
+    public void setVolume(Long volume) {
+        this.volume = volume;
+    }
+
+    public LocalDateTime getCalculatedAt() {
+        return calculatedAt;
+    }
+
+    public void setCalculatedAt(LocalDateTime calculatedAt) {
+        this.calculatedAt = calculatedAt;
+    }
+}
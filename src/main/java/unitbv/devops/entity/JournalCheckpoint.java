@@ -0,0 +1,74 @@
+package unitbv.devops.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Până la ce secvență au fost agregate în price_rollups tick-urile din jurnalul unui simbol
+ * Se actualizează în aceeași tranzacție cu rollup-urile, ca un segment să nu fie agregat de două ori
+ * dacă procesul se oprește înainte ca fișierul segmentului să fie șters.
+ */
+@Entity
+@Table(name = "journal_checkpoints")
+public class JournalCheckpoint {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "symbol_id", nullable = false, unique = true)
+    private Symbol symbol;
+
+    @Column(name = "rolled_up_before", nullable = false)
+    private Long rolledUpBefore;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public JournalCheckpoint() {}
+
+    public JournalCheckpoint(Symbol symbol) {
+        this.symbol = symbol;
+        this.rolledUpBefore = 0L;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
+    public Long getRolledUpBefore() {
+        return rolledUpBefore;
+    }
+
+    public void setRolledUpBefore(Long rolledUpBefore) {
+        this.rolledUpBefore = rolledUpBefore;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
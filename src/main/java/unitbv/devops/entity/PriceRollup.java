@@ -0,0 +1,222 @@
+package unitbv.devops.entity;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Agregat OHLCV pentru un simbol pe un interval fix (bucket)
+ * Rândurile sunt produse de job-ul de retenție din tick-urile brute expirate și nu expiră niciodată
+ */
+@Entity
+@Table(name = "price_rollups",
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_price_rollups_bucket", columnNames = {"symbol_id", "resolution_minutes", "bucket_start"})
+    },
+    indexes = {
+        @Index(name = "idx_price_rollups_symbol_bucket", columnList = "symbol_id, bucket_start")
+    })
+public class PriceRollup {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "symbol_id", nullable = false)
+    private Symbol symbol;
+
+    @Column(name = "resolution_minutes", nullable = false)
+    private Integer resolutionMinutes;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal openPrice;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal highPrice;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal lowPrice;
+
+    @Column(nullable = false, precision = 18, scale = 8)
+    private BigDecimal closePrice;
+
+    @Column(nullable = false)
+    private Long volume;
+
+    @Column(nullable = false)
+    private Long tickCount;
+
+    @Column(nullable = false)
+    private LocalDateTime firstTickAt;
+
+    @Column(nullable = false)
+    private LocalDateTime lastTickAt;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+
+    // Constructors
+    public PriceRollup() {}
+
+    public PriceRollup(Symbol symbol, Integer resolutionMinutes, LocalDateTime bucketStart) {
+        this.symbol = symbol;
+        this.resolutionMinutes = resolutionMinutes;
+        this.bucketStart = bucketStart;
+        this.volume = 0L;
+        this.tickCount = 0L;
+    }
+
+    /**
+     * Include un tick în agregat. Open/close sunt decise după timestamp,
+     * deci ordinea în care ajung tick-urile (inclusiv cele întârziate) nu contează.
+     */
+    public void accumulate(BigDecimal price, long tickVolume, LocalDateTime timestamp) {
+        merge(price, price, price, price, tickVolume, 1, timestamp, timestamp);
+    }
+
+    /**
+     * Include în agregat un grup de tick-uri deja pre-agregat (open/high/low/close, volum, număr)
+     */
+    public void merge(BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close,
+                      long groupVolume, long groupTicks, LocalDateTime firstAt, LocalDateTime lastAt) {
+        if (tickCount == 0) {
+            openPrice = open;
+            highPrice = high;
+            lowPrice = low;
+            closePrice = close;
+            firstTickAt = firstAt;
+            lastTickAt = lastAt;
+        } else {
+            if (firstAt.isBefore(firstTickAt)) {
+                openPrice = open;
+                firstTickAt = firstAt;
+            }
+            if (!lastAt.isBefore(lastTickAt)) {
+                closePrice = close;
+                lastTickAt = lastAt;
+            }
+            if (high.compareTo(highPrice) > 0) {
+                highPrice = high;
+            }
+            if (low.compareTo(lowPrice) < 0) {
+                lowPrice = low;
+            }
+        }
+        volume += groupVolume;
+        tickCount += groupTicks;
+    }
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Symbol getSymbol() {
+        return symbol;
+    }
+
+    public void setSymbol(Symbol symbol) {
+        this.symbol = symbol;
+    }
+
+    public Integer getResolutionMinutes() {
+        return resolutionMinutes;
+    }
+
+    public void setResolutionMinutes(Integer resolutionMinutes) {
+        this.resolutionMinutes = resolutionMinutes;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public BigDecimal getOpenPrice() {
+        return openPrice;
+    }
+
+    public void setOpenPrice(BigDecimal openPrice) {
+        this.openPrice = openPrice;
+    }
+
+    public BigDecimal getHighPrice() {
+        return highPrice;
+    }
+
+    public void setHighPrice(BigDecimal highPrice) {
+        this.highPrice = highPrice;
+    }
+
+    public BigDecimal getLowPrice() {
+        return lowPrice;
+    }
+
+    public void setLowPrice(BigDecimal lowPrice) {
+        this.lowPrice = lowPrice;
+    }
+
+    public BigDecimal getClosePrice() {
+        return closePrice;
+    }
+
+    public void setClosePrice(BigDecimal closePrice) {
+        this.closePrice = closePrice;
+    }
+
+    public Long getVolume() {
+        return volume;
+    }
+
+    public void setVolume(Long volume) {
+        this.volume = volume;
+    }
+
+    public Long getTickCount() {
+        return tickCount;
+    }
+
+    public void setTickCount(Long tickCount) {
+        this.tickCount = tickCount;
+    }
+
+    public LocalDateTime getFirstTickAt() {
+        return firstTickAt;
+    }
+
+    public void setFirstTickAt(LocalDateTime firstTickAt) {
+        this.firstTickAt = firstTickAt;
+    }
+
+    public LocalDateTime getLastTickAt() {
+        return lastTickAt;
+    }
+
+    public void setLastTickAt(LocalDateTime lastTickAt) {
+        this.lastTickAt = lastTickAt;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+}
@@ -0,0 +1,167 @@
+package unitbv.devops.ipc;
+
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Binary records exchanged over the IPC rings, replacing the JSON bodies of the /internal endpoints
+ *
+ * Every record starts with an int type. Prices are FixedPoint scaled longs, timestamps are epoch
+ * micros (UTC), strings are UTF-8 placed after the fixed fields, their lengths in the fixed part.
+ *
+ * TICK             type, symbolLength, timestamp, price, volume, symbol
+ * ANALYSIS_RESULT  type, symbolLength, windowSize, 0, timestamp, currentPrice, sma, ema, volume, symbol
+ * ALERT            type, symbolLength, alertTypeLength, detailsLength, triggeredAt, threshold,
+ *                  symbol, alertType, details
+ */
+public final class IpcMessages {
+
+    public static final int TICK = 1;
+    public static final int ANALYSIS_RESULT = 2;
+    public static final int ALERT = 3;
+
+    static final int TICK_FIXED = 32;
+    static final int ANALYSIS_RESULT_FIXED = 56;
+    static final int ALERT_FIXED = 32;
+
+    private IpcMessages() {
+    }
+
+    public static int type(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset);
+    }
+
+    /**
+     * Rejects a record shorter than its fixed part, or whose declared string lengths run past the frame
+     */
+    public static void checkLength(ByteBuffer buffer, int offset, int length) {
+        int type = length >= Integer.BYTES ? type(buffer, offset) : 0;
+        int fixed = switch (type) {
+            case TICK -> TICK_FIXED;
+            case ANALYSIS_RESULT -> ANALYSIS_RESULT_FIXED;
+            case ALERT -> ALERT_FIXED;
+            default -> throw new IllegalArgumentException("Unknown message type " + type + " (" + length + " bytes)");
+        };
+        if (length < fixed) {
+            throw new IllegalArgumentException("Truncated message of type " + type + ": " + length + " bytes");
+        }
+        long declared = fixed + stringLength(buffer, offset + 4);
+        if (type == ALERT) {
+            declared += stringLength(buffer, offset + 8) + stringLength(buffer, offset + 12);
+        }
+        if (declared > length) {
+            throw new IllegalArgumentException("Message of type " + type + " declares " + declared
+                    + " bytes in a " + length + " byte frame");
+        }
+    }
+
+    private static long stringLength(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        if (length < 0) {
+            throw new IllegalArgumentException("Negative string length " + length);
+        }
+        return length;
+    }
+
+    public static int tickLength(byte[] symbol) {
+        return TICK_FIXED + symbol.length;
+    }
+
+    public static void writeTick(ByteBuffer buffer, int offset, byte[] symbol, long timestampMicros, long price, long volume) {
+        buffer.putInt(offset, TICK);
+        buffer.putInt(offset + 4, symbol.length);
+        buffer.putLong(offset + 8, timestampMicros);
+        buffer.putLong(offset + 16, price);
+        buffer.putLong(offset + 24, volume);
+        buffer.put(offset + TICK_FIXED, symbol, 0, symbol.length);
+    }
+
+    public static long tickTimestamp(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 8);
+    }
+
+    public static long tickPrice(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 16);
+    }
+
+    public static long tickVolume(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + 24);
+    }
+
+    public static String tickSymbol(ByteBuffer buffer, int offset) {
+        return string(buffer, offset + TICK_FIXED, buffer.getInt(offset + 4));
+    }
+
+    public static byte[] encodeAnalysisResult(AnalysisResultDTO result) {
+        byte[] symbol = result.getSymbolCode().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(ANALYSIS_RESULT_FIXED + symbol.length).order(ByteOrder.nativeOrder());
+        buffer.putInt(0, ANALYSIS_RESULT);
+        buffer.putInt(4, symbol.length);
+        buffer.putInt(8, result.getWindowSize());
+        buffer.putLong(16, TickChunk.toMicros(result.getTimestamp()));
+        buffer.putLong(24, result.getCurrentPrice());
+        buffer.putLong(32, result.getSma());
+        buffer.putLong(40, result.getEma());
+        buffer.putLong(48, result.getVolume() != null ? result.getVolume() : 0L);
+        buffer.put(ANALYSIS_RESULT_FIXED, symbol, 0, symbol.length);
+        return buffer.array();
+    }
+
+    public static AnalysisResultDTO readAnalysisResult(ByteBuffer buffer, int offset) {
+        return new AnalysisResultDTO(
+                string(buffer, offset + ANALYSIS_RESULT_FIXED, buffer.getInt(offset + 4)),
+                buffer.getLong(offset + 24),
+                buffer.getLong(offset + 32),
+                buffer.getLong(offset + 40),
+                buffer.getLong(offset + 48),
+                TickChunk.fromMicros(buffer.getLong(offset + 16)),
+                buffer.getInt(offset + 8)
+        );
+    }
+
+    public static byte[] encodeAlert(AlertDTO alert) {
+        byte[] symbol = alert.getSymbolCode().getBytes(StandardCharsets.UTF_8);
+        byte[] alertType = alert.getAlertType().getBytes(StandardCharsets.UTF_8);
+        byte[] details = alert.getDetails() != null ? alert.getDetails().getBytes(StandardCharsets.UTF_8) : new byte[0];
+        ByteBuffer buffer = ByteBuffer.allocate(ALERT_FIXED + symbol.length + alertType.length + details.length)
+                .order(ByteOrder.nativeOrder());
+        buffer.putInt(0, ALERT);
+        buffer.putInt(4, symbol.length);
+        buffer.putInt(8, alertType.length);
+        buffer.putInt(12, details.length);
+        buffer.putLong(16, TickChunk.toMicros(alert.getTriggeredAt()));
+        buffer.putLong(24, alert.getThreshold() != null ? FixedPoint.of(alert.getThreshold()) : 0L);
+        buffer.put(ALERT_FIXED, symbol, 0, symbol.length);
+        buffer.put(ALERT_FIXED + symbol.length, alertType, 0, alertType.length);
+        buffer.put(ALERT_FIXED + symbol.length + alertType.length, details, 0, details.length);
+        return buffer.array();
+    }
+
+    public static AlertDTO readAlert(ByteBuffer buffer, int offset) {
+        int symbolLength = buffer.getInt(offset + 4);
+        int alertTypeLength = buffer.getInt(offset + 8);
+        int detailsLength = buffer.getInt(offset + 12);
+        int strings = offset + ALERT_FIXED;
+        return new AlertDTO(
+                null,
+                string(buffer, strings, symbolLength),
+                string(buffer, strings + symbolLength, alertTypeLength),
+                FixedPoint.toBigDecimal(buffer.getLong(offset + 24)),
+                TickChunk.fromMicros(buffer.getLong(offset + 16)),
+                string(buffer, strings + symbolLength + alertTypeLength, detailsLength),
+                false
+        );
+    }
+
+    private static String string(ByteBuffer buffer, int offset, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(offset, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
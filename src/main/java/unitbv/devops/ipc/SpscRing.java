@@ -0,0 +1,230 @@
+package unitbv.devops.ipc;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Single-producer/single-consumer ring buffer in a memory-mapped file, shared by two processes
+ *
+ * The file is a 192-byte header followed by a power-of-two data region. The first cache line of
+ * the header holds magic, version and the data capacity; the producer's write position and the
+ * consumer's read position each have a cache line of their own, so the two sides never write to
+ * the same line. Positions are byte counts that only grow; the data index is position & (capacity - 1).
+ *
+ * A record is an int length followed by the payload, padded to 8 bytes. A record that does not fit
+ * before the end of the region is preceded by a padding marker and starts again at index 0.
+ * The producer writes the record, then publishes the new write position with a release store; the
+ * consumer loads it with acquire semantics, so it never sees a half-written record. Space is handed
+ * back the same way through the read position. Each side caches the other side's position and only
+ * reloads it when the ring looks full (producer) or empty (consumer).
+ *
+ * All values use the native byte order, so the C++ side (analysis-service/include/shm_ring.hpp)
+ * reads them without conversion. One instance must only be used by one producer thread and one
+ * consumer thread.
+ */
+public final class SpscRing implements Closeable {
+
+    public static final int HEADER_SIZE = 192;
+    static final int MAGIC = 0x53505343; // "SPSC"
+    static final int VERSION = 1;
+    private static final int MAGIC_OFFSET = 0;
+    private static final int VERSION_OFFSET = 4;
+    private static final int CAPACITY_OFFSET = 8;
+    private static final int WRITE_OFFSET = 64;
+    private static final int READ_OFFSET = 128;
+    private static final int LENGTH_SIZE = 4;
+    private static final int PADDING = -1;
+
+    private static final VarHandle POSITIONS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    /**
+     * Writes a record's payload directly into the mapped region, with absolute puts only
+     */
+    @FunctionalInterface
+    public interface RecordWriter {
+        void write(ByteBuffer buffer, int offset);
+    }
+
+    /**
+     * Reads one record in place; the bytes are only valid until the handler returns
+     */
+    @FunctionalInterface
+    public interface RecordHandler {
+        void onRecord(ByteBuffer buffer, int offset, int length);
+    }
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int mask;
+
+    // Producer side
+    private long writePosition;
+    private long cachedReadPosition;
+
+    // Consumer side
+    private long readPosition;
+    private long cachedWritePosition;
+
+    private SpscRing(FileChannel channel, MappedByteBuffer buffer, int capacity) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        this.writePosition = (long) POSITIONS.getAcquire(buffer, WRITE_OFFSET);
+        this.readPosition = (long) POSITIONS.getAcquire(buffer, READ_OFFSET);
+        this.cachedReadPosition = readPosition;
+        this.cachedWritePosition = writePosition;
+    }
+
+    /**
+     * Maps the ring file, creating and initialising it if it is new or empty. An existing file keeps
+     * its own capacity and positions, so either side may open it first or reopen it after a restart.
+     */
+    public static SpscRing open(Path file, int capacity) {
+        if (capacity < 64 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Ring capacity must be a power of two of at least 64 bytes");
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            try {
+                boolean fresh = channel.size() == 0;
+                if (!fresh) {
+                    ByteBuffer header = ByteBuffer.allocate(16).order(ByteOrder.nativeOrder());
+                    channel.read(header, 0);
+                    if (header.getInt(MAGIC_OFFSET) != MAGIC || header.getInt(VERSION_OFFSET) != VERSION) {
+                        throw new IllegalStateException("Not a version " + VERSION + " ring file: " + file);
+                    }
+                    capacity = (int) header.getLong(CAPACITY_OFFSET);
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity);
+                buffer.order(ByteOrder.nativeOrder());
+                if (fresh) {
+                    buffer.putInt(VERSION_OFFSET, VERSION);
+                    buffer.putLong(CAPACITY_OFFSET, capacity);
+                    POSITIONS.setRelease(buffer, WRITE_OFFSET, 0L);
+                    POSITIONS.setRelease(buffer, READ_OFFSET, 0L);
+                    // Magic last: the other side only trusts a header that has it
+                    buffer.putInt(MAGIC_OFFSET, MAGIC);
+                }
+                return new SpscRing(channel, buffer, capacity);
+            } catch (RuntimeException | IOException e) {
+                channel.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open ring file " + file, e);
+        }
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Largest payload a record can carry
+     */
+    public int maxPayload() {
+        return capacity - LENGTH_SIZE;
+    }
+
+    /**
+     * Appends a record of length bytes written by writer; false, without writing anything, if the ring is full
+     */
+    public boolean offer(int length, RecordWriter writer) {
+        int recordSize = align(LENGTH_SIZE + length);
+        if (length < 0 || recordSize > capacity) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit a ring of " + capacity);
+        }
+        long position = writePosition;
+        int index = (int) (position & mask);
+        int tail = capacity - index;
+        long required = tail < recordSize ? tail + (long) recordSize : recordSize;
+        if (position + required - cachedReadPosition > capacity) {
+            cachedReadPosition = (long) POSITIONS.getAcquire(buffer, READ_OFFSET);
+            if (position + required - cachedReadPosition > capacity) {
+                return false;
+            }
+        }
+        if (tail < recordSize) {
+            buffer.putInt(HEADER_SIZE + index, PADDING);
+            position += tail;
+            index = 0;
+        }
+        buffer.putInt(HEADER_SIZE + index, length);
+        writer.write(buffer, HEADER_SIZE + index + LENGTH_SIZE);
+        position += recordSize;
+        writePosition = position;
+        POSITIONS.setRelease(buffer, WRITE_OFFSET, position);
+        return true;
+    }
+
+    public boolean offer(byte[] payload) {
+        return offer(payload.length, (target, offset) -> target.put(offset, payload, 0, payload.length));
+    }
+
+    /**
+     * Hands up to limit records to handler, in order, then releases their space to the producer
+     *
+     * @return the number of records read
+     */
+    public int poll(RecordHandler handler, int limit) {
+        long position = readPosition;
+        int count = 0;
+        while (count < limit) {
+            if (position == cachedWritePosition) {
+                cachedWritePosition = (long) POSITIONS.getAcquire(buffer, WRITE_OFFSET);
+                if (position == cachedWritePosition) {
+                    break;
+                }
+            }
+            int index = (int) (position & mask);
+            int length = buffer.getInt(HEADER_SIZE + index);
+            if (length == PADDING) {
+                position += capacity - index;
+                continue;
+            }
+            handler.onRecord(buffer, HEADER_SIZE + index + LENGTH_SIZE, length);
+            position += align(LENGTH_SIZE + length);
+            count++;
+        }
+        if (position != readPosition) {
+            readPosition = position;
+            POSITIONS.setRelease(buffer, READ_OFFSET, position);
+        }
+        return count;
+    }
+
+    /**
+     * Bytes written but not yet read, as seen by the caller
+     */
+    public long backlog() {
+        return (long) POSITIONS.getAcquire(buffer, WRITE_OFFSET) - (long) POSITIONS.getAcquire(buffer, READ_OFFSET);
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int align(int size) {
+        return (size + 7) & ~7;
+    }
+}
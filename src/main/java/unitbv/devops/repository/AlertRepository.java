@@ -1,19 +1,42 @@
 package unitbv.devops.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import unitbv.devops.dto.AlertDTO;
 import unitbv.devops.entity.Alert;
 import unitbv.devops.entity.Symbol;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface AlertRepository extends JpaRepository<Alert, Long> {
+public interface AlertRepository extends JpaRepository<Alert, Long>, JpaSpecificationExecutor<Alert> {
     List<Alert> findBySymbolOrderByTriggeredAtDesc(Symbol symbol);
     List<Alert> findBySymbolAndTriggeredAtBetween(Symbol symbol, LocalDateTime start, LocalDateTime end);
         List<Alert> findByAcknowledgedOrderByTriggeredAtDesc(Boolean acknowledged);
     List<Alert> findBySymbol_SymbolCodeOrderByTriggeredAtDesc(String symbolCode);
     List<Alert> findByAlertTypeOrderByTriggeredAtDesc(String alertType);
     List<Alert> findBySymbol_SymbolCodeAndAlertTypeOrderByTriggeredAtDesc(String symbolCode, String alertType);
+
+    // Simbolul vine în același select cu pagina, nu câte o interogare pe alertă
+    @Override
+    @EntityGraph(attributePaths = "symbol")
+    Page<Alert> findAll(Specification<Alert> spec, Pageable pageable);
+
+    // Alertele pentru indexul din memorie: cele recente plus toate cele neconfirmate, direct ca DTO
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("SELECT new unitbv.devops.dto.AlertDTO(a.id, s.symbolCode, a.alertType, a.threshold, a.triggeredAt, a.details, a.acknowledged, a.occurrenceCount, a.lastSeenAt) " +
+           "FROM Alert a JOIN a.symbol s WHERE a.triggeredAt >= :since OR a.acknowledged = false ORDER BY a.triggeredAt ASC, a.id ASC")
+    Stream<AlertDTO> streamIndexable(@Param("since") LocalDateTime since);
 }
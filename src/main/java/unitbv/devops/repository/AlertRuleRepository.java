@@ -0,0 +1,26 @@
+package unitbv.devops.repository;
+
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unitbv.devops.entity.AlertRule;
+import unitbv.devops.entity.Symbol;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface AlertRuleRepository extends JpaRepository<AlertRule, Long> {
+
+    @EntityGraph(attributePaths = "symbol")
+    Optional<AlertRule> findWithSymbolById(Long id);
+
+    @EntityGraph(attributePaths = "symbol")
+    List<AlertRule> findByEnabledTrue();
+
+    @EntityGraph(attributePaths = "symbol")
+    List<AlertRule> findBySymbolOrderByIdAsc(Symbol symbol);
+
+    @EntityGraph(attributePaths = "symbol")
+    List<AlertRule> findAllByOrderByIdAsc();
+}
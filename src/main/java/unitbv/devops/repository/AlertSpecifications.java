@@ -0,0 +1,48 @@
+package unitbv.devops.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+import unitbv.devops.entity.Alert;
+import unitbv.devops.entity.Symbol;
+
+import java.time.LocalDateTime;
+
+/**
+ * Filtre pentru alerte, combinate într-o singură interogare; un filtru null nu restrânge rezultatul
+ */
+public final class AlertSpecifications {
+
+    private AlertSpecifications() {
+    }
+
+    public static Specification<Alert> filter(Symbol symbol, String alertType, LocalDateTime startDate,
+                                              LocalDateTime endDate, Boolean acknowledged) {
+        return Specification.where(hasSymbol(symbol))
+                .and(hasAlertType(alertType))
+                .and(triggeredFrom(startDate))
+                .and(triggeredUntil(endDate))
+                .and(isAcknowledged(acknowledged));
+    }
+
+    /**
+     * Compară direct symbol_id, fără join pe symbols, ca să poată folosi indexurile compuse
+     */
+    public static Specification<Alert> hasSymbol(Symbol symbol) {
+        return (root, query, cb) -> symbol == null ? null : cb.equal(root.get("symbol"), symbol);
+    }
+
+    public static Specification<Alert> hasAlertType(String alertType) {
+        return (root, query, cb) -> alertType == null ? null : cb.equal(root.get("alertType"), alertType);
+    }
+
+    public static Specification<Alert> triggeredFrom(LocalDateTime startDate) {
+        return (root, query, cb) -> startDate == null ? null : cb.greaterThanOrEqualTo(root.get("triggeredAt"), startDate);
+    }
+
+    public static Specification<Alert> triggeredUntil(LocalDateTime endDate) {
+        return (root, query, cb) -> endDate == null ? null : cb.lessThanOrEqualTo(root.get("triggeredAt"), endDate);
+    }
+
+    public static Specification<Alert> isAcknowledged(Boolean acknowledged) {
+        return (root, query, cb) -> acknowledged == null ? null : cb.equal(root.get("acknowledged"), acknowledged);
+    }
+}
@@ -0,0 +1,19 @@
+package unitbv.devops.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unitbv.devops.entity.AnalysisResult;
+import unitbv.devops.entity.Symbol;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalysisResultRepository extends JpaRepository<AnalysisResult, Long> {
+
+    List<AnalysisResult> findBySymbolAndWindowSizeAndCalculatedAtBetweenOrderByCalculatedAtDesc(
+            Symbol symbol, Integer windowSize, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    long countBySymbol(Symbol symbol);
+}
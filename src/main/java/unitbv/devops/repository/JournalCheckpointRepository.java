@@ -0,0 +1,13 @@
+package unitbv.devops.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unitbv.devops.entity.JournalCheckpoint;
+import unitbv.devops.entity.Symbol;
+
+import java.util.Optional;
+
+@Repository
+public interface JournalCheckpointRepository extends JpaRepository<JournalCheckpoint, Long> {
+    Optional<JournalCheckpoint> findBySymbol(Symbol symbol);
+}
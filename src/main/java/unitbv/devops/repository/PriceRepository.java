@@ -1,17 +1,39 @@
 package unitbv.devops.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import unitbv.devops.entity.Price;
 import unitbv.devops.entity.Symbol;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface PriceRepository extends JpaRepository<Price, Long> {
     List<Price> findBySymbolOrderByTimestampDesc(Symbol symbol);
+    List<Price> findBySymbolOrderByTimestampDesc(Symbol symbol, Pageable pageable);
     List<Price> findBySymbolAndTimestampBetween(Symbol symbol, LocalDateTime start, LocalDateTime end);
     Price findFirstBySymbolOrderByTimestampDesc(Symbol symbol);
+    List<Price> findBySymbolAndTimestampBeforeOrderByTimestampAscIdAsc(Symbol symbol, LocalDateTime cutoff, Pageable pageable);
+    Price findFirstBySymbolAndTimestampBeforeOrderByTimestampAsc(Symbol symbol, LocalDateTime cutoff);
+    List<Price> findBySymbolAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAscIdAsc(Symbol symbol, LocalDateTime start, LocalDateTime end, Pageable pageable);
+
+    /**
+     * Cursor server-side pentru export: rândurile sunt aduse câte 1000; apelantul trebuie să fie
+     * într-o tranzacție și să detașeze entitățile pe măsură ce le consumă
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Price p WHERE p.symbol = :symbol AND p.timestamp >= :start AND p.timestamp < :end ORDER BY p.timestamp ASC, p.id ASC")
+    Stream<Price> streamBySymbolAndTimestampRange(@Param("symbol") Symbol symbol, @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
 }
 
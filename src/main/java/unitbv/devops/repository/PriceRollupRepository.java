@@ -0,0 +1,17 @@
+package unitbv.devops.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import unitbv.devops.entity.PriceRollup;
+import unitbv.devops.entity.Symbol;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PriceRollupRepository extends JpaRepository<PriceRollup, Long> {
+    Optional<PriceRollup> findBySymbolAndResolutionMinutesAndBucketStart(Symbol symbol, Integer resolutionMinutes, LocalDateTime bucketStart);
+    List<PriceRollup> findBySymbolAndResolutionMinutesOrderByBucketStartAsc(Symbol symbol, Integer resolutionMinutes);
+    List<PriceRollup> findBySymbolAndResolutionMinutesAndBucketStartBetweenOrderByBucketStartAsc(Symbol symbol, Integer resolutionMinutes, LocalDateTime start, LocalDateTime end);
+}
@@ -4,10 +4,12 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 import unitbv.devops.entity.Symbol;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface SymbolRepository extends JpaRepository<Symbol, Long> {
     Optional<Symbol> findBySymbolCode(String symbolCode);
+    List<Symbol> findByType(String type);
 }
 
@@ -0,0 +1,240 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import unitbv.devops.configuration.AlertCoalescingProperties;
+import unitbv.devops.dto.AlertDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Coalescența alertelor venite de la serviciul C++ pe cheia (simbol, tip)
+ *
+ * Prima alertă dintr-o rafală este salvată și transmisă imediat (pentru un lot, toate într-o singură
+ * tranzacție). Repetițiile din fereastra ei (implicit 5s) doar incrementează un contor în memorie,
+ * fără insert și fără broadcast. La expirarea ferestrei, alerta salvată primește numărul de apariții
+ * și ultima apariție printr-un singur UPDATE, urmat de un singur broadcast. Ferestrele expiră printr-o
+ * roată de timp (timing wheel): fiecare grup intră în găleata tick-ului în care expiră, deci atât o alertă
+ * nouă cât și un tick costă O(1).
+ */
+@Service
+public class AlertCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertCoalescer.class);
+
+    private final AlertService alertService;
+    private final WebSocketService webSocketService;
+    private final AlertCoalescingProperties properties;
+    private final ConcurrentHashMap<String, Group> openGroups = new ConcurrentHashMap<>();
+    private final Queue<Group>[] wheel;
+    private final int windowTicks;
+    private final AtomicLong currentTick = new AtomicLong();
+    private final Counter received;
+    private final Counter suppressed;
+
+    @SuppressWarnings("unchecked")
+    public AlertCoalescer(AlertService alertService,
+                          WebSocketService webSocketService,
+                          AlertCoalescingProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.alertService = alertService;
+        this.webSocketService = webSocketService;
+        this.properties = properties;
+        // Cel puțin 2 tick-uri, ca un grup să nu cadă în găleata procesată chiar în timp ce e adăugat
+        long tickMillis = Math.max(1, properties.getTick().toMillis());
+        this.windowTicks = (int) Math.max(2, (properties.getWindow().toMillis() + tickMillis - 1) / tickMillis);
+        this.wheel = new Queue[windowTicks + 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        this.received = meterRegistry.counter("alerts.coalescing.received");
+        this.suppressed = meterRegistry.counter("alerts.coalescing.suppressed");
+    }
+
+    /**
+     * Salvează și transmite alerta, sau o adaugă la rafala deschisă pentru (simbol, tip).
+     * Returnează alerta salvată; pentru o repetiție, alerta în care a fost coalescată (occurrenceCount > 1).
+     */
+    public AlertDTO submit(AlertDTO alert) {
+        return submitAll(List.of(alert)).get(0);
+    }
+
+    /**
+     * Ca submit, pentru un lot: primele alerte ale rafalelor noi sunt salvate într-o singură tranzacție.
+     * Rezultatele sunt în ordinea alertelor primite.
+     */
+    public List<AlertDTO> submitAll(List<AlertDTO> alerts) {
+        if (!properties.isEnabled()) {
+            List<AlertDTO> created = alertService.createAlerts(alerts);
+            created.forEach(webSocketService::broadcastAlert);
+            return created;
+        }
+        received.increment(alerts.size());
+        return coalesce(alerts);
+    }
+
+    private List<AlertDTO> coalesce(List<AlertDTO> alerts) {
+        Group[] groups = new Group[alerts.size()];
+        boolean[] opened = new boolean[alerts.size()];
+        int[] occurrences = new int[alerts.size()];
+        List<AlertDTO> firsts = new ArrayList<>();
+        for (int i = 0; i < alerts.size(); i++) {
+            AlertDTO alert = alerts.get(i);
+            LocalDateTime seenAt = alert.getTriggeredAt() != null ? alert.getTriggeredAt() : LocalDateTime.now();
+            boolean[] isNew = new boolean[1];
+            int index = i;
+            groups[i] = openGroups.compute(alert.getSymbolCode() + '|' + alert.getAlertType(), (key, existing) -> {
+                if (existing != null) {
+                    occurrences[index] = ++existing.occurrences;
+                    if (seenAt.isAfter(existing.lastSeenAt)) {
+                        existing.lastSeenAt = seenAt;
+                    }
+                    return existing;
+                }
+                isNew[0] = true;
+                Group group = new Group(key, seenAt);
+                schedule(group);
+                return group;
+            });
+            if (isNew[0]) {
+                opened[i] = true;
+                firsts.add(alert);
+            }
+        }
+
+        List<AlertDTO> created;
+        try {
+            created = firsts.isEmpty() ? List.of() : alertService.createAlerts(firsts);
+        } catch (RuntimeException e) {
+            // Următoarea alertă pentru aceeași cheie încearcă din nou să o salveze; repetițiile care au intrat
+            // deja în fereastră află că prima alertă nu există și se salvează singure
+            for (int i = 0; i < groups.length; i++) {
+                if (opened[i]) {
+                    openGroups.remove(groups[i].key, groups[i]);
+                    groups[i].saved.complete(null);
+                }
+            }
+            throw e;
+        }
+
+        // Ferestrele deschise de acest lot sunt finalizate înainte de orice așteptare: un lot concurent
+        // poate aștepta una dintre ele în timp ce acesta așteaptă una de-a lui
+        AlertDTO[] firstsCreated = new AlertDTO[alerts.size()];
+        int next = 0;
+        for (int i = 0; i < alerts.size(); i++) {
+            if (!opened[i]) {
+                continue;
+            }
+            Group group = groups[i];
+            AlertDTO alert = created.get(next++);
+            firstsCreated[i] = alert;
+            boolean expired;
+            synchronized (group) {
+                group.persisted = alert;
+                expired = group.closed;
+            }
+            group.saved.complete(alert);
+            webSocketService.broadcastAlert(alert);
+            if (expired) {
+                flush(group);
+            }
+        }
+
+        List<AlertDTO> results = new ArrayList<>(alerts.size());
+        for (int i = 0; i < alerts.size(); i++) {
+            if (opened[i]) {
+                results.add(firstsCreated[i]);
+                continue;
+            }
+            // Așteaptă insert-ul primei alerte, dacă încă rulează în alt apel
+            AlertDTO first = groups[i].saved.join();
+            if (first == null) {
+                results.add(coalesce(List.of(alerts.get(i))).get(0));
+                continue;
+            }
+            suppressed.increment();
+            results.add(groups[i].snapshot(first, occurrences[i]));
+        }
+        return results;
+    }
+
+    /**
+     * Avansează roata cu un tick și închide grupurile a căror fereastră a expirat
+     */
+    @Scheduled(fixedRateString = "${app.alerts.coalescing.tick:PT0.1S}")
+    public void advance() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Queue<Group> bucket = wheel[(int) (currentTick.incrementAndGet() % wheel.length)];
+        Group group;
+        while ((group = bucket.poll()) != null) {
+            openGroups.remove(group.key, group);
+            boolean persisted;
+            synchronized (group) {
+                group.closed = true;
+                persisted = group.persisted != null;
+            }
+            // Dacă insert-ul primei alerte încă rulează, submit() face flush după ce termină
+            if (persisted) {
+                flush(group);
+            }
+        }
+    }
+
+    public int openGroups() {
+        return openGroups.size();
+    }
+
+    private void schedule(Group group) {
+        wheel[(int) ((currentTick.get() + windowTicks) % wheel.length)].add(group);
+    }
+
+    private void flush(Group group) {
+        // Grupul nu mai e în openGroups, deci contoarele nu se mai schimbă
+        if (group.occurrences <= 1) {
+            return;
+        }
+        try {
+            alertService.recordOccurrences(group.persisted.getId(), group.occurrences, group.lastSeenAt)
+                    .ifPresent(webSocketService::broadcastAlert);
+            logger.info("Coalesced {} occurrences of {} into alert {}", group.occurrences, group.key, group.persisted.getId());
+        } catch (RuntimeException e) {
+            logger.error("Failed to record {} coalesced occurrences of {}: {}", group.occurrences, group.key, e.getMessage());
+        }
+    }
+
+    /**
+     * O rafală deschisă; occurrences și lastSeenAt se modifică doar în openGroups.compute
+     */
+    private static final class Group {
+        final String key;
+        int occurrences = 1;
+        LocalDateTime lastSeenAt;
+        AlertDTO persisted;
+        boolean closed;
+        // Prima alertă salvată, sau null dacă insert-ul ei a eșuat
+        final CompletableFuture<AlertDTO> saved = new CompletableFuture<>();
+
+        Group(String key, LocalDateTime seenAt) {
+            this.key = key;
+            this.lastSeenAt = seenAt;
+        }
+
+        AlertDTO snapshot(AlertDTO base, int occurrences) {
+            return new AlertDTO(base.getId(), base.getSymbolCode(), base.getAlertType(), base.getThreshold(),
+                    base.getTriggeredAt(), base.getDetails(), base.getAcknowledged(), occurrences, lastSeenAt);
+        }
+    }
+}
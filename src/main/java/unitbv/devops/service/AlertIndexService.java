@@ -0,0 +1,415 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.configuration.AlertIndexProperties;
+import unitbv.devops.dto.AlertBulkRequest;
+import unitbv.devops.dto.AlertCountsDTO;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.repository.AlertRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Index în memorie pentru alertele „fierbinți”: cele declanșate în ultima fereastră (implicit 7 zile)
+ * și toate cele neconfirmate, indiferent de vârstă
+ *
+ * Fiecare alertă primește un ordinal; pentru fiecare simbol, fiecare tip și pentru starea confirmată
+ * există câte un RoaringBitmap cu ordinalele respective. Filtrele devin intersecții de bitmap-uri,
+ * iar numărătorile pe simbol/tip sunt doar cardinalități de intersecții, fără a materializa alerte.
+ * Indexul este reconstruit periodic din baza de date; între reconstruiri AlertService îl ține la zi
+ * după fiecare commit. Interogările care ajung înainte de fereastră merg la baza de date.
+ */
+@Service
+public class AlertIndexService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertIndexService.class);
+
+    private static final Comparator<AlertDTO> CHRONOLOGICAL =
+            Comparator.comparing(AlertDTO::getTriggeredAt).thenComparing(AlertDTO::getId);
+
+    private final AlertRepository alertRepository;
+    private final AlertIndexProperties properties;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    // Protejate de lock
+    private State state;
+    private List<Consumer<State>> pendingDuringRebuild;
+
+    public AlertIndexService(AlertRepository alertRepository,
+                             AlertIndexProperties properties,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry) {
+        this.alertRepository = alertRepository;
+        this.properties = properties;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.hits = meterRegistry.counter("alerts.index.queries", "result", "hit");
+        this.misses = meterRegistry.counter("alerts.index.queries", "result", "miss");
+        meterRegistry.gauge("alerts.index.size", this, AlertIndexService::size);
+    }
+
+    /**
+     * Reconstruiește indexul la pornire și apoi periodic (fereastra avansează, ordinalele se compactează);
+     * o singură reconstruire rulează la un moment dat
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.index.refresh-interval:PT15M}")
+    public void refresh() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        LocalDateTime windowStart = LocalDateTime.now().minus(properties.getWindow());
+        long started = System.currentTimeMillis();
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        State next = new State(windowStart);
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<AlertDTO> alerts = alertRepository.streamIndexable(windowStart)) {
+                    alerts.forEach(next::upsert);
+                }
+            });
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            // Modificările confirmate cât timp citeam din baza de date
+            pendingDuringRebuild.forEach(change -> change.accept(next));
+            pendingDuringRebuild = null;
+            state = next;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Alert index rebuilt with {} alerts since {} in {} ms",
+                next.live.getCardinality(), windowStart, System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Indexul poate răspunde dacă toate alertele care pot corespunde filtrelor sunt în memorie
+     * și sortarea este după triggeredAt
+     */
+    public boolean canServe(LocalDateTime startDate, Boolean acknowledged, Sort sort) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        boolean servable = false;
+        if (isSortedByTriggeredAt(sort)) {
+            lock.readLock().lock();
+            try {
+                servable = state != null && (Boolean.FALSE.equals(acknowledged)
+                        || (startDate != null && !startDate.isBefore(state.windowStart)));
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+        (servable ? hits : misses).increment();
+        return servable;
+    }
+
+    /**
+     * O pagină de alerte filtrată prin intersecții de bitmap-uri (apelantul verifică întâi canServe)
+     */
+    public Page<AlertDTO> query(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                                Boolean acknowledged, Pageable pageable) {
+        Sort.Order order = pageable.getSort().getOrderFor("triggeredAt");
+        boolean newestFirst = order == null || order.isDescending();
+
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = state.filter(symbolCode, alertType, startDate, endDate, acknowledged);
+            long total = matches.getLongCardinality();
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+            List<AlertDTO> content = new ArrayList<>((int) Math.min(limit, Math.max(0, total - offset)));
+
+            if (state.chronological) {
+                // Ordinalele urmează triggeredAt: pagina se citește direct din bitmap
+                IntIterator ordinals = newestFirst ? matches.getReverseIntIterator() : matches.getIntIterator();
+                for (long skipped = 0; skipped < offset && ordinals.hasNext(); skipped++) {
+                    ordinals.next();
+                }
+                while (ordinals.hasNext() && content.size() < limit) {
+                    content.add(state.slots.get(ordinals.next()));
+                }
+            } else {
+                List<AlertDTO> all = new ArrayList<>((int) total);
+                matches.forEach((int ordinal) -> all.add(state.slots.get(ordinal)));
+                all.sort(newestFirst ? CHRONOLOGICAL.reversed() : CHRONOLOGICAL);
+                if (offset < all.size()) {
+                    content.addAll(all.subList((int) offset, (int) Math.min(all.size(), offset + limit)));
+                }
+            }
+            return new PageImpl<>(content, pageable, total);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Numărul de alerte care corespund filtrelor, pe simbol și pe tip (apelantul verifică întâi canServe)
+     */
+    public AlertCountsDTO counts(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                                 Boolean acknowledged) {
+        lock.readLock().lock();
+        try {
+            RoaringBitmap matches = state.filter(symbolCode, alertType, startDate, endDate, acknowledged);
+            return new AlertCountsDTO(matches.getLongCardinality(),
+                    cardinalities(state.bySymbol, matches), cardinalities(state.byType, matches));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adaugă sau actualizează alerta în index după commit-ul tranzacției curente
+     */
+    public void upsert(AlertDTO alert) {
+        afterCommit(current -> current.upsert(alert));
+    }
+
+    /**
+     * Scoate alerta din index după commit-ul tranzacției curente
+     */
+    public void remove(Long alertId) {
+        afterCommit(current -> current.remove(alertId));
+    }
+
+    /**
+     * Aplică în index o confirmare în masă, după commit (aceeași selecție ca UPDATE-ul din baza de date)
+     */
+    public void acknowledgeMatching(AlertBulkRequest criteria) {
+        afterCommit(current -> {
+            for (int ordinal : current.select(criteria).toArray()) {
+                AlertDTO alert = current.slots.get(ordinal);
+                current.upsert(new AlertDTO(alert.getId(), alert.getSymbolCode(), alert.getAlertType(), alert.getThreshold(),
+                        alert.getTriggeredAt(), alert.getDetails(), true, alert.getOccurrenceCount(), alert.getLastSeenAt()));
+            }
+        });
+    }
+
+    /**
+     * Aplică în index o ștergere în masă, după commit
+     */
+    public void removeMatching(AlertBulkRequest criteria) {
+        afterCommit(current -> {
+            for (int ordinal : current.select(criteria).toArray()) {
+                current.remove(current.slots.get(ordinal).getId());
+            }
+        });
+    }
+
+    public long size() {
+        lock.readLock().lock();
+        try {
+            return state != null ? state.live.getLongCardinality() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<State> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            if (state != null) {
+                change.accept(state);
+            }
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Map<String, Long> cardinalities(Map<String, RoaringBitmap> bitmaps, RoaringBitmap matches) {
+        Map<String, Long> counts = new TreeMap<>();
+        bitmaps.forEach((key, bitmap) -> {
+            long count = RoaringBitmap.andCardinality(bitmap, matches);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+
+    private static boolean isSortedByTriggeredAt(Sort sort) {
+        return sort.isUnsorted() || (sort.stream().count() == 1 && sort.getOrderFor("triggeredAt") != null);
+    }
+
+    /**
+     * Conținutul indexului; ordinalele nu se refolosesc până la următoarea reconstruire
+     */
+    private static final class State {
+        final LocalDateTime windowStart;
+        final List<AlertDTO> slots = new ArrayList<>();
+        final Map<Long, Integer> ordinals = new HashMap<>();
+        final Map<String, RoaringBitmap> bySymbol = new HashMap<>();
+        final Map<String, RoaringBitmap> byType = new HashMap<>();
+        final RoaringBitmap live = new RoaringBitmap();
+        final RoaringBitmap acknowledged = new RoaringBitmap();
+        LocalDateTime latest;
+        boolean chronological = true;
+
+        State(LocalDateTime windowStart) {
+            this.windowStart = windowStart;
+        }
+
+        void upsert(AlertDTO alert) {
+            boolean indexable = !Boolean.TRUE.equals(alert.getAcknowledged()) || !alert.getTriggeredAt().isBefore(windowStart);
+            Integer ordinal = ordinals.get(alert.getId());
+            if (ordinal != null && (!indexable || !slots.get(ordinal).getTriggeredAt().equals(alert.getTriggeredAt()))) {
+                remove(alert.getId());
+                ordinal = null;
+            }
+            if (!indexable) {
+                return;
+            }
+
+            if (ordinal == null) {
+                ordinal = slots.size();
+                slots.add(alert);
+                ordinals.put(alert.getId(), ordinal);
+                live.add(ordinal);
+                if (latest != null && alert.getTriggeredAt().isBefore(latest)) {
+                    chronological = false;
+                } else {
+                    latest = alert.getTriggeredAt();
+                }
+            } else {
+                unindex(slots.get(ordinal), ordinal);
+                slots.set(ordinal, alert);
+            }
+            bySymbol.computeIfAbsent(alert.getSymbolCode(), key -> new RoaringBitmap()).add(ordinal);
+            byType.computeIfAbsent(alert.getAlertType(), key -> new RoaringBitmap()).add(ordinal);
+            if (Boolean.TRUE.equals(alert.getAcknowledged())) {
+                acknowledged.add(ordinal);
+            }
+        }
+
+        void remove(Long alertId) {
+            Integer ordinal = ordinals.remove(alertId);
+            if (ordinal != null) {
+                unindex(slots.get(ordinal), ordinal);
+                slots.set(ordinal, null);
+                live.remove(ordinal);
+            }
+        }
+
+        private void unindex(AlertDTO alert, int ordinal) {
+            removeFrom(bySymbol, alert.getSymbolCode(), ordinal);
+            removeFrom(byType, alert.getAlertType(), ordinal);
+            acknowledged.remove(ordinal);
+        }
+
+        private static void removeFrom(Map<String, RoaringBitmap> bitmaps, String key, int ordinal) {
+            RoaringBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                bitmap.remove(ordinal);
+                if (bitmap.isEmpty()) {
+                    bitmaps.remove(key);
+                }
+            }
+        }
+
+        RoaringBitmap select(AlertBulkRequest criteria) {
+            RoaringBitmap result = filter(criteria.getSymbolCode(), criteria.getAlertType(), criteria.getStartDate(),
+                    criteria.getEndDate(), criteria.getAcknowledged());
+            if (criteria.getIds() != null && !criteria.getIds().isEmpty()) {
+                RoaringBitmap byId = new RoaringBitmap();
+                for (Long id : criteria.getIds()) {
+                    Integer ordinal = ordinals.get(id);
+                    if (ordinal != null) {
+                        byId.add(ordinal);
+                    }
+                }
+                result = RoaringBitmap.and(result, byId);
+            }
+            return result;
+        }
+
+        RoaringBitmap filter(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                             Boolean acknowledgedFilter) {
+            RoaringBitmap result = live;
+            if (symbolCode != null) {
+                result = RoaringBitmap.and(result, bySymbol.getOrDefault(symbolCode, new RoaringBitmap()));
+            }
+            if (alertType != null) {
+                result = RoaringBitmap.and(result, byType.getOrDefault(alertType, new RoaringBitmap()));
+            }
+            if (acknowledgedFilter != null) {
+                result = acknowledgedFilter ? RoaringBitmap.and(result, acknowledged) : RoaringBitmap.andNot(result, acknowledged);
+            }
+            if (startDate != null || endDate != null) {
+                RoaringBitmap inRange = new RoaringBitmap();
+                result.forEach((int ordinal) -> {
+                    LocalDateTime triggeredAt = slots.get(ordinal).getTriggeredAt();
+                    if ((startDate == null || !triggeredAt.isBefore(startDate)) && (endDate == null || !triggeredAt.isAfter(endDate))) {
+                        inRange.add(ordinal);
+                    }
+                });
+                result = inRange;
+            }
+            return result;
+        }
+    }
+}
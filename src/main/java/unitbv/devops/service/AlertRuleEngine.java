@@ -0,0 +1,320 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AlertRuleDTO;
+import unitbv.devops.entity.AlertRule.RuleType;
+import unitbv.devops.repository.AlertRuleRepository;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Evaluează regulile de alertă la fiecare tick ingerat
+ *
+ * Pentru fiecare simbol, regulile stau în seturi sortate după prag (câte unul pentru PRICE_ABOVE,
+ * PRICE_BELOW, VOLUME_ABOVE și câte unul pentru fiecare fereastră PERCENT_MOVE). Regulile se declanșează
+ * la traversarea pragului: un tick care urcă prețul de la p la q atinge doar regulile PRICE_ABOVE
+ * cu prag în (p, q], găsite cu un subSet în O(log n + k). Costul unui tick nu depinde deci de numărul
+ * total de reguli, ci doar de câte sunt efectiv traversate. O regulă se rearmează când valoarea revine
+ * sub (respectiv peste) prag.
+ */
+@Service
+public class AlertRuleEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertRuleEngine.class);
+
+    private static final Comparator<Rule> BY_THRESHOLD =
+            Comparator.comparingLong((Rule rule) -> rule.threshold).thenComparingLong(rule -> rule.id);
+
+    private final AlertRuleRepository alertRuleRepository;
+    private final AlertService alertService;
+    private final WebSocketService webSocketService;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter ticks;
+    private final Counter triggered;
+
+    // Înlocuit complet la reîncărcare; seturile din interior sunt concurente, evaluarea nu ia lock global
+    private volatile Map<String, RuleBook> books = new ConcurrentHashMap<>();
+    private final Map<String, Market> markets = new ConcurrentHashMap<>();
+
+    public AlertRuleEngine(AlertRuleRepository alertRuleRepository,
+                           AlertService alertService,
+                           WebSocketService webSocketService,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.alertRuleRepository = alertRuleRepository;
+        this.alertService = alertService;
+        this.webSocketService = webSocketService;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.ticks = meterRegistry.counter("alerts.rules.ticks");
+        this.triggered = meterRegistry.counter("alerts.rules.triggered");
+        meterRegistry.gauge("alerts.rules.size", this, AlertRuleEngine::size);
+    }
+
+    /**
+     * Încarcă regulile active la pornire și apoi periodic (preia regulile create de alte instanțe)
+     */
+    @Scheduled(fixedDelayString = "${app.alerts.rules.reload-interval:PT5M}")
+    public synchronized void reload() {
+        List<AlertRuleDTO> rules = readOnlyTransaction.execute(status -> alertRuleRepository.findByEnabledTrue().stream()
+                .map(AlertRuleService::convertToDTO)
+                .toList());
+        Map<String, RuleBook> next = new ConcurrentHashMap<>();
+        for (AlertRuleDTO rule : rules) {
+            next.computeIfAbsent(rule.getSymbolCode(), symbol -> new RuleBook()).add(Rule.of(rule));
+        }
+        books = next;
+        logger.info("Loaded {} alert rules for {} symbols", rules.size(), next.size());
+    }
+
+    /**
+     * Adaugă (sau înlocuiește) o regulă după ce a fost salvată
+     */
+    public synchronized void add(AlertRuleDTO rule) {
+        remove(rule.getId());
+        if (Boolean.FALSE.equals(rule.getEnabled())) {
+            return;
+        }
+        books.computeIfAbsent(rule.getSymbolCode(), symbol -> new RuleBook()).add(Rule.of(rule));
+    }
+
+    public synchronized void remove(Long id) {
+        for (RuleBook book : books.values()) {
+            book.remove(id);
+        }
+    }
+
+    public int size() {
+        return books.values().stream().mapToInt(RuleBook::size).sum();
+    }
+
+    /**
+     * Evaluează un tick; regulile traversate devin alerte, salvate și transmise prin WebSocket
+     */
+    public void onTick(String symbolCode, long price, long volume, LocalDateTime timestamp) {
+        List<Fired> fired = evaluate(symbolCode, price, volume, timestamp);
+        for (Fired hit : fired) {
+            triggered.increment();
+            AlertDTO alert = alertService.createAlert(new AlertDTO(null, symbolCode, "RULE_" + hit.rule.type,
+                    hit.rule.thresholdValue(), timestamp, hit.details(), false));
+            webSocketService.broadcastAlert(alert);
+        }
+    }
+
+    /**
+     * Actualizează starea simbolului și returnează regulile traversate de acest tick
+     */
+    List<Fired> evaluate(String symbolCode, long price, long volume, LocalDateTime timestamp) {
+        RuleBook book = books.get(symbolCode);
+        if (book == null) {
+            return List.of();
+        }
+        ticks.increment();
+        Market market = markets.computeIfAbsent(symbolCode, symbol -> new Market());
+        List<Fired> fired = new ArrayList<>();
+
+        synchronized (market) {
+            if (market.hasPrice) {
+                if (price > market.price) {
+                    // (p, q]
+                    collect(book.above, market.price + 1, price, price, fired);
+                } else if (price < market.price) {
+                    // [q, p)
+                    collect(book.below, price, market.price - 1, price, fired);
+                }
+            }
+            // Volumul unui tick depășește Y doar dacă cel precedent nu o făcea: Y în [v_prev, v)
+            if (volume > market.volume) {
+                collect(book.volume, market.volume, volume - 1, volume, fired);
+            }
+            long micros = TickChunk.toMicros(timestamp);
+            for (Map.Entry<Integer, NavigableSet<Rule>> window : book.moves.entrySet()) {
+                MoveWindow moves = market.windows.computeIfAbsent(window.getKey(), MoveWindow::new);
+                long previous = moves.move;
+                long move = moves.add(micros, price);
+                if (move > previous) {
+                    collect(window.getValue(), previous + 1, move, move, fired);
+                }
+            }
+            market.price = price;
+            market.volume = volume;
+            market.hasPrice = true;
+        }
+        return fired;
+    }
+
+    private static void collect(NavigableSet<Rule> rules, long from, long to, long observed, List<Fired> fired) {
+        if (rules.isEmpty() || from > to) {
+            return;
+        }
+        for (Rule rule : rules.subSet(Rule.bound(from, Long.MIN_VALUE), true, Rule.bound(to, Long.MAX_VALUE), true)) {
+            fired.add(new Fired(rule, observed));
+        }
+    }
+
+    /**
+     * Regula în forma folosită la evaluare: pragul în virgulă fixă (volumul ca atare)
+     */
+    static final class Rule {
+        final long id;
+        final RuleType type;
+        final long threshold;
+        final int windowSeconds;
+
+        private Rule(long id, RuleType type, long threshold, int windowSeconds) {
+            this.id = id;
+            this.type = type;
+            this.threshold = threshold;
+            this.windowSeconds = windowSeconds;
+        }
+
+        static Rule of(AlertRuleDTO dto) {
+            RuleType type = RuleType.valueOf(dto.getRuleType());
+            long threshold = type == RuleType.VOLUME_ABOVE
+                    ? dto.getThreshold().longValue()
+                    : FixedPoint.of(dto.getThreshold());
+            return new Rule(dto.getId(), type, threshold, dto.getWindowSeconds() != null ? dto.getWindowSeconds() : 0);
+        }
+
+        static Rule bound(long threshold, long id) {
+            return new Rule(id, null, threshold, 0);
+        }
+
+        BigDecimal thresholdValue() {
+            return type == RuleType.VOLUME_ABOVE
+                    ? BigDecimal.valueOf(threshold)
+                    : FixedPoint.toBigDecimal(threshold);
+        }
+    }
+
+    /**
+     * O regulă traversată și valoarea care a traversat-o (preț, volum sau procent)
+     */
+    static final class Fired {
+        final Rule rule;
+        final long observed;
+
+        Fired(Rule rule, long observed) {
+            this.rule = rule;
+            this.observed = observed;
+        }
+
+        String details() {
+            return switch (rule.type) {
+                case PRICE_ABOVE -> "Rule " + rule.id + ": price " + FixedPoint.toString(observed)
+                        + " crossed above " + FixedPoint.toString(rule.threshold);
+                case PRICE_BELOW -> "Rule " + rule.id + ": price " + FixedPoint.toString(observed)
+                        + " crossed below " + FixedPoint.toString(rule.threshold);
+                case VOLUME_ABOVE -> "Rule " + rule.id + ": volume " + observed + " above " + rule.threshold;
+                case PERCENT_MOVE -> "Rule " + rule.id + ": moved " + FixedPoint.toString(observed) + "% within "
+                        + rule.windowSeconds + "s (threshold " + FixedPoint.toString(rule.threshold) + "%)";
+            };
+        }
+    }
+
+    /**
+     * Regulile unui simbol, sortate după prag
+     */
+    private static final class RuleBook {
+        final NavigableSet<Rule> above = new ConcurrentSkipListSet<>(BY_THRESHOLD);
+        final NavigableSet<Rule> below = new ConcurrentSkipListSet<>(BY_THRESHOLD);
+        final NavigableSet<Rule> volume = new ConcurrentSkipListSet<>(BY_THRESHOLD);
+        final Map<Integer, NavigableSet<Rule>> moves = new ConcurrentHashMap<>();
+        final Map<Long, Rule> byId = new ConcurrentHashMap<>();
+
+        void add(Rule rule) {
+            byId.put(rule.id, rule);
+            setFor(rule).add(rule);
+        }
+
+        void remove(Long id) {
+            Rule rule = byId.remove(id);
+            if (rule != null) {
+                setFor(rule).remove(rule);
+            }
+        }
+
+        int size() {
+            return byId.size();
+        }
+
+        private NavigableSet<Rule> setFor(Rule rule) {
+            return switch (rule.type) {
+                case PRICE_ABOVE -> above;
+                case PRICE_BELOW -> below;
+                case VOLUME_ABOVE -> volume;
+                case PERCENT_MOVE -> moves.computeIfAbsent(rule.windowSeconds, window -> new ConcurrentSkipListSet<>(BY_THRESHOLD));
+            };
+        }
+    }
+
+    /**
+     * Ultimul tick al unui simbol și ferestrele pentru PERCENT_MOVE; protejat de monitorul propriu
+     */
+    private static final class Market {
+        boolean hasPrice;
+        long price;
+        long volume;
+        final Map<Integer, MoveWindow> windows = new HashMap<>();
+    }
+
+    /**
+     * Minimul și maximul prețului din ultimele N secunde, prin cozi monotone (O(1) amortizat per tick)
+     */
+    private static final class MoveWindow {
+        final long windowMicros;
+        final ArrayDeque<long[]> minimums = new ArrayDeque<>();
+        final ArrayDeque<long[]> maximums = new ArrayDeque<>();
+        // Ultima mișcare calculată, în procente în virgulă fixă
+        long move;
+
+        MoveWindow(int windowSeconds) {
+            this.windowMicros = windowSeconds * 1_000_000L;
+        }
+
+        long add(long micros, long price) {
+            while (!minimums.isEmpty() && minimums.peekLast()[1] >= price) {
+                minimums.pollLast();
+            }
+            minimums.addLast(new long[]{micros, price});
+            while (!maximums.isEmpty() && maximums.peekLast()[1] <= price) {
+                maximums.pollLast();
+            }
+            maximums.addLast(new long[]{micros, price});
+            long oldest = micros - windowMicros;
+            while (minimums.peekFirst()[0] < oldest) {
+                minimums.pollFirst();
+            }
+            while (maximums.peekFirst()[0] < oldest) {
+                maximums.pollFirst();
+            }
+
+            long min = minimums.peekFirst()[1];
+            long max = maximums.peekFirst()[1];
+            double rise = (price - min) / (double) min;
+            double fall = (max - price) / (double) max;
+            move = Math.round(Math.max(rise, fall) * 100 * FixedPoint.ONE);
+            return move;
+        }
+    }
+}
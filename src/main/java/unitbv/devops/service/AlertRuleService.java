@@ -0,0 +1,125 @@
+package unitbv.devops.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import unitbv.devops.dto.AlertRuleDTO;
+import unitbv.devops.entity.AlertRule;
+import unitbv.devops.entity.AlertRule.RuleType;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.AlertRuleRepository;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service layer pentru regulile de alertă; fiecare modificare salvată ajunge imediat în AlertRuleEngine
+ */
+@Service
+public class AlertRuleService {
+
+    // Cea mai lungă fereastră PERCENT_MOVE (o zi)
+    private static final int MAX_WINDOW_SECONDS = 86_400;
+
+    @Autowired
+    private AlertRuleRepository alertRuleRepository;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private AlertRuleEngine alertRuleEngine;
+
+    /**
+     * Obține regulile, opțional doar pentru un simbol
+     */
+    @Transactional(readOnly = true)
+    public List<AlertRuleDTO> getRules(String symbolCode) {
+        if (symbolCode == null) {
+            return alertRuleRepository.findAllByOrderByIdAsc().stream().map(AlertRuleService::convertToDTO).toList();
+        }
+        return symbolRepository.findBySymbolCode(symbolCode)
+                .map(symbol -> alertRuleRepository.findBySymbolOrderByIdAsc(symbol).stream()
+                        .map(AlertRuleService::convertToDTO)
+                        .toList())
+                .orElse(List.of());
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AlertRuleDTO> getRuleById(Long id) {
+        return alertRuleRepository.findWithSymbolById(id).map(AlertRuleService::convertToDTO);
+    }
+
+    /**
+     * Creează o regulă și o activează pentru tick-urile următoare
+     */
+    public AlertRuleDTO createRule(AlertRuleDTO ruleDTO) {
+        Symbol symbol = symbolRepository.findBySymbolCode(ruleDTO.getSymbolCode())
+                .orElseThrow(() -> new IllegalArgumentException("Symbol not found: " + ruleDTO.getSymbolCode()));
+        RuleType type = parseType(ruleDTO.getRuleType());
+        BigDecimal threshold = ruleDTO.getThreshold();
+        if (threshold == null || threshold.signum() <= 0) {
+            throw new IllegalArgumentException("Threshold must be positive");
+        }
+        Integer window = null;
+        if (type == RuleType.PERCENT_MOVE) {
+            window = ruleDTO.getWindowSeconds();
+            if (window == null || window <= 0 || window > MAX_WINDOW_SECONDS) {
+                throw new IllegalArgumentException("PERCENT_MOVE rules need windowSeconds between 1 and " + MAX_WINDOW_SECONDS);
+            }
+        }
+
+        AlertRule rule = new AlertRule(symbol, type, threshold, window);
+        rule.setEnabled(ruleDTO.getEnabled() == null || ruleDTO.getEnabled());
+        AlertRuleDTO saved = convertToDTO(alertRuleRepository.save(rule));
+        alertRuleEngine.add(saved);
+        return saved;
+    }
+
+    /**
+     * Activează sau dezactivează o regulă
+     */
+    public Optional<AlertRuleDTO> setEnabled(Long id, boolean enabled) {
+        Optional<AlertRuleDTO> updated = alertRuleRepository.findWithSymbolById(id)
+                .map(rule -> {
+                    rule.setEnabled(enabled);
+                    return convertToDTO(alertRuleRepository.save(rule));
+                });
+        updated.ifPresent(alertRuleEngine::add);
+        return updated;
+    }
+
+    /**
+     * Șterge o regulă
+     */
+    public boolean deleteRule(Long id) {
+        if (!alertRuleRepository.existsById(id)) {
+            return false;
+        }
+        alertRuleRepository.deleteById(id);
+        alertRuleEngine.remove(id);
+        return true;
+    }
+
+    private static RuleType parseType(String ruleType) {
+        try {
+            return RuleType.valueOf(ruleType);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            throw new IllegalArgumentException("Unknown rule type: " + ruleType);
+        }
+    }
+
+    static AlertRuleDTO convertToDTO(AlertRule rule) {
+        return new AlertRuleDTO(
+                rule.getId(),
+                rule.getSymbol().getSymbolCode(),
+                rule.getRuleType().name(),
+                rule.getThreshold(),
+                rule.getWindowSeconds(),
+                rule.getEnabled(),
+                rule.getCreatedAt()
+        );
+    }
+}
@@ -1,16 +1,43 @@
 package unitbv.devops.service;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CommonAbstractCriteria;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import unitbv.devops.entity.Alert;
 import unitbv.devops.entity.Symbol;
 import unitbv.devops.repository.AlertRepository;
+import unitbv.devops.repository.AlertSpecifications;
 import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.dto.AlertBulkRequest;
+import unitbv.devops.dto.AlertBulkResultDTO;
+import unitbv.devops.dto.AlertCountsDTO;
 import unitbv.devops.dto.AlertDTO;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -19,43 +46,101 @@ import java.util.stream.Collectors;
 @Service
 public class AlertService {
 
+    // Sub limita de parametri per interogare a PostgreSQL (32767)
+    private static final int MAX_BULK_IDS = 10_000;
+
+    private static final Set<String> SORTABLE_PROPERTIES = Set.of("id", "triggeredAt", "alertType", "threshold", "acknowledged", "createdAt");
+
     @Autowired
     private AlertRepository alertRepository;
 
     @Autowired
     private SymbolRepository symbolRepository;
 
+    @Autowired
+    private AlertIndexService alertIndexService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
-     * Obține toate alertele cu filtre opționale
+     * Obține o pagină de alerte; toate filtrele (opționale) sunt aplicate în aceeași interogare
      */
-    public List<AlertDTO> getAllAlerts(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate) {
-        List<Alert> alerts;
+    @Transactional(readOnly = true)
+    public Page<AlertDTO> getAllAlerts(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                                       Boolean acknowledged, Pageable pageable) {
+        for (Sort.Order order : pageable.getSort()) {
+            if (!SORTABLE_PROPERTIES.contains(order.getProperty())) {
+                throw new IllegalArgumentException("Cannot sort alerts by " + order.getProperty());
+            }
+        }
 
-        if (symbolCode != null && alertType != null) {
-            alerts = alertRepository.findBySymbol_SymbolCodeAndAlertTypeOrderByTriggeredAtDesc(symbolCode, alertType);
-        } else if (symbolCode != null) {
-            alerts = alertRepository.findBySymbol_SymbolCodeOrderByTriggeredAtDesc(symbolCode);
-        } else if (alertType != null) {
-            alerts = alertRepository.findByAlertTypeOrderByTriggeredAtDesc(alertType);
-        } else {
-            alerts = alertRepository.findAll();
+        if (alertIndexService.canServe(startDate, acknowledged, pageable.getSort())) {
+            return alertIndexService.query(symbolCode, alertType, startDate, endDate, acknowledged, pageable);
         }
 
-        // Filtrare după date dacă sunt specificate
-        if (startDate != null && endDate != null) {
-            alerts = alerts.stream()
-                    .filter(alert -> !alert.getTriggeredAt().isBefore(startDate) && !alert.getTriggeredAt().isAfter(endDate))
-                    .collect(Collectors.toList());
+        Symbol symbol = null;
+        if (symbolCode != null) {
+            Optional<Symbol> found = symbolRepository.findBySymbolCode(symbolCode);
+            if (found.isEmpty()) {
+                return Page.empty(pageable);
+            }
+            symbol = found.get();
         }
 
-        return alerts.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return alertRepository.findAll(AlertSpecifications.filter(symbol, alertType, startDate, endDate, acknowledged), pageable)
+                .map(this::convertToDTO);
+    }
+
+    /**
+     * Numărul de alerte care corespund filtrelor, total și pe simbol/tip
+     * (din indexul în memorie pentru alertele recente sau neconfirmate, altfel GROUP BY în baza de date)
+     */
+    @Transactional(readOnly = true)
+    public AlertCountsDTO getAlertCounts(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                                         Boolean acknowledged) {
+        if (alertIndexService.canServe(startDate, acknowledged, Sort.unsorted())) {
+            return alertIndexService.counts(symbolCode, alertType, startDate, endDate, acknowledged);
+        }
+
+        Symbol symbol = null;
+        if (symbolCode != null) {
+            Optional<Symbol> found = symbolRepository.findBySymbolCode(symbolCode);
+            if (found.isEmpty()) {
+                return new AlertCountsDTO(0, Map.of(), Map.of());
+            }
+            symbol = found.get();
+        }
+
+        Specification<Alert> filter = AlertSpecifications.filter(symbol, alertType, startDate, endDate, acknowledged);
+        Map<String, Long> bySymbol = countBy(filter, root -> root.get("symbol").get("symbolCode"));
+        Map<String, Long> byType = countBy(filter, root -> root.get("alertType"));
+        long total = byType.values().stream().mapToLong(Long::longValue).sum();
+        return new AlertCountsDTO(total, bySymbol, byType);
+    }
+
+    private Map<String, Long> countBy(Specification<Alert> filter, Function<Root<Alert>, Expression<String>> key) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Alert> root = query.from(Alert.class);
+        Expression<String> group = key.apply(root);
+        Predicate predicate = filter.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(group, cb.count(root)).groupBy(group);
+
+        Map<String, Long> counts = new TreeMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, String.class), row.get(1, Long.class));
+        }
+        return counts;
     }
 
     /**
      * Obține o alertă specifică după ID
      */
+    @Transactional(readOnly = true)
     public Optional<AlertDTO> getAlertById(Long id) {
         return alertRepository.findById(id)
                 .map(this::convertToDTO);
@@ -64,7 +149,12 @@ public class AlertService {
     /**
      * Obține alertele active (neconfirmate)
      */
+    @Transactional(readOnly = true)
     public List<AlertDTO> getActiveAlerts() {
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "triggeredAt");
+        if (alertIndexService.canServe(null, false, newestFirst)) {
+            return alertIndexService.query(null, null, null, null, false, Pageable.unpaged(newestFirst)).getContent();
+        }
         return alertRepository.findByAcknowledgedOrderByTriggeredAtDesc(false)
                 .stream()
                 .map(this::convertToDTO)
@@ -74,26 +164,59 @@ public class AlertService {
     /**
      * Marchează o alertă ca fiind confirmată
      */
+    @Transactional
     public Optional<AlertDTO> acknowledgeAlert(Long id) {
         return alertRepository.findById(id)
                 .map(alert -> {
                     alert.setAcknowledged(true);
                     Alert updated = alertRepository.save(alert);
-                    return convertToDTO(updated);
+                    AlertDTO dto = convertToDTO(updated);
+                    alertIndexService.upsert(dto);
+                    return dto;
                 });
     }
 
     /**
      * Creează o alertă nouă
      */
+    @Transactional
     public AlertDTO createAlert(AlertDTO alertDTO) {
         Optional<Symbol> symbol = symbolRepository.findBySymbolCode(alertDTO.getSymbolCode());
         if (symbol.isEmpty()) {
             throw new IllegalArgumentException("Symbol not found: " + alertDTO.getSymbolCode());
         }
 
+        Alert saved = alertRepository.save(toEntity(symbol.get(), alertDTO));
+        AlertDTO dto = convertToDTO(saved);
+        alertIndexService.upsert(dto);
+        return dto;
+    }
+
+    /**
+     * Creează mai multe alerte într-o singură tranzacție; un simbol necunoscut anulează tot lotul
+     */
+    @Transactional
+    public List<AlertDTO> createAlerts(List<AlertDTO> alertDTOs) {
+        Map<String, Symbol> symbols = new HashMap<>();
+        List<Alert> alerts = new ArrayList<>(alertDTOs.size());
+        for (AlertDTO alertDTO : alertDTOs) {
+            Symbol symbol = symbols.computeIfAbsent(alertDTO.getSymbolCode(), code -> symbolRepository.findBySymbolCode(code)
+                    .orElseThrow(() -> new IllegalArgumentException("Symbol not found: " + code)));
+            alerts.add(toEntity(symbol, alertDTO));
+        }
+
+        List<AlertDTO> created = new ArrayList<>(alerts.size());
+        for (Alert saved : alertRepository.saveAll(alerts)) {
+            AlertDTO dto = convertToDTO(saved);
+            alertIndexService.upsert(dto);
+            created.add(dto);
+        }
+        return created;
+    }
+
+    private static Alert toEntity(Symbol symbol, AlertDTO alertDTO) {
         Alert alert = new Alert(
-                symbol.get(),
+                symbol,
                 alertDTO.getAlertType(),
                 alertDTO.getThreshold(),
                 alertDTO.getTriggeredAt() != null ? alertDTO.getTriggeredAt() : LocalDateTime.now(),
@@ -102,13 +225,28 @@ public class AlertService {
         if (alertDTO.getAcknowledged() != null) {
             alert.setAcknowledged(alertDTO.getAcknowledged());
         }
-        Alert saved = alertRepository.save(alert);
-        return convertToDTO(saved);
+        return alert;
+    }
+
+    /**
+     * Înregistrează repetițiile coalescate într-o alertă existentă (număr total și ultima apariție)
+     */
+    @Transactional
+    public Optional<AlertDTO> recordOccurrences(Long id, int occurrenceCount, LocalDateTime lastSeenAt) {
+        return alertRepository.findById(id)
+                .map(alert -> {
+                    alert.setOccurrenceCount(occurrenceCount);
+                    alert.setLastSeenAt(lastSeenAt);
+                    AlertDTO dto = convertToDTO(alert);
+                    alertIndexService.upsert(dto);
+                    return dto;
+                });
     }
 
     /**
      * Actualizează o alertă existentă
      */
+    @Transactional
     public Optional<AlertDTO> updateAlert(Long id, AlertDTO alertDTO) {
         return alertRepository.findById(id)
                 .map(alert -> {
@@ -124,15 +262,96 @@ public class AlertService {
                         alert.setAcknowledged(alertDTO.getAcknowledged());
                     }
                     Alert updated = alertRepository.save(alert);
-                    return convertToDTO(updated);
+                    AlertDTO dto = convertToDTO(updated);
+                    alertIndexService.upsert(dto);
+                    return dto;
                 });
     }
 
     /**
      * Șterge o alertă
      */
+    @Transactional
     public void deleteAlert(Long id) {
         alertRepository.deleteById(id);
+        alertIndexService.remove(id);
+    }
+
+    /**
+     * Confirmă toate alertele neconfirmate din selecție printr-un singur UPDATE
+     */
+    @Transactional
+    public AlertBulkResultDTO acknowledgeAlerts(AlertBulkRequest criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Alert> update = cb.createCriteriaUpdate(Alert.class);
+        Root<Alert> root = update.from(Alert.class);
+        Optional<Predicate> selection = bulkSelection(criteria, update, root, cb);
+        int affected = 0;
+        if (selection.isPresent()) {
+            update.set(root.<Boolean>get("acknowledged"), true)
+                    .where(selection.get(), cb.isFalse(root.get("acknowledged")));
+            affected = entityManager.createQuery(update).executeUpdate();
+            alertIndexService.acknowledgeMatching(criteria);
+        }
+        return new AlertBulkResultDTO(AlertBulkResultDTO.ACKNOWLEDGED, affected, criteria);
+    }
+
+    /**
+     * Șterge toate alertele din selecție printr-un singur DELETE
+     */
+    @Transactional
+    public AlertBulkResultDTO deleteAlerts(AlertBulkRequest criteria) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaDelete<Alert> delete = cb.createCriteriaDelete(Alert.class);
+        Root<Alert> root = delete.from(Alert.class);
+        Optional<Predicate> selection = bulkSelection(criteria, delete, root, cb);
+        int affected = 0;
+        if (selection.isPresent()) {
+            affected = entityManager.createQuery(delete.where(selection.get())).executeUpdate();
+            alertIndexService.removeMatching(criteria);
+        }
+        return new AlertBulkResultDTO(AlertBulkResultDTO.DELETED, affected, criteria);
+    }
+
+    /**
+     * Predicatul comun pentru operațiile în masă; gol dacă simbolul nu există (nimic de modificat)
+     *
+     * Filtrul e aplicat într-o subinterogare a UPDATE/DELETE-ului (id IN (SELECT ...)), iar Specification-ul
+     * primește un CriteriaQuery real, nu null, deci poate folosi query.distinct sau query.subquery
+     */
+    private Optional<Predicate> bulkSelection(AlertBulkRequest criteria, CommonAbstractCriteria statement,
+                                              Root<Alert> root, CriteriaBuilder cb) {
+        List<Long> ids = criteria.getIds() != null ? criteria.getIds() : List.of();
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids per request, use a filter instead");
+        }
+        if (ids.isEmpty() && criteria.getSymbolCode() == null && criteria.getAlertType() == null
+                && criteria.getStartDate() == null && criteria.getEndDate() == null && criteria.getAcknowledged() == null) {
+            throw new IllegalArgumentException("A bulk operation needs ids or at least one filter");
+        }
+
+        Symbol symbol = null;
+        if (criteria.getSymbolCode() != null) {
+            Optional<Symbol> found = symbolRepository.findBySymbolCode(criteria.getSymbolCode());
+            if (found.isEmpty()) {
+                return Optional.empty();
+            }
+            symbol = found.get();
+        }
+
+        Specification<Alert> filter = AlertSpecifications.filter(symbol, criteria.getAlertType(), criteria.getStartDate(),
+                criteria.getEndDate(), criteria.getAcknowledged());
+        Subquery<Long> selected = statement.subquery(Long.class);
+        Root<Alert> candidate = selected.from(Alert.class);
+        Predicate predicate = filter.toPredicate(candidate, cb.createQuery(Long.class), cb);
+        if (!ids.isEmpty()) {
+            predicate = predicate != null ? cb.and(predicate, candidate.get("id").in(ids)) : candidate.get("id").in(ids);
+        }
+        selected.select(candidate.get("id"));
+        if (predicate != null) {
+            selected.where(predicate);
+        }
+        return Optional.of(root.get("id").in(selected));
     }
 
     /**
@@ -146,8 +365,9 @@ public class AlertService {
                 alert.getThreshold(),
                 alert.getTriggeredAt(),
                 alert.getDetails(),
-                alert.getAcknowledged()
+                alert.getAcknowledged(),
+                alert.getOccurrenceCount(),
+                alert.getLastSeenAt()
         );
     }
 }
-
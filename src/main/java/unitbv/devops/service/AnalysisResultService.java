@@ -0,0 +1,295 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.configuration.AnalysisResultProperties;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.entity.AnalysisResult;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.AnalysisResultRepository;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.util.FixedPoint;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Rezultatele serviciului C++ de analiză: ultimul rezultat per (simbol, fereastră) într-un cache concurent,
+ * istoricul în tabela analysis_results
+ *
+ * Un rezultat nou înlocuiește intrarea din cache (citire O(1)), este transmis pe /topic/analysis/{symbol}
+ * și intră într-o coadă scrisă periodic în baza de date prin batch insert-uri JDBC, nu câte un INSERT
+ * per rezultat. Dacă coada depășește max-pending, firul care a primit rezultatul face el flush-ul.
+ */
+@Service
+public class AnalysisResultService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AnalysisResultService.class);
+
+    private static final String INSERT_SQL = "INSERT INTO analysis_results "
+            + "(symbol_id, window_size, current_price, sma, ema, volume, calculated_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private final SymbolRepository symbolRepository;
+    private final AnalysisResultRepository analysisResultRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final WebSocketService webSocketService;
+    private final AnalysisResultProperties properties;
+    private final TransactionTemplate transaction;
+    private final Map<String, Long> symbolIds = new ConcurrentHashMap<>();
+    private final Map<String, Map<Integer, AnalysisResultDTO>> latest = new ConcurrentHashMap<>();
+    private final Queue<Pending> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final Counter received;
+    private final Counter persisted;
+
+    public AnalysisResultService(SymbolRepository symbolRepository,
+                                 AnalysisResultRepository analysisResultRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 WebSocketService webSocketService,
+                                 AnalysisResultProperties properties,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.symbolRepository = symbolRepository;
+        this.analysisResultRepository = analysisResultRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.webSocketService = webSocketService;
+        this.properties = properties;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.received = meterRegistry.counter("analysis.results.received");
+        this.persisted = meterRegistry.counter("analysis.results.persisted");
+        meterRegistry.gauge("analysis.results.pending", pendingCount);
+    }
+
+    /**
+     * Reține un rezultat: cache, broadcast și coada de scriere
+     */
+    public AnalysisResultDTO record(AnalysisResultDTO result) {
+        long symbolId = validate(result);
+        publish(result);
+        pending.add(new Pending(symbolId, result));
+        if (pendingCount.incrementAndGet() >= properties.getMaxPending()) {
+            flush();
+        }
+        return result;
+    }
+
+    /**
+     * Reține un lot de rezultate, scris imediat în baza de date într-o singură tranzacție;
+     * un rezultat invalid respinge tot lotul
+     */
+    public List<AnalysisResultDTO> recordAll(List<AnalysisResultDTO> results) {
+        List<Pending> batch = new ArrayList<>(results.size());
+        for (AnalysisResultDTO result : results) {
+            batch.add(new Pending(validate(result), result));
+        }
+        insertResolvingStaleIds(batch, true);
+        results.forEach(this::publish);
+        return results;
+    }
+
+    private long validate(AnalysisResultDTO result) {
+        if (result.getWindowSize() == null || result.getWindowSize() <= 0) {
+            throw new IllegalArgumentException("windowSize must be positive");
+        }
+        long symbolId = symbolId(result.getSymbolCode());
+        if (result.getTimestamp() == null) {
+            result.setTimestamp(LocalDateTime.now());
+        }
+        return symbolId;
+    }
+
+    private void publish(AnalysisResultDTO result) {
+        // Un rezultat întârziat nu înlocuiește unul mai nou
+        latest.computeIfAbsent(result.getSymbolCode(), symbol -> new ConcurrentHashMap<>())
+                .merge(result.getWindowSize(), result,
+                        (current, next) -> next.getTimestamp().isBefore(current.getTimestamp()) ? current : next);
+        received.increment();
+        webSocketService.broadcastAnalysisResult(result);
+    }
+
+    /**
+     * Ultimul rezultat pentru fiecare fereastră a simbolului, din memorie
+     */
+    public List<AnalysisResultDTO> getLatest(String symbolCode) {
+        Map<Integer, AnalysisResultDTO> windows = latest.get(symbolCode);
+        if (windows == null) {
+            return List.of();
+        }
+        List<AnalysisResultDTO> results = new ArrayList<>(windows.values());
+        results.sort(Comparator.comparing(AnalysisResultDTO::getWindowSize));
+        return results;
+    }
+
+    public Optional<AnalysisResultDTO> getLatest(String symbolCode, int windowSize) {
+        Map<Integer, AnalysisResultDTO> windows = latest.get(symbolCode);
+        return windows == null ? Optional.empty() : Optional.ofNullable(windows.get(windowSize));
+    }
+
+    /**
+     * Istoricul unei ferestre din baza de date, cele mai recente primele
+     */
+    public List<AnalysisResultDTO> getHistory(String symbolCode, int windowSize, LocalDateTime startDate,
+                                              LocalDateTime endDate, int limit) {
+        Optional<Symbol> symbol = symbolRepository.findBySymbolCode(symbolCode);
+        if (symbol.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime start = startDate != null ? startDate : LocalDateTime.of(1970, 1, 1, 0, 0);
+        LocalDateTime end = endDate != null ? endDate : LocalDateTime.now().plusYears(100);
+        return analysisResultRepository
+                .findBySymbolAndWindowSizeAndCalculatedAtBetweenOrderByCalculatedAtDesc(
+                        symbol.get(), windowSize, start, end, PageRequest.of(0, limit))
+                .stream()
+                .map(row -> convertToDTO(symbolCode, row))
+                .toList();
+    }
+
+    /**
+     * Scrie rezultatele din coadă, în loturi de batch-size rânduri
+     */
+    @Scheduled(fixedDelayString = "${app.analysis.results.flush-interval:PT1S}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Pending> batch = new ArrayList<>(properties.getBatchSize());
+        Pending next;
+        while ((next = pending.poll()) != null) {
+            pendingCount.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == properties.getBatchSize()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch);
+        }
+    }
+
+    private void insert(List<Pending> batch) {
+        transaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, batch, properties.getBatchSize(), (statement, row) -> {
+            AnalysisResultDTO result = row.result;
+            statement.setLong(1, row.symbolId);
+            statement.setInt(2, result.getWindowSize());
+            statement.setBigDecimal(3, FixedPoint.toBigDecimal(result.getCurrentPrice()));
+            statement.setBigDecimal(4, FixedPoint.toBigDecimal(result.getSma()));
+            statement.setBigDecimal(5, FixedPoint.toBigDecimal(result.getEma()));
+            statement.setObject(6, result.getVolume());
+            statement.setTimestamp(7, Timestamp.valueOf(result.getTimestamp()));
+        }));
+        persisted.increment(batch.size());
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            insertResolvingStaleIds(batch, false);
+        } catch (RuntimeException e) {
+            // Istoricul pierde lotul, cache-ul și clienții WebSocket au primit deja rezultatele
+            logger.error("Failed to persist {} analysis results: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Inserează lotul; dacă un id din cache nu mai există (simbol șters și poate recreat direct în baza de date),
+     * golește cache-ul, rezolvă din nou codurile și reîncearcă o dată. Rezultatele pentru simboluri care nu mai
+     * există resping lotul sincron, iar din coadă sunt ignorate; la fel o încălcare de constrângere la reîncercare.
+     */
+    private void insertResolvingStaleIds(List<Pending> batch, boolean rejectUnknown) {
+        try {
+            insert(batch);
+            return;
+        } catch (DataIntegrityViolationException e) {
+            symbolIds.clear();
+        }
+        List<Pending> resolved = new ArrayList<>(batch.size());
+        int dropped = 0;
+        for (Pending row : batch) {
+            try {
+                resolved.add(new Pending(symbolId(row.result.getSymbolCode()), row.result));
+            } catch (IllegalArgumentException unknown) {
+                if (rejectUnknown) {
+                    throw unknown;
+                }
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("Dropped {} queued analysis results for deleted symbols", dropped);
+        }
+        if (resolved.isEmpty()) {
+            return;
+        }
+        try {
+            insert(resolved);
+        } catch (DataIntegrityViolationException e) {
+            if (!rejectUnknown) {
+                throw e;
+            }
+            // Nu mai e un id vechi: lotul însuși încalcă o constrângere, deci e respins ca invalid
+            throw new IllegalArgumentException("Analysis results rejected by the database: "
+                    + e.getMostSpecificCause().getMessage(), e);
+        }
+    }
+
+    /**
+     * Uită id-ul și ultimele rezultate reținute pentru un simbol șters sau redenumit
+     */
+    public void evictSymbol(String symbolCode) {
+        symbolIds.remove(symbolCode);
+        latest.remove(symbolCode);
+    }
+
+    private Long symbolId(String symbolCode) {
+        if (symbolCode == null) {
+            throw new IllegalArgumentException("symbolCode is required");
+        }
+        Long id = symbolIds.get(symbolCode);
+        if (id == null) {
+            id = symbolRepository.findBySymbolCode(symbolCode)
+                    .map(Symbol::getId)
+                    .orElseThrow(() -> new IllegalArgumentException("Symbol not found: " + symbolCode));
+            symbolIds.put(symbolCode, id);
+        }
+        return id;
+    }
+
+    private static AnalysisResultDTO convertToDTO(String symbolCode, AnalysisResult row) {
+        return new AnalysisResultDTO(
+                symbolCode,
+                FixedPoint.of(row.getCurrentPrice()),
+                FixedPoint.of(row.getSma()),
+                FixedPoint.of(row.getEma()),
+                row.getVolume(),
+                row.getCalculatedAt(),
+                row.getWindowSize()
+        );
+    }
+
+    private static final class Pending {
+        final long symbolId;
+        final AnalysisResultDTO result;
+
+        Pending(long symbolId, AnalysisResultDTO result) {
+            this.symbolId = symbolId;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Service;
+import unitbv.devops.configuration.IndicatorProperties;
+import unitbv.devops.dto.IndicatorSnapshotDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Indicatori tehnici calculați în gateway, incremental, la fiecare tick ingerat
+ *
+ * Fiecare simbol are propriii acumulatori primitivi (sume glisante peste un buffer circular, medii
+ * exponențiale și medii Wilder), deci un tick costă O(1) indiferent de perioadă, fără alocări.
+ * Simbolurile au lock-uri separate, așa că ingestia pe simboluri diferite se calculează în paralel.
+ * Ultimul snapshot este servit la /api/analytics/{symbol} și transmis pe /topic/analytics/{symbol},
+ * cel mult o dată la publish-interval per simbol.
+ */
+@Service
+public class IndicatorEngine {
+
+    private final WebSocketService webSocketService;
+    private final IndicatorProperties properties;
+    private final Map<String, Accumulators> symbols = new ConcurrentHashMap<>();
+    private final Counter updates;
+
+    public IndicatorEngine(WebSocketService webSocketService,
+                           IndicatorProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.webSocketService = webSocketService;
+        this.properties = properties;
+        this.updates = meterRegistry.counter("analytics.indicators.updates");
+        meterRegistry.gauge("analytics.indicators.symbols", symbols, Map::size);
+    }
+
+    /**
+     * Actualizează indicatorii simbolului cu un tick nou și publică snapshot-ul dacă a trecut publish-interval
+     */
+    public void onTick(String symbolCode, long price, long volume, LocalDateTime timestamp) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Accumulators accumulators = symbols.computeIfAbsent(symbolCode, symbol -> new Accumulators(symbol, properties));
+        long publishInterval = properties.getPublishInterval().toNanos();
+        IndicatorSnapshotDTO published = null;
+
+        synchronized (accumulators) {
+            accumulators.add(price, volume, timestamp);
+            long now = System.nanoTime();
+            if (!accumulators.published || now - accumulators.publishedAt >= publishInterval) {
+                accumulators.published = true;
+                accumulators.publishedAt = now;
+                published = accumulators.snapshot();
+            }
+        }
+        updates.increment();
+        if (published != null) {
+            webSocketService.broadcastIndicators(published);
+        }
+    }
+
+    /**
+     * Indicatorii la ultimul tick al simbolului
+     */
+    public Optional<IndicatorSnapshotDTO> getSnapshot(String symbolCode) {
+        Accumulators accumulators = symbols.get(symbolCode);
+        if (accumulators == null) {
+            return Optional.empty();
+        }
+        synchronized (accumulators) {
+            return Optional.of(accumulators.snapshot());
+        }
+    }
+
+    public List<IndicatorSnapshotDTO> getSnapshots() {
+        List<IndicatorSnapshotDTO> snapshots = new ArrayList<>();
+        for (Accumulators accumulators : symbols.values()) {
+            synchronized (accumulators) {
+                snapshots.add(accumulators.snapshot());
+            }
+        }
+        snapshots.sort(Comparator.comparing(IndicatorSnapshotDTO::getSymbolCode));
+        return snapshots;
+    }
+
+    /**
+     * Starea primitivă a indicatorilor unui simbol; protejată de monitorul propriu
+     *
+     * Sumele pătratelor pentru Bollinger sunt ținute față de primul preț văzut (ancora), ca diferențele
+     * mici dintre prețuri apropiate să nu se piardă în double. Pe tick-uri, true range-ul pentru ATR
+     * este mișcarea față de tick-ul precedent.
+     */
+    static final class Accumulators {
+        final String symbolCode;
+        final int period;
+        final int wilderPeriod;
+        final double bollingerWidth;
+        final double emaAlpha;
+
+        long ticks;
+        long lastPrice;
+        LocalDateTime lastTimestamp;
+
+        // SMA + Bollinger: buffer circular de ultimele period prețuri
+        final long[] window;
+        int head;
+        int filled;
+        long sum;
+        long anchor;
+        double squares;
+
+        // EMA, inițializată cu SMA după primele period tick-uri
+        double ema;
+        boolean emaReady;
+
+        // VWAP pe ziua curentă
+        LocalDate session;
+        double priceVolume;
+        double volume;
+
+        // RSI și ATR (Wilder): sume simple pentru primele wilderPeriod mișcări, apoi netezire
+        long moves;
+        double gain;
+        double loss;
+        double trueRange;
+
+        boolean published;
+        long publishedAt;
+
+        Accumulators(String symbolCode, IndicatorProperties properties) {
+            this.symbolCode = symbolCode;
+            this.period = properties.getPeriod();
+            this.wilderPeriod = properties.getWilderPeriod();
+            this.bollingerWidth = properties.getBollingerWidth();
+            this.emaAlpha = 2.0 / (period + 1);
+            this.window = new long[period];
+        }
+
+        void add(long price, long tickVolume, LocalDateTime timestamp) {
+            if (ticks == 0) {
+                anchor = price;
+            }
+
+            // SMA / Bollinger
+            if (filled == period) {
+                long evicted = window[head];
+                sum -= evicted;
+                double offset = evicted - anchor;
+                squares -= offset * offset;
+            } else {
+                filled++;
+            }
+            window[head] = price;
+            head = (head + 1) % period;
+            sum += price;
+            double offset = price - anchor;
+            squares += offset * offset;
+            if (head == 0) {
+                // O dată pe perioadă, suma pătratelor e recalculată exact (O(1) amortizat), ca erorile să nu se acumuleze
+                squares = 0;
+                for (int i = 0; i < filled; i++) {
+                    double value = window[i] - anchor;
+                    squares += value * value;
+                }
+            }
+
+            // EMA
+            if (emaReady) {
+                ema += emaAlpha * (price - ema);
+            } else if (filled == period) {
+                ema = (double) sum / period;
+                emaReady = true;
+            }
+
+            // VWAP
+            LocalDate day = timestamp.toLocalDate();
+            if (!day.equals(session)) {
+                session = day;
+                priceVolume = 0;
+                volume = 0;
+            }
+            priceVolume += (double) price * tickVolume;
+            volume += tickVolume;
+
+            // RSI / ATR
+            if (ticks > 0) {
+                long change = price - lastPrice;
+                double up = Math.max(change, 0);
+                double down = Math.max(-change, 0);
+                double range = Math.abs(change);
+                moves++;
+                if (moves <= wilderPeriod) {
+                    gain += up;
+                    loss += down;
+                    trueRange += range;
+                    if (moves == wilderPeriod) {
+                        gain /= wilderPeriod;
+                        loss /= wilderPeriod;
+                        trueRange /= wilderPeriod;
+                    }
+                } else {
+                    gain = (gain * (wilderPeriod - 1) + up) / wilderPeriod;
+                    loss = (loss * (wilderPeriod - 1) + down) / wilderPeriod;
+                    trueRange = (trueRange * (wilderPeriod - 1) + range) / wilderPeriod;
+                }
+            }
+
+            ticks++;
+            lastPrice = price;
+            lastTimestamp = timestamp;
+        }
+
+        IndicatorSnapshotDTO snapshot() {
+            IndicatorSnapshotDTO snapshot = new IndicatorSnapshotDTO();
+            snapshot.setSymbolCode(symbolCode);
+            snapshot.setTimestamp(lastTimestamp);
+            snapshot.setTicks(ticks);
+            snapshot.setPeriod(period);
+            if (ticks == 0) {
+                return snapshot;
+            }
+            snapshot.setPrice(lastPrice);
+
+            if (filled == period) {
+                long sma = FixedPoint.divide(sum, period);
+                double mean = (double) (sum - anchor * period) / period;
+                double deviation = Math.sqrt(Math.max(0, squares / period - mean * mean));
+                long band = Math.round(bollingerWidth * deviation);
+                snapshot.setSma(sma);
+                snapshot.setBollingerUpper(sma + band);
+                snapshot.setBollingerLower(sma - band);
+            }
+            if (emaReady) {
+                snapshot.setEma(Math.round(ema));
+            }
+            if (volume > 0) {
+                snapshot.setVwap(Math.round(priceVolume / volume));
+            }
+            if (moves >= wilderPeriod) {
+                double rsi = loss == 0 ? (gain == 0 ? 50 : 100) : 100 - 100 / (1 + gain / loss);
+                snapshot.setRsi(Math.round(rsi * FixedPoint.ONE));
+                snapshot.setAtr(Math.round(trueRange));
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import unitbv.devops.ipc.IpcMessages;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Mesajele binare venite de la serviciul C++ (ring-ul partajat sau socket-ul Unix), date acelorași
+ * servicii ca endpoint-urile /internal/analysis-results și /internal/alerts
+ */
+@Service
+public class IpcMessageHandler {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpcMessageHandler.class);
+
+    private final AnalysisResultService analysisResultService;
+    private final AlertCoalescer alertCoalescer;
+    private final Counter received;
+    private final Counter rejected;
+
+    public IpcMessageHandler(AnalysisResultService analysisResultService,
+                             AlertCoalescer alertCoalescer,
+                             MeterRegistry meterRegistry) {
+        this.analysisResultService = analysisResultService;
+        this.alertCoalescer = alertCoalescer;
+        this.received = meterRegistry.counter("ipc.messages.received");
+        this.rejected = meterRegistry.counter("ipc.messages.rejected");
+    }
+
+    /**
+     * Procesează un mesaj; un mesaj invalid (inclusiv cu lungimi declarate peste lungimea cadrului)
+     * este numărat și ignorat, nu oprește citirea
+     */
+    public boolean handle(ByteBuffer buffer, int offset, int length) {
+        received.increment();
+        try {
+            IpcMessages.checkLength(buffer, offset, length);
+            switch (IpcMessages.type(buffer, offset)) {
+                case IpcMessages.ANALYSIS_RESULT -> analysisResultService.record(IpcMessages.readAnalysisResult(buffer, offset));
+                case IpcMessages.ALERT -> alertCoalescer.submit(IpcMessages.readAlert(buffer, offset));
+                default -> throw new IllegalArgumentException("Unknown message type " + IpcMessages.type(buffer, offset)
+                        + " (" + length + " bytes)");
+            }
+            return true;
+        } catch (RuntimeException e) {
+            rejected.increment();
+            logger.warn("Rejected IPC message: {}", e.getMessage());
+            return false;
+        }
+    }
+}
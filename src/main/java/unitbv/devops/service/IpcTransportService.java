@@ -0,0 +1,119 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import unitbv.devops.configuration.IpcProperties;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.ipc.IpcMessages;
+import unitbv.devops.ipc.SpscRing;
+import unitbv.devops.storage.TickChunk;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Transportul prin memorie partajată către serviciul C++ de analiză, când rulează în același pod
+ *
+ * Tick-urile ingerate sunt scrise binar în ticks.ring, fără HTTP și fără JSON. Rezultatele de analiză
+ * și alertele vin înapoi prin results.ring, citite de un fir dedicat și date lui IpcMessageHandler.
+ * Un ring are un singur producător: firele de ingestie scriu pe rând (lock scurt), iar un tick care
+ * nu mai încape este aruncat și numărat, nu așteptat.
+ */
+@Service
+public class IpcTransportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(IpcTransportService.class);
+    private static final int POLL_LIMIT = 256;
+
+    private final IpcProperties properties;
+    private final IpcMessageHandler messageHandler;
+    private final Map<String, byte[]> symbolBytes = new ConcurrentHashMap<>();
+    private final Counter ticksSent;
+    private final Counter ticksDropped;
+
+    private SpscRing ticks;
+    private SpscRing results;
+    private volatile boolean running;
+    private Thread reader;
+
+    public IpcTransportService(IpcProperties properties,
+                               IpcMessageHandler messageHandler,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.messageHandler = messageHandler;
+        this.ticksSent = meterRegistry.counter("ipc.ticks.sent");
+        this.ticksDropped = meterRegistry.counter("ipc.ticks.dropped");
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Path directory = Paths.get(properties.getDirectory());
+        ticks = SpscRing.open(directory.resolve("ticks.ring"), properties.getCapacity());
+        results = SpscRing.open(directory.resolve("results.ring"), properties.getCapacity());
+        running = true;
+        reader = new Thread(this::read, "ipc-results-reader");
+        reader.setDaemon(true);
+        reader.start();
+        logger.info("Shared-memory IPC enabled in {}", directory);
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (reader != null) {
+            LockSupport.unpark(reader);
+            reader.join(1_000);
+            ticks.close();
+            results.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Scrie un tick salvat în ticks.ring; false dacă IPC e dezactivat sau ring-ul e plin
+     */
+    public boolean publishTick(PriceDTO price) {
+        if (!running) {
+            return false;
+        }
+        byte[] symbol = symbolBytes.computeIfAbsent(price.getSymbolCode(), code -> code.getBytes(StandardCharsets.UTF_8));
+        long timestamp = TickChunk.toMicros(price.getTimestamp());
+        long volume = price.getVolume() != null ? price.getVolume() : 0L;
+        boolean written;
+        synchronized (ticks) {
+            written = ticks.offer(IpcMessages.tickLength(symbol),
+                    (buffer, offset) -> IpcMessages.writeTick(buffer, offset, symbol, timestamp, price.getPrice(), volume));
+        }
+        (written ? ticksSent : ticksDropped).increment();
+        return written;
+    }
+
+    private void read() {
+        int idle = 0;
+        while (running) {
+            int read = results.poll(messageHandler::handle, POLL_LIMIT);
+            if (read > 0) {
+                idle = 0;
+            } else if (++idle < properties.getIdleSpins()) {
+                Thread.onSpinWait();
+            } else {
+                LockSupport.parkNanos(this, properties.getIdlePark().toNanos());
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import unitbv.devops.configuration.PriceStreamProperties;
+import unitbv.devops.dto.PriceChangeDTO;
+import unitbv.devops.dto.PriceDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Fluxul de schimbări al prețurilor: fiecare tick ingerat primește un sequence și intră într-un buffer
+ * circular, din care consumatorii interni (serviciul C++) îl primesc ca server-sent events, în loc să
+ * interogheze periodic tabela prices
+ *
+ * Publicarea nu blochează: un incrementAndGet și o scriere în buffer. Un singur fir dispatcher pregătește
+ * pentru fiecare abonat tick-urile de după cursorul lui, în loturi (un eveniment "prices" cu id = epocă:ultimul
+ * sequence din lot). Scrierea propriu-zisă rulează pe un fir sender, cel mult una în curs per abonat, deci un
+ * abonat blocat nu îi întârzie pe ceilalți; dacă scrierea lui rămâne blocată peste send-timeout, e deconectat.
+ *
+ * Epoca e unică per proces, pentru că sequence-urile reîncep de la 1 după o repornire a Gateway-ului.
+ * La reconectare, Last-Event-ID din aceeași epocă reia fluxul exact de unde a rămas; dacă e din altă epocă
+ * sau tick-urile cerute au ieșit deja din buffer, abonatul primește un eveniment "reset" cu primul sequence disponibil.
+ */
+@Service
+public class PriceChangeFeed {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceChangeFeed.class);
+
+    private final PriceStreamProperties properties;
+    private final AtomicReferenceArray<PriceChangeDTO> ring;
+    private final int mask;
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong lastSequence = new AtomicLong();
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders = Executors.newCachedThreadPool(task -> {
+        Thread thread = new Thread(task, "price-stream-sender");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Counter published;
+    private final Counter resets;
+    private final Counter evicted;
+
+    private volatile boolean running;
+    private volatile Thread dispatcher;
+
+    public PriceChangeFeed(PriceStreamProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        int capacity = Integer.highestOneBit(Math.max(2, properties.getCapacity() - 1)) << 1;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.mask = capacity - 1;
+        this.published = meterRegistry.counter("prices.stream.published");
+        this.resets = meterRegistry.counter("prices.stream.resets");
+        this.evicted = meterRegistry.counter("prices.stream.evicted");
+        meterRegistry.gauge("prices.stream.subscribers", subscribers, List::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::dispatch, "price-stream-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        Thread thread = dispatcher;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+        }
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        senders.shutdown();
+    }
+
+    /**
+     * Adaugă un tick salvat în flux
+     */
+    public void publish(PriceDTO price) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long sequence = lastSequence.incrementAndGet();
+        ring.set((int) (sequence & mask), new PriceChangeDTO(sequence, price.getSymbolCode(), price.getPrice(),
+                price.getVolume(), price.getTimestamp()));
+        published.increment();
+        Thread thread = dispatcher;
+        if (thread != null && !subscribers.isEmpty()) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    /**
+     * Deschide un abonament; fără lastEventId, abonatul primește doar tick-urile de acum înainte
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("Price stream is disabled");
+        }
+        // Fără timeout: conexiunea rămâne deschisă până o închide consumatorul
+        return subscribe(new SseEmitter(0L), lastEventId);
+    }
+
+    SseEmitter subscribe(SseEmitter emitter, String lastEventId) {
+        Subscriber subscriber;
+        if (lastEventId == null) {
+            subscriber = new Subscriber(emitter, lastSequence.get() + 1, null);
+        } else {
+            Long sequence = sequenceOf(lastEventId);
+            // Id din altă epocă (sau fără epocă): sequence-ul lui nu înseamnă nimic aici, abonatul primește reset
+            subscriber = sequence != null
+                    ? new Subscriber(emitter, sequence + 1, null)
+                    : new Subscriber(emitter, 0, lastEventId);
+        }
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        logger.info("Price stream subscriber connected from {}", subscriber.staleEventId != null
+                ? "event " + subscriber.staleEventId + " of another epoch" : "sequence " + subscriber.cursor);
+        LockSupport.unpark(dispatcher);
+        return emitter;
+    }
+
+    /**
+     * Id-ul evenimentului care se termină cu sequence-ul dat, în epoca acestui proces
+     */
+    public String eventId(long sequence) {
+        return epoch + ':' + sequence;
+    }
+
+    /**
+     * Sequence-ul dintr-un id de eveniment al acestei epoci; null pentru alte epoci sau id-uri invalide
+     */
+    Long sequenceOf(String eventId) {
+        int separator = eventId.indexOf(':');
+        if (separator < 0 || !epoch.equals(eventId.substring(0, separator))) {
+            return null;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    public long getLastSequence() {
+        return lastSequence.get();
+    }
+
+    public long getOldestSequence() {
+        return Math.max(1, lastSequence.get() - mask);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    /**
+     * Cel mult max tick-uri începând cu sequence-ul from; null dacă from nu mai e (sau nu e încă) în buffer
+     */
+    List<PriceChangeDTO> read(long from, int max) {
+        long last = lastSequence.get();
+        if (from < getOldestSequence() || from > last + 1) {
+            return null;
+        }
+        List<PriceChangeDTO> changes = new ArrayList<>((int) Math.min(max, last - from + 1));
+        for (long sequence = from; sequence <= last && changes.size() < max; sequence++) {
+            PriceChangeDTO change = ring.get((int) (sequence & mask));
+            if (change == null || change.getSequence() < sequence) {
+                // Rezervat, dar publish nu a scris încă tick-ul; va trezi din nou dispatcher-ul
+                break;
+            }
+            if (change.getSequence() > sequence) {
+                return null;
+            }
+            changes.add(change);
+        }
+        return changes;
+    }
+
+    private void dispatch() {
+        long idleNanos = Math.min(properties.getHeartbeat().toNanos(), TimeUnit.SECONDS.toNanos(1));
+        while (running) {
+            for (Subscriber subscriber : subscribers) {
+                dispatch(subscriber);
+            }
+            // Un sender care a trimis un lot plin trezește dispatcher-ul pentru următorul
+            LockSupport.parkNanos(this, idleNanos);
+        }
+    }
+
+    /**
+     * Pregătește următorul lot al abonatului și îl dă unui fir sender; nu așteaptă după socket
+     */
+    private void dispatch(Subscriber subscriber) {
+        if (!subscriber.sending.compareAndSet(false, true)) {
+            if (System.nanoTime() - subscriber.sendStartedAt >= properties.getSendTimeout().toNanos()) {
+                evict(subscriber);
+            }
+            return;
+        }
+        List<PriceChangeDTO> changes = subscriber.staleEventId != null ? null : read(subscriber.cursor, properties.getMaxBatch());
+        if (changes == null) {
+            long oldest = getOldestSequence();
+            resets.increment();
+            Object requested = subscriber.staleEventId != null ? subscriber.staleEventId : subscriber.cursor;
+            send(subscriber, SseEmitter.event()
+                    .name("reset")
+                    .id(eventId(oldest - 1))
+                    .data(Map.of("requested", requested, "oldest", oldest, "epoch", epoch), MediaType.APPLICATION_JSON),
+                    oldest, true);
+            return;
+        }
+        if (!changes.isEmpty()) {
+            long last = changes.get(changes.size() - 1).getSequence();
+            send(subscriber, SseEmitter.event()
+                    .name("prices")
+                    .id(eventId(last))
+                    .data(changes, MediaType.APPLICATION_JSON),
+                    last + 1, changes.size() == properties.getMaxBatch());
+            return;
+        }
+        if (System.nanoTime() - subscriber.lastWrite >= properties.getHeartbeat().toNanos()) {
+            send(subscriber, SseEmitter.event().comment("heartbeat"), subscriber.cursor, false);
+            return;
+        }
+        subscriber.sending.set(false);
+    }
+
+    private void send(Subscriber subscriber, SseEmitter.SseEventBuilder event, long nextCursor, boolean more) {
+        subscriber.sendStartedAt = System.nanoTime();
+        senders.execute(() -> {
+            try {
+                subscriber.emitter.send(event);
+            } catch (IOException | IllegalStateException e) {
+                // sending rămâne true: abonatul scos nu mai primește nimic
+                logger.info("Price stream subscriber disconnected at sequence {}: {}", subscriber.cursor, e.getMessage());
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+                return;
+            }
+            subscriber.cursor = nextCursor;
+            subscriber.staleEventId = null;
+            subscriber.lastWrite = System.nanoTime();
+            subscriber.sending.set(false);
+            if (more) {
+                LockSupport.unpark(dispatcher);
+            }
+        });
+    }
+
+    /**
+     * Scrierea abonatului e blocată de prea mult timp: îl scoate, iar emitter-ul e închis pe un fir sender,
+     * pentru că închiderea așteaptă după scrierea blocată
+     */
+    private void evict(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        evicted.increment();
+        logger.warn("Price stream subscriber evicted at sequence {}: send blocked for more than {}",
+                subscriber.cursor, properties.getSendTimeout());
+        senders.execute(() -> subscriber.emitter.completeWithError(new TimeoutException("Send blocked")));
+    }
+
+    /**
+     * Un consumator conectat; cursor = următorul sequence de trimis. Câmpurile simple sunt scrise de firul
+     * sender înainte de eliberarea lui sending și citite de dispatcher după ce îl ocupă
+     */
+    private static final class Subscriber {
+        final SseEmitter emitter;
+        final AtomicBoolean sending = new AtomicBoolean();
+        volatile long sendStartedAt;
+        long cursor;
+        // Last-Event-ID din altă epocă, până la trimiterea reset-ului
+        String staleEventId;
+        long lastWrite = System.nanoTime();
+
+        Subscriber(SseEmitter emitter, long cursor, String staleEventId) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+            this.staleEventId = staleEventId;
+        }
+    }
+}
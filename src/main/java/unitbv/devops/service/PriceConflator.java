@@ -0,0 +1,159 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import unitbv.devops.configuration.PriceConflationProperties;
+import unitbv.devops.dto.PriceBatchDTO;
+import unitbv.devops.dto.PriceDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Conflația prețurilor trimise prin WebSocket: pe topicurile de afișare ajunge doar ultimul preț al fiecărui simbol
+ *
+ * Un tick nou doar înlocuiește prețul în așteptare al simbolului (O(1), fără trimitere). La fiecare symbol-interval,
+ * fiecare simbol cu un preț nou îl primește pe /topic/prices/{symbol}; la fiecare all-symbols-interval, la fel pe
+ * /topic/prices. Tick-urile intermediare nu mai ajung la browsere, iar numărul de mesaje trimise e mărginit de
+ * numărul de simboluri și de frecvențe, oricât de repede vin tick-urile. Cine are nevoie de fiecare tick
+ * se abonează la /topic/ticks sau /topic/ticks/{symbol}, care nu sunt conflate.
+ * Un dashboard care urmărește multe simboluri se abonează la /topic/prices/batch: la fiecare batch-interval
+ * primește un singur cadru (PriceBatchDTO) cu ultimul preț al tuturor simbolurilor schimbate, în loc de
+ * câte un cadru STOMP pentru fiecare simbol. Cadrele batch sunt produse și cu conflația dezactivată (vezi batch()),
+ * deci dashboard-ul nu depinde de această setare.
+ * Prețul rămas în așteptare e codat JSON o singură dată, chiar dacă pleacă pe ambele topicuri de afișare.
+ */
+@Service
+public class PriceConflator {
+
+    static final String LOSSLESS_TOPIC = "/topic/ticks";
+    static final String BATCH_TOPIC = "/topic/prices/batch";
+
+    private final WebSocketBroadcaster broadcaster;
+    private final PriceConflationProperties properties;
+    private final ConcurrentHashMap<String, Pending> pendingSymbols = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Pending> pendingAll = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, PriceDTO> pendingBatch = new ConcurrentHashMap<>();
+    private final AtomicLong batchSequence = new AtomicLong();
+    private final Counter received;
+    private final Counter conflated;
+    private final Counter sentSymbol;
+    private final Counter sentAll;
+    private final Counter sentBatches;
+    private final Counter batchedUpdates;
+
+    public PriceConflator(WebSocketBroadcaster broadcaster,
+                          PriceConflationProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.broadcaster = broadcaster;
+        this.properties = properties;
+        this.received = meterRegistry.counter("websocket.prices.received");
+        this.conflated = meterRegistry.counter("websocket.prices.conflated");
+        this.sentSymbol = meterRegistry.counter("websocket.prices.sent", "topic", "symbol");
+        this.sentAll = meterRegistry.counter("websocket.prices.sent", "topic", "all");
+        this.sentBatches = meterRegistry.counter("websocket.prices.sent", "topic", "batch");
+        this.batchedUpdates = meterRegistry.counter("websocket.prices.batched");
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * Reține tick-ul ca ultim preț al simbolului; pe topicul lossless e trimis imediat
+     */
+    public void publish(PriceDTO price) {
+        received.increment();
+        String symbol = price.getSymbolCode();
+        Pending pending = new Pending(price);
+        if (pendingSymbols.put(symbol, pending) != null) {
+            conflated.increment();
+        }
+        pendingAll.put(symbol, pending);
+        pendingBatch.put(symbol, price);
+        if (properties.isLossless()) {
+            broadcaster.send(pending.encoded(), LOSSLESS_TOPIC);
+            broadcaster.send(pending.encoded(), LOSSLESS_TOPIC + "/" + symbol);
+        }
+    }
+
+    /**
+     * Cu conflația dezactivată: tick-ul pleacă imediat pe topicurile de afișare, aici intră doar în următorul cadru batch
+     */
+    public void batch(PriceDTO price) {
+        pendingBatch.put(price.getSymbolCode(), price);
+    }
+
+    @Scheduled(fixedRateString = "${app.websocket.conflation.symbol-interval:PT0.1S}")
+    public void flushSymbols() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String symbol : pendingSymbols.keySet()) {
+            // remove întoarce exact prețul scos; un tick sosit după el rămâne pentru următorul flush
+            Pending pending = pendingSymbols.remove(symbol);
+            if (pending != null) {
+                broadcaster.send(pending.encoded(), "/topic/prices/" + symbol);
+                sentSymbol.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.websocket.conflation.all-symbols-interval:PT0.1S}")
+    public void flushAll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        for (String symbol : pendingAll.keySet()) {
+            Pending pending = pendingAll.remove(symbol);
+            if (pending != null) {
+                broadcaster.send(pending.encoded(), "/topic/prices");
+                sentAll.increment();
+            }
+        }
+    }
+
+    @Scheduled(fixedRateString = "${app.websocket.conflation.batch-interval:PT0.05S}")
+    public void flushBatch() {
+        List<PriceDTO> updates = new ArrayList<>(pendingBatch.size());
+        for (String symbol : pendingBatch.keySet()) {
+            PriceDTO price = pendingBatch.remove(symbol);
+            if (price != null) {
+                updates.add(price);
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        broadcaster.broadcast(new PriceBatchDTO(batchSequence.incrementAndGet(), LocalDateTime.now(), updates), BATCH_TOPIC);
+        sentBatches.increment();
+        batchedUpdates.increment(updates.size());
+    }
+
+    /**
+     * Ultimul preț al unui simbol, codat la prima trimitere și refolosit de celelalte topicuri
+     */
+    private final class Pending {
+
+        private final PriceDTO price;
+        private volatile WebSocketBroadcaster.Encoded encoded;
+
+        private Pending(PriceDTO price) {
+            this.price = price;
+        }
+
+        WebSocketBroadcaster.Encoded encoded() {
+            WebSocketBroadcaster.Encoded current = encoded;
+            if (current == null) {
+                current = broadcaster.encode(price);
+                encoded = current;
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package unitbv.devops.service;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRepository;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.storage.TickArchive;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.storage.TickJournalStore;
+import unitbv.devops.util.FixedPoint;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Export al istoricului de prețuri direct în stream-ul de răspuns, cu memorie constantă
+ *
+ * Rândurile din PostgreSQL vin printr-un cursor server-side (fetch size 1000) și sunt detașate
+ * după scriere, deci contextul de persistență nu crește. Tick-urile arhivate sunt citite câte o zi,
+ * iar cele din jurnal direct din memoria mapată. Nimic nu este acumulat într-o listă.
+ */
+@Service
+public class PriceExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceExportService.class);
+
+    static final LocalDateTime DEFAULT_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime DEFAULT_END = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final SymbolRepository symbolRepository;
+    private final PriceRepository priceRepository;
+    private final TickArchive tickArchive;
+    private final TickJournalStore tickJournalStore;
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public PriceExportService(SymbolRepository symbolRepository,
+                              PriceRepository priceRepository,
+                              TickArchive tickArchive,
+                              TickJournalStore tickJournalStore,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager) {
+        this.symbolRepository = symbolRepository;
+        this.priceRepository = priceRepository;
+        this.tickArchive = tickArchive;
+        this.tickJournalStore = tickJournalStore;
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Simbolul de exportat, verificat înainte de a începe stream-ul (ca să putem răspunde 404)
+     */
+    public Optional<Symbol> findSymbol(String symbolCode) {
+        return symbolRepository.findBySymbolCode(symbolCode);
+    }
+
+    /**
+     * Numele fișierului de export; caracterele din afara [A-Za-z0-9._-] din codul simbolului devin '_'
+     */
+    public static String fileName(String symbolCode, Format format) {
+        return symbolCode.replaceAll("[^A-Za-z0-9._-]", "_") + "-prices." + format.getExtension();
+    }
+
+    /**
+     * Scrie toate tick-urile simbolului din [startDate, endDate) în {@code output}, în ordine cronologică.
+     * Returnează numărul de rânduri scrise.
+     */
+    public long export(Symbol symbol, LocalDateTime startDate, LocalDateTime endDate, Format format, OutputStream output) throws IOException {
+        LocalDateTime start = startDate != null ? startDate : DEFAULT_START;
+        LocalDateTime end = endDate != null ? endDate : DEFAULT_END;
+        RowWriter writer = new RowWriter(format, symbol.getSymbolCode(), output);
+        writer.writeHeader();
+
+        try {
+            if (tickJournalStore.isEnabled()) {
+                tickJournalStore.journal(symbol.getSymbolCode()).scan(TickChunk.toMicros(start), TickChunk.toMicros(end) - 1,
+                        (sequence, timestamp, price, volume) -> writer.writeUnchecked(sequence, TickChunk.fromMicros(timestamp), price, volume));
+            } else {
+                if (tickArchive.isEnabled()) {
+                    exportArchive(symbol, start, end, writer);
+                }
+                readOnlyTransaction.executeWithoutResult(status -> exportDatabase(symbol, start, end, writer));
+            }
+        } catch (UncheckedIOException e) {
+            // Clientul a închis conexiunea; cursorul și tranzacția sunt deja eliberate
+            throw e.getCause();
+        }
+
+        writer.flush();
+        logger.info("Exported {} ticks of {} as {}", writer.rows, symbol.getSymbolCode(), format);
+        return writer.rows;
+    }
+
+    private void exportArchive(Symbol symbol, LocalDateTime start, LocalDateTime end, RowWriter writer) {
+        long from = TickChunk.toMicros(start);
+        long to = TickChunk.toMicros(end);
+        for (LocalDate day : tickArchive.listDays(symbol.getSymbolCode(), start, end)) {
+            TickChunk chunk = tickArchive.readDay(symbol.getSymbolCode(), day);
+            if (chunk == null) {
+                continue;
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                long timestamp = chunk.timestamp(i);
+                if (timestamp >= from && timestamp < to) {
+                    writer.writeUnchecked(chunk.id(i), TickChunk.fromMicros(timestamp), chunk.price(i), chunk.volume(i));
+                }
+            }
+        }
+    }
+
+    private void exportDatabase(Symbol symbol, LocalDateTime start, LocalDateTime end, RowWriter writer) {
+        try (Stream<Price> prices = priceRepository.streamBySymbolAndTimestampRange(symbol, start, end)) {
+            Iterator<Price> iterator = prices.iterator();
+            while (iterator.hasNext()) {
+                Price price = iterator.next();
+                writer.writeUnchecked(price.getId(), price.getTimestamp(), FixedPoint.of(price.getPrice()), price.getVolume());
+                entityManager.detach(price);
+            }
+        }
+    }
+
+    /**
+     * Formatare manuală a rândurilor, fără obiecte intermediare per tick în afara timestamp-ului.
+     * Codul simbolului e text liber, deci e escapat o singură dată, la construcție.
+     */
+    private static final class RowWriter {
+        private final Format format;
+        private final String symbolCode;
+        private final Writer out;
+        private final char[] priceBuffer = new char[32];
+        long rows;
+
+        RowWriter(Format format, String symbolCode, OutputStream output) {
+            this.format = format;
+            this.symbolCode = format == Format.CSV
+                    ? csvField(symbolCode)
+                    : new String(JsonStringEncoder.getInstance().quoteAsString(symbolCode));
+            this.out = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        void writeHeader() throws IOException {
+            if (format == Format.CSV) {
+                out.write("id,symbolCode,timestamp,price,volume\n");
+            }
+        }
+
+        void writeUnchecked(long id, LocalDateTime timestamp, long price, long volume) {
+            try {
+                write(id, timestamp, price, volume);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void write(long id, LocalDateTime timestamp, long price, long volume) throws IOException {
+            int priceLength = FixedPoint.format(price, priceBuffer);
+            if (format == Format.CSV) {
+                out.write(Long.toString(id));
+                out.write(',');
+                out.write(symbolCode);
+                out.write(',');
+                out.write(timestamp.toString());
+                out.write(',');
+                out.write(priceBuffer, 0, priceLength);
+                out.write(',');
+                out.write(Long.toString(volume));
+            } else {
+                out.write("{\"id\":");
+                out.write(Long.toString(id));
+                out.write(",\"symbolCode\":\"");
+                out.write(symbolCode);
+                out.write("\",\"timestamp\":\"");
+                out.write(timestamp.toString());
+                out.write("\",\"price\":");
+                out.write(priceBuffer, 0, priceLength);
+                out.write(",\"volume\":");
+                out.write(Long.toString(volume));
+                out.write('}');
+            }
+            out.write('\n');
+            rows++;
+        }
+
+        void flush() throws IOException {
+            out.flush();
+        }
+
+        /**
+         * Câmp CSV (RFC 4180): între ghilimele, cu ghilimelele dublate, dacă conține separatori
+         */
+        static String csvField(String value) {
+            if (value.chars().noneMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r')) {
+                return value;
+            }
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.configuration.RetentionProperties;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRepository;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.storage.TickArchive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Job de retenție pentru tick-urile brute
+ * Tick-urile mai vechi decât politica tipului de simbol sunt agregate în price_rollups și apoi șterse,
+ * în batch-uri mici, fiecare în propria tranzacție. Un batch fie se aplică complet, fie deloc,
+ * deci job-ul poate fi oprit oricând și reia la următoarea rulare de la cel mai vechi tick rămas.
+ */
+@Service
+public class PriceRetentionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PriceRetentionService.class);
+
+    private final RetentionProperties retentionProperties;
+    private final SymbolRepository symbolRepository;
+    private final PriceRepository priceRepository;
+    private final PriceRollupService priceRollupService;
+    private final TickArchive tickArchive;
+    private final TickJournalService tickJournalService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter ticksPurged;
+    private final Counter batchesCommitted;
+    private final Timer runTimer;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicLong ticksPurgedInRun = new AtomicLong();
+    private volatile String currentSymbol;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile long lastRunTicksPurged;
+
+    public PriceRetentionService(RetentionProperties retentionProperties,
+                                 SymbolRepository symbolRepository,
+                                 PriceRepository priceRepository,
+                                 PriceRollupService priceRollupService,
+                                 TickArchive tickArchive,
+                                 TickJournalService tickJournalService,
+                                 PlatformTransactionManager transactionManager,
+                                 MeterRegistry meterRegistry) {
+        this.retentionProperties = retentionProperties;
+        this.symbolRepository = symbolRepository;
+        this.priceRepository = priceRepository;
+        this.priceRollupService = priceRollupService;
+        this.tickArchive = tickArchive;
+        this.tickJournalService = tickJournalService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        this.ticksPurged = meterRegistry.counter("retention.ticks.purged");
+        this.batchesCommitted = meterRegistry.counter("retention.batches.committed");
+        this.runTimer = meterRegistry.timer("retention.run.duration");
+        meterRegistry.gauge("retention.run.active", running, flag -> flag.get() ? 1 : 0);
+        meterRegistry.gauge("retention.run.ticks.purged", ticksPurgedInRun);
+    }
+
+    @Scheduled(fixedDelayString = "${app.retention.interval:PT5M}", initialDelayString = "${app.retention.initial-delay:PT1M}")
+    public void runScheduled() {
+        if (retentionProperties.isEnabled()) {
+            runOnce();
+        }
+    }
+
+    /**
+     * Aplică toate politicile o singură dată. Returnează numărul de tick-uri șterse,
+     * sau -1 dacă o altă rulare este deja în curs.
+     */
+    public long runOnce() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Retention run skipped, another run is in progress");
+            return -1;
+        }
+        ticksPurgedInRun.set(0);
+        lastRunStartedAt = LocalDateTime.now();
+        try {
+            return runTimer.record(() -> {
+                for (Map.Entry<String, Duration> policy : retentionProperties.getPolicies().entrySet()) {
+                    LocalDateTime cutoff = LocalDateTime.now().minus(policy.getValue());
+                    for (Symbol symbol : symbolRepository.findByType(policy.getKey())) {
+                        purgeSymbol(symbol, cutoff);
+                        if (tickJournalService.isEnabled()) {
+                            ticksPurgedInRun.addAndGet(tickJournalService.purgeSymbol(symbol, cutoff));
+                        }
+                        if (tickArchive.isEnabled()) {
+                            // Zilele arhivate au fost agregate la arhivare, pot fi șterse direct
+                            tickArchive.deleteDaysBefore(symbol.getSymbolCode(), cutoff.toLocalDate());
+                        }
+                    }
+                }
+                return ticksPurgedInRun.get();
+            });
+        } finally {
+            currentSymbol = null;
+            lastRunTicksPurged = ticksPurgedInRun.get();
+            lastRunFinishedAt = LocalDateTime.now();
+            running.set(false);
+            logger.info("Retention run finished, {} ticks downsampled and purged", lastRunTicksPurged);
+        }
+    }
+
+    /**
+     * Agregă și șterge toate tick-urile unui simbol mai vechi de {@code cutoff}
+     */
+    public long purgeSymbol(Symbol symbol, LocalDateTime cutoff) {
+        currentSymbol = symbol.getSymbolCode();
+        long purged = 0;
+        int processed;
+        do {
+            processed = transactionTemplate.execute(status -> purgeBatch(symbol, cutoff));
+            if (processed > 0) {
+                purged += processed;
+                ticksPurged.increment(processed);
+                batchesCommitted.increment();
+                ticksPurgedInRun.addAndGet(processed);
+                pauseBetweenBatches();
+            }
+        } while (processed == retentionProperties.getBatchSize());
+
+        if (purged > 0) {
+            logger.info("Retention: {} ticks older than {} rolled up for {}", purged, cutoff, symbol.getSymbolCode());
+        }
+        return purged;
+    }
+
+    /**
+     * Starea curentă a job-ului, pentru endpoint-ul de administrare
+     */
+    public Map<String, Object> getProgress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("enabled", retentionProperties.isEnabled());
+        progress.put("running", running.get());
+        progress.put("currentSymbol", currentSymbol);
+        progress.put("ticksPurgedInCurrentRun", running.get() ? ticksPurgedInRun.get() : 0);
+        progress.put("lastRunStartedAt", lastRunStartedAt);
+        progress.put("lastRunFinishedAt", lastRunFinishedAt);
+        progress.put("lastRunTicksPurged", lastRunTicksPurged);
+        progress.put("totalTicksPurged", (long) ticksPurged.count());
+        progress.put("policies", retentionProperties.getPolicies().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toString())));
+        return progress;
+    }
+
+    private int purgeBatch(Symbol symbol, LocalDateTime cutoff) {
+        List<Price> batch = priceRepository.findBySymbolAndTimestampBeforeOrderByTimestampAscIdAsc(
+                symbol, cutoff, PageRequest.of(0, retentionProperties.getBatchSize()));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        priceRollupService.accumulate(symbol, batch);
+        priceRepository.deleteAllByIdInBatch(batch.stream().map(Price::getId).collect(Collectors.toList()));
+        return batch.size();
+    }
+
+    private void pauseBetweenBatches() {
+        long pauseMs = retentionProperties.getBatchPause().toMillis();
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package unitbv.devops.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import unitbv.devops.configuration.RetentionProperties;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.PriceRollup;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRollupRepository;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Service pentru agregarea tick-urilor brute în rânduri OHLCV (price_rollups)
+ */
+@Service
+public class PriceRollupService {
+
+    @Autowired
+    private PriceRollupRepository priceRollupRepository;
+
+    @Autowired
+    private RetentionProperties retentionProperties;
+
+    /**
+     * Adaugă tick-urile în bucket-urile corespunzătoare, creând sau actualizând rândurile existente.
+     * Rulează în tranzacția apelantului, ca agregarea și ștergerea tick-urilor să fie atomice.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int accumulate(Symbol symbol, List<Price> prices) {
+        int resolution = retentionProperties.getRollupMinutes();
+        Map<LocalDateTime, PriceRollup> touched = new LinkedHashMap<>();
+
+        for (Price price : prices) {
+            LocalDateTime bucketStart = bucketStart(price.getTimestamp(), resolution);
+            PriceRollup rollup = touched.computeIfAbsent(bucketStart, start ->
+                    priceRollupRepository.findBySymbolAndResolutionMinutesAndBucketStart(symbol, resolution, start)
+                            .orElseGet(() -> new PriceRollup(symbol, resolution, start)));
+            rollup.accumulate(price.getPrice(), price.getVolume(), price.getTimestamp());
+        }
+
+        priceRollupRepository.saveAll(touched.values());
+        return touched.size();
+    }
+
+    /**
+     * Variantă pentru tick-uri deja extrase în format columnar (arhivare, jurnal), pe intervalul [from, to).
+     * Tick-urile sunt pre-agregate în virgulă fixă; BigDecimal apare doar o dată per bucket, la entitate.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public int accumulate(Symbol symbol, TickChunk chunk, int from, int to) {
+        int resolution = retentionProperties.getRollupMinutes();
+        long bucketMicros = resolution * 60_000_000L;
+        Map<Long, Bucket> buckets = new LinkedHashMap<>();
+
+        Bucket current = null;
+        for (int i = from; i < to; i++) {
+            long timestamp = chunk.timestamp(i);
+            // Rezoluția divide ziua, deci bucket-ul din micros UTC coincide cu bucketStart()
+            long start = Math.floorDiv(timestamp, bucketMicros) * bucketMicros;
+            if (current == null || current.start != start) {
+                current = buckets.computeIfAbsent(start, Bucket::new);
+            }
+            current.add(chunk.price(i), chunk.volume(i), timestamp);
+        }
+
+        List<PriceRollup> touched = new ArrayList<>(buckets.size());
+        for (Bucket bucket : buckets.values()) {
+            LocalDateTime bucketStart = TickChunk.fromMicros(bucket.start);
+            PriceRollup rollup = priceRollupRepository.findBySymbolAndResolutionMinutesAndBucketStart(symbol, resolution, bucketStart)
+                    .orElseGet(() -> new PriceRollup(symbol, resolution, bucketStart));
+            rollup.merge(FixedPoint.toBigDecimal(bucket.open), FixedPoint.toBigDecimal(bucket.high),
+                    FixedPoint.toBigDecimal(bucket.low), FixedPoint.toBigDecimal(bucket.close),
+                    bucket.volume, bucket.ticks, TickChunk.fromMicros(bucket.firstAt), TickChunk.fromMicros(bucket.lastAt));
+            touched.add(rollup);
+        }
+
+        priceRollupRepository.saveAll(touched);
+        return touched.size();
+    }
+
+    /**
+     * Obține rollup-urile unui simbol la rezoluția configurată
+     */
+    public List<PriceRollup> getRollups(Symbol symbol, LocalDateTime startDate, LocalDateTime endDate) {
+        int resolution = retentionProperties.getRollupMinutes();
+        if (startDate != null && endDate != null) {
+            return priceRollupRepository.findBySymbolAndResolutionMinutesAndBucketStartBetweenOrderByBucketStartAsc(
+                    symbol, resolution, startDate, endDate);
+        }
+        return priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(symbol, resolution);
+    }
+
+    /**
+     * Trunchiază un timestamp la începutul bucket-ului de {@code resolutionMinutes}
+     */
+    static LocalDateTime bucketStart(LocalDateTime timestamp, int resolutionMinutes) {
+        LocalDateTime day = timestamp.truncatedTo(ChronoUnit.DAYS);
+        long minuteOfDay = Duration.between(day, timestamp).toMinutes();
+        return day.plusMinutes(minuteOfDay - (minuteOfDay % resolutionMinutes));
+    }
+
+    /**
+     * OHLCV în virgulă fixă pentru un bucket, cu aceeași regulă open/close ca {@link PriceRollup#accumulate}
+     */
+    private static final class Bucket {
+        final long start;
+        long open;
+        long high;
+        long low;
+        long close;
+        long volume;
+        long ticks;
+        long firstAt;
+        long lastAt;
+
+        Bucket(long start) {
+            this.start = start;
+        }
+
+        void add(long price, long tickVolume, long timestamp) {
+            if (ticks == 0) {
+                open = high = low = close = price;
+                firstAt = lastAt = timestamp;
+            } else {
+                if (timestamp < firstAt) {
+                    open = price;
+                    firstAt = timestamp;
+                }
+                if (timestamp >= lastAt) {
+                    close = price;
+                    lastAt = timestamp;
+                }
+                high = Math.max(high, price);
+                low = Math.min(low, price);
+            }
+            volume += tickVolume;
+            ticks++;
+        }
+    }
+}
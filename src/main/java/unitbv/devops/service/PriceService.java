@@ -1,17 +1,23 @@
 package unitbv.devops.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import unitbv.devops.entity.Price;
 import unitbv.devops.entity.Symbol;
 import unitbv.devops.repository.PriceRepository;
 import unitbv.devops.repository.SymbolRepository;
 import unitbv.devops.dto.PriceDTO;
 import unitbv.devops.dto.PriceHistoryDTO;
+import unitbv.devops.storage.TickArchive;
+import unitbv.devops.util.FixedPoint;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -28,9 +34,31 @@ public class PriceService {
     @Autowired
     private SymbolRepository symbolRepository;
 
+    @Autowired
+    private TickArchive tickArchive;
+
+    @Autowired
+    private TickArchiveService tickArchiveService;
+
+    @Autowired
+    private TickJournalService tickJournalService;
+
+    @Autowired
+    private AlertRuleEngine alertRuleEngine;
+
+    @Autowired
+    private IndicatorEngine indicatorEngine;
+
+    @Autowired
+    private PriceChangeFeed priceChangeFeed;
+
+    @Autowired
+    private IpcTransportService ipcTransportService;
+
     /**
      * Obține istoricul prețurilor pentru un simbol cu filtre și paginare
      */
+    @Transactional(readOnly = true)
     public PriceHistoryDTO getPriceHistory(String symbolCode, LocalDateTime startDate, LocalDateTime endDate, Integer limit) {
         Optional<Symbol> symbolOpt = symbolRepository.findBySymbolCode(symbolCode);
         if (symbolOpt.isEmpty()) {
@@ -38,12 +66,47 @@ public class PriceService {
         }
 
         Symbol symbol = symbolOpt.get();
-        List<Price> prices;
+        List<PriceDTO> prices;
 
-        if (startDate != null && endDate != null) {
-            prices = priceRepository.findBySymbolAndTimestampBetween(symbol, startDate, endDate);
+        if (tickJournalService.isEnabled()) {
+            // Jurnalul: căutare binară după timestamp + citire secvențială din memoria mapată
+            prices = startDate != null && endDate != null
+                    ? tickJournalService.readRange(symbol, startDate, endDate)
+                    : tickJournalService.readLatest(symbol, limit);
+        } else if (startDate != null && endDate != null) {
+            prices = convertToDTOs(priceRepository.findBySymbolAndTimestampBetween(symbol, startDate, endDate));
+        } else if (limit != null && limit > 0) {
+            // Limita e aplicată în query, deci se convertesc doar rândurile returnate
+            prices = convertToDTOs(priceRepository.findBySymbolOrderByTimestampDesc(symbol, PageRequest.of(0, limit)));
         } else {
-            prices = priceRepository.findBySymbolOrderByTimestampDesc(symbol);
+            prices = convertToDTOs(priceRepository.findBySymbolOrderByTimestampDesc(symbol));
+        }
+
+        // Tick-urile reci sunt în arhivă; sunt mereu mai vechi decât cele din PostgreSQL
+        if (tickArchive.isEnabled()) {
+            boolean range = startDate != null && endDate != null;
+            List<PriceDTO> archived;
+            if (!range && limit != null && limit > 0) {
+                // Doar cât lipsește până la limit, citit de la cea mai nouă zi arhivată
+                int missing = limit - prices.size();
+                archived = missing > 0
+                        ? tickArchiveService.readLatestArchived(symbol, startDate, endDate, missing)
+                        : List.of();
+            } else {
+                archived = tickArchiveService.readArchived(symbol, startDate, endDate);
+            }
+            if (!archived.isEmpty()) {
+                List<PriceDTO> combined = new ArrayList<>(archived.size() + prices.size());
+                if (range) {
+                    combined.addAll(archived);
+                    combined.addAll(prices);
+                } else {
+                    combined.addAll(prices);
+                    Collections.reverse(archived);
+                    combined.addAll(archived);
+                }
+                prices = combined;
+            }
         }
 
         // Aplică limit dacă e specificat
@@ -51,24 +114,26 @@ public class PriceService {
             prices = prices.subList(0, limit);
         }
 
-        List<PriceDTO> priceDTOs = prices.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
-
         PriceHistoryDTO.PriceStatistics stats = calculateStatistics(prices);
 
-        return new PriceHistoryDTO(symbolCode, priceDTOs, stats);
+        return new PriceHistoryDTO(symbolCode, prices, stats);
     }
 
     /**
      * Obține cel mai recent preț pentru un simbol
      */
+    @Transactional(readOnly = true)
     public Optional<PriceDTO> getLatestPrice(String symbolCode) {
         Optional<Symbol> symbol = symbolRepository.findBySymbolCode(symbolCode);
         if (symbol.isEmpty()) {
             return Optional.empty();
         }
 
+        // Ultimul tick, din motorul de stocare configurat
+        if (tickJournalService.isEnabled()) {
+            return tickJournalService.readLatest(symbol.get(), 1).stream().findFirst();
+        }
+
         Price latestPrice = priceRepository.findFirstBySymbolOrderByTimestampDesc(symbol.get());
         if (latestPrice == null) {
             return Optional.empty();
@@ -80,17 +145,18 @@ public class PriceService {
     /**
      * Obține prețurile recente pentru toate simbolurile (ultima oră)
      */
+    @Transactional(readOnly = true)
     public List<PriceDTO> getRecentPrices() {
         LocalDateTime oneHourAgo = LocalDateTime.now().minusHours(1);
         List<Symbol> allSymbols = symbolRepository.findAll();
 
         return allSymbols.stream()
                 .flatMap(symbol -> {
-                    List<Price> recentPrices = priceRepository.findBySymbolAndTimestampBetween(
-                            symbol, oneHourAgo, LocalDateTime.now());
+                    List<PriceDTO> recentPrices = tickJournalService.isEnabled()
+                            ? tickJournalService.readRange(symbol, oneHourAgo, LocalDateTime.now())
+                            : convertToDTOs(priceRepository.findBySymbolAndTimestampBetween(symbol, oneHourAgo, LocalDateTime.now()));
                     return recentPrices.stream();
                 })
-                .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
@@ -102,42 +168,78 @@ public class PriceService {
         if (symbol.isEmpty()) {
             throw new IllegalArgumentException("Symbol not found: " + symbolCode);
         }
+        if (priceDTO.getPrice() <= 0) {
+            throw new IllegalArgumentException("Price must be positive");
+        }
+        long volume = priceDTO.getVolume() != null ? priceDTO.getVolume() : 0L;
 
-        Price price = new Price(
-                symbol.get(),
-                priceDTO.getPrice(),
-                priceDTO.getVolume(),
-                priceDTO.getTimestamp() != null ? priceDTO.getTimestamp() : LocalDateTime.now()
-        );
-        Price saved = priceRepository.save(price);
-        return convertToDTO(saved);
+        LocalDateTime timestamp = priceDTO.getTimestamp() != null ? priceDTO.getTimestamp() : LocalDateTime.now();
+        PriceDTO created;
+        if (tickJournalService.isEnabled()) {
+            // Fără commit în PostgreSQL: tick-ul e durabil la următorul force al jurnalului
+            created = tickJournalService.append(symbol.get(), priceDTO.getPrice(), volume, timestamp);
+        } else {
+            // BigDecimal doar la granița JPA (coloana DECIMAL(18,8))
+            Price price = new Price(
+                    symbol.get(),
+                    FixedPoint.toBigDecimal(priceDTO.getPrice()),
+                    volume,
+                    timestamp
+            );
+            created = convertToDTO(priceRepository.save(price));
+        }
+
+        // Regulile de alertă și indicatorii simbolului, după ce tick-ul a fost salvat
+        alertRuleEngine.onTick(symbolCode, created.getPrice(), volume, timestamp);
+        indicatorEngine.onTick(symbolCode, created.getPrice(), volume, timestamp);
+        priceChangeFeed.publish(created);
+        ipcTransportService.publishTick(created);
+        return created;
     }
 
     /**
-     * Calculează statistici pentru o listă de prețuri
+     * Calculează statistici pentru o listă de prețuri, în virgulă fixă (fără alocări per tick)
      */
-    private PriceHistoryDTO.PriceStatistics calculateStatistics(List<Price> prices) {
+    static PriceHistoryDTO.PriceStatistics calculateStatistics(List<PriceDTO> prices) {
         if (prices.isEmpty()) {
             return null;
         }
 
-        BigDecimal sum = BigDecimal.ZERO;
-        BigDecimal min = prices.get(0).getPrice();
-        BigDecimal max = prices.get(0).getPrice();
-        Long totalVolume = 0L;
+        long sum = 0;
+        boolean overflow = false;
+        long min = prices.get(0).getPrice();
+        long max = min;
+        long totalVolume = 0;
 
-        for (Price price : prices) {
-            sum = sum.add(price.getPrice());
-            if (price.getPrice().compareTo(min) < 0) {
-                min = price.getPrice();
+        for (PriceDTO price : prices) {
+            long value = price.getPrice();
+            long next = sum + value;
+            // Overflow doar pentru sume de peste ~92 de miliarde; atunci media se calculează exact
+            if (((sum ^ next) & (value ^ next)) < 0) {
+                overflow = true;
+            }
+            sum = next;
+            if (value < min) {
+                min = value;
             }
-            if (price.getPrice().compareTo(max) > 0) {
-                max = price.getPrice();
+            if (value > max) {
+                max = value;
+            }
+            if (price.getVolume() != null) {
+                totalVolume += price.getVolume();
             }
-            totalVolume += price.getVolume();
         }
 
-        BigDecimal average = sum.divide(BigDecimal.valueOf(prices.size()), 2, RoundingMode.HALF_UP);
+        long average;
+        if (overflow) {
+            BigDecimal exactSum = BigDecimal.ZERO;
+            for (PriceDTO price : prices) {
+                exactSum = exactSum.add(FixedPoint.toBigDecimal(price.getPrice()));
+            }
+            average = FixedPoint.of(exactSum.divide(BigDecimal.valueOf(prices.size()), FixedPoint.SCALE, RoundingMode.HALF_UP));
+        } else {
+            average = FixedPoint.divide(sum, prices.size());
+        }
 
         return new PriceHistoryDTO.PriceStatistics(
                 average,
@@ -148,6 +250,14 @@ public class PriceService {
         );
     }
 
+    private List<PriceDTO> convertToDTOs(List<Price> prices) {
+        List<PriceDTO> dtos = new ArrayList<>(prices.size());
+        for (Price price : prices) {
+            dtos.add(convertToDTO(price));
+        }
+        return dtos;
+    }
+
     /**
      * Convertor de Entity la DTO
      */
@@ -155,10 +265,9 @@ public class PriceService {
         return new PriceDTO(
                 price.getId(),
                 price.getSymbol().getSymbolCode(),
-                price.getPrice(),
+                FixedPoint.of(price.getPrice()),
                 price.getVolume(),
                 price.getTimestamp()
         );
     }
 }
-
@@ -2,10 +2,9 @@ package unitbv.devops.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import unitbv.devops.entity.Symbol;
-import unitbv.devops.entity.Price;
 import unitbv.devops.repository.SymbolRepository;
-import unitbv.devops.repository.PriceRepository;
 import unitbv.devops.dto.SymbolDTO;
 import unitbv.devops.dto.PriceDTO;
 
@@ -23,11 +22,15 @@ public class SymbolService {
     private SymbolRepository symbolRepository;
 
     @Autowired
-    private PriceRepository priceRepository;
+    private PriceService priceService;
+
+    @Autowired
+    private AnalysisResultService analysisResultService;
 
     /**
      * Obține toate simbolurile
      */
+    @Transactional(readOnly = true)
     public List<SymbolDTO> getAllSymbols() {
         return symbolRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -37,6 +40,7 @@ public class SymbolService {
     /**
      * Obține simbol după ID
      */
+    @Transactional(readOnly = true)
     public Optional<SymbolDTO> getSymbolById(Long id) {
         return symbolRepository.findById(id)
                 .map(this::convertToDTO);
@@ -45,6 +49,7 @@ public class SymbolService {
     /**
      * Obține simbol după cod
      */
+    @Transactional(readOnly = true)
     public Optional<SymbolDTO> getSymbolByCode(String code) {
         return symbolRepository.findBySymbolCode(code)
                 .map(this::convertToDTO);
@@ -69,10 +74,12 @@ public class SymbolService {
     public Optional<SymbolDTO> updateSymbol(Long id, SymbolDTO symbolDTO) {
         return symbolRepository.findById(id)
                 .map(symbol -> {
+                    String previousCode = symbol.getSymbolCode();
                     symbol.setSymbolCode(symbolDTO.getSymbolCode());
                     symbol.setName(symbolDTO.getName());
                     symbol.setType(symbolDTO.getType());
                     Symbol updated = symbolRepository.save(symbol);
+                    analysisResultService.evictSymbol(previousCode);
                     return convertToDTO(updated);
                 });
     }
@@ -81,32 +88,18 @@ public class SymbolService {
      * Șterge un simbol
      */
     public void deleteSymbol(Long id) {
+        Optional<Symbol> symbol = symbolRepository.findById(id);
         symbolRepository.deleteById(id);
+        // Un simbol recreat cu același cod primește alt id
+        symbol.ifPresent(deleted -> analysisResultService.evictSymbol(deleted.getSymbolCode()));
     }
 
     /**
-     * Obține prețul curent pentru un simbol (ultimul preț din baza de date)
+     * Obține prețul curent pentru un simbol (ultimul tick din motorul de stocare)
      */
+    @Transactional(readOnly = true)
     public Optional<PriceDTO> getCurrentPrice(String symbolCode) {
-        Optional<Symbol> symbolOpt = symbolRepository.findBySymbolCode(symbolCode);
-        if (symbolOpt.isEmpty()) {
-            return Optional.empty();
-        }
-
-        Symbol symbol = symbolOpt.get();
-        Price latestPrice = priceRepository.findFirstBySymbolOrderByTimestampDesc(symbol);
-
-        if (latestPrice == null) {
-            return Optional.empty();
-        }
-
-        return Optional.of(new PriceDTO(
-                latestPrice.getId(),
-                symbolCode,
-                latestPrice.getPrice(),
-                latestPrice.getVolume(),
-                latestPrice.getTimestamp()
-        ));
+        return priceService.getLatestPrice(symbolCode);
     }
 
     /**
@@ -0,0 +1,180 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.configuration.ArchiveProperties;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRepository;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.storage.TickArchive;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Job care mută tick-urile reci (mai vechi decât fereastra hot) din PostgreSQL în arhiva comprimată
+ *
+ * Pentru fiecare zi: tick-urile sunt citite, scrise în fișierul chunk (fsync + rename atomic),
+ * apoi agregate în price_rollups și șterse din baza de date, batch cu batch.
+ * Dacă procesul se oprește între pași, ziua este re-arhivată la rularea următoare,
+ * iar tick-urile deja prezente în fișier nu sunt duplicate.
+ */
+@Service
+public class TickArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickArchiveService.class);
+
+    private final ArchiveProperties archiveProperties;
+    private final TickArchive tickArchive;
+    private final SymbolRepository symbolRepository;
+    private final PriceRepository priceRepository;
+    private final PriceRollupService priceRollupService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter ticksArchived;
+    private final Counter bytesWritten;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    public TickArchiveService(ArchiveProperties archiveProperties,
+                              TickArchive tickArchive,
+                              SymbolRepository symbolRepository,
+                              PriceRepository priceRepository,
+                              PriceRollupService priceRollupService,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.archiveProperties = archiveProperties;
+        this.tickArchive = tickArchive;
+        this.symbolRepository = symbolRepository;
+        this.priceRepository = priceRepository;
+        this.priceRollupService = priceRollupService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ticksArchived = meterRegistry.counter("archive.ticks.archived");
+        this.bytesWritten = meterRegistry.counter("archive.bytes.written");
+    }
+
+    @Scheduled(fixedDelayString = "${app.archive.interval:PT15M}", initialDelayString = "${app.archive.initial-delay:PT2M}")
+    public void runScheduled() {
+        if (archiveProperties.isEnabled()) {
+            archiveColdTicks();
+        }
+    }
+
+    /**
+     * Arhivează toate zilele complete mai vechi decât fereastra hot, pentru toate simbolurile
+     */
+    public long archiveColdTicks() {
+        if (!running.compareAndSet(false, true)) {
+            return 0;
+        }
+        try {
+            LocalDateTime cutoff = LocalDateTime.now().minus(archiveProperties.getHotWindow())
+                    .toLocalDate().atStartOfDay();
+            long archived = 0;
+            for (Symbol symbol : symbolRepository.findAll()) {
+                archived += archiveSymbol(symbol, cutoff);
+            }
+            if (archived > 0) {
+                logger.info("Tick archive: {} ticks older than {} moved to {}", archived, cutoff, archiveProperties.getDirectory());
+            }
+            return archived;
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Arhivează zilele unui simbol anterioare lui {@code cutoff}, de la cea mai veche
+     */
+    public long archiveSymbol(Symbol symbol, LocalDateTime cutoff) {
+        long archived = 0;
+        Price oldest;
+        while ((oldest = priceRepository.findFirstBySymbolAndTimestampBeforeOrderByTimestampAsc(symbol, cutoff)) != null) {
+            int count = archiveDay(symbol, oldest.getTimestamp().toLocalDate());
+            if (count == 0) {
+                break;
+            }
+            archived += count;
+        }
+        return archived;
+    }
+
+    /**
+     * Tick-urile arhivate ale unui simbol în interval, în ordine cronologică
+     */
+    public List<PriceDTO> readArchived(Symbol symbol, LocalDateTime startDate, LocalDateTime endDate) {
+        return toDTOs(symbol, tickArchive.read(symbol.getSymbolCode(), startDate, endDate));
+    }
+
+    /**
+     * Cele mai noi {@code limit} tick-uri arhivate ale unui simbol, în ordine cronologică
+     */
+    public List<PriceDTO> readLatestArchived(Symbol symbol, LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        return toDTOs(symbol, tickArchive.readLatest(symbol.getSymbolCode(), startDate, endDate, limit));
+    }
+
+    private List<PriceDTO> toDTOs(Symbol symbol, TickChunk chunk) {
+        List<PriceDTO> prices = new ArrayList<>(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            prices.add(new PriceDTO(chunk.id(i), symbol.getSymbolCode(), chunk.price(i), chunk.volume(i),
+                    TickChunk.fromMicros(chunk.timestamp(i))));
+        }
+        return prices;
+    }
+
+    private int archiveDay(Symbol symbol, LocalDate day) {
+        LocalDateTime start = day.atStartOfDay();
+        LocalDateTime end = day.plusDays(1).atStartOfDay();
+        int batchSize = archiveProperties.getBatchSize();
+
+        TickChunk chunk = new TickChunk(batchSize);
+        List<Price> slice;
+        int page = 0;
+        do {
+            slice = priceRepository.findBySymbolAndTimestampGreaterThanEqualAndTimestampLessThanOrderByTimestampAscIdAsc(
+                    symbol, start, end, PageRequest.of(page++, batchSize));
+            for (Price price : slice) {
+                chunk.add(price.getId(), TickChunk.toMicros(price.getTimestamp()),
+                        FixedPoint.of(price.getPrice()), price.getVolume());
+            }
+        } while (slice.size() == batchSize);
+
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        long bytes = tickArchive.writeDay(symbol.getSymbolCode(), day, chunk);
+        bytesWritten.increment(bytes);
+
+        // Fișierul e durabil; abia acum tick-urile pot fi agregate și șterse din PostgreSQL
+        for (int from = 0; from < chunk.size(); from += batchSize) {
+            int batchFrom = from;
+            int batchTo = Math.min(from + batchSize, chunk.size());
+            List<Long> ids = new ArrayList<>(batchTo - batchFrom);
+            for (int i = batchFrom; i < batchTo; i++) {
+                ids.add(chunk.id(i));
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                priceRollupService.accumulate(symbol, chunk, batchFrom, batchTo);
+                priceRepository.deleteAllByIdInBatch(ids);
+            });
+        }
+
+        ticksArchived.increment(chunk.size());
+        logger.debug("Archived {} ticks of {} for {} ({} bytes)", chunk.size(), symbol.getSymbolCode(), day, bytes);
+        return chunk.size();
+    }
+}
@@ -0,0 +1,130 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.entity.JournalCheckpoint;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.JournalCheckpointRepository;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.storage.TickJournal;
+import unitbv.devops.storage.TickJournalStore;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Service pentru motorul de stocare "journal": tick-urile sunt scrise în fișiere mapate în memorie,
+ * nu în tabela prices. Id-ul unui tick este numărul lui de secvență în jurnalul simbolului.
+ */
+@Service
+public class TickJournalService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickJournalService.class);
+
+    private final TickJournalStore tickJournalStore;
+    private final PriceRollupService priceRollupService;
+    private final JournalCheckpointRepository journalCheckpointRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter ticksAppended;
+    private final Counter segmentsRolledUp;
+
+    public TickJournalService(TickJournalStore tickJournalStore,
+                              PriceRollupService priceRollupService,
+                              JournalCheckpointRepository journalCheckpointRepository,
+                              PlatformTransactionManager transactionManager,
+                              MeterRegistry meterRegistry) {
+        this.tickJournalStore = tickJournalStore;
+        this.priceRollupService = priceRollupService;
+        this.journalCheckpointRepository = journalCheckpointRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ticksAppended = meterRegistry.counter("journal.ticks.appended");
+        this.segmentsRolledUp = meterRegistry.counter("journal.segments.rolled_up");
+    }
+
+    public boolean isEnabled() {
+        return tickJournalStore.isEnabled();
+    }
+
+    @Scheduled(fixedDelayString = "${app.storage.journal.force-interval:PT1S}")
+    public void forceScheduled() {
+        if (tickJournalStore.isEnabled()) {
+            tickJournalStore.forceAll();
+        }
+    }
+
+    /**
+     * Adaugă un tick în jurnal; prețul este deja în virgulă fixă
+     */
+    public PriceDTO append(Symbol symbol, long price, long volume, LocalDateTime timestamp) {
+        long sequence = tickJournalStore.journal(symbol.getSymbolCode())
+                .append(TickChunk.toMicros(timestamp), price, volume);
+        ticksAppended.increment();
+        return new PriceDTO(sequence, symbol.getSymbolCode(), price, volume, timestamp);
+    }
+
+    /**
+     * Tick-urile din interval, în ordine cronologică
+     */
+    public List<PriceDTO> readRange(Symbol symbol, LocalDateTime startDate, LocalDateTime endDate) {
+        List<PriceDTO> prices = new ArrayList<>();
+        tickJournalStore.journal(symbol.getSymbolCode()).scan(TickChunk.toMicros(startDate), TickChunk.toMicros(endDate),
+                (sequence, timestamp, price, volume) -> prices.add(toDTO(symbol, sequence, timestamp, price, volume)));
+        return prices;
+    }
+
+    /**
+     * Ultimele {@code limit} tick-uri, de la cel mai nou (toate dacă limit este null)
+     */
+    public List<PriceDTO> readLatest(Symbol symbol, Integer limit) {
+        List<PriceDTO> prices = new ArrayList<>();
+        tickJournalStore.journal(symbol.getSymbolCode()).scanLatest(limit != null && limit > 0 ? limit : Integer.MAX_VALUE,
+                (sequence, timestamp, price, volume) -> prices.add(toDTO(symbol, sequence, timestamp, price, volume)));
+        return prices;
+    }
+
+    /**
+     * Agregă în price_rollups și șterge segmentele complete mai vechi de {@code cutoff}.
+     * Fiecare segment este agregat într-o singură tranzacție, împreună cu avansarea checkpoint-ului.
+     */
+    public long purgeSymbol(Symbol symbol, LocalDateTime cutoff) {
+        TickJournal journal = tickJournalStore.journal(symbol.getSymbolCode());
+        long purged = 0;
+        for (Long base : journal.expiredSegments(TickChunk.toMicros(cutoff))) {
+            TickChunk chunk = journal.readSegment(base);
+            if (chunk == null) {
+                continue;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                JournalCheckpoint checkpoint = journalCheckpointRepository.findBySymbol(symbol)
+                        .orElseGet(() -> new JournalCheckpoint(symbol));
+                // Segment deja agregat înainte de un crash, doar fișierul a rămas
+                if (base < checkpoint.getRolledUpBefore()) {
+                    return;
+                }
+                priceRollupService.accumulate(symbol, chunk, 0, chunk.size());
+                checkpoint.setRolledUpBefore(base + chunk.size());
+                journalCheckpointRepository.save(checkpoint);
+            });
+            journal.dropSegment(base);
+            segmentsRolledUp.increment();
+            purged += chunk.size();
+        }
+        if (purged > 0) {
+            logger.info("Journal retention: {} ticks older than {} rolled up for {}", purged, cutoff, symbol.getSymbolCode());
+        }
+        return purged;
+    }
+
+    private static PriceDTO toDTO(Symbol symbol, long sequence, long timestamp, long price, long volume) {
+        return new PriceDTO(sequence, symbol.getSymbolCode(), price, volume, TickChunk.fromMicros(timestamp));
+    }
+}
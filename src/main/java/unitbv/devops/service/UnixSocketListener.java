@@ -0,0 +1,233 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import unitbv.devops.configuration.IpcProperties;
+
+import java.io.IOException;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Socket Unix pentru traficul intern de la serviciul C++, alternativă la /internal/analysis-results și /internal/alerts
+ *
+ * Protocolul: cadre [int lungime][octeți], în ordinea nativă a octeților (ambele capete sunt pe aceeași mașină).
+ * Primul cadru al conexiunii este secretul intern, verificat o singură dată; serverul răspunde cu un octet
+ * (1 = acceptat, 0 = respins și conexiunea se închide). Următoarele cadre sunt înregistrări IpcMessages
+ * (ANALYSIS_RESULT, ALERT), date direct lui IpcMessageHandler: fără TCP, fără HTTP, fără Spring MVC și fără Jackson.
+ * Fiecare conexiune are firul ei, care citește în blocuri și procesează toate cadrele complete din buffer.
+ * O conexiune care nu trimite secretul în auth-timeout este închisă, iar peste max-connections conexiuni
+ * deschise, cele noi sunt închise imediat după accept.
+ */
+@Service
+public class UnixSocketListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnixSocketListener.class);
+    private static final byte ACCEPTED = 1;
+    private static final byte REJECTED = 0;
+
+    private final IpcProperties.Socket properties;
+    private final IpcMessageHandler messageHandler;
+    private final byte[] secret;
+    private final Set<SocketChannel> connections = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connectionIds = new AtomicInteger();
+    private final Counter rejectedConnections;
+    private final Counter refusedConnections;
+    private final ScheduledExecutorService authDeadlines = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "uds-auth-deadline");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile ServerSocketChannel server;
+    private Path socketPath;
+
+    public UnixSocketListener(IpcProperties ipcProperties,
+                              IpcMessageHandler messageHandler,
+                              @Value("${app.internal.secret:default-secret-change-in-production}") String internalSecret,
+                              MeterRegistry meterRegistry) {
+        this.properties = ipcProperties.getSocket();
+        this.messageHandler = messageHandler;
+        this.secret = internalSecret.getBytes(StandardCharsets.UTF_8);
+        this.rejectedConnections = meterRegistry.counter("ipc.socket.connections.rejected");
+        this.refusedConnections = meterRegistry.counter("ipc.socket.connections.refused");
+        meterRegistry.gauge("ipc.socket.connections", connections, Set::size);
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        socketPath = Paths.get(properties.getPath());
+        if (socketPath.getParent() != null) {
+            Files.createDirectories(socketPath.getParent());
+        }
+        // Un fișier rămas de la o oprire bruscă ar bloca bind-ul
+        Files.deleteIfExists(socketPath);
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(UnixDomainSocketAddress.of(socketPath));
+        try {
+            Files.setPosixFilePermissions(socketPath, PosixFilePermissions.fromString("rw-rw----"));
+        } catch (UnsupportedOperationException e) {
+            logger.debug("Socket file permissions not supported on this file system");
+        }
+        server = channel;
+
+        Thread acceptor = new Thread(this::accept, "uds-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        logger.info("Internal Unix domain socket listening on {}", socketPath);
+    }
+
+    @PreDestroy
+    public void stop() throws IOException {
+        ServerSocketChannel channel = server;
+        if (channel == null) {
+            return;
+        }
+        server = null;
+        channel.close();
+        for (SocketChannel connection : connections) {
+            connection.close();
+        }
+        authDeadlines.shutdownNow();
+        Files.deleteIfExists(socketPath);
+    }
+
+    public int getConnectionCount() {
+        return connections.size();
+    }
+
+    private void accept() {
+        ServerSocketChannel channel;
+        while ((channel = server) != null) {
+            try {
+                SocketChannel connection = channel.accept();
+                // Doar acest fir adaugă conexiuni, deci limita nu poate fi depășită
+                if (connections.size() >= properties.getMaxConnections()) {
+                    refusedConnections.increment();
+                    logger.warn("Internal Unix socket connection refused: {} connections already open", connections.size());
+                    connection.close();
+                    continue;
+                }
+                connections.add(connection);
+                Thread thread = new Thread(() -> serve(connection), "uds-connection-" + connectionIds.incrementAndGet());
+                thread.setDaemon(true);
+                thread.start();
+            } catch (IOException e) {
+                if (server != null) {
+                    logger.error("Unix socket accept failed: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(SocketChannel connection) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(properties.getMaxFrame() + Integer.BYTES).order(ByteOrder.nativeOrder());
+        try (connection) {
+            // Citirile canalului nu au timeout: închiderea lui deblochează read-ul din authenticate
+            ScheduledFuture<?> deadline = authDeadlines.schedule(() -> closeUnauthenticated(connection),
+                    properties.getAuthTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            boolean accepted;
+            try {
+                accepted = authenticate(connection, buffer);
+            } finally {
+                deadline.cancel(false);
+            }
+            if (!accepted) {
+                rejectedConnections.increment();
+                logger.warn("Unauthorized connection attempt on the internal Unix socket");
+                return;
+            }
+            // Ce a rămas în buffer după secret sunt deja cadre de date
+            while (true) {
+                buffer.flip();
+                while (buffer.remaining() >= Integer.BYTES) {
+                    int position = buffer.position();
+                    int length = frameLength(buffer, position);
+                    if (buffer.remaining() < Integer.BYTES + length) {
+                        break;
+                    }
+                    messageHandler.handle(buffer, position + Integer.BYTES, length);
+                    buffer.position(position + Integer.BYTES + length);
+                }
+                buffer.compact();
+                if (connection.read(buffer) < 0) {
+                    return;
+                }
+            }
+        } catch (IOException | IllegalStateException e) {
+            if (server != null) {
+                logger.info("Internal Unix socket connection closed: {}", e.getMessage());
+            }
+        } finally {
+            connections.remove(connection);
+        }
+    }
+
+    /**
+     * Citește primul cadru (secretul) și răspunde cu octetul de acceptare sau respingere
+     */
+    private boolean authenticate(SocketChannel connection, ByteBuffer buffer) throws IOException {
+        while (buffer.position() < Integer.BYTES
+                || buffer.position() < Integer.BYTES + frameLength(buffer, 0)) {
+            if (connection.read(buffer) < 0) {
+                return false;
+            }
+        }
+        int length = frameLength(buffer, 0);
+        byte[] presented = new byte[length];
+        buffer.get(Integer.BYTES, presented, 0, length);
+        boolean accepted = MessageDigest.isEqual(presented, secret);
+
+        connection.write(ByteBuffer.wrap(new byte[]{accepted ? ACCEPTED : REJECTED}));
+        if (accepted) {
+            buffer.flip();
+            buffer.position(Integer.BYTES + length);
+            buffer.compact();
+        }
+        return accepted;
+    }
+
+    private void closeUnauthenticated(SocketChannel connection) {
+        rejectedConnections.increment();
+        logger.warn("Internal Unix socket connection did not authenticate within {}", properties.getAuthTimeout());
+        try {
+            connection.close();
+        } catch (IOException e) {
+            logger.debug("Closing unauthenticated connection failed: {}", e.getMessage());
+        }
+    }
+
+    private int frameLength(ByteBuffer buffer, int position) {
+        int length = buffer.getInt(position);
+        if (length < 0 || length > properties.getMaxFrame()) {
+            throw new IllegalStateException("Invalid frame length " + length);
+        }
+        return length;
+    }
+}
@@ -2,6 +2,7 @@ package unitbv.devops.service;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import unitbv.devops.entity.User;
 import unitbv.devops.repository.UserRepository;
 import unitbv.devops.dto.UserDTO;
@@ -22,6 +23,7 @@ public class UserService {
     /**
      * Obține toți utilizatorii
      */
+    @Transactional(readOnly = true)
     public List<UserDTO> getAllUsers() {
         return userRepository.findAll().stream()
                 .map(this::convertToDTO)
@@ -31,6 +33,7 @@ public class UserService {
     /**
      * Obține utilizator după ID
      */
+    @Transactional(readOnly = true)
     public Optional<UserDTO> getUserById(Long id) {
         return userRepository.findById(id)
                 .map(this::convertToDTO);
@@ -39,6 +42,7 @@ public class UserService {
     /**
      * Obține utilizator după username
      */
+    @Transactional(readOnly = true)
     public Optional<UserDTO> getUserByUsername(String username) {
         return userRepository.findByUsername(username)
                 .map(this::convertToDTO);
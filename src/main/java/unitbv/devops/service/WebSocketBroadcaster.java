@@ -0,0 +1,87 @@
+package unitbv.devops.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.util.MimeTypeUtils;
+
+/**
+ * Trimitere WebSocket cu serializare o singură dată: payload-ul e codat JSON o dată și aceiași octeți merg
+ * la toate destinațiile și, prin simple broker, la toți abonații
+ *
+ * convertAndSend serializează payload-ul la fiecare apel, deci un preț trimis pe /topic/prices și pe
+ * /topic/prices/{symbol} era codat de două ori. Aici mesajele sunt construite direct din octeții deja codați,
+ * cu același ObjectMapper și același content-type ca MessageConverter-ul STOMP, deci clienții primesc
+ * exact același JSON. Broker-ul copiază doar antetele pentru fiecare sesiune, nu și payload-ul.
+ */
+@Service
+public class WebSocketBroadcaster {
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ObjectMapper objectMapper;
+    private final Counter encoded;
+    private final Counter sent;
+
+    public WebSocketBroadcaster(SimpMessagingTemplate messagingTemplate,
+                                ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        this.messagingTemplate = messagingTemplate;
+        this.objectMapper = objectMapper;
+        this.encoded = meterRegistry.counter("websocket.broadcast.encoded");
+        this.sent = meterRegistry.counter("websocket.broadcast.sent");
+    }
+
+    /**
+     * Codează payload-ul o dată și îl trimite pe toate destinațiile
+     */
+    public void broadcast(Object payload, String... destinations) {
+        Encoded message = encode(payload);
+        for (String destination : destinations) {
+            send(message, destination);
+        }
+    }
+
+    public Encoded encode(Object payload) {
+        try {
+            Encoded message = new Encoded(objectMapper.writeValueAsBytes(payload));
+            encoded.increment();
+            return message;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize WebSocket payload " + payload.getClass().getSimpleName(), e);
+        }
+    }
+
+    public void send(Encoded message, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setContentType(MimeTypeUtils.APPLICATION_JSON);
+        accessor.setLeaveMutable(true);
+        messagingTemplate.send(destination, MessageBuilder.createMessage(message.bytes, accessor.getMessageHeaders()));
+        sent.increment();
+    }
+
+    /**
+     * Payload JSON deja codat; octeții nu sunt expuși și nu se mai modifică, deci pot fi partajați între mesaje
+     */
+    public static final class Encoded {
+
+        private final byte[] bytes;
+
+        private Encoded(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        public int size() {
+            return bytes.length;
+        }
+
+        byte[] bytes() {
+            return bytes;
+        }
+    }
+}
@@ -4,7 +4,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.dto.AlertBulkResultDTO;
 import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.dto.IndicatorSnapshotDTO;
+import unitbv.devops.util.FixedPoint;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,18 +23,29 @@ public class WebSocketService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private PriceConflator priceConflator;
+
+    @Autowired
+    private WebSocketBroadcaster broadcaster;
+
     /**
      * Broadcast price update către toți subscriberii pe /topic/prices
+     * (cu conflația activă, doar ultimul preț per simbol, la frecvența configurată - vezi PriceConflator).
+     * Ultimul preț ajunge oricum și în cadrele de pe /topic/prices/batch.
      */
     public void broadcastPriceUpdate(PriceDTO priceDTO) {
         logger.debug("Broadcasting price update for symbol: {} - Price: {}",
-                    priceDTO.getSymbolCode(), priceDTO.getPrice());
+                    priceDTO.getSymbolCode(), FixedPoint.toString(priceDTO.getPrice()));
 
-        // Broadcast către toți subscriberii pe /topic/prices
-        messagingTemplate.convertAndSend("/topic/prices", priceDTO);
+        if (priceConflator.isEnabled()) {
+            priceConflator.publish(priceDTO);
+            return;
+        }
 
-        // Broadcast către subscriberii specifici pe /topic/prices/{symbol}
-        messagingTemplate.convertAndSend("/topic/prices/" + priceDTO.getSymbolCode(), priceDTO);
+        // Serializat o singură dată, trimis pe /topic/prices și pe /topic/prices/{symbol}
+        broadcaster.broadcast(priceDTO, "/topic/prices", "/topic/prices/" + priceDTO.getSymbolCode());
+        priceConflator.batch(priceDTO);
     }
 
     /**
@@ -40,11 +55,32 @@ public class WebSocketService {
         logger.info("Broadcasting alert for symbol: {} - Type: {}",
                    alertDTO.getSymbolCode(), alertDTO.getAlertType());
 
-        // Broadcast către toți subscriberii pe /topic/alerts
-        messagingTemplate.convertAndSend("/topic/alerts", alertDTO);
+        // Serializat o singură dată, trimis pe /topic/alerts și pe /topic/alerts/{symbol}
+        broadcaster.broadcast(alertDTO, "/topic/alerts", "/topic/alerts/" + alertDTO.getSymbolCode());
+    }
 
-        // Broadcast către subscriberii specifici pe /topic/alerts/{symbol}
-        messagingTemplate.convertAndSend("/topic/alerts/" + alertDTO.getSymbolCode(), alertDTO);
+    /**
+     * O singură notificare pe /topic/alerts/bulk pentru o confirmare sau ștergere în masă
+     */
+    public void broadcastAlertsBulk(AlertBulkResultDTO result) {
+        logger.info("Broadcasting bulk alert update: {} {} alerts", result.getAction(), result.getAffected());
+        messagingTemplate.convertAndSend("/topic/alerts/bulk", result);
+    }
+
+    /**
+     * Broadcast indicatori tehnici către subscriberii pe /topic/analytics/{symbol}
+     */
+    public void broadcastIndicators(IndicatorSnapshotDTO snapshot) {
+        logger.debug("Broadcasting indicators for symbol: {}", snapshot.getSymbolCode());
+        messagingTemplate.convertAndSend("/topic/analytics/" + snapshot.getSymbolCode(), snapshot);
+    }
+
+    /**
+     * Broadcast rezultat de analiză de la serviciul C++ către subscriberii pe /topic/analysis/{symbol}
+     */
+    public void broadcastAnalysisResult(AnalysisResultDTO result) {
+        logger.debug("Broadcasting analysis result for symbol: {} - Window: {}", result.getSymbolCode(), result.getWindowSize());
+        messagingTemplate.convertAndSend("/topic/analysis/" + result.getSymbolCode(), result);
     }
 
     /**
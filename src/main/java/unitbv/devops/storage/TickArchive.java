@@ -0,0 +1,219 @@
+package unitbv.devops.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import unitbv.devops.configuration.ArchiveProperties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * File layout of the cold tick archive: one compressed {@link TickChunk} per symbol and day,
+ * stored as {directory}/{SYMBOL}/{yyyy-MM-dd}.tck
+ *
+ * Chunk files are written to a temporary file, fsynced and atomically renamed, so a reader
+ * never sees a partially written day.
+ */
+@Component
+public class TickArchive {
+
+    private static final Logger logger = LoggerFactory.getLogger(TickArchive.class);
+    private static final String EXTENSION = ".tck";
+
+    private final ArchiveProperties archiveProperties;
+
+    public TickArchive(ArchiveProperties archiveProperties) {
+        this.archiveProperties = archiveProperties;
+    }
+
+    public boolean isEnabled() {
+        return archiveProperties.isEnabled();
+    }
+
+    /**
+     * Scrie ziua în arhivă. Dacă ziua există deja (tick-uri întârziate, arhivare reluată),
+     * conținutul este combinat, iar tick-urile duplicate sunt păstrate o singură dată.
+     */
+    public synchronized long writeDay(String symbolCode, LocalDate day, TickChunk chunk) {
+        TickChunk existing = readDay(symbolCode, day);
+        TickChunk merged = existing == null ? chunk : TickChunk.merge(existing, chunk);
+        byte[] encoded = TickChunkCodec.encode(merged);
+
+        Path target = dayFile(symbolCode, day);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            Files.createDirectories(target.getParent());
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write tick chunk " + target, e);
+        }
+        return encoded.length;
+    }
+
+    /**
+     * Citește o zi din arhivă, sau null dacă ziua nu a fost arhivată
+     */
+    public TickChunk readDay(String symbolCode, LocalDate day) {
+        Path file = dayFile(symbolCode, day);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try {
+            return TickChunkCodec.decode(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read tick chunk " + file, e);
+        }
+    }
+
+    /**
+     * Zilele arhivate pentru un simbol, în ordine cronologică
+     */
+    public List<LocalDate> listDays(String symbolCode) {
+        Path directory = symbolDirectory(symbolCode);
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<LocalDate> days = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    days.add(LocalDate.parse(name.substring(0, name.length() - EXTENSION.length())));
+                } catch (DateTimeParseException e) {
+                    logger.warn("Ignoring unexpected file in tick archive: {}", file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list tick archive " + directory, e);
+        }
+        Collections.sort(days);
+        return days;
+    }
+
+    /**
+     * Zilele arhivate care se suprapun cu intervalul dat (capetele null înseamnă nelimitat)
+     */
+    public List<LocalDate> listDays(String symbolCode, LocalDateTime startDate, LocalDateTime endDate) {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day : listDays(symbolCode)) {
+            if (startDate != null && day.isBefore(startDate.toLocalDate())) {
+                continue;
+            }
+            if (endDate != null && day.isAfter(endDate.toLocalDate())) {
+                continue;
+            }
+            days.add(day);
+        }
+        return days;
+    }
+
+    /**
+     * Citește tick-urile arhivate din interval, în ordine cronologică
+     */
+    public TickChunk read(String symbolCode, LocalDateTime startDate, LocalDateTime endDate) {
+        long from = startDate != null ? TickChunk.toMicros(startDate) : Long.MIN_VALUE;
+        long to = endDate != null ? TickChunk.toMicros(endDate) : Long.MAX_VALUE;
+
+        TickChunk result = new TickChunk(0);
+        for (LocalDate day : listDays(symbolCode, startDate, endDate)) {
+            TickChunk chunk = readDay(symbolCode, day);
+            for (int i = 0; i < chunk.size(); i++) {
+                long ts = chunk.timestamp(i);
+                if (ts >= from && ts <= to) {
+                    result.add(chunk.id(i), ts, chunk.price(i), chunk.volume(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Cele mai noi {@code limit} tick-uri arhivate din interval, în ordine cronologică. Zilele sunt citite
+     * de la cea mai nouă spre cea mai veche, iar citirea se oprește când s-au adunat destule tick-uri.
+     */
+    public TickChunk readLatest(String symbolCode, LocalDateTime startDate, LocalDateTime endDate, int limit) {
+        long from = startDate != null ? TickChunk.toMicros(startDate) : Long.MIN_VALUE;
+        long to = endDate != null ? TickChunk.toMicros(endDate) : Long.MAX_VALUE;
+
+        // Zilele citite, de la cea mai nouă, și indexul primului tick păstrat din fiecare
+        List<TickChunk> chunks = new ArrayList<>();
+        List<Integer> firstIndexes = new ArrayList<>();
+        List<LocalDate> days = listDays(symbolCode, startDate, endDate);
+        int collected = 0;
+        for (int d = days.size() - 1; d >= 0 && collected < limit; d--) {
+            TickChunk chunk = readDay(symbolCode, days.get(d));
+            int first = chunk.size();
+            for (int i = chunk.size() - 1; i >= 0 && collected < limit; i--) {
+                long ts = chunk.timestamp(i);
+                if (ts >= from && ts <= to) {
+                    first = i;
+                    collected++;
+                }
+            }
+            chunks.add(chunk);
+            firstIndexes.add(first);
+        }
+
+        TickChunk result = new TickChunk(collected);
+        for (int c = chunks.size() - 1; c >= 0; c--) {
+            TickChunk chunk = chunks.get(c);
+            for (int i = firstIndexes.get(c); i < chunk.size(); i++) {
+                long ts = chunk.timestamp(i);
+                if (ts >= from && ts <= to) {
+                    result.add(chunk.id(i), ts, chunk.price(i), chunk.volume(i));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Șterge zilele arhivate strict anterioare lui {@code day}
+     */
+    public int deleteDaysBefore(String symbolCode, LocalDate day) {
+        int deleted = 0;
+        for (LocalDate archived : listDays(symbolCode)) {
+            if (!archived.isBefore(day)) {
+                break;
+            }
+            try {
+                Files.deleteIfExists(dayFile(symbolCode, archived));
+                deleted++;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete tick chunk for " + symbolCode + " " + archived, e);
+            }
+        }
+        return deleted;
+    }
+
+    private Path symbolDirectory(String symbolCode) {
+        return Paths.get(archiveProperties.getDirectory(), symbolCode.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    private Path dayFile(String symbolCode, LocalDate day) {
+        return symbolDirectory(symbolCode).resolve(day + EXTENSION);
+    }
+}
@@ -0,0 +1,118 @@
+package unitbv.devops.storage;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+
+/**
+ * Columnar block of ticks for one symbol: ids, timestamps, prices and volumes as parallel primitive arrays
+ * Timestamps are epoch microseconds (UTC), prices are {@link unitbv.devops.util.FixedPoint} scaled longs
+ */
+public final class TickChunk {
+
+    private long[] ids;
+    private long[] timestamps;
+    private long[] prices;
+    private long[] volumes;
+    private int size;
+
+    public TickChunk(int capacity) {
+        int initial = Math.max(capacity, 16);
+        this.ids = new long[initial];
+        this.timestamps = new long[initial];
+        this.prices = new long[initial];
+        this.volumes = new long[initial];
+    }
+
+    TickChunk(long[] ids, long[] timestamps, long[] prices, long[] volumes, int size) {
+        this.ids = ids;
+        this.timestamps = timestamps;
+        this.prices = prices;
+        this.volumes = volumes;
+        this.size = size;
+    }
+
+    public void add(long id, long timestampMicros, long scaledPrice, long volume) {
+        if (size == timestamps.length) {
+            int grown = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, grown);
+            timestamps = Arrays.copyOf(timestamps, grown);
+            prices = Arrays.copyOf(prices, grown);
+            volumes = Arrays.copyOf(volumes, grown);
+        }
+        ids[size] = id;
+        timestamps[size] = timestampMicros;
+        prices[size] = scaledPrice;
+        volumes[size] = volume;
+        size++;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long timestamp(int index) {
+        return timestamps[index];
+    }
+
+    public long price(int index) {
+        return prices[index];
+    }
+
+    public long volume(int index) {
+        return volumes[index];
+    }
+
+    /**
+     * Merges two chunks ordered by (timestamp, id), keeping a single copy of ticks present in both
+     */
+    public static TickChunk merge(TickChunk left, TickChunk right) {
+        TickChunk merged = new TickChunk(left.size + right.size);
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            boolean takeLeft;
+            if (j == right.size) {
+                takeLeft = true;
+            } else if (i == left.size) {
+                takeLeft = false;
+            } else {
+                int cmp = Long.compare(left.timestamps[i], right.timestamps[j]);
+                if (cmp == 0) {
+                    cmp = Long.compare(left.ids[i], right.ids[j]);
+                }
+                if (cmp == 0) {
+                    // Același tick în ambele chunk-uri (ex. arhivare reluată după crash)
+                    j++;
+                }
+                takeLeft = cmp <= 0;
+            }
+            if (takeLeft) {
+                merged.add(left.ids[i], left.timestamps[i], left.prices[i], left.volumes[i]);
+                i++;
+            } else {
+                merged.add(right.ids[j], right.timestamps[j], right.prices[j], right.volumes[j]);
+                j++;
+            }
+        }
+        return merged;
+    }
+
+    public static long toMicros(LocalDateTime timestamp) {
+        return ChronoUnit.MICROS.between(LocalDateTime.ofEpochSecond(0, 0, ZoneOffset.UTC), timestamp);
+    }
+
+    public static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+    }
+}
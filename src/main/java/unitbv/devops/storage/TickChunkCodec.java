@@ -0,0 +1,179 @@
+package unitbv.devops.storage;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Gorilla-style columnar encoding of a {@link TickChunk}
+ *
+ * Layout: magic, count, then one column after another:
+ *  - timestamps: first value, first delta, then zigzag varint delta-of-delta (regular ticks cost ~1 byte)
+ *  - prices: first scaled value, then zigzag varint deltas between consecutive scaled longs
+ *  - volumes: zigzag varints
+ *  - ids: first value, then zigzag varint deltas
+ * followed by a CRC32 of everything before it, so torn or corrupted chunk files are rejected on read.
+ */
+public final class TickChunkCodec {
+
+    static final int MAGIC = 0x54434B31; // "TCK1"
+
+    private TickChunkCodec() {}
+
+    public static byte[] encode(TickChunk chunk) {
+        int n = chunk.size();
+        Sink sink = new Sink(16 + n * 8);
+        sink.writeInt(MAGIC);
+        sink.writeVarLong(n);
+
+        if (n > 0) {
+            // Timestamps: delta-of-delta
+            sink.writeLong(chunk.timestamp(0));
+            long previousDelta = 0;
+            for (int i = 1; i < n; i++) {
+                long delta = chunk.timestamp(i) - chunk.timestamp(i - 1);
+                sink.writeZigZag(i == 1 ? delta : delta - previousDelta);
+                previousDelta = delta;
+            }
+
+            // Prices: scaled-long deltas
+            sink.writeZigZag(chunk.price(0));
+            for (int i = 1; i < n; i++) {
+                sink.writeZigZag(chunk.price(i) - chunk.price(i - 1));
+            }
+
+            // Volumes: varint
+            for (int i = 0; i < n; i++) {
+                sink.writeZigZag(chunk.volume(i));
+            }
+
+            // Ids: deltas (ids are increasing per symbol in practice)
+            sink.writeZigZag(chunk.id(0));
+            for (int i = 1; i < n; i++) {
+                sink.writeZigZag(chunk.id(i) - chunk.id(i - 1));
+            }
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(sink.buffer, 0, sink.size);
+        sink.writeInt((int) crc.getValue());
+        return sink.toByteArray();
+    }
+
+    public static TickChunk decode(byte[] bytes) {
+        if (bytes.length < 8) {
+            throw new IllegalArgumentException("Tick chunk too short: " + bytes.length + " bytes");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length - 4);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if ((int) crc.getValue() != buffer.getInt(bytes.length - 4)) {
+            throw new IllegalArgumentException("Tick chunk checksum mismatch");
+        }
+        if (buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Not a tick chunk");
+        }
+
+        int n = (int) readVarLong(buffer);
+        long[] timestamps = new long[n];
+        long[] prices = new long[n];
+        long[] volumes = new long[n];
+        long[] ids = new long[n];
+
+        if (n > 0) {
+            timestamps[0] = buffer.getLong();
+            long previousDelta = 0;
+            for (int i = 1; i < n; i++) {
+                long value = readZigZag(buffer);
+                long delta = i == 1 ? value : previousDelta + value;
+                timestamps[i] = timestamps[i - 1] + delta;
+                previousDelta = delta;
+            }
+
+            prices[0] = readZigZag(buffer);
+            for (int i = 1; i < n; i++) {
+                prices[i] = prices[i - 1] + readZigZag(buffer);
+            }
+
+            for (int i = 0; i < n; i++) {
+                volumes[i] = readZigZag(buffer);
+            }
+
+            ids[0] = readZigZag(buffer);
+            for (int i = 1; i < n; i++) {
+                ids[i] = ids[i - 1] + readZigZag(buffer);
+            }
+        }
+
+        return new TickChunk(ids, timestamps, prices, volumes, n);
+    }
+
+    private static long readVarLong(ByteBuffer buffer) {
+        long result = 0;
+        int shift = 0;
+        while (true) {
+            byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IllegalArgumentException("Malformed varint in tick chunk");
+            }
+        }
+    }
+
+    private static long readZigZag(ByteBuffer buffer) {
+        long raw = readVarLong(buffer);
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    /**
+     * Growable byte array, avoids the synchronization of ByteArrayOutputStream
+     */
+    private static final class Sink {
+        private byte[] buffer;
+        private int size;
+
+        Sink(int capacity) {
+            buffer = new byte[Math.max(capacity, 32)];
+        }
+
+        void ensure(int extra) {
+            if (size + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + extra));
+            }
+        }
+
+        void writeInt(int value) {
+            ensure(4);
+            buffer[size++] = (byte) (value >>> 24);
+            buffer[size++] = (byte) (value >>> 16);
+            buffer[size++] = (byte) (value >>> 8);
+            buffer[size++] = (byte) value;
+        }
+
+        void writeLong(long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        void writeVarLong(long value) {
+            ensure(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[size++] = (byte) value;
+        }
+
+        void writeZigZag(long value) {
+            writeVarLong((value << 1) ^ (value >> 63));
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, size);
+        }
+    }
+}
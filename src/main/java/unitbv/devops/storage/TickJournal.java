@@ -0,0 +1,352 @@
+package unitbv.devops.storage;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only tick journal for one symbol, stored as memory-mapped segment files
+ *
+ * Every record is 32 bytes: timestamp (epoch micros), scaled price, volume, CRC32 of those
+ * 24 bytes and a commit marker. The marker is written last, so a record torn by a crash has
+ * either no marker or a bad checksum and is cut off when the journal is reopened.
+ * Segments hold a fixed number of records and are a multiple of the page size; a tick's
+ * sequence number is the segment base plus its slot, and doubles as its id.
+ *
+ * Appends are serialized per journal. Readers never lock: they only look at slots below
+ * the volatile record count, which is published after the record is fully written.
+ */
+public final class TickJournal implements Closeable {
+
+    public static final int RECORD_SIZE = 32;
+    static final int PAGE_SIZE = 4096;
+    static final int COMMIT_MARKER = 0x544A524E; // "TJRN"
+    private static final String EXTENSION = ".seg";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final List<Segment> segments = new ArrayList<>();
+    private volatile Segment[] snapshot = new Segment[0];
+    private final CRC32 crc = new CRC32();
+    private final byte[] crcScratch = new byte[24];
+
+    private TickJournal(Path directory, int segmentRecords) {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+    }
+
+    /**
+     * Deschide (sau creează) jurnalul și repară coada: recordurile incomplete de după
+     * ultimul record valid sunt șterse.
+     */
+    public static TickJournal open(Path directory, int segmentRecords) {
+        if (segmentRecords <= 0 || ((long) segmentRecords * RECORD_SIZE) % PAGE_SIZE != 0) {
+            throw new IllegalArgumentException("Segment size must be a positive multiple of " + PAGE_SIZE / RECORD_SIZE + " records");
+        }
+        TickJournal journal = new TickJournal(directory, segmentRecords);
+        try {
+            Files.createDirectories(directory);
+            List<Long> bases = new ArrayList<>();
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+                for (Path file : files) {
+                    String name = file.getFileName().toString();
+                    bases.add(Long.parseLong(name.substring(0, name.length() - EXTENSION.length())));
+                }
+            }
+            bases.sort(null);
+            for (int i = 0; i < bases.size(); i++) {
+                boolean last = i == bases.size() - 1;
+                journal.segments.add(journal.mapSegment(bases.get(i), last));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open tick journal " + directory, e);
+        }
+        journal.publish();
+        return journal;
+    }
+
+    /**
+     * Adaugă un tick și returnează numărul lui de secvență
+     */
+    public synchronized long append(long timestampMicros, long scaledPrice, long volume) {
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.count == segmentRecords) {
+            long base = segment == null ? 0 : segment.base + segmentRecords;
+            try {
+                segment = mapSegment(base, true);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create journal segment in " + directory, e);
+            }
+            segments.add(segment);
+            publish();
+        }
+
+        int slot = segment.count;
+        int offset = slot * RECORD_SIZE;
+        MappedByteBuffer buffer = segment.buffer;
+        buffer.putLong(offset, timestampMicros);
+        buffer.putLong(offset + 8, scaledPrice);
+        buffer.putLong(offset + 16, volume);
+        buffer.putInt(offset + 24, checksum(timestampMicros, scaledPrice, volume));
+        buffer.putInt(offset + 28, COMMIT_MARKER);
+
+        if (slot > 0 && timestampMicros < segment.lastTimestamp) {
+            segment.sorted = false;
+        }
+        segment.lastTimestamp = Math.max(segment.lastTimestamp, timestampMicros);
+        segment.minTimestamp = Math.min(segment.minTimestamp, timestampMicros);
+        segment.count = slot + 1;
+        return segment.base + slot;
+    }
+
+    /**
+     * Numărul total de tick-uri din jurnal (inclusiv segmentele deja eliminate)
+     */
+    public long nextSequence() {
+        Segment[] current = snapshot;
+        if (current.length == 0) {
+            return 0;
+        }
+        Segment last = current[current.length - 1];
+        return last.base + last.count;
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : snapshot) {
+            size += segment.count;
+        }
+        return size;
+    }
+
+    /**
+     * Parcurge în ordine tick-urile cu timestamp în [fromMicros, toMicros].
+     * Segmentele sortate (cazul normal) sunt căutate binar, apoi citite secvențial.
+     */
+    public void scan(long fromMicros, long toMicros, TickConsumer consumer) {
+        for (Segment segment : snapshot) {
+            int count = segment.count;
+            if (count == 0 || segment.minTimestamp > toMicros || segment.lastTimestamp < fromMicros) {
+                continue;
+            }
+            int start = segment.sorted ? segment.lowerBound(fromMicros, count) : 0;
+            for (int slot = start; slot < count; slot++) {
+                long ts = segment.timestamp(slot);
+                if (ts > toMicros) {
+                    if (segment.sorted) {
+                        break;
+                    }
+                    continue;
+                }
+                if (ts >= fromMicros) {
+                    segment.deliver(slot, consumer);
+                }
+            }
+        }
+    }
+
+    /**
+     * Parcurge ultimele {@code limit} tick-uri, de la cel mai nou la cel mai vechi
+     */
+    public void scanLatest(int limit, TickConsumer consumer) {
+        Segment[] current = snapshot;
+        int remaining = limit;
+        for (int i = current.length - 1; i >= 0 && remaining > 0; i--) {
+            Segment segment = current[i];
+            for (int slot = segment.count - 1; slot >= 0 && remaining > 0; slot--, remaining--) {
+                segment.deliver(slot, consumer);
+            }
+        }
+    }
+
+    /**
+     * Segmentele complete în care toate tick-urile sunt mai vechi de {@code cutoffMicros}
+     */
+    public List<Long> expiredSegments(long cutoffMicros) {
+        List<Long> expired = new ArrayList<>();
+        Segment[] current = snapshot;
+        for (int i = 0; i < current.length - 1; i++) {
+            if (current[i].count == segmentRecords && current[i].lastTimestamp < cutoffMicros) {
+                expired.add(current[i].base);
+            }
+        }
+        return expired;
+    }
+
+    /**
+     * Citește un segment întreg, ca bloc columnar (pentru agregare înainte de ștergere)
+     */
+    public TickChunk readSegment(long base) {
+        for (Segment segment : snapshot) {
+            if (segment.base == base) {
+                TickChunk chunk = new TickChunk(segment.count);
+                for (int slot = 0; slot < segment.count; slot++) {
+                    segment.deliver(slot, chunk::add);
+                }
+                return chunk;
+            }
+        }
+        return null;
+    }
+
+    public synchronized void dropSegment(long base) {
+        for (int i = 0; i < segments.size() - 1; i++) {
+            Segment segment = segments.get(i);
+            if (segment.base == base) {
+                segments.remove(i);
+                publish();
+                try {
+                    Files.deleteIfExists(segmentFile(base));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Cannot delete journal segment " + base, e);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Forțează scrierea paginilor modificate pe disc
+     */
+    public void force() {
+        for (Segment segment : snapshot) {
+            segment.buffer.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        force();
+        segments.clear();
+        publish();
+    }
+
+    private void publish() {
+        snapshot = segments.toArray(new Segment[0]);
+    }
+
+    private Path segmentFile(long base) {
+        return directory.resolve(String.format("%020d%s", base, EXTENSION));
+    }
+
+    private Segment mapSegment(long base, boolean recoverTail) throws IOException {
+        long bytes = (long) segmentRecords * RECORD_SIZE;
+        try (FileChannel channel = FileChannel.open(segmentFile(base), StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, bytes);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            Segment segment = new Segment(base, buffer);
+            segment.recover(segmentRecords, recoverTail);
+            return segment;
+        }
+    }
+
+    private int checksum(long timestamp, long price, long volume) {
+        byte[] scratch = crcScratch;
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (timestamp >>> (i * 8));
+            scratch[8 + i] = (byte) (price >>> (i * 8));
+            scratch[16 + i] = (byte) (volume >>> (i * 8));
+        }
+        crc.reset();
+        crc.update(scratch, 0, scratch.length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Callback primitiv pentru citiri, fără alocare per tick
+     */
+    @FunctionalInterface
+    public interface TickConsumer {
+        void accept(long sequence, long timestampMicros, long scaledPrice, long volume);
+    }
+
+    private final class Segment {
+        final long base;
+        final MappedByteBuffer buffer;
+        volatile int count;
+        volatile boolean sorted = true;
+        volatile long lastTimestamp = Long.MIN_VALUE;
+        volatile long minTimestamp = Long.MAX_VALUE;
+
+        Segment(long base, MappedByteBuffer buffer) {
+            this.base = base;
+            this.buffer = buffer;
+        }
+
+        long timestamp(int slot) {
+            return buffer.getLong(slot * RECORD_SIZE);
+        }
+
+        void deliver(int slot, TickConsumer consumer) {
+            int offset = slot * RECORD_SIZE;
+            consumer.accept(base + slot, buffer.getLong(offset), buffer.getLong(offset + 8), buffer.getLong(offset + 16));
+        }
+
+        int lowerBound(long timestamp, int count) {
+            int low = 0;
+            int high = count;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (timestamp(mid) < timestamp) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Numără recordurile valide de la începutul segmentului; primul record invalid marchează coada.
+         * Pentru segmentul activ, tot ce urmează după coadă este șters.
+         */
+        void recover(int capacity, boolean truncateTail) {
+            int slot = 0;
+            long previous = Long.MIN_VALUE;
+            boolean ordered = true;
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            while (slot < capacity) {
+                int offset = slot * RECORD_SIZE;
+                if (buffer.getInt(offset + 28) != COMMIT_MARKER) {
+                    break;
+                }
+                long ts = buffer.getLong(offset);
+                long price = buffer.getLong(offset + 8);
+                long volume = buffer.getLong(offset + 16);
+                if (buffer.getInt(offset + 24) != checksum(ts, price, volume)) {
+                    break;
+                }
+                if (ts < previous) {
+                    ordered = false;
+                }
+                previous = ts;
+                min = Math.min(min, ts);
+                max = Math.max(max, ts);
+                slot++;
+            }
+            if (truncateTail) {
+                for (int offset = slot * RECORD_SIZE; offset < capacity * RECORD_SIZE; offset += 8) {
+                    if (buffer.getLong(offset) != 0) {
+                        buffer.putLong(offset, 0);
+                    }
+                }
+            }
+            count = slot;
+            sorted = ordered;
+            minTimestamp = min;
+            lastTimestamp = max;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package unitbv.devops.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import unitbv.devops.configuration.StorageProperties;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Jurnalele de tick-uri deschise, câte unul per simbol, deschise la prima utilizare
+ */
+@Component
+public class TickJournalStore {
+
+    private final StorageProperties storageProperties;
+    private final Map<String, TickJournal> journals = new ConcurrentHashMap<>();
+
+    public TickJournalStore(StorageProperties storageProperties) {
+        this.storageProperties = storageProperties;
+    }
+
+    public boolean isEnabled() {
+        return storageProperties.isJournalEnabled();
+    }
+
+    public TickJournal journal(String symbolCode) {
+        return journals.computeIfAbsent(symbolCode, code -> TickJournal.open(
+                Paths.get(storageProperties.getJournal().getDirectory(), code.replaceAll("[^A-Za-z0-9._-]", "_")),
+                storageProperties.getJournal().getSegmentRecords()));
+    }
+
+    /**
+     * Scrie pe disc paginile modificate din toate jurnalele deschise
+     */
+    public void forceAll() {
+        journals.values().forEach(TickJournal::force);
+    }
+
+    @PreDestroy
+    public void closeAll() {
+        journals.values().forEach(TickJournal::close);
+        journals.clear();
+    }
+}
@@ -0,0 +1,209 @@
+package unitbv.devops.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point price arithmetic: a price is a long with {@link #SCALE} implied decimals,
+ * matching the DECIMAL(18,8) price columns
+ *
+ * Hot paths (ingest, aggregation, caches, JSON) work on the scaled long directly;
+ * {@link BigDecimal} is only created at the JPA boundary. Parsing and formatting do not
+ * allocate intermediate objects, and the Jackson (de)serializers below keep the JSON
+ * representation a plain decimal number.
+ */
+public final class FixedPoint {
+
+    public static final int SCALE = 8;
+    public static final long ONE = 100_000_000L;
+
+    /**
+     * Longest formatted value: sign, 11 integer digits, point, 8 decimals
+     */
+    static final int MAX_CHARS = 21;
+
+    private FixedPoint() {
+    }
+
+    public static long of(BigDecimal value) {
+        return value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal toBigDecimal(long scaled) {
+        return BigDecimal.valueOf(scaled, SCALE);
+    }
+
+    public static long parse(CharSequence text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return parse(chars, 0, chars.length);
+    }
+
+    /**
+     * Parses a plain decimal ("-123.456"). Extra decimals are rounded half-up; exponent
+     * notation falls back to BigDecimal. Throws NumberFormatException on invalid input or overflow.
+     */
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        if (i == end) {
+            throw new NumberFormatException("Empty price");
+        }
+        boolean negative = chars[i] == '-';
+        if (negative || chars[i] == '+') {
+            i++;
+        }
+
+        long value = 0;
+        int decimals = -1;
+        boolean digits = false;
+        boolean roundUp = false;
+        for (; i < end; i++) {
+            char c = chars[i];
+            if (c >= '0' && c <= '9') {
+                digits = true;
+                if (decimals < SCALE) {
+                    value = Math.addExact(Math.multiplyExact(value, 10), c - '0');
+                    if (decimals >= 0) {
+                        decimals++;
+                    }
+                } else if (decimals == SCALE) {
+                    roundUp = c >= '5';
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else if (c == 'e' || c == 'E') {
+                return of(new BigDecimal(chars, offset, length));
+            } else {
+                throw new NumberFormatException("Invalid price: " + new String(chars, offset, length));
+            }
+        }
+        if (!digits) {
+            throw new NumberFormatException("Invalid price: " + new String(chars, offset, length));
+        }
+
+        for (int d = Math.max(decimals, 0); d < SCALE; d++) {
+            value = Math.multiplyExact(value, 10);
+        }
+        if (roundUp) {
+            value = Math.addExact(value, 1);
+        }
+        return negative ? -value : value;
+    }
+
+    public static String toString(long scaled) {
+        char[] buffer = new char[MAX_CHARS];
+        int length = format(scaled, buffer);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * Writes the shortest plain decimal form (trailing zeros dropped) into {@code buffer}
+     * and returns its length. The buffer must hold at least {@value #MAX_CHARS} chars.
+     */
+    public static int format(long scaled, char[] buffer) {
+        if (scaled == Long.MIN_VALUE) {
+            String text = toBigDecimal(scaled).toPlainString();
+            text.getChars(0, text.length(), buffer, 0);
+            return text.length();
+        }
+        boolean negative = scaled < 0;
+        long value = Math.abs(scaled);
+        long integer = value / ONE;
+        long fraction = value % ONE;
+
+        int fractionDigits = SCALE;
+        while (fractionDigits > 0 && fraction % 10 == 0) {
+            fraction /= 10;
+            fractionDigits--;
+        }
+
+        int position = MAX_CHARS;
+        for (int d = 0; d < fractionDigits; d++) {
+            buffer[--position] = (char) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        if (fractionDigits > 0) {
+            buffer[--position] = '.';
+        }
+        do {
+            buffer[--position] = (char) ('0' + integer % 10);
+            integer /= 10;
+        } while (integer > 0);
+        if (negative) {
+            buffer[--position] = '-';
+        }
+
+        int length = MAX_CHARS - position;
+        System.arraycopy(buffer, position, buffer, 0, length);
+        return length;
+    }
+
+    /**
+     * {@code sum / count}, rounded half-up, both in scaled units
+     */
+    public static long divide(long sum, long count) {
+        long quotient = sum / count;
+        long remainder = sum % count;
+        if (Math.abs(remainder) * 2 >= count) {
+            quotient += Long.signum(sum);
+        }
+        return quotient;
+    }
+
+    /**
+     * Serializes a scaled long as a JSON decimal number
+     */
+    public static final class Serializer extends StdSerializer<Long> {
+
+        public Serializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public void serialize(Long value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+            char[] buffer = new char[MAX_CHARS];
+            generator.writeNumber(buffer, 0, format(value, buffer));
+        }
+    }
+
+    /**
+     * Reads a JSON number (or numeric string) into a scaled long; null becomes 0
+     */
+    public static final class Deserializer extends StdDeserializer<Long> {
+
+        public Deserializer() {
+            super(Long.class);
+        }
+
+        @Override
+        public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_STRING) {
+                return (Long) context.handleUnexpectedToken(Long.class, parser);
+            }
+            try {
+                return parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } catch (NumberFormatException | ArithmeticException e) {
+                return (Long) context.handleWeirdStringValue(Long.class, parser.getText(), "not a valid price");
+            }
+        }
+
+        @Override
+        public Long getNullValue(DeserializationContext context) {
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package unitbv.devops.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+
+/**
+ * Hands the STOMP handler a governed session instead of the raw one, so every outbound frame passes the policy
+ */
+class GovernedWebSocketHandler extends WebSocketHandlerDecorator {
+
+    private final WebSocketSessionGovernor governor;
+
+    GovernedWebSocketHandler(WebSocketHandler delegate, WebSocketSessionGovernor governor) {
+        super(delegate);
+        this.governor = governor;
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+        super.afterConnectionEstablished(governor.register(new GovernedWebSocketSession(session, governor)));
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+        governor.unregister(session.getId());
+        super.afterConnectionClosed(session, closeStatus);
+    }
+}
@@ -0,0 +1,249 @@
+package unitbv.devops.websocket;
+
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketSessionDecorator;
+import unitbv.devops.configuration.WebSocketSessionProperties.OverflowPolicy;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Session decorator with a bounded, policy-governed outbound queue
+ *
+ * sendMessage never blocks the broker: the frame is queued and a writer thread drains the queue to the
+ * real session, one frame at a time. Only when the queued bytes exceed the buffer limit does the overflow
+ * policy apply: CONFLATE keeps only the newest frame per conflatable destination and subscription (and then
+ * drops the oldest frames if still over), DROP_OLDEST drops the oldest MESSAGE frames, DISCONNECT closes the session.
+ * A send blocked longer than the send-time limit closes the session under every policy.
+ */
+public final class GovernedWebSocketSession extends WebSocketSessionDecorator {
+
+    private final WebSocketSessionGovernor governor;
+    private final long bufferSizeLimit;
+    private final long sendTimeLimitNanos;
+    private final OverflowPolicy policy;
+    // Frames in send order, keyed by sequence
+    private final LinkedHashMap<Long, Frame> queue = new LinkedHashMap<>();
+    private final AtomicLong conflated = new AtomicLong();
+    private final AtomicLong droppedOldest = new AtomicLong();
+
+    private long queuedBytes;
+    private long sequence;
+    private boolean draining;
+    private volatile long sendStartedAt;
+    private volatile boolean evicted;
+
+    GovernedWebSocketSession(WebSocketSession delegate, WebSocketSessionGovernor governor) {
+        super(delegate);
+        this.governor = governor;
+        this.bufferSizeLimit = governor.getProperties().getSendBufferSizeLimit().toBytes();
+        this.sendTimeLimitNanos = governor.getProperties().getSendTimeLimit().toNanos();
+        this.policy = governor.getProperties().getOverflowPolicy();
+    }
+
+    @Override
+    public void sendMessage(WebSocketMessage<?> message) throws IOException {
+        if (evicted) {
+            return;
+        }
+        boolean startDrain;
+        synchronized (this) {
+            long started = sendStartedAt;
+            if (started != 0 && System.nanoTime() - started > sendTimeLimitNanos) {
+                evict("send_time");
+                return;
+            }
+            enqueue(message);
+            if (queuedBytes > bufferSizeLimit && !overflow()) {
+                return;
+            }
+            startDrain = !draining;
+            draining = true;
+        }
+        if (startDrain) {
+            governor.execute(this::drain);
+        }
+    }
+
+    public synchronized int getQueueDepth() {
+        return queue.size();
+    }
+
+    public synchronized long getQueuedBytes() {
+        return queuedBytes;
+    }
+
+    public long getConflated() {
+        return conflated.get();
+    }
+
+    public long getDroppedOldest() {
+        return droppedOldest.get();
+    }
+
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    private void enqueue(WebSocketMessage<?> message) {
+        String destination = messageDestination(message);
+        String conflationKey = null;
+        if (destination != null && policy == OverflowPolicy.CONFLATE && governor.isConflatable(destination)) {
+            // Two subscriptions to the same destination are separate streams for the client
+            String subscription = messageHeader(message, "subscription");
+            conflationKey = subscription != null ? destination + '\n' + subscription : destination;
+        }
+        Frame frame = new Frame(message, destination != null, conflationKey);
+        queue.put(sequence++, frame);
+        queuedBytes += frame.size;
+    }
+
+    /**
+     * Applies the policy to an over-limit queue; false if the session was closed
+     */
+    private boolean overflow() {
+        if (policy == OverflowPolicy.DISCONNECT) {
+            evict("buffer");
+            return false;
+        }
+        if (policy == OverflowPolicy.CONFLATE) {
+            conflate();
+        }
+        Iterator<Frame> frames = queue.values().iterator();
+        int remaining = queue.size();
+        // The newest frame always stays, even if it alone exceeds the limit
+        while (queuedBytes > bufferSizeLimit && remaining-- > 1 && frames.hasNext()) {
+            Frame frame = frames.next();
+            if (frame.message) {
+                frames.remove();
+                queuedBytes -= frame.size;
+                droppedOldest.incrementAndGet();
+                governor.recordDropped("dropped_oldest");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Keeps one frame per conflation key: the newest payload takes the oldest frame's place in the queue,
+     * so the destination keeps its turn
+     */
+    private void conflate() {
+        Map<String, Frame> oldest = new HashMap<>();
+        Iterator<Frame> frames = queue.values().iterator();
+        while (frames.hasNext()) {
+            Frame frame = frames.next();
+            if (frame.conflationKey == null) {
+                continue;
+            }
+            Frame first = oldest.putIfAbsent(frame.conflationKey, frame);
+            if (first != null) {
+                frames.remove();
+                queuedBytes -= first.size;
+                first.replaceWith(frame);
+                conflated.incrementAndGet();
+                governor.recordDropped("conflated");
+            }
+        }
+    }
+
+    private void evict(String reason) {
+        evicted = true;
+        queue.clear();
+        queuedBytes = 0;
+        governor.recordEvicted(this, reason);
+        governor.execute(() -> {
+            try {
+                getDelegate().close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                // Already closed by the client or the container
+            }
+        });
+    }
+
+    private void drain() {
+        while (true) {
+            WebSocketMessage<?> next;
+            synchronized (this) {
+                Iterator<Frame> frames = queue.values().iterator();
+                if (evicted || !frames.hasNext()) {
+                    draining = false;
+                    return;
+                }
+                Frame frame = frames.next();
+                frames.remove();
+                queuedBytes -= frame.size;
+                next = frame.payload;
+                sendStartedAt = Math.max(1, System.nanoTime());
+            }
+            try {
+                getDelegate().sendMessage(next);
+            } catch (IOException | RuntimeException e) {
+                synchronized (this) {
+                    evicted = true;
+                    queue.clear();
+                    queuedBytes = 0;
+                    draining = false;
+                }
+                return;
+            } finally {
+                sendStartedAt = 0;
+            }
+        }
+    }
+
+    /**
+     * Destination header of a STOMP MESSAGE frame, or null for any other frame
+     */
+    static String messageDestination(WebSocketMessage<?> message) {
+        return messageHeader(message, "destination");
+    }
+
+    /**
+     * A header of a STOMP MESSAGE frame, or null if absent or for any other frame
+     */
+    static String messageHeader(WebSocketMessage<?> message, String name) {
+        if (!(message instanceof TextMessage text)) {
+            return null;
+        }
+        String frame = text.getPayload();
+        if (!frame.startsWith("MESSAGE\n")) {
+            return null;
+        }
+        String header = "\n" + name + ':';
+        int headersEnd = frame.indexOf("\n\n");
+        int start = frame.indexOf(header);
+        if (start < 0 || (headersEnd >= 0 && start > headersEnd)) {
+            return null;
+        }
+        start += header.length();
+        int end = frame.indexOf('\n', start);
+        return frame.substring(start, end < 0 ? frame.length() : end);
+    }
+
+    private static final class Frame {
+        WebSocketMessage<?> payload;
+        int size;
+        final boolean message;
+        final String conflationKey;
+
+        Frame(WebSocketMessage<?> payload, boolean message, String conflationKey) {
+            this.payload = payload;
+            this.size = payload.getPayloadLength();
+            this.message = message;
+            this.conflationKey = conflationKey;
+        }
+
+        void replaceWith(Frame newer) {
+            this.payload = newer.payload;
+            this.size = newer.size;
+        }
+    }
+}
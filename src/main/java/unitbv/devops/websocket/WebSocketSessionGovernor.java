@@ -0,0 +1,127 @@
+package unitbv.devops.websocket;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.socket.WebSocketHandler;
+import unitbv.devops.configuration.WebSocketSessionProperties;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Applies the slow-consumer policy to every WebSocket session
+ *
+ * Sessions are wrapped in a GovernedWebSocketSession when they connect, so the broker's outbound thread only
+ * ever enqueues; writes to the socket happen on a shared pool of writer threads, one drain at a time per
+ * session. A session without backlog holds no writer thread. Per-session queue depth, queued bytes and
+ * drop counts are exported while the session is open and removed when it closes.
+ */
+@Component
+public class WebSocketSessionGovernor {
+
+    private static final Logger log = LoggerFactory.getLogger(WebSocketSessionGovernor.class);
+
+    private final WebSocketSessionProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Map<String, GovernedWebSocketSession> sessions = new ConcurrentHashMap<>();
+    private final Map<String, List<Meter>> sessionMeters = new ConcurrentHashMap<>();
+    private final ExecutorService writers;
+
+    public WebSocketSessionGovernor(WebSocketSessionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.writers = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "ws-session-writer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("websocket.sessions.governed", sessions, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Decorator factory for WebSocketTransportRegistration
+     */
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new GovernedWebSocketHandler(handler, this);
+    }
+
+    public Collection<GovernedWebSocketSession> getSessions() {
+        return Collections.unmodifiableCollection(sessions.values());
+    }
+
+    WebSocketSessionProperties getProperties() {
+        return properties;
+    }
+
+    GovernedWebSocketSession register(GovernedWebSocketSession session) {
+        String id = session.getId();
+        sessions.put(id, session);
+        List<Meter> meters = new ArrayList<>();
+        meters.add(Gauge.builder("websocket.session.queue.depth", session, GovernedWebSocketSession::getQueueDepth)
+                .tag("session", id).register(meterRegistry));
+        meters.add(Gauge.builder("websocket.session.queue.bytes", session, GovernedWebSocketSession::getQueuedBytes)
+                .tag("session", id).baseUnit("bytes").register(meterRegistry));
+        meters.add(FunctionCounter.builder("websocket.session.dropped", session, GovernedWebSocketSession::getConflated)
+                .tags("session", id, "reason", "conflated").register(meterRegistry));
+        meters.add(FunctionCounter.builder("websocket.session.dropped", session, GovernedWebSocketSession::getDroppedOldest)
+                .tags("session", id, "reason", "dropped_oldest").register(meterRegistry));
+        sessionMeters.put(id, meters);
+        return session;
+    }
+
+    void unregister(String sessionId) {
+        sessions.remove(sessionId);
+        List<Meter> meters = sessionMeters.remove(sessionId);
+        if (meters != null) {
+            meters.forEach(meterRegistry::remove);
+        }
+    }
+
+    boolean isConflatable(String destination) {
+        for (String lossless : properties.getLosslessDestinations()) {
+            if (pathMatcher.match(lossless, destination)) {
+                return false;
+            }
+        }
+        for (String pattern : properties.getConflateDestinations()) {
+            if (pathMatcher.match(pattern, destination)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void recordDropped(String reason) {
+        meterRegistry.counter("websocket.sessions.dropped", "reason", reason).increment();
+    }
+
+    void recordEvicted(GovernedWebSocketSession session, String reason) {
+        meterRegistry.counter("websocket.sessions.evicted", "reason", reason).increment();
+        log.warn("Evicting slow WebSocket session {} ({})", session.getId(), reason);
+    }
+
+    void execute(Runnable task) {
+        writers.execute(task);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        writers.shutdownNow();
+    }
+}
@@ -0,0 +1,20 @@
+-- Rollup-uri OHLCV produse de job-ul de retenție din tick-urile brute expirate
+CREATE TABLE IF NOT EXISTS price_rollups (
+    id BIGSERIAL PRIMARY KEY,
+    symbol_id BIGINT NOT NULL,
+    resolution_minutes INTEGER NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    open_price DECIMAL(18, 8) NOT NULL,
+    high_price DECIMAL(18, 8) NOT NULL,
+    low_price DECIMAL(18, 8) NOT NULL,
+    close_price DECIMAL(18, 8) NOT NULL,
+    volume BIGINT NOT NULL,
+    tick_count BIGINT NOT NULL,
+    first_tick_at TIMESTAMP NOT NULL,
+    last_tick_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_price_rollups_symbol FOREIGN KEY (symbol_id) REFERENCES symbols(id) ON DELETE CASCADE,
+    CONSTRAINT uk_price_rollups_bucket UNIQUE (symbol_id, resolution_minutes, bucket_start)
+);
+
+CREATE INDEX IF NOT EXISTS idx_price_rollups_symbol_bucket ON price_rollups(symbol_id, bucket_start);
@@ -0,0 +1,9 @@
+-- Progresul agregării segmentelor expirate din jurnalul de tick-uri (app.storage.engine=journal)
+CREATE TABLE IF NOT EXISTS journal_checkpoints (
+    id BIGSERIAL PRIMARY KEY,
+    symbol_id BIGINT NOT NULL,
+    rolled_up_before BIGINT NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_journal_checkpoints_symbol FOREIGN KEY (symbol_id) REFERENCES symbols(id) ON DELETE CASCADE,
+    CONSTRAINT uk_journal_checkpoints_symbol UNIQUE (symbol_id)
+);
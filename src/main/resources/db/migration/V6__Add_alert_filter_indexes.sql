@@ -0,0 +1,10 @@
+-- Indexuri pentru filtrarea alertelor în baza de date (simbol, tip, interval, confirmare) cu paginare
+CREATE INDEX IF NOT EXISTS idx_alerts_symbol_type_triggered ON alerts(symbol_id, alert_type, triggered_at DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_symbol_triggered ON alerts(symbol_id, triggered_at DESC);
+CREATE INDEX IF NOT EXISTS idx_alerts_type_triggered ON alerts(alert_type, triggered_at DESC);
+
+-- Alertele neconfirmate sunt o fracțiune mică din istoric; indexul parțial rămâne mic
+CREATE INDEX IF NOT EXISTS idx_alerts_unacknowledged ON alerts(triggered_at DESC) WHERE acknowledged = false;
+
+-- Acoperit de idx_alerts_symbol_triggered
+DROP INDEX IF EXISTS idx_alerts_symbol_id;
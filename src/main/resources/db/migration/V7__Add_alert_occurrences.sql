@@ -0,0 +1,6 @@
+-- Alerte coalescate: o rafală de alerte identice (simbol, tip) devine un singur rând
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS occurrence_count INTEGER NOT NULL DEFAULT 1;
+ALTER TABLE alerts ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP;
+
+UPDATE alerts SET last_seen_at = triggered_at WHERE last_seen_at IS NULL;
+ALTER TABLE alerts ALTER COLUMN last_seen_at SET NOT NULL;
@@ -0,0 +1,13 @@
+-- Reguli de alertă definite de utilizatori, evaluate în gateway la fiecare tick
+CREATE TABLE IF NOT EXISTS alert_rules (
+    id BIGSERIAL PRIMARY KEY,
+    symbol_id BIGINT NOT NULL,
+    rule_type VARCHAR(20) NOT NULL,
+    threshold DECIMAL(18, 8) NOT NULL,
+    window_seconds INTEGER,
+    enabled BOOLEAN NOT NULL DEFAULT TRUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_alert_rules_symbol FOREIGN KEY (symbol_id) REFERENCES symbols(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_alert_rules_symbol_id ON alert_rules(symbol_id);
@@ -0,0 +1,15 @@
+-- Rezultatele serviciului C++ de analiză (SMA/EMA pe ferestre), ca serie de timp
+CREATE TABLE IF NOT EXISTS analysis_results (
+    id BIGSERIAL PRIMARY KEY,
+    symbol_id BIGINT NOT NULL,
+    window_size INTEGER NOT NULL,
+    current_price DECIMAL(18, 8) NOT NULL,
+    sma DECIMAL(18, 8) NOT NULL,
+    ema DECIMAL(18, 8) NOT NULL,
+    volume BIGINT,
+    calculated_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_analysis_results_symbol FOREIGN KEY (symbol_id) REFERENCES symbols(id) ON DELETE CASCADE
+);
+
+CREATE INDEX IF NOT EXISTS idx_analysis_results_symbol_window_calculated
+    ON analysis_results(symbol_id, window_size, calculated_at DESC);
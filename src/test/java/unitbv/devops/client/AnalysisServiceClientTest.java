@@ -0,0 +1,322 @@
+package unitbv.devops.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import unitbv.devops.configuration.AnalysisClientProperties;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Serviciul C++ e înlocuit de un HttpServer local care numără cererile și tick-urile primite
+ */
+public class AnalysisServiceClientTest {
+
+    private static final int TICKS = 5_000;
+    private static final int SHARDED_TICKS = 3_000;
+    private static final int SYMBOLS = 300;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger ticks = new AtomicInteger();
+    private volatile int status = 202;
+    private HttpServer server;
+    private final List<HttpServer> stubs = new ArrayList<>();
+    private AnalysisClientProperties properties;
+    private AnalysisServiceClient client;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/analyze/prices/batch", exchange -> {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            requests.incrementAndGet();
+            ticks.addAndGet(body.size());
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+
+        properties = new AnalysisClientProperties();
+        properties.setEnabled(true);
+        properties.setBatchSize(100);
+        properties.setLinger(Duration.ofMillis(5));
+        properties.setFailureThreshold(3);
+        properties.setOpenDuration(Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (client != null) {
+            client.stop();
+        }
+        server.stop(0);
+        stubs.forEach(stub -> stub.stop(0));
+    }
+
+    @Test
+    public void testTicksAreForwardedInBatches() throws Exception {
+        start();
+        for (int i = 0; i < TICKS; i++) {
+            assertTrue(client.sendPriceUpdate(tick(i)));
+        }
+
+        awaitTicks(TICKS);
+        assertEquals(TICKS, ticks.get());
+        assertTrue(requests.get() < TICKS / 10, "Expected micro-batches, got " + requests.get() + " requests");
+        System.out.println("\n✅ " + TICKS + " ticks forwarded in " + requests.get() + " requests");
+    }
+
+    @Test
+    public void testCircuitOpensOnFailuresAndClosesAfterRecovery() throws Exception {
+        status = 500;
+        start();
+        for (int i = 0; i < 3; i++) {
+            client.sendPriceUpdate(tick(i));
+            awaitRequests(i + 1);
+        }
+        awaitState(AnalysisServiceClient.CircuitState.OPEN);
+        assertFalse(client.sendPriceUpdate(tick(3)), "Ticks are dropped while the circuit is open");
+
+        status = 202;
+        awaitState(AnalysisServiceClient.CircuitState.HALF_OPEN);
+        assertTrue(client.sendPriceUpdate(tick(4)));
+        awaitState(AnalysisServiceClient.CircuitState.CLOSED);
+        awaitTicks(4);
+    }
+
+    @Test
+    public void testFullQueueDropsInsteadOfBlocking() {
+        properties.setQueueCapacity(10);
+        // Fără firul sender, coada nu se golește
+        client = new AnalysisServiceClient(properties, url(), objectMapper, new SimpleMeterRegistry());
+
+        long started = System.nanoTime();
+        int accepted = 0;
+        for (int i = 0; i < 1_000; i++) {
+            if (client.sendPriceUpdate(tick(i))) {
+                accepted++;
+            }
+        }
+        assertEquals(10, accepted);
+        assertEquals(10, client.getQueueSize());
+        assertTrue(System.nanoTime() - started < 1_000_000_000L);
+    }
+
+    @Test
+    public void testThroughputScalesWithInstanceCount() throws Exception {
+        double one = throughput(1);
+        double three = throughput(3);
+
+        System.out.printf("%n✅ %,.0f ticks/s with one analysis instance, %,.0f ticks/s with three%n", one, three);
+        assertTrue(three > one * 1.8, "Expected near-linear scaling, got " + one + " vs " + three);
+    }
+
+    @Test
+    public void testFailedInstanceSymbolsMoveToSurvivors() throws Exception {
+        AtomicInteger first = new AtomicInteger();
+        AtomicInteger second = new AtomicInteger();
+        HttpServer failing = stub(0, first);
+        properties.setInstances(List.of(url(failing), url(stub(0, second))));
+        properties.setFailureThreshold(1);
+        properties.setOpenDuration(Duration.ofMinutes(1));
+        start();
+        String moved = symbolOn(failing);
+        String kept = symbolOn(stubs.get(1));
+
+        failing.stop(0);
+        assertTrue(client.sendPriceUpdate(tick(0, moved)));
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (client.route(moved).getUrl().equals(url(failing)) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(url(stubs.get(1)), client.route(moved).getUrl());
+        assertEquals(url(stubs.get(1)), client.route(kept).getUrl(), "Symbols of healthy instances stay put");
+        assertTrue(client.sendPriceUpdate(tick(1, moved)));
+        awaitCount(second, 1);
+    }
+
+    @Test
+    public void testSlowInstanceGetsFewerSymbols() throws Exception {
+        HttpServer fast = stub(0, new AtomicInteger());
+        HttpServer slow = stub(50, new AtomicInteger());
+        properties.setInstances(List.of(url(fast), url(slow)));
+        properties.setRebalanceInterval(Duration.ofHours(1));
+        start();
+        AnalysisInstance slowInstance = client.getInstances().get(1);
+        long before = symbols().stream().filter(symbol -> client.route(symbol) == slowInstance).count();
+        for (int i = 0; i < SYMBOLS; i++) {
+            client.sendPriceUpdate(tick(i, "SYM" + i));
+        }
+        awaitLatency(client.getInstances().get(0));
+        awaitLatency(slowInstance);
+
+        client.rebalance();
+
+        assertEquals(1.0, client.getInstances().get(0).getLoadFactor());
+        assertTrue(slowInstance.getLoadFactor() < 1.0);
+        long onSlow = symbols().stream().filter(symbol -> client.route(symbol) == slowInstance).count();
+        assertTrue(onSlow < before, "The slow instance kept " + onSlow + " of its " + before + " symbols");
+        System.out.println("\n✅ Slow instance: " + before + " -> " + onSlow + " of " + SYMBOLS + " symbols");
+    }
+
+    @Test
+    public void testRebalanceComparesLatencyPerTickNotPerBatch() throws Exception {
+        HttpServer first = stub(20, new AtomicInteger());
+        HttpServer second = stub(20, new AtomicInteger());
+        properties.setInstances(List.of(url(first), url(second)));
+        properties.setRebalanceInterval(Duration.ofHours(1));
+        start();
+        AnalysisInstance full = client.getInstances().get(0);
+        AnalysisInstance sparse = client.getInstances().get(1);
+
+        // Aceeași latență per cerere, dar prima instanță procesează de 50 de ori mai multe tick-uri per cerere
+        List<PriceDTO> batch = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            batch.add(tick(i));
+        }
+        full.send(batch);
+        sparse.send(List.of(tick(0)));
+
+        client.rebalance();
+
+        assertEquals(1.0, full.getLoadFactor());
+        assertEquals(0.25, sparse.getLoadFactor(), "Per tick the sparse instance is far slower");
+        assertTrue(full.getLatencyPerTickMs() < sparse.getLatencyPerTickMs());
+    }
+
+    /**
+     * Trimite SHARDED_TICKS tick-uri pe SYMBOLS simboluri către count instanțe care răspund fiecare în 10 ms
+     */
+    private double throughput(int count) throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        List<String> urls = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            urls.add(url(stub(10, received)));
+        }
+        properties.setInstances(urls);
+        properties.setBatchSize(20);
+        properties.setQueueCapacity(SHARDED_TICKS);
+        start();
+
+        long started = System.nanoTime();
+        for (int i = 0; i < SHARDED_TICKS; i++) {
+            assertTrue(client.sendPriceUpdate(tick(i, "SYM" + i % SYMBOLS)));
+        }
+        awaitCount(received, SHARDED_TICKS);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        client.stop();
+        client = null;
+        return SHARDED_TICKS / seconds;
+    }
+
+    /**
+     * Un serviciu de analiză simulat, care procesează câte un lot pe rând în delayMillis
+     */
+    private HttpServer stub(int delayMillis, AtomicInteger received) throws Exception {
+        HttpServer stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stub.createContext("/analyze/prices/batch", exchange -> {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            received.addAndGet(body.size());
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        stub.start();
+        stubs.add(stub);
+        return stub;
+    }
+
+    private String symbolOn(HttpServer stub) {
+        return symbols().stream()
+                .filter(symbol -> client.route(symbol).getUrl().equals(url(stub)))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> symbols() {
+        List<String> symbols = new ArrayList<>();
+        for (int i = 0; i < SYMBOLS; i++) {
+            symbols.add("SYM" + i);
+        }
+        return symbols;
+    }
+
+    private void awaitCount(AtomicInteger counter, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 20_000;
+        while (counter.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, counter.get());
+    }
+
+    private void awaitLatency(AnalysisInstance instance) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (instance.getLatencyMs() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertTrue(instance.getLatencyMs() > 0);
+    }
+
+    private void start() {
+        client = new AnalysisServiceClient(properties, url(), objectMapper, new SimpleMeterRegistry());
+        client.start();
+    }
+
+    private String url() {
+        return url(server);
+    }
+
+    private static String url(HttpServer server) {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    private void awaitTicks(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (ticks.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, ticks.get());
+    }
+
+    private void awaitRequests(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (requests.get() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private void awaitState(AnalysisServiceClient.CircuitState expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (client.getCircuitState() != expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, client.getCircuitState());
+    }
+
+    private static PriceDTO tick(int i) {
+        return tick(i, "AAPL");
+    }
+
+    private static PriceDTO tick(int i, String symbol) {
+        return new PriceDTO((long) i, symbol, FixedPoint.ONE * (100 + i % 10), 10L, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,85 @@
+package unitbv.devops.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 10_000;
+
+    @Test
+    public void testKeysAreSpreadEvenly() {
+        ConsistentHashRing<String> ring = ring(Map.of("a", 128, "b", 128, "c", 128));
+
+        Map<String, Integer> owned = count(ring);
+        for (String member : new String[]{"a", "b", "c"}) {
+            int share = owned.getOrDefault(member, 0);
+            assertTrue(share > KEYS / 5 && share < KEYS / 2, member + " owns " + share + " of " + KEYS + " keys");
+        }
+    }
+
+    @Test
+    public void testRemovingMemberMovesOnlyItsKeys() {
+        ConsistentHashRing<String> before = ring(Map.of("a", 128, "b", 128, "c", 128));
+        ConsistentHashRing<String> after = ring(Map.of("a", 128, "c", 128));
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "SYM" + i;
+            String owner = before.locate(key);
+            if (!owner.equals("b")) {
+                assertEquals(owner, after.locate(key), "Keys of the remaining members must not move");
+            } else {
+                moved++;
+                assertNotEquals("b", after.locate(key));
+            }
+        }
+        assertTrue(moved < KEYS / 2, "Only the removed member's keys move, moved " + moved);
+    }
+
+    @Test
+    public void testSkippingMemberMatchesRingWithoutIt() {
+        ConsistentHashRing<String> full = ring(Map.of("a", 128, "b", 128, "c", 128));
+        ConsistentHashRing<String> without = ring(Map.of("a", 128, "c", 128));
+
+        for (int i = 0; i < KEYS; i++) {
+            String key = "SYM" + i;
+            assertEquals(without.locate(key), full.locate(key, member -> !member.equals("b")));
+        }
+        assertNull(full.locate("AAPL", member -> false));
+    }
+
+    @Test
+    public void testFewerVirtualNodesMeansFewerKeys() {
+        ConsistentHashRing<String> ring = ring(Map.of("fast", 128, "slow", 32));
+
+        Map<String, Integer> owned = count(ring);
+        assertTrue(owned.get("slow") < owned.get("fast") / 2, "Owned keys: " + owned);
+    }
+
+    @Test
+    public void testEmptyRingLocatesNothing() {
+        ConsistentHashRing<String> ring = ring(Map.of());
+
+        assertTrue(ring.isEmpty());
+        assertNull(ring.locate("AAPL"));
+    }
+
+    private static ConsistentHashRing<String> ring(Map<String, Integer> virtualNodes) {
+        return new ConsistentHashRing<>(new LinkedHashMap<>(virtualNodes), Function.identity());
+    }
+
+    private static Map<String, Integer> count(ConsistentHashRing<String> ring) {
+        Map<String, Integer> owned = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            owned.merge(ring.locate("SYM" + i), 1, Integer::sum);
+        }
+        return owned;
+    }
+}
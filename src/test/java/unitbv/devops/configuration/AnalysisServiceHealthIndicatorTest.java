@@ -0,0 +1,162 @@
+package unitbv.devops.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import unitbv.devops.client.AnalysisInstance;
+import unitbv.devops.client.AnalysisServiceClient;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Serviciul C++ e înlocuit de un HttpServer local; probele sunt rulate direct, fără planificator
+ */
+public class AnalysisServiceHealthIndicatorTest {
+
+    private static final int HEALTH_CALLS = 100_000;
+
+    private HttpServer server;
+    private AnalysisInstance instance;
+    private AnalysisServiceHealthIndicator indicator;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/analyze/health", exchange -> {
+            byte[] body = "{\"status\":\"healthy\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        AnalysisHealthProperties properties = new AnalysisHealthProperties();
+        properties.setMinInterval(Duration.ofSeconds(1));
+        properties.setMaxInterval(Duration.ofSeconds(3));
+        properties.setTimeout(Duration.ofMillis(500));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AnalysisServiceClient client = new AnalysisServiceClient(new AnalysisClientProperties(),
+                "http://127.0.0.1:" + server.getAddress().getPort(), new ObjectMapper(), meterRegistry);
+        instance = client.getInstances().get(0);
+
+        indicator = new AnalysisServiceHealthIndicator(new RestTemplateBuilder(), properties, client, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        indicator.stop();
+        server.stop(0);
+    }
+
+    @Test
+    public void testHealthIsUnknownBeforeFirstProbe() {
+        assertEquals(Status.UNKNOWN, indicator.health().getStatus());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSuccessfulProbeIsReportedWithLatency() {
+        assertTrue(indicator.probe(instance).up);
+
+        Health health = indicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("1/1", health.getDetails().get("healthyInstances"));
+        assertEquals("CLOSED", health.getDetails().get("forwardingCircuit"));
+        Map<String, Object> details = details(health);
+        assertEquals(0, details.get("consecutiveFailures"));
+        Map<String, Object> latency = (Map<String, Object>) details.get("latencyMs");
+        assertEquals(1L, latency.get("probes"));
+        assertTrue(latency.containsKey("p99"));
+    }
+
+    @Test
+    public void testFailuresBackOffUpToMaxInterval() {
+        indicator.probe(instance);
+        server.stop(0);
+
+        AnalysisServiceHealthIndicator.Probe first = indicator.probe(instance);
+        assertFalse(first.up);
+        assertEquals(1, first.consecutiveFailures);
+        assertEquals(Duration.ofSeconds(1), first.nextDelay);
+        assertEquals(Duration.ofSeconds(2), indicator.probe(instance).nextDelay);
+        assertEquals(Duration.ofSeconds(3), indicator.probe(instance).nextDelay);
+
+        Health health = indicator.health();
+        assertEquals(Status.DOWN, health.getStatus());
+        Map<String, Object> details = details(health);
+        assertEquals(3, details.get("consecutiveFailures"));
+        assertNotEquals("never", details.get("lastSuccessAgeMs"));
+        assertNotNull(details.get("error"));
+        assertFalse(instance.isAvailable(), "A failing instance leaves the forwarding ring");
+    }
+
+    @Test
+    public void testHealthReadsCachedStateWithoutNetwork() {
+        indicator.probe(instance);
+        server.stop(0);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < HEALTH_CALLS; i++) {
+            assertEquals(Status.UP, indicator.health().getStatus());
+        }
+        long micros = (System.nanoTime() - started) / 1_000 / HEALTH_CALLS;
+        System.out.println("\n✅ health() average: " + micros + " µs");
+        assertTrue(micros < 1_000, "health() should not touch the network, took " + micros + " µs");
+    }
+
+    @Test
+    public void testStalledInstanceDoesNotDelayProbesOfOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer stalled = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        stalled.createContext("/analyze/health", exchange -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(503, -1);
+            exchange.close();
+        });
+        stalled.start();
+        AnalysisHealthProperties properties = new AnalysisHealthProperties();
+        properties.setTimeout(Duration.ofSeconds(3));
+        AnalysisClientProperties clientProperties = new AnalysisClientProperties();
+        clientProperties.setInstances(List.of("http://127.0.0.1:" + stalled.getAddress().getPort(),
+                "http://127.0.0.1:" + server.getAddress().getPort()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AnalysisServiceClient client = new AnalysisServiceClient(clientProperties, null, new ObjectMapper(), meterRegistry);
+        AnalysisServiceHealthIndicator pooled = new AnalysisServiceHealthIndicator(new RestTemplateBuilder(), properties, client, meterRegistry);
+        try {
+            pooled.start();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (pooled.health().getStatus() != Status.UP && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(Status.UP, pooled.health().getStatus(), "The healthy instance was probed while the other one hangs");
+        } finally {
+            release.countDown();
+            pooled.stop();
+            stalled.stop(0);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> details(Health health) {
+        Map<String, Object> instances = (Map<String, Object>) health.getDetails().get("instances");
+        return (Map<String, Object>) instances.get(instance.getUrl());
+    }
+}
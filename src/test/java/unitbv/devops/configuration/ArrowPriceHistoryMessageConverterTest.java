@@ -0,0 +1,158 @@
+package unitbv.devops.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.BigIntVector;
+import org.apache.arrow.vector.TimeStampMicroVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.dto.PriceHistoryDTO;
+import unitbv.devops.storage.TickChunk;
+import unitbv.devops.util.FixedPoint;
+
+import java.io.ByteArrayInputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ArrowPriceHistoryMessageConverterTest {
+
+    private static final int TICKS = 200_000;
+
+    private BufferAllocator allocator;
+    private ArrowPriceHistoryMessageConverter converter;
+
+    @BeforeEach
+    public void setUp() {
+        allocator = new RootAllocator();
+        converter = new ArrowPriceHistoryMessageConverter(allocator);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        allocator.close();
+    }
+
+    @Test
+    public void testRoundTripAcrossBatches() throws Exception {
+        PriceHistoryDTO history = history(ArrowPriceHistoryMessageConverter.BATCH_ROWS + 10);
+        assertTrue(converter.canWrite(PriceHistoryDTO.class, ArrowPriceHistoryMessageConverter.ARROW_STREAM));
+        assertFalse(converter.canWrite(PriceHistoryDTO.class, MediaType.APPLICATION_JSON));
+        assertFalse(converter.canRead(PriceHistoryDTO.class, ArrowPriceHistoryMessageConverter.ARROW_STREAM));
+
+        byte[] body = writeArrow(history);
+
+        try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            assertEquals("BTC", root.getSchema().getCustomMetadata().get("symbolCode"));
+            assertEquals(String.valueOf(history.getPrices().size()), root.getSchema().getCustomMetadata().get("count"));
+            assertEquals("8", root.getSchema().findField("price").getMetadata().get("scale"));
+
+            int row = 0;
+            int batches = 0;
+            while (reader.loadNextBatch()) {
+                batches++;
+                TimeStampMicroVector timestamps = (TimeStampMicroVector) root.getVector("timestamp");
+                BigIntVector prices = (BigIntVector) root.getVector("price");
+                BigIntVector volumes = (BigIntVector) root.getVector("volume");
+                for (int i = 0; i < root.getRowCount(); i++, row++) {
+                    PriceDTO expected = history.getPrices().get(row);
+                    assertEquals(expected.getTimestamp(), TickChunk.fromMicros(timestamps.get(i)));
+                    assertEquals(expected.getPrice(), prices.get(i));
+                    assertEquals(expected.getVolume(), volumes.get(i));
+                }
+            }
+            assertEquals(2, batches);
+            assertEquals(history.getPrices().size(), row);
+        }
+        assertEquals(0, allocator.getAllocatedMemory(), "Off-heap buffers are released");
+    }
+
+    @Test
+    public void testArrowIsSmallerAndFasterThanJson() throws Exception {
+        PriceHistoryDTO history = history(TICKS);
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        // Încălzire, ca JIT-ul să compileze ambele variante înainte de măsurare
+        for (int round = 0; round < 3; round++) {
+            mapper.readValue(mapper.writeValueAsBytes(history), PriceHistoryDTO.class);
+            readArrow(writeArrow(history));
+        }
+
+        long start = System.nanoTime();
+        byte[] json = mapper.writeValueAsBytes(history);
+        long jsonEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        PriceHistoryDTO decoded = mapper.readValue(json, PriceHistoryDTO.class);
+        long jsonDecode = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        byte[] arrow = writeArrow(history);
+        long arrowEncode = System.nanoTime() - start;
+        start = System.nanoTime();
+        long priceSum = readArrow(arrow);
+        long arrowDecode = System.nanoTime() - start;
+
+        System.out.println("\n✅ Price history with " + TICKS + " ticks");
+        System.out.printf("   JSON:  %d bytes/tick, encode %d ms, decode %d ms%n",
+                json.length / TICKS, jsonEncode / 1_000_000, jsonDecode / 1_000_000);
+        System.out.printf("   Arrow: %d bytes/tick, encode %d ms, decode %d ms%n",
+                arrow.length / TICKS, arrowEncode / 1_000_000, arrowDecode / 1_000_000);
+
+        assertEquals(TICKS, decoded.getPrices().size());
+        assertEquals(history.getPrices().stream().mapToLong(PriceDTO::getPrice).sum(), priceSum);
+        assertTrue(arrow.length * 3L < json.length, "Expected Arrow under a third of JSON, got " + arrow.length + " vs " + json.length);
+        assertTrue(arrowEncode + arrowDecode < jsonEncode + jsonDecode,
+                "Expected Arrow to encode and decode faster, got " + (arrowEncode + arrowDecode) + " vs " + (jsonEncode + jsonDecode) + " ns");
+    }
+
+    private byte[] writeArrow(PriceHistoryDTO history) throws Exception {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(history, ArrowPriceHistoryMessageConverter.ARROW_STREAM, output);
+        assertEquals(ArrowPriceHistoryMessageConverter.ARROW_STREAM, output.getHeaders().getContentType());
+        return output.getBodyAsBytes();
+    }
+
+    /**
+     * Citește coloanele direct din vectori; returnează suma prețurilor ca să nu fie eliminată de JIT
+     */
+    private long readArrow(byte[] body) throws Exception {
+        long sum = 0;
+        try (ArrowStreamReader reader = new ArrowStreamReader(new ByteArrayInputStream(body), allocator)) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+            while (reader.loadNextBatch()) {
+                BigIntVector prices = (BigIntVector) root.getVector("price");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    sum += prices.get(i);
+                }
+            }
+        }
+        return sum;
+    }
+
+    private static PriceHistoryDTO history(int ticks) {
+        Random random = new Random(5);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 9, 30);
+        List<PriceDTO> prices = new ArrayList<>(ticks);
+        for (int i = 0; i < ticks; i++) {
+            long price = (40_000 + random.nextInt(5000)) * FixedPoint.ONE + random.nextInt(100_000_000);
+            prices.add(new PriceDTO((long) i + 1, "BTC", price, (long) random.nextInt(10_000),
+                    start.plusNanos(i * 250_000_000L)));
+        }
+        long min = prices.stream().mapToLong(PriceDTO::getPrice).min().orElse(0);
+        long max = prices.stream().mapToLong(PriceDTO::getPrice).max().orElse(0);
+        return new PriceHistoryDTO("BTC", prices, new PriceHistoryDTO.PriceStatistics(min, min, max, 0L, ticks));
+    }
+}
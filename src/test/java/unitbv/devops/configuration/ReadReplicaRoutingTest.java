@@ -0,0 +1,130 @@
+package unitbv.devops.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.dto.SymbolDTO;
+import unitbv.devops.service.SymbolService;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * A second H2 pool on the same in-memory database stands in for the replica;
+ * the lag query reads a table the test controls
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:replicatest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.read-replicas.enabled=true",
+        "app.datasource.read-replicas.max-lag=5s",
+        "app.datasource.read-replicas.lag-check-interval=PT1H",
+        "app.datasource.read-replicas.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.datasource.read-replicas.instances[0].name=replica1",
+        "app.datasource.read-replicas.instances[0].url=jdbc:h2:mem:replicatest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.datasource.read-replicas.instances[0].username=sa",
+        "app.datasource.read-replicas.instances[0].password="
+})
+public class ReadReplicaRoutingTest extends DatabaseTestBase {
+
+    @Autowired
+    private ReadReplicaRoutingDataSource routingDataSource;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SymbolService symbolService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds DOUBLE)");
+        jdbcTemplate.update("DELETE FROM replica_lag");
+        jdbcTemplate.update("INSERT INTO replica_lag VALUES (0)");
+        routingDataSource.refreshLag();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsGoToReplica() {
+        double replicaBefore = routed("replica1");
+        double primaryBefore = routed(ReadReplicaRoutingDataSource.PRIMARY);
+
+        assertFalse(symbolService.getAllSymbols().isEmpty());
+        assertEquals(replicaBefore + 1, routed("replica1"), "readOnly service call is routed to the replica");
+        assertEquals(primaryBefore, routed(ReadReplicaRoutingDataSource.PRIMARY));
+
+        SymbolDTO created = symbolService.createSymbol(new SymbolDTO(null, "RPLX", "Replica Test", "REPLICA_TEST"));
+        assertTrue(routed(ReadReplicaRoutingDataSource.PRIMARY) > primaryBefore, "writes stay on the primary");
+        symbolService.deleteSymbol(created.getId());
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() {
+        jdbcTemplate.update("UPDATE replica_lag SET lag_seconds = 30");
+        routingDataSource.refreshLag();
+
+        double replicaBefore = routed("replica1");
+        double primaryBefore = routed(ReadReplicaRoutingDataSource.PRIMARY);
+        symbolService.getAllSymbols();
+
+        assertEquals(replicaBefore, routed("replica1"));
+        assertEquals(primaryBefore + 1, routed(ReadReplicaRoutingDataSource.PRIMARY));
+        assertEquals(false, ((Map<?, ?>) routingDataSource.getStatus().get("replica1")).get("inRotation"));
+    }
+
+    @Test
+    public void testPoolMetricsArePerRoute() {
+        symbolService.getAllSymbols();
+
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "primary").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.active").tag("pool", "replica-replica1").gauge());
+        assertNotNull(meterRegistry.find("datasource.replica.lag.seconds").tag("replica", "replica1").gauge());
+    }
+
+    @Test
+    public void testReplicaNamedPrimaryIsRejected() {
+        DataSource primary = mock(DataSource.class);
+        assertThrows(IllegalArgumentException.class, () -> new ReadReplicaRoutingDataSource(primary,
+                Map.of(ReadReplicaRoutingDataSource.PRIMARY, mock(DataSource.class)), Duration.ofSeconds(5),
+                "SELECT 0", Duration.ofSeconds(1), new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void testHangingReplicaDoesNotHoldTheLagCheckPastItsTimeout() throws Exception {
+        DataSource hanging = mock(DataSource.class);
+        when(hanging.getConnection()).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            throw new SQLException("Connection is not available, request timed out");
+        });
+        ReadReplicaRoutingDataSource routing = new ReadReplicaRoutingDataSource(mock(DataSource.class),
+                Map.of("slow", hanging), Duration.ofSeconds(5), "SELECT 0", Duration.ofMillis(200), new SimpleMeterRegistry());
+
+        long started = System.nanoTime();
+        routing.refreshLag();
+        routing.refreshLag();
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMs < 2_000, "Two lag checks took " + elapsedMs + " ms");
+        assertEquals(false, ((Map<?, ?>) routing.getStatus().get("slow")).get("available"));
+    }
+
+    private double routed(String route) {
+        return meterRegistry.get("datasource.route.connections").tag("route", route).counter().count();
+    }
+}
@@ -0,0 +1,169 @@
+package unitbv.devops.ipc;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Fiecare capăt își mapează separat fișierul, ca două procese diferite; rulează doar pe Linux (mmap pe tmpfs)
+ * Buclele de așteptare cedează procesorul (yield), ca testul să meargă și pe o mașină cu un singur core
+ */
+@EnabledOnOs(OS.LINUX)
+public class SpscRingTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 6, 1, 9, 30);
+    private static final int TICKS = 1_000_000;
+    private static final int ROUND_TRIPS = 20_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testRecordsWrapAroundAndFullRingRejectsOffers() {
+        try (SpscRing producer = SpscRing.open(directory.resolve("wrap.ring"), 256);
+             SpscRing consumer = SpscRing.open(directory.resolve("wrap.ring"), 1024)) {
+            assertEquals(256, consumer.capacity(), "An existing ring keeps its own capacity");
+
+            List<String> received = new ArrayList<>();
+            for (int round = 0; round < 50; round++) {
+                int written = 0;
+                while (producer.offer(("record-" + round + "-" + written).getBytes(StandardCharsets.UTF_8))) {
+                    written++;
+                }
+                assertTrue(written > 0);
+                int read = consumer.poll((buffer, offset, length) -> {
+                    byte[] bytes = new byte[length];
+                    buffer.get(offset, bytes, 0, length);
+                    received.add(new String(bytes, StandardCharsets.UTF_8));
+                }, Integer.MAX_VALUE);
+                assertEquals(written, read);
+                assertEquals("record-" + round + "-" + (written - 1), received.get(received.size() - 1));
+                assertEquals(0, consumer.backlog());
+            }
+            assertThrows(IllegalArgumentException.class, () -> producer.offer(new byte[256]));
+        }
+    }
+
+    @Test
+    public void testTicksCrossBetweenMappingsInOrder() throws Exception {
+        Path file = directory.resolve("ticks.ring");
+        byte[] symbol = "AAPL".getBytes(StandardCharsets.UTF_8);
+        try (SpscRing producer = SpscRing.open(file, 1 << 16);
+             SpscRing consumer = SpscRing.open(file, 1 << 16)) {
+            AtomicReference<String> failure = new AtomicReference<>();
+            long[] next = {0};
+            Thread reader = new Thread(() -> {
+                while (next[0] < TICKS) {
+                    consumer.poll((buffer, offset, length) -> {
+                        long expected = next[0]++;
+                        if (IpcMessages.tickPrice(buffer, offset) != expected
+                                || IpcMessages.tickVolume(buffer, offset) != expected * 2) {
+                            failure.compareAndSet(null, "Tick " + expected + " arrived corrupted or out of order");
+                        }
+                    }, 1024);
+                    Thread.yield();
+                }
+            });
+            reader.start();
+
+            long started = System.nanoTime();
+            for (long i = 0; i < TICKS; i++) {
+                long price = i;
+                while (!producer.offer(IpcMessages.tickLength(symbol),
+                        (buffer, offset) -> IpcMessages.writeTick(buffer, offset, symbol, price, price, price * 2))) {
+                    Thread.yield();
+                }
+            }
+            reader.join(30_000);
+            long elapsed = System.nanoTime() - started;
+
+            assertNull(failure.get());
+            assertEquals(TICKS, next[0]);
+            System.out.printf("%n✅ %,d ticks through the ring in %d ms (%.0f ns/tick)%n",
+                    TICKS, elapsed / 1_000_000, (double) elapsed / TICKS);
+        }
+    }
+
+    @Test
+    public void testRoundTripLatency() throws Exception {
+        Path requests = directory.resolve("requests.ring");
+        Path responses = directory.resolve("responses.ring");
+        try (SpscRing gatewayOut = SpscRing.open(requests, 1 << 16);
+             SpscRing analysisIn = SpscRing.open(requests, 1 << 16);
+             SpscRing analysisOut = SpscRing.open(responses, 1 << 16);
+             SpscRing gatewayIn = SpscRing.open(responses, 1 << 16)) {
+            byte[] symbol = "PING".getBytes(StandardCharsets.UTF_8);
+
+            // Capătul "C++": răspunde la fiecare tick cu un rezultat de analiză
+            Thread echo = new Thread(() -> {
+                int[] answered = {0};
+                while (answered[0] < ROUND_TRIPS) {
+                    analysisIn.poll((buffer, offset, length) -> {
+                        long price = IpcMessages.tickPrice(buffer, offset);
+                        byte[] result = IpcMessages.encodeAnalysisResult(new AnalysisResultDTO(
+                                "PING", price, price, price, 1L, START, 5));
+                        while (!analysisOut.offer(result)) {
+                            Thread.yield();
+                        }
+                        answered[0]++;
+                    }, 1);
+                    Thread.yield();
+                }
+            });
+            echo.start();
+
+            long[] latencies = new long[ROUND_TRIPS];
+            AnalysisResultDTO[] last = new AnalysisResultDTO[1];
+            for (int i = 0; i < ROUND_TRIPS; i++) {
+                long price = i;
+                long started = System.nanoTime();
+                while (!gatewayOut.offer(IpcMessages.tickLength(symbol),
+                        (buffer, offset) -> IpcMessages.writeTick(buffer, offset, symbol, 0, price, 1))) {
+                    Thread.yield();
+                }
+                while (gatewayIn.poll((buffer, offset, length) -> last[0] = IpcMessages.readAnalysisResult(buffer, offset), 1) == 0) {
+                    Thread.yield();
+                }
+                latencies[i] = System.nanoTime() - started;
+                assertEquals(price, last[0].getSma());
+            }
+            echo.join(10_000);
+
+            Arrays.sort(latencies);
+            System.out.printf("✅ Round trip over two rings: p50 %d ns, p99 %d ns%n",
+                    latencies[ROUND_TRIPS / 2], latencies[ROUND_TRIPS * 99 / 100]);
+            assertEquals(START, last[0].getTimestamp());
+            assertEquals("PING", last[0].getSymbolCode());
+        }
+    }
+
+    @Test
+    public void testAlertRoundTripsThroughTheCodec() {
+        AlertDTO alert = new AlertDTO(null, "MSFT", "SPIKE_UP", new BigDecimal("5.25000000"), START, "Preț +5.3% în 1 minut", false);
+        try (SpscRing ring = SpscRing.open(directory.resolve("alerts.ring"), 4096)) {
+            assertTrue(ring.offer(IpcMessages.encodeAlert(alert)));
+            AlertDTO[] read = new AlertDTO[1];
+            ring.poll((buffer, offset, length) -> {
+                assertEquals(IpcMessages.ALERT, IpcMessages.type(buffer, offset));
+                read[0] = IpcMessages.readAlert(buffer, offset);
+            }, 1);
+            assertEquals(alert, read[0]);
+            assertEquals(FixedPoint.of(new BigDecimal("5.25")), FixedPoint.of(read[0].getThreshold()));
+        }
+    }
+}
@@ -0,0 +1,201 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Tick-ul de o oră oprește avansarea programată a roții; testul o avansează manual (fereastra = 2 tick-uri)
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:alertcoalescertest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.alerts.coalescing.enabled=true",
+        "app.alerts.coalescing.window=5s",
+        "app.alerts.coalescing.tick=PT1H"
+})
+public class AlertCoalescerTest extends DatabaseTestBase {
+
+    private static final int BURST = 50;
+
+    @Autowired
+    private AlertCoalescer alertCoalescer;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private WebSocketService webSocketService;
+
+    @SpyBean
+    private AlertService alertService;
+
+    private Symbol symbol;
+
+    @BeforeEach
+    public void setUp() {
+        symbol = symbolRepository.save(new Symbol("CLSX", "Coalescing Symbol", "COALESCE_TEST"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM alerts WHERE symbol_id = ?", symbol.getId());
+        symbolRepository.delete(symbol);
+    }
+
+    @Test
+    public void testBurstBecomesOneAlertWithOccurrenceCount() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        AlertDTO first = alertCoalescer.submit(alert("PRICE_SPIKE", start));
+        assertEquals(1, first.getOccurrenceCount());
+        for (int i = 1; i < BURST; i++) {
+            AlertDTO repeat = alertCoalescer.submit(alert("PRICE_SPIKE", start.plusNanos(i * 1_000_000L)));
+            assertEquals(first.getId(), repeat.getId());
+            assertEquals(i + 1, repeat.getOccurrenceCount());
+        }
+        alertCoalescer.submit(alert("VOLUME_ANOMALY", start));
+
+        assertEquals(2, rows(), "One insert per (symbol, type), not per alert");
+        assertEquals(2, alertCoalescer.openGroups());
+        verify(webSocketService, times(2)).broadcastAlert(any());
+
+        alertCoalescer.advance();
+        alertCoalescer.advance();
+
+        assertEquals(0, alertCoalescer.openGroups());
+        Map<String, Object> spike = jdbcTemplate.queryForMap(
+                "SELECT occurrence_count, last_seen_at FROM alerts WHERE id = ?", first.getId());
+        assertEquals(BURST, ((Number) spike.get("OCCURRENCE_COUNT")).intValue());
+        assertEquals(start.plusNanos((BURST - 1) * 1_000_000L),
+                ((Timestamp) spike.get("LAST_SEEN_AT")).toLocalDateTime());
+        // Un singur broadcast în plus pentru rafală; alerta unică nu mai e retransmisă
+        verify(webSocketService, times(3)).broadcastAlert(any());
+
+        AlertDTO next = alertCoalescer.submit(alert("PRICE_SPIKE", start.plusSeconds(10)));
+        assertNotEquals(first.getId(), next.getId(), "A closed window starts a new alert");
+        assertEquals(3, rows());
+    }
+
+    @Test
+    public void testBatchIsCoalescedAndPersistedInOneTransaction() {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        List<AlertDTO> results = alertCoalescer.submitAll(List.of(
+                alert("BATCH_SPIKE", start),
+                alert("BATCH_SPIKE", start.plusSeconds(1)),
+                alert("BATCH_VOLUME", start),
+                alert("BATCH_SPIKE", start.plusSeconds(2))));
+
+        assertEquals(4, results.size());
+        assertEquals(2, rows());
+        assertEquals(List.of(1, 2, 1, 3), results.stream().map(AlertDTO::getOccurrenceCount).toList());
+        assertEquals(results.get(0).getId(), results.get(3).getId());
+        assertNotEquals(results.get(0).getId(), results.get(2).getId());
+
+        // Un simbol necunoscut respinge tot lotul, fără grupuri rămase deschise
+        assertThrows(IllegalArgumentException.class, () -> alertCoalescer.submitAll(List.of(
+                alert("BATCH_GAP", start),
+                new AlertDTO(null, "NOPE", "BATCH_GAP", BigDecimal.ONE, start, "unknown", false))));
+        assertEquals(2, rows());
+
+        alertCoalescer.advance();
+        alertCoalescer.advance();
+        assertEquals(0, alertCoalescer.openGroups());
+        assertEquals(3, jdbcTemplate.queryForObject(
+                "SELECT occurrence_count FROM alerts WHERE id = ?", Integer.class, results.get(0).getId()));
+    }
+
+    @Test
+    public void testRepeatOfFailedFirstInsertIsPersistedItself() throws Exception {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        CountDownLatch inserting = new CountDownLatch(1);
+        CountDownLatch failInsert = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            inserting.countDown();
+            failInsert.await(5, TimeUnit.SECONDS);
+            throw new IllegalStateException("database unavailable");
+        }).doCallRealMethod().when(alertService).createAlerts(any());
+
+        CompletableFuture<AlertDTO> first = CompletableFuture.supplyAsync(() -> alertCoalescer.submit(alert("FAILED_SPIKE", start)));
+        assertTrue(inserting.await(5, TimeUnit.SECONDS));
+        CompletableFuture<AlertDTO> repeat = CompletableFuture.supplyAsync(
+                () -> alertCoalescer.submit(alert("FAILED_SPIKE", start.plusSeconds(1))));
+        Thread.sleep(200);
+        failInsert.countDown();
+
+        assertThrows(CompletionException.class, first::join);
+        AlertDTO saved = repeat.get(5, TimeUnit.SECONDS);
+        assertNotNull(saved.getId(), "The repeat is not coalesced into an alert that was never saved");
+        assertEquals(1, saved.getOccurrenceCount());
+        assertEquals(1, rows());
+
+        alertCoalescer.advance();
+        alertCoalescer.advance();
+        assertEquals(0, alertCoalescer.openGroups());
+    }
+
+    @Test
+    public void testCrossedConcurrentBatchesDoNotWaitOnEachOther() throws Exception {
+        LocalDateTime start = LocalDateTime.now().withNano(0);
+        // Ambele inserturi rămân în curs până intră și celălalt lot, ca fiecare să aștepte o fereastră a celuilalt
+        CountDownLatch bothInserting = new CountDownLatch(2);
+        doAnswer(invocation -> {
+            bothInserting.countDown();
+            bothInserting.await(1, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(alertService).createAlerts(any());
+
+        CompletableFuture<List<AlertDTO>> first = CompletableFuture.supplyAsync(() -> alertCoalescer.submitAll(List.of(
+                alert("CROSS_X", start), alert("CROSS_Y", start))));
+        CompletableFuture<List<AlertDTO>> second = CompletableFuture.supplyAsync(() -> alertCoalescer.submitAll(List.of(
+                alert("CROSS_Y", start.plusSeconds(1)), alert("CROSS_X", start.plusSeconds(1)))));
+
+        List<AlertDTO> results = new ArrayList<>(first.get(5, TimeUnit.SECONDS));
+        results.addAll(second.get(5, TimeUnit.SECONDS));
+        assertEquals(2, rows());
+        for (String alertType : List.of("CROSS_X", "CROSS_Y")) {
+            assertEquals(List.of(1, 2), results.stream().filter(result -> alertType.equals(result.getAlertType()))
+                    .map(AlertDTO::getOccurrenceCount).sorted().toList());
+        }
+        assertEquals(3, alertCoalescer.submit(alert("CROSS_X", start.plusSeconds(2))).getOccurrenceCount(),
+                "Later submits for the same keys do not hang");
+
+        alertCoalescer.advance();
+        alertCoalescer.advance();
+        assertEquals(0, alertCoalescer.openGroups());
+    }
+
+    private AlertDTO alert(String alertType, LocalDateTime triggeredAt) {
+        return new AlertDTO(null, "CLSX", alertType, BigDecimal.valueOf(3), triggeredAt, "burst", false);
+    }
+
+    private long rows() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM alerts WHERE symbol_id = ?", Long.class, symbol.getId());
+    }
+}
@@ -0,0 +1,180 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.TestPropertySource;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.dto.AlertBulkRequest;
+import unitbv.devops.dto.AlertCountsDTO;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.entity.Alert;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.AlertRepository;
+import unitbv.devops.repository.AlertSpecifications;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Baza H2 separată, ca reconstruirea indexului să vadă doar alertele testului și seed-ul
+ */
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:alertindextest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "app.alerts.index.enabled=true",
+        "app.alerts.index.window=7d",
+        "app.alerts.index.refresh-interval=PT1H"
+})
+public class AlertIndexServiceTest extends DatabaseTestBase {
+
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "triggeredAt");
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private AlertIndexService alertIndexService;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final List<Symbol> symbols = new ArrayList<>();
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @BeforeEach
+    public void setUp() {
+        symbols.add(symbolRepository.save(new Symbol("IDXA", "Index Symbol A", "INDEX_TEST")));
+        symbols.add(symbolRepository.save(new Symbol("IDXB", "Index Symbol B", "INDEX_TEST")));
+        List<Alert> alerts = new ArrayList<>();
+        String[] types = {"SPIKE_UP", "SPIKE_DOWN", "VOLUME"};
+        for (int i = 0; i < 60; i++) {
+            // Ultimele 40 sunt în fereastră; din cele 20 vechi, primele 5 sunt neconfirmate
+            Alert alert = new Alert(symbols.get(i % 2), types[i % 3], BigDecimal.ONE,
+                    i < 20 ? now.minusDays(30).plusHours(i) : now.minusHours(60 - i), "Index alert " + i);
+            alert.setAcknowledged(i < 20 ? i >= 5 : i % 4 == 0);
+            alerts.add(alert);
+        }
+        alertRepository.saveAll(alerts);
+        alertIndexService.rebuild();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        for (Symbol symbol : symbols) {
+            alertRepository.deleteAll(alertRepository.findBySymbolOrderByTriggeredAtDesc(symbol));
+            symbolRepository.delete(symbol);
+        }
+    }
+
+    @Test
+    public void testIndexAnswersLikeTheDatabase() {
+        LocalDateTime recent = now.minusDays(2);
+        assertSameAsDatabase("IDXA", null, null, null, false, PageRequest.of(0, 100, NEWEST_FIRST));
+        assertSameAsDatabase("IDXB", "SPIKE_UP", recent, null, null, PageRequest.of(0, 100, NEWEST_FIRST));
+        assertSameAsDatabase(null, "VOLUME", recent, now.minusHours(10), true, PageRequest.of(0, 100, NEWEST_FIRST));
+        assertSameAsDatabase("IDXA", null, recent, null, null, PageRequest.of(1, 4, Sort.by("triggeredAt")));
+    }
+
+    @Test
+    public void testCountsAreBitmapIntersections() {
+        double hits = indexQueries("hit");
+        AlertCountsDTO counts = alertService.getAlertCounts(null, null, null, null, false);
+        assertEquals(hits + 1, indexQueries("hit"), "Unacknowledged counts come from the index");
+
+        List<Alert> unacknowledged = alertRepository.findAll(AlertSpecifications.filter(null, null, null, null, false));
+        assertEquals(unacknowledged.size(), counts.getTotal());
+        assertEquals(unacknowledged.stream().collect(Collectors.groupingBy(Alert::getAlertType, Collectors.counting())),
+                counts.getByType());
+        // Neconfirmate ale testului: 5 vechi (i < 5) + 30 recente (i % 4 != 0)
+        assertEquals(35, counts.getBySymbol().get("IDXA") + counts.getBySymbol().get("IDXB"));
+
+        AlertCountsDTO recentSpikes = alertService.getAlertCounts("IDXA", "SPIKE_UP", now.minusDays(7), null, null);
+        assertEquals(Map.of("IDXA", recentSpikes.getTotal()), recentSpikes.getBySymbol());
+        assertEquals(6, recentSpikes.getTotal(), "i in [20, 60) divisible by 6");
+    }
+
+    @Test
+    public void testWritesKeepTheIndexInSync() {
+        AlertDTO created = alertService.createAlert(new AlertDTO(null, "IDXA", "RULE", BigDecimal.TEN, now, "created", false));
+        assertEquals(created.getId(), alertService.getActiveAlerts().get(0).getId());
+        assertEquals(1L, counts().getByType().get("RULE"));
+
+        alertService.updateAlert(created.getId(), new AlertDTO(null, "IDXB", "RULE_V2", BigDecimal.TEN, now, "updated", false));
+        assertNull(counts().getByType().get("RULE"));
+        assertEquals(1L, counts().getByType().get("RULE_V2"));
+
+        alertService.acknowledgeAlert(created.getId());
+        assertTrue(alertService.getActiveAlerts().stream().noneMatch(alert -> alert.getId().equals(created.getId())));
+        assertEquals(1L, alertService.getAlertCounts(null, "RULE_V2", now.minusDays(1), null, true).getTotal());
+
+        alertService.deleteAlert(created.getId());
+        assertEquals(0L, alertService.getAlertCounts(null, "RULE_V2", now.minusDays(1), null, null).getTotal());
+    }
+
+    @Test
+    public void testBulkOperationsKeepTheIndexInSync() {
+        // IDXB = i impar: 2 vechi (1, 3) + 20 recente, niciunul divizibil cu 4
+        assertEquals(22, alertService.acknowledgeAlerts(
+                new AlertBulkRequest(null, "IDXB", null, null, null, false)).getAffected());
+        assertNull(alertService.getAlertCounts(null, null, null, null, false).getBySymbol().get("IDXB"));
+        assertSameAsDatabase("IDXB", null, now.minusDays(6), null, true, PageRequest.of(0, 100, NEWEST_FIRST));
+
+        List<Long> active = alertService.getActiveAlerts().stream()
+                .filter(alert -> "IDXA".equals(alert.getSymbolCode())).map(AlertDTO::getId).toList();
+        assertEquals(active.size(), alertService.deleteAlerts(new AlertBulkRequest(active, null, null, null, null, null)).getAffected());
+        assertTrue(alertService.getActiveAlerts().stream().noneMatch(alert -> "IDXA".equals(alert.getSymbolCode())));
+        assertSameAsDatabase("IDXA", null, now.minusDays(6), null, null, PageRequest.of(0, 100, NEWEST_FIRST));
+    }
+
+    @Test
+    public void testOlderRangesFallBackToDatabase() {
+        double misses = indexQueries("miss");
+        Page<AlertDTO> old = alertService.getAllAlerts("IDXA", null, now.minusDays(40), now.minusDays(20), true,
+                PageRequest.of(0, 100, NEWEST_FIRST));
+
+        assertEquals(misses + 1, indexQueries("miss"));
+        assertEquals(7, old.getTotalElements(), "Acknowledged alerts older than the window are only in the database");
+    }
+
+    private void assertSameAsDatabase(String symbolCode, String alertType, LocalDateTime startDate, LocalDateTime endDate,
+                                      Boolean acknowledged, Pageable pageable) {
+        double hits = indexQueries("hit");
+        Page<AlertDTO> fromIndex = alertService.getAllAlerts(symbolCode, alertType, startDate, endDate, acknowledged, pageable);
+        assertEquals(hits + 1, indexQueries("hit"), "Query should be served by the index");
+
+        Symbol symbol = symbolCode != null ? symbolRepository.findBySymbolCode(symbolCode).orElseThrow() : null;
+        Page<Alert> fromDatabase = alertRepository.findAll(
+                AlertSpecifications.filter(symbol, alertType, startDate, endDate, acknowledged), pageable);
+
+        assertEquals(fromDatabase.getTotalElements(), fromIndex.getTotalElements());
+        assertEquals(fromDatabase.getContent().stream().map(Alert::getId).toList(),
+                fromIndex.getContent().stream().map(AlertDTO::getId).toList());
+    }
+
+    private AlertCountsDTO counts() {
+        return alertService.getAlertCounts(null, null, now.minusDays(1), null, null);
+    }
+
+    private double indexQueries(String result) {
+        return meterRegistry.get("alerts.index.queries").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,140 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AlertRuleDTO;
+import unitbv.devops.repository.AlertRuleRepository;
+import unitbv.devops.util.FixedPoint;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AlertRuleEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 9, 30);
+    private static final int[] RULE_COUNTS = {1_000, 10_000, 100_000, 300_000};
+    private static final int TICKS = 200_000;
+
+    private AlertService alertService;
+    private WebSocketService webSocketService;
+    private AlertRuleEngine engine;
+    private long nextId;
+
+    @BeforeEach
+    public void setUp() {
+        alertService = mock(AlertService.class);
+        webSocketService = mock(WebSocketService.class);
+        engine = new AlertRuleEngine(mock(AlertRuleRepository.class), alertService, webSocketService,
+                mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testOnlyCrossedRulesFire() {
+        long above100 = add("PRICE_ABOVE", "100", null);
+        long above105 = add("PRICE_ABOVE", "105", null);
+        long below95 = add("PRICE_BELOW", "95", null);
+        long volume = add("VOLUME_ABOVE", "1000", null);
+        long move = add("PERCENT_MOVE", "5", 60);
+        add("PRICE_ABOVE", "200", null);
+
+        assertEquals(List.of(), fired("99", 10, 0), "The first tick only sets the reference price");
+        assertEquals(List.of(above100), fired("101", 10, 1));
+        assertEquals(List.of(), fired("103", 10, 2));
+        assertEquals(List.of(above105, move), fired("106", 10, 3), "99 -> 106 is a 7% move within 60s");
+        assertEquals(List.of(below95), fired("94", 10, 4));
+        assertEquals(List.of(volume), fired("96", 2000, 5));
+        assertEquals(List.of(), fired("96", 3000, 6), "Volume stays above, no new crossing");
+        assertEquals(List.of(above100), fired("101", 10, 120), "Rules re-arm once the price goes back");
+
+        engine.remove(above100);
+        assertEquals(List.of(), fired("99", 10, 121));
+        assertEquals(List.of(), fired("102", 10, 122));
+    }
+
+    @Test
+    public void testFiredRulesBecomeAlerts() {
+        add("PRICE_ABOVE", "100", null);
+        when(alertService.createAlert(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        engine.onTick("RULE", FixedPoint.of(new BigDecimal("99")), 0, START);
+        engine.onTick("RULE", FixedPoint.of(new BigDecimal("100.5")), 0, START.plusSeconds(1));
+        engine.onTick("OTHER", FixedPoint.of(new BigDecimal("150")), 0, START.plusSeconds(1));
+
+        verify(alertService, times(1)).createAlert(any(AlertDTO.class));
+        verify(webSocketService, times(1)).broadcastAlert(any(AlertDTO.class));
+    }
+
+    @Test
+    public void testTickThroughputDoesNotDependOnRuleCount() {
+        double[] ticksPerSecond = new double[RULE_COUNTS.length];
+        System.out.println("\n✅ Rule evaluation, " + TICKS + " ticks per run");
+        for (int run = 0; run < RULE_COUNTS.length; run++) {
+            setUp();
+            Random random = new Random(run);
+            for (int i = 0; i < RULE_COUNTS[run]; i++) {
+                // Praguri de preț 50..150, procente 0.5..20 pe 1 sau 5 minute, volume mult peste cele din tick-uri
+                switch (i % 4) {
+                    case 0 -> add("BENCH", "PRICE_ABOVE", price(random), null);
+                    case 1 -> add("BENCH", "PRICE_BELOW", price(random), null);
+                    case 2 -> add("BENCH", "PERCENT_MOVE", String.valueOf(0.5 + random.nextInt(1950) / 100.0), i % 8 == 2 ? 60 : 300);
+                    default -> add("BENCH", "VOLUME_ABOVE", String.valueOf(10_000 + random.nextInt(1_000_000)), null);
+                }
+            }
+
+            long[] prices = new long[TICKS];
+            long price = 100 * FixedPoint.ONE;
+            for (int i = 0; i < TICKS; i++) {
+                price += (random.nextInt(2001) - 1000) * 10L;
+                prices[i] = price;
+            }
+            // Încălzire pe aceleași reguli
+            for (int i = 0; i < TICKS; i++) {
+                engine.evaluate("BENCH", prices[i], 100, START.plusNanos(i * 10_000_000L));
+            }
+
+            long fired = 0;
+            long started = System.nanoTime();
+            for (int i = 0; i < TICKS; i++) {
+                fired += engine.evaluate("BENCH", prices[i], 100 + i % 500, START.plusSeconds(3600).plusNanos(i * 10_000_000L)).size();
+            }
+            long elapsed = System.nanoTime() - started;
+            ticksPerSecond[run] = TICKS * 1e9 / elapsed;
+            System.out.printf("   %,7d rules: %,10.0f ticks/s, %d rules fired%n", RULE_COUNTS[run], ticksPerSecond[run], fired);
+        }
+
+        double slowdown = ticksPerSecond[0] / ticksPerSecond[RULE_COUNTS.length - 1];
+        assertTrue(slowdown < 10, "300x more rules should not cost 300x per tick, got " + slowdown + "x slower");
+    }
+
+    private List<Long> fired(String price, long volume, int second) {
+        return engine.evaluate("RULE", FixedPoint.of(new BigDecimal(price)), volume, START.plusSeconds(second)).stream()
+                .map(hit -> hit.rule.id)
+                .toList();
+    }
+
+    private long add(String type, String threshold, Integer windowSeconds) {
+        return add("RULE", type, threshold, windowSeconds);
+    }
+
+    private long add(String symbolCode, String type, String threshold, Integer windowSeconds) {
+        long id = ++nextId;
+        engine.add(new AlertRuleDTO(id, symbolCode, type, new BigDecimal(threshold), windowSeconds, true, START));
+        return id;
+    }
+
+    private static String price(Random random) {
+        return String.valueOf(50 + random.nextInt(10_000) / 100.0);
+    }
+}
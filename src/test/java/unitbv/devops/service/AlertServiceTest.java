@@ -0,0 +1,173 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.dto.AlertBulkRequest;
+import unitbv.devops.dto.AlertBulkResultDTO;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.entity.Alert;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.AlertRepository;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AlertServiceTest extends DatabaseTestBase {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 1, 12, 0);
+    private static final int BENCHMARK_ALERTS = 10_000;
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "triggeredAt");
+
+    @Autowired
+    private AlertService alertService;
+
+    @Autowired
+    private AlertRepository alertRepository;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Symbol symbol;
+    private final List<Alert> alerts = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        symbol = symbolRepository.save(new Symbol("ALRX", "Alert Filter Symbol", "ALERT_TEST"));
+        // 30 de alerte, una pe oră: tipurile alternează, primele 10 sunt confirmate
+        for (int i = 0; i < 30; i++) {
+            Alert alert = new Alert(symbol, i % 2 == 0 ? "SPIKE_UP" : "SPIKE_DOWN", BigDecimal.valueOf(5),
+                    START.plusHours(i), "Alert " + i);
+            alert.setAcknowledged(i < 10);
+            alerts.add(alert);
+        }
+        alertRepository.saveAll(alerts);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM alerts WHERE symbol_id = ?", symbol.getId());
+        symbolRepository.delete(symbol);
+    }
+
+    @Test
+    public void testAllFiltersCombineInOneQuery() {
+        Page<AlertDTO> page = alertService.getAllAlerts("ALRX", "SPIKE_UP", START.plusHours(4), START.plusHours(20), false,
+                PageRequest.of(0, 100, NEWEST_FIRST));
+
+        // SPIKE_UP = ore pare; neconfirmate = ora >= 10; interval inclusiv [4, 20]
+        assertEquals(List.of("Alert 20", "Alert 18", "Alert 16", "Alert 14", "Alert 12", "Alert 10"),
+                page.getContent().stream().map(AlertDTO::getDetails).toList());
+        assertTrue(page.getContent().stream().allMatch(alert -> "ALRX".equals(alert.getSymbolCode())));
+    }
+
+    @Test
+    public void testOpenEndedDateRangeAndAcknowledgedFilter() {
+        assertEquals(5, alertService.getAllAlerts("ALRX", null, START.plusHours(25), null, null,
+                PageRequest.of(0, 100)).getTotalElements());
+        assertEquals(3, alertService.getAllAlerts("ALRX", null, null, START.plusHours(2), null,
+                PageRequest.of(0, 100)).getTotalElements());
+        assertEquals(10, alertService.getAllAlerts("ALRX", null, null, null, true,
+                PageRequest.of(0, 100)).getTotalElements());
+    }
+
+    @Test
+    public void testPaginationAndSorting() {
+        Page<AlertDTO> second = alertService.getAllAlerts("ALRX", null, null, null, null, PageRequest.of(1, 7, NEWEST_FIRST));
+        assertEquals(30, second.getTotalElements());
+        assertEquals(5, second.getTotalPages());
+        assertEquals("Alert 22", second.getContent().get(0).getDetails());
+
+        Page<AlertDTO> oldest = alertService.getAllAlerts("ALRX", null, null, null, null,
+                PageRequest.of(0, 1, Sort.by("triggeredAt")));
+        assertEquals("Alert 0", oldest.getContent().get(0).getDetails());
+
+        assertThrows(IllegalArgumentException.class, () -> alertService.getAllAlerts(null, null, null, null, null,
+                PageRequest.of(0, 10, Sort.by("details"))));
+        assertTrue(alertService.getAllAlerts("NOPE", null, null, null, null, PageRequest.of(0, 10)).isEmpty());
+    }
+
+    @Test
+    public void testBulkAcknowledgeAndDelete() {
+        AlertBulkResultDTO spikes = alertService.acknowledgeAlerts(
+                new AlertBulkRequest(null, "ALRX", "SPIKE_UP", null, null, null));
+        assertEquals(AlertBulkResultDTO.ACKNOWLEDGED, spikes.getAction());
+        assertEquals(10, spikes.getAffected(), "Only unacknowledged SPIKE_UP alerts (hours 10..28) are updated");
+        assertEquals(0, alertService.getAllAlerts("ALRX", "SPIKE_UP", null, null, false, PageRequest.of(0, 10)).getTotalElements());
+
+        List<Long> ids = List.of(alerts.get(11).getId(), alerts.get(13).getId(), alerts.get(0).getId());
+        assertEquals(2, alertService.acknowledgeAlerts(new AlertBulkRequest(ids, null, null, null, null, null)).getAffected());
+
+        AlertBulkResultDTO deleted = alertService.deleteAlerts(
+                new AlertBulkRequest(ids, null, null, START.plusHours(5), null, null));
+        assertEquals(2, deleted.getAffected(), "Ids and filters are combined");
+        assertEquals(28, alertService.getAllAlerts("ALRX", null, null, null, null, PageRequest.of(0, 10)).getTotalElements());
+
+        assertThrows(IllegalArgumentException.class, () -> alertService.deleteAlerts(new AlertBulkRequest()));
+        assertEquals(0, alertService.deleteAlerts(new AlertBulkRequest(null, "NOPE", null, null, null, null)).getAffected());
+    }
+
+    @Test
+    public void testBulkAcknowledgeBenchmark() {
+        insertAlerts("BENCH_SINGLE", BENCHMARK_ALERTS);
+        insertAlerts("BENCH_BULK", BENCHMARK_ALERTS);
+        List<Long> singleIds = jdbcTemplate.queryForList(
+                "SELECT id FROM alerts WHERE symbol_id = ? AND alert_type = 'BENCH_SINGLE'", Long.class, symbol.getId());
+
+        long start = System.nanoTime();
+        for (Long id : singleIds) {
+            alertService.acknowledgeAlert(id);
+        }
+        long oneByOne = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        AlertBulkResultDTO result = alertService.acknowledgeAlerts(
+                new AlertBulkRequest(null, "ALRX", "BENCH_BULK", null, null, false));
+        long bulk = System.nanoTime() - start;
+
+        System.out.println("\n✅ Acknowledging " + BENCHMARK_ALERTS + " alerts");
+        System.out.println("   One by one: " + oneByOne / 1_000_000 + " ms");
+        System.out.println("   Bulk:       " + bulk / 1_000_000 + " ms");
+
+        assertEquals(BENCHMARK_ALERTS, result.getAffected());
+        assertEquals(20, alertService.getAllAlerts("ALRX", null, null, null, false, PageRequest.of(0, 1)).getTotalElements(),
+                "Only the 20 unacknowledged alerts from setUp remain");
+        assertTrue(bulk * 10 < oneByOne, "Expected bulk to be at least 10x faster, got " + bulk + " vs " + oneByOne + " ns");
+    }
+
+    private void insertAlerts(String alertType, int count) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Timestamp triggeredAt = Timestamp.valueOf(START.plusSeconds(i));
+            rows.add(new Object[]{symbol.getId(), alertType, BigDecimal.ONE, triggeredAt, "bench", false, 1, triggeredAt, now});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO alerts (symbol_id, alert_type, threshold, triggered_at, details, acknowledged, "
+                + "occurrence_count, last_seen_at, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    public void testCompositeIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT INDEX_NAME FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'ALERTS'", String.class);
+
+        assertTrue(indexes.contains("IDX_ALERTS_SYMBOL_TYPE_TRIGGERED"), indexes.toString());
+        assertTrue(indexes.contains("IDX_ALERTS_SYMBOL_TRIGGERED"), indexes.toString());
+        assertTrue(indexes.contains("IDX_ALERTS_TYPE_TRIGGERED"), indexes.toString());
+    }
+}
@@ -0,0 +1,149 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Baza proprie: simbolul rămâne între teste, ca id-ul lui să corespundă celui din cache-ul serviciului
+ */
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:analysisresultservicetest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE")
+public class AnalysisResultServiceTest extends DatabaseTestBase {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 4, 1, 10, 0);
+    private static final int RESULTS = 1_200;
+
+    @Autowired
+    private AnalysisResultService analysisResultService;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Symbol symbol;
+
+    @BeforeEach
+    public void setUp() {
+        symbol = symbolRepository.findBySymbolCode("ANLX")
+                .orElseGet(() -> symbolRepository.save(new Symbol("ANLX", "Analysis Symbol", "ANALYSIS_TEST")));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM analysis_results WHERE symbol_id = ?", symbol.getId());
+    }
+
+    @Test
+    public void testLatestResultIsCachedAndHistoryIsPersisted() {
+        for (int i = 0; i < RESULTS; i++) {
+            analysisResultService.record(result(i % 2 == 0 ? 5 : 15, i));
+        }
+        // Un rezultat întârziat nu înlocuiește ultimul
+        analysisResultService.record(result(5, 0));
+
+        List<AnalysisResultDTO> latest = analysisResultService.getLatest("ANLX");
+        assertEquals(List.of(5, 15), latest.stream().map(AnalysisResultDTO::getWindowSize).toList());
+        assertEquals(START.plusSeconds(RESULTS - 2), latest.get(0).getTimestamp());
+        assertEquals(START.plusSeconds(RESULTS - 1), analysisResultService.getLatest("ANLX", 15).orElseThrow().getTimestamp());
+        assertTrue(analysisResultService.getLatest("ANLX", 60).isEmpty());
+
+        analysisResultService.flush();
+        assertEquals(RESULTS + 1, rows());
+
+        List<AnalysisResultDTO> history = analysisResultService.getHistory("ANLX", 15, START.plusSeconds(100), null, 10);
+        assertEquals(10, history.size());
+        assertEquals(START.plusSeconds(RESULTS - 1), history.get(0).getTimestamp());
+        assertEquals(FixedPoint.ONE * (RESULTS - 1), history.get(0).getSma());
+        assertEquals(301, analysisResultService.getHistory("ANLX", 5, START, START.plusSeconds(599), 1000).size(),
+                "300 results plus the late one, which is still kept in the history");
+    }
+
+    @Test
+    public void testRecreatedSymbolGetsResultsUnderItsNewId() {
+        Symbol old = symbolRepository.save(new Symbol("RCRX", "Recreated Symbol", "ANALYSIS_TEST"));
+        analysisResultService.recordAll(List.of(recreated(0)));
+
+        // Ștergere direct prin repository, fără evict: cache-ul are încă id-ul vechi
+        jdbcTemplate.update("DELETE FROM analysis_results WHERE symbol_id = ?", old.getId());
+        symbolRepository.delete(old);
+        Symbol recreated = symbolRepository.save(new Symbol("RCRX", "Recreated Symbol", "ANALYSIS_TEST"));
+        analysisResultService.recordAll(List.of(recreated(1)));
+        analysisResultService.record(recreated(2));
+        analysisResultService.flush();
+
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM analysis_results WHERE symbol_id = ?", Integer.class, recreated.getId()));
+        jdbcTemplate.update("DELETE FROM analysis_results WHERE symbol_id = ?", recreated.getId());
+        symbolRepository.delete(recreated);
+    }
+
+    private static AnalysisResultDTO recreated(int second) {
+        return new AnalysisResultDTO("RCRX", FixedPoint.ONE, FixedPoint.ONE, FixedPoint.ONE, 1L, START.plusSeconds(second), 5);
+    }
+
+    @Test
+    public void testInvalidResultsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> analysisResultService.record(
+                new AnalysisResultDTO("NOPE", FixedPoint.ONE, FixedPoint.ONE, FixedPoint.ONE, 1L, START, 5)));
+        assertThrows(IllegalArgumentException.class, () -> analysisResultService.record(
+                new AnalysisResultDTO("ANLX", FixedPoint.ONE, FixedPoint.ONE, FixedPoint.ONE, 1L, START, null)));
+        assertTrue(analysisResultService.getHistory("NOPE", 5, null, null, 10).isEmpty());
+    }
+
+    @Test
+    public void testBatchIsPersistedInOneTransaction() {
+        analysisResultService.recordAll(List.of(result(5, 0), result(15, 0), result(5, 1)));
+        assertEquals(3, rows(), "A batch is written immediately, not on the next flush");
+        assertEquals(START.plusSeconds(1), analysisResultService.getLatest("ANLX", 5).orElseThrow().getTimestamp());
+
+        assertThrows(IllegalArgumentException.class, () -> analysisResultService.recordAll(List.of(
+                result(5, 2),
+                new AnalysisResultDTO("NOPE", FixedPoint.ONE, FixedPoint.ONE, FixedPoint.ONE, 1L, START, 5))));
+        assertEquals(3, rows());
+        assertEquals(START.plusSeconds(1), analysisResultService.getLatest("ANLX", 5).orElseThrow().getTimestamp(),
+                "A rejected batch is not published either");
+    }
+
+    @Test
+    public void testBatchViolatingAConstraintIsRejectedAsInvalid() {
+        // 92233720368.54775807 nu încape în DECIMAL(18, 8)
+        AnalysisResultDTO overflow = new AnalysisResultDTO("ANLX", FixedPoint.ONE, Long.MAX_VALUE, FixedPoint.ONE, 1L, START, 5);
+        assertThrows(IllegalArgumentException.class, () -> analysisResultService.recordAll(List.of(result(5, 0), overflow)));
+        assertEquals(0, rows());
+    }
+
+    @Test
+    public void testEvictedSymbolLosesItsLatestResults() {
+        analysisResultService.recordAll(List.of(result(5, 0), result(15, 0)));
+        assertEquals(2, analysisResultService.getLatest("ANLX").size());
+
+        analysisResultService.evictSymbol("ANLX");
+        assertTrue(analysisResultService.getLatest("ANLX").isEmpty(), "A deleted or renamed symbol is not served from the cache");
+        assertTrue(analysisResultService.getLatest("ANLX", 5).isEmpty());
+    }
+
+    private long rows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM analysis_results WHERE symbol_id = ?", Long.class, symbol.getId());
+    }
+
+    private static AnalysisResultDTO result(int windowSize, int second) {
+        return new AnalysisResultDTO("ANLX", FixedPoint.ONE * (second + 2), FixedPoint.ONE * second,
+                FixedPoint.ONE * second + 1, 100L, START.plusSeconds(second), windowSize);
+    }
+}
@@ -0,0 +1,142 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import unitbv.devops.configuration.IndicatorProperties;
+import unitbv.devops.dto.IndicatorSnapshotDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class IndicatorEngineTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 2, 23, 0);
+    private static final int TICKS = 5_000;
+
+    private IndicatorProperties properties;
+    private WebSocketService webSocketService;
+    private IndicatorEngine engine;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new IndicatorProperties();
+        properties.setEnabled(true);
+        properties.setPublishInterval(Duration.ZERO);
+        webSocketService = mock(WebSocketService.class);
+        engine = new IndicatorEngine(webSocketService, properties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    public void testIncrementalIndicatorsMatchFullRecomputation() {
+        Random random = new Random(11);
+        List<Long> prices = new ArrayList<>();
+        List<Long> volumes = new ArrayList<>();
+        long price = 42_000 * FixedPoint.ONE;
+        for (int i = 0; i < TICKS; i++) {
+            price += (random.nextInt(2001) - 1000) * 100_000L;
+            long volume = random.nextInt(500);
+            prices.add(price);
+            volumes.add(volume);
+            // Un tick pe secundă: ziua se schimbă după o oră, VWAP se resetează
+            engine.onTick("IND", price, volume, START.plusSeconds(i));
+        }
+
+        IndicatorSnapshotDTO snapshot = engine.getSnapshot("IND").orElseThrow();
+        assertEquals(TICKS, snapshot.getTicks());
+        assertEquals(price, snapshot.getPrice());
+
+        int period = properties.getPeriod();
+        List<Long> last = prices.subList(TICKS - period, TICKS);
+        double mean = last.stream().mapToLong(Long::longValue).average().orElseThrow();
+        double deviation = Math.sqrt(last.stream().mapToDouble(p -> (p - mean) * (p - mean)).sum() / period);
+        assertClose(mean, snapshot.getSma(), "SMA");
+        assertClose(mean + 2 * deviation, snapshot.getBollingerUpper(), "Bollinger upper");
+        assertClose(mean - 2 * deviation, snapshot.getBollingerLower(), "Bollinger lower");
+
+        double ema = prices.subList(0, period).stream().mapToLong(Long::longValue).average().orElseThrow();
+        for (int i = period; i < TICKS; i++) {
+            ema += 2.0 / (period + 1) * (prices.get(i) - ema);
+        }
+        assertClose(ema, snapshot.getEma(), "EMA");
+
+        // Sesiunea VWAP începe la miezul nopții (tick-ul 3600)
+        double priceVolume = 0;
+        double volume = 0;
+        for (int i = 3600; i < TICKS; i++) {
+            priceVolume += (double) prices.get(i) * volumes.get(i);
+            volume += volumes.get(i);
+        }
+        assertClose(priceVolume / volume, snapshot.getVwap(), "VWAP");
+
+        int wilder = properties.getWilderPeriod();
+        double gain = 0;
+        double loss = 0;
+        double range = 0;
+        for (int i = 1; i < TICKS; i++) {
+            long change = prices.get(i) - prices.get(i - 1);
+            if (i <= wilder) {
+                gain += Math.max(change, 0) / (double) wilder;
+                loss += Math.max(-change, 0) / (double) wilder;
+                range += Math.abs(change) / (double) wilder;
+            } else {
+                gain = (gain * (wilder - 1) + Math.max(change, 0)) / wilder;
+                loss = (loss * (wilder - 1) + Math.max(-change, 0)) / wilder;
+                range = (range * (wilder - 1) + Math.abs(change)) / wilder;
+            }
+        }
+        assertClose((100 - 100 / (1 + gain / loss)) * FixedPoint.ONE, snapshot.getRsi(), "RSI");
+        assertClose(range, snapshot.getAtr(), "ATR");
+    }
+
+    @Test
+    public void testIndicatorsAppearOnceTheyHaveEnoughTicks() {
+        engine.onTick("WARM", 100 * FixedPoint.ONE, 10, START);
+        IndicatorSnapshotDTO first = engine.getSnapshot("WARM").orElseThrow();
+        assertEquals(100 * FixedPoint.ONE, first.getVwap());
+        assertNull(first.getSma());
+        assertNull(first.getRsi());
+
+        for (int i = 1; i < properties.getPeriod(); i++) {
+            engine.onTick("WARM", (100 + i) * FixedPoint.ONE, 10, START.plusSeconds(i));
+        }
+        IndicatorSnapshotDTO warm = engine.getSnapshot("WARM").orElseThrow();
+        assertEquals(FixedPoint.of(new BigDecimal("109.5")), warm.getSma());
+        assertEquals(warm.getSma(), warm.getEma());
+        assertEquals(100 * FixedPoint.ONE, warm.getRsi(), "Only gains so far");
+        assertEquals(FixedPoint.ONE, warm.getAtr());
+
+        assertTrue(engine.getSnapshot("NONE").isEmpty());
+        assertEquals(List.of("WARM"), engine.getSnapshots().stream().map(IndicatorSnapshotDTO::getSymbolCode).toList());
+    }
+
+    @Test
+    public void testSnapshotsArePublishedAtMostOncePerInterval() {
+        properties.setPublishInterval(Duration.ofHours(1));
+        for (int i = 0; i < 100; i++) {
+            engine.onTick("PUB", (100 + i) * FixedPoint.ONE, 1, START.plusSeconds(i));
+        }
+        verify(webSocketService, times(1)).broadcastIndicators(any());
+
+        properties.setEnabled(false);
+        engine.onTick("OFF", FixedPoint.ONE, 1, START);
+        assertTrue(engine.getSnapshot("OFF").isEmpty());
+    }
+
+    private static void assertClose(double expected, Long actual, String indicator) {
+        assertNotNull(actual, indicator);
+        // Cel mult o unitate din a 6-a zecimală, pe prețuri de ordinul 10^4
+        assertEquals(expected, actual, 100, indicator);
+    }
+}
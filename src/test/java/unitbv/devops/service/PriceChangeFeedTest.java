@@ -0,0 +1,180 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import unitbv.devops.configuration.PriceStreamProperties;
+import unitbv.devops.dto.PriceChangeDTO;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceChangeFeedTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 5, 4, 9, 30);
+
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private PriceChangeFeed feed;
+
+    @BeforeEach
+    public void setUp() {
+        PriceStreamProperties properties = new PriceStreamProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(1_000);
+        properties.setSendTimeout(Duration.ofMillis(300));
+        feed = new PriceChangeFeed(properties, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gate.countDown();
+        feed.stop();
+    }
+
+    @Test
+    public void testConsumerResumesFromItsLastSequence() {
+        for (int i = 0; i < 10; i++) {
+            feed.publish(tick(i));
+        }
+        assertEquals(10, feed.getLastSequence());
+
+        List<PriceChangeDTO> first = feed.read(1, 4);
+        assertEquals(List.of(1L, 2L, 3L, 4L), first.stream().map(PriceChangeDTO::getSequence).toList());
+        assertEquals(FixedPoint.ONE * 100, first.get(0).getPrice());
+
+        // Reconectare cu Last-Event-ID = 4
+        List<PriceChangeDTO> rest = feed.read(5, 100);
+        assertEquals(6, rest.size());
+        assertEquals(10, rest.get(5).getSequence());
+        assertTrue(feed.read(11, 100).isEmpty(), "Caught up, nothing new yet");
+    }
+
+    @Test
+    public void testOverwrittenOrUnknownSequencesNeedReset() {
+        // Capacitatea e rotunjită la 1024
+        for (int i = 0; i < 3_000; i++) {
+            feed.publish(tick(i));
+        }
+        assertEquals(3_000 - 1_024 + 1, feed.getOldestSequence());
+        assertNull(feed.read(1, 100), "Sequence 1 was overwritten");
+        assertNull(feed.read(5_000, 100), "Sequence from before a gateway restart");
+        assertEquals(1_024, feed.read(feed.getOldestSequence(), 5_000).size());
+    }
+
+    @Test
+    public void testConcurrentPublishersKeepSequencesContiguous() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 200; i++) {
+                    feed.publish(tick(i));
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        List<PriceChangeDTO> changes = feed.read(1, 1_000);
+        assertEquals(800, changes.size());
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(i + 1, changes.get(i).getSequence());
+        }
+    }
+
+    @Test
+    public void testEventIdsCarryTheProcessEpoch() {
+        assertEquals(4L, feed.sequenceOf(feed.eventId(4)));
+        assertNull(feed.sequenceOf("kq1x2:4"), "Id from another gateway process");
+        assertNull(feed.sequenceOf("4"), "Id without epoch");
+    }
+
+    @Test
+    public void testSubscriberFromAnotherEpochIsResetToTheOldestSequence() throws Exception {
+        feed.start();
+        for (int i = 0; i < 3; i++) {
+            feed.publish(tick(i));
+        }
+        // După o repornire sequence-urile reiau de la 1: "2" din epoca veche nu înseamnă nimic aici
+        RecordingEmitter subscriber = new RecordingEmitter(null);
+        feed.subscribe(subscriber, "kq1x2:2");
+
+        subscriber.awaitEvents(2);
+        assertTrue(subscriber.events.get(0).startsWith("event:reset\nid:" + feed.eventId(0) + "\n"), subscriber.events.get(0));
+        assertTrue(subscriber.events.get(1).startsWith("event:prices\nid:" + feed.eventId(3) + "\n"), subscriber.events.get(1));
+    }
+
+    @Test
+    public void testStalledSubscriberDoesNotDelayOthersAndIsEvicted() throws Exception {
+        feed.start();
+        RecordingEmitter stalled = new RecordingEmitter(gate);
+        RecordingEmitter healthy = new RecordingEmitter(null);
+        feed.subscribe(stalled, null);
+        feed.subscribe(healthy, null);
+
+        for (int i = 0; i < 5; i++) {
+            feed.publish(tick(i));
+            healthy.awaitEvents(i + 1);
+        }
+        assertEquals(2, feed.getSubscriberCount(), "The stalled write is still within send-timeout");
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (feed.getSubscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(1, feed.getSubscriberCount(), "Blocked past send-timeout");
+        feed.publish(tick(5));
+        healthy.awaitEvents(6);
+    }
+
+    private static PriceDTO tick(int i) {
+        return new PriceDTO((long) i, "FEED", FixedPoint.ONE * (100 + i % 10), 5L, START.plusSeconds(i));
+    }
+
+    /**
+     * Reține textul evenimentelor trimise; cu o poartă, fiecare send rămâne blocat până la deschiderea ei
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        final List<String> events = Collections.synchronizedList(new ArrayList<>());
+        private final CountDownLatch gate;
+
+        RecordingEmitter(CountDownLatch gate) {
+            super(0L);
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder event = new StringBuilder();
+            builder.build().forEach(part -> event.append(part.getData()));
+            events.add(event.toString());
+        }
+
+        void awaitEvents(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (events.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertEquals(count, events.size(), events.toString());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package unitbv.devops.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import unitbv.devops.configuration.PriceConflationProperties;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class PriceConflatorTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 8, 3, 9, 0);
+    private static final String[] SYMBOLS = {"BTC", "ETH", "SOL"};
+    private static final int TICKS = 9_000;
+    private static final int FLUSHES = 10;
+    private static final int DASHBOARD_SYMBOLS = 500;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private PriceConflationProperties properties;
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketBroadcaster broadcaster;
+    private PriceConflator conflator;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new PriceConflationProperties();
+        properties.setEnabled(true);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        broadcaster = new WebSocketBroadcaster(messagingTemplate, objectMapper, meterRegistry);
+        conflator = new PriceConflator(broadcaster, properties, meterRegistry);
+    }
+
+    @Test
+    public void testOnlyLatestPricePerSymbolIsFlushed() {
+        properties.setLossless(false);
+        for (int i = 0; i < TICKS; i++) {
+            conflator.publish(tick(i));
+        }
+
+        conflator.flushSymbols();
+        conflator.flushAll();
+
+        for (int s = 0; s < SYMBOLS.length; s++) {
+            ArgumentCaptor<Message<?>> sent = messages();
+            verify(messagingTemplate).send(eq("/topic/prices/" + SYMBOLS[s]), sent.capture());
+            assertArrayEquals(broadcaster.encode(tick(TICKS - SYMBOLS.length + s)).bytes(),
+                    (byte[]) sent.getValue().getPayload());
+        }
+        verify(messagingTemplate, times(SYMBOLS.length)).send(eq("/topic/prices"), any(Message.class));
+
+        // Fără tick-uri noi, flush-ul următor nu trimite nimic
+        conflator.flushSymbols();
+        conflator.flushAll();
+        verify(messagingTemplate, times(SYMBOLS.length * 2)).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    public void testPendingPriceIsEncodedOnceForBothTopics() {
+        properties.setLossless(false);
+        conflator.publish(tick(0));
+
+        conflator.flushSymbols();
+        conflator.flushAll();
+
+        ArgumentCaptor<Message<?>> sent = messages();
+        verify(messagingTemplate, times(2)).send(anyString(), sent.capture());
+        assertSame(sent.getAllValues().get(0).getPayload(), sent.getAllValues().get(1).getPayload());
+    }
+
+    @Test
+    public void testOutboundRateIsBoundedByFlushes() {
+        long started = System.nanoTime();
+        for (int flush = 0; flush < FLUSHES; flush++) {
+            for (int i = 0; i < TICKS / FLUSHES; i++) {
+                conflator.publish(tick(i));
+            }
+            conflator.flushSymbols();
+            conflator.flushAll();
+        }
+        System.out.printf("%n✅ %,d ticks conflated into %d display messages in %d ms%n",
+                TICKS, FLUSHES * SYMBOLS.length * 2, (System.nanoTime() - started) / 1_000_000);
+
+        ArgumentCaptor<String> destinations = ArgumentCaptor.forClass(String.class);
+        verify(messagingTemplate, times(FLUSHES * SYMBOLS.length * 2 + TICKS * 2))
+                .send(destinations.capture(), any(Message.class));
+        List<String> display = destinations.getAllValues().stream()
+                .filter(destination -> destination.startsWith("/topic/prices"))
+                .toList();
+        assertEquals(FLUSHES * SYMBOLS.length * 2, display.size());
+    }
+
+    @Test
+    public void testBatchFrameCarriesLatestPriceOfEveryChangedSymbol() throws Exception {
+        properties.setLossless(false);
+        int ticks = DASHBOARD_SYMBOLS * 4;
+        for (int i = 0; i < ticks; i++) {
+            conflator.publish(new PriceDTO((long) i, "S" + i % DASHBOARD_SYMBOLS, FixedPoint.ONE * i, 1L, START));
+        }
+
+        conflator.flushBatch();
+        conflator.flushBatch();
+
+        ArgumentCaptor<Message<?>> sent = messages();
+        verify(messagingTemplate, times(1)).send(eq(PriceConflator.BATCH_TOPIC), sent.capture());
+        JsonNode batch = objectMapper.readTree((byte[]) sent.getValue().getPayload());
+        assertEquals(1, batch.get("sequence").asLong());
+        assertEquals(DASHBOARD_SYMBOLS, batch.get("updates").size());
+        for (JsonNode update : batch.get("updates")) {
+            assertTrue(update.get("id").asLong() >= ticks - DASHBOARD_SYMBOLS, "Only the latest tick of each symbol");
+        }
+        System.out.printf("%n✅ %,d ticks for %d symbols delivered in 1 batch frame instead of %,d frames%n",
+                ticks, DASHBOARD_SYMBOLS, ticks);
+
+        conflator.publish(tick(0));
+        conflator.flushBatch();
+        verify(messagingTemplate, times(2)).send(eq(PriceConflator.BATCH_TOPIC), sent.capture());
+        assertEquals(2, objectMapper.readTree((byte[]) sent.getValue().getPayload()).get("sequence").asLong());
+    }
+
+    @Test
+    public void testBatchFramesAreSentWithConflationDisabled() throws Exception {
+        properties.setEnabled(false);
+        for (int i = 0; i < SYMBOLS.length * 2; i++) {
+            conflator.batch(tick(i));
+        }
+
+        conflator.flushSymbols();
+        conflator.flushAll();
+        conflator.flushBatch();
+
+        ArgumentCaptor<Message<?>> sent = messages();
+        verify(messagingTemplate).send(eq(PriceConflator.BATCH_TOPIC), sent.capture());
+        assertEquals(SYMBOLS.length, objectMapper.readTree((byte[]) sent.getValue().getPayload()).get("updates").size());
+        verify(messagingTemplate, times(1)).send(anyString(), any(Message.class));
+    }
+
+    @Test
+    public void testLosslessTopicGetsEveryTick() {
+        for (int i = 0; i < TICKS; i++) {
+            conflator.publish(tick(i));
+        }
+
+        verify(messagingTemplate, times(TICKS)).send(eq(PriceConflator.LOSSLESS_TOPIC), any(Message.class));
+        verify(messagingTemplate, times(TICKS / SYMBOLS.length)).send(eq("/topic/ticks/BTC"), any(Message.class));
+        verify(messagingTemplate, never()).send(startsWith("/topic/prices"), any(Message.class));
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static ArgumentCaptor<Message<?>> messages() {
+        return (ArgumentCaptor) ArgumentCaptor.forClass(Message.class);
+    }
+
+    private static PriceDTO tick(int i) {
+        return new PriceDTO((long) i, SYMBOLS[i % SYMBOLS.length], FixedPoint.ONE * (100 + i), 1L, START.plusNanos(i * 1_000L));
+    }
+}
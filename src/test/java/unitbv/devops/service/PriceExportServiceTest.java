@@ -0,0 +1,176 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceExportServiceTest extends DatabaseTestBase {
+
+    private static final LocalDateTime START = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    @Autowired
+    private PriceExportService priceExportService;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Symbol symbol;
+
+    @BeforeEach
+    public void setUp() {
+        symbol = symbolRepository.save(new Symbol("EXPX", "Export Test Symbol", "EXPORT_TEST"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        jdbcTemplate.update("DELETE FROM prices WHERE symbol_id = ?", symbol.getId());
+        symbolRepository.delete(symbol);
+    }
+
+    @Test
+    public void testCsvAndNdjsonFormats() throws Exception {
+        insertTicks(3);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(3, priceExportService.export(symbol, null, null, PriceExportService.Format.CSV, csv));
+        String[] lines = csv.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals("id,symbolCode,timestamp,price,volume", lines[0]);
+        assertTrue(lines[1].endsWith(",EXPX,2026-03-01T00:00,100.5,10"), lines[1]);
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        priceExportService.export(symbol, START.plusSeconds(1), START.plusSeconds(2), PriceExportService.Format.NDJSON, ndjson);
+        String line = ndjson.toString(StandardCharsets.UTF_8);
+        assertTrue(line.matches("\\{\"id\":\\d+,\"symbolCode\":\"EXPX\",\"timestamp\":\"2026-03-01T00:00:01\",\"price\":100.50000001,\"volume\":11}\n"),
+                "End of range is exclusive: " + line);
+    }
+
+    @Test
+    public void testSymbolCodeIsEscaped() throws Exception {
+        Symbol quoted = symbolRepository.save(new Symbol("E\"X,\\", "Quoted Symbol", "EXPORT_TEST"));
+        try {
+            jdbcTemplate.update("INSERT INTO prices (symbol_id, price, volume, timestamp, created_at) VALUES (?, ?, ?, ?, ?)",
+                    quoted.getId(), new BigDecimal("1.5"), 1L, Timestamp.valueOf(START), Timestamp.valueOf(START));
+
+            ByteArrayOutputStream csv = new ByteArrayOutputStream();
+            priceExportService.export(quoted, null, null, PriceExportService.Format.CSV, csv);
+            assertTrue(csv.toString(StandardCharsets.UTF_8).split("\n")[1].endsWith(",\"E\"\"X,\\\",2026-03-01T00:00,1.5,1"));
+
+            ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+            priceExportService.export(quoted, null, null, PriceExportService.Format.NDJSON, ndjson);
+            assertTrue(ndjson.toString(StandardCharsets.UTF_8).contains("\"symbolCode\":\"E\\\"X,\\\\\","));
+
+            assertEquals("E_X__-prices.ndjson", PriceExportService.fileName(quoted.getSymbolCode(), PriceExportService.Format.NDJSON));
+        } finally {
+            jdbcTemplate.update("DELETE FROM prices WHERE symbol_id = ?", quoted.getId());
+            symbolRepository.delete(quoted);
+        }
+    }
+
+    @Test
+    public void testExportKeepsHeapFlat() throws Exception {
+        assertExportKeepsHeapFlat(100_000);
+    }
+
+    /**
+     * Varianta de un milion de rânduri durează minute pe H2; rulează doar cu -Pslow-tests
+     */
+    @Test
+    @Tag("slow")
+    public void testExportOfAMillionRowsKeepsHeapFlat() throws Exception {
+        assertExportKeepsHeapFlat(1_000_000);
+    }
+
+    private void assertExportKeepsHeapFlat(int rows) throws Exception {
+        insertTicks(rows);
+
+        long baseline = usedHeapAfterGc();
+        HeapSamplingOutputStream output = new HeapSamplingOutputStream(rows / 5);
+        long exported = priceExportService.export(symbol, null, null, PriceExportService.Format.NDJSON, output);
+
+        long peakGrowth = output.samples.stream().mapToLong(sample -> sample - baseline).max().orElse(0);
+        long drift = output.samples.get(output.samples.size() - 1) - output.samples.get(0);
+        System.out.println("\n✅ Exported " + exported + " rows (" + output.bytes / (1024 * 1024) + " MB), retained heap growth "
+                + peakGrowth / (1024 * 1024) + " MB, drift " + drift / (1024 * 1024) + " MB between first and last sample");
+
+        assertEquals(rows, exported);
+        assertEquals(rows, output.lines);
+        // H2 materializează rezultatul sortat o singură dată (PostgreSQL folosește cursorul); exportul în sine nu crește
+        // Doar creșterea contează: în suita completă GC-ul poate elibera între eșantioane memoria altor teste
+        assertTrue(drift < 16L * 1024 * 1024, "Heap kept growing while exporting: " + drift + " bytes");
+        // O listă de 1M PriceDTO ar reține încă peste 150 MB
+        assertTrue(peakGrowth < 128L * 1024 * 1024, "Retained heap grew by " + peakGrowth + " bytes during export");
+    }
+
+    private void insertTicks(int count) {
+        String sql = "INSERT INTO prices (symbol_id, price, volume, timestamp, created_at) VALUES (?, ?, ?, ?, ?)";
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int batch = 10_000;
+        for (int from = 0; from < count; from += batch) {
+            List<Object[]> rows = new ArrayList<>(batch);
+            for (int i = from; i < Math.min(from + batch, count); i++) {
+                rows.add(new Object[]{symbol.getId(), BigDecimal.valueOf(10_050_000_000L + i, 8), 10L + i,
+                        Timestamp.valueOf(START.plusSeconds(i)), now});
+            }
+            jdbcTemplate.batchUpdate(sql, rows);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * Aruncă datele, numără liniile și măsoară heap-ul reținut la fiecare sampleEvery rânduri
+     */
+    private static final class HeapSamplingOutputStream extends OutputStream {
+        final List<Long> samples = new ArrayList<>();
+        final int sampleEvery;
+        long bytes;
+        long lines;
+
+        HeapSamplingOutputStream(int sampleEvery) {
+            this.sampleEvery = sampleEvery;
+        }
+
+        @Override
+        public void write(int b) {
+            count(b);
+        }
+
+        @Override
+        public void write(byte[] buffer, int offset, int length) {
+            for (int i = offset; i < offset + length; i++) {
+                count(buffer[i]);
+            }
+        }
+
+        private void count(int b) {
+            bytes++;
+            if (b == '\n' && ++lines % sampleEvery == 0) {
+                samples.add(usedHeapAfterGc());
+            }
+        }
+    }
+}
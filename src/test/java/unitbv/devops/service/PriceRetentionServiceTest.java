@@ -0,0 +1,123 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.configuration.RetentionProperties;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.PriceRollup;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRepository;
+import unitbv.devops.repository.PriceRollupRepository;
+import unitbv.devops.repository.SymbolRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PriceRetentionServiceTest extends DatabaseTestBase {
+
+    @Autowired
+    private PriceRetentionService priceRetentionService;
+
+    @Autowired
+    private RetentionProperties retentionProperties;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private PriceRollupRepository priceRollupRepository;
+
+    private Symbol symbol;
+    private int originalBatchSize;
+    private Duration originalBatchPause;
+
+    @BeforeEach
+    public void setUp() {
+        symbol = symbolRepository.save(new Symbol("RETX", "Retention Test Symbol", "RETENTION_TEST"));
+        originalBatchSize = retentionProperties.getBatchSize();
+        originalBatchPause = retentionProperties.getBatchPause();
+        // Batch mic ca să forțăm mai multe tranzacții și un bucket împărțit între batch-uri
+        retentionProperties.setBatchSize(7);
+        retentionProperties.setBatchPause(Duration.ZERO);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        retentionProperties.setBatchSize(originalBatchSize);
+        retentionProperties.setBatchPause(originalBatchPause);
+        priceRollupRepository.deleteAll(priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(
+                symbol, retentionProperties.getRollupMinutes()));
+        priceRepository.deleteAll(priceRepository.findBySymbolOrderByTimestampDesc(symbol));
+        symbolRepository.delete(symbol);
+    }
+
+    @Test
+    public void testExpiredTicksAreRolledUpAndDeleted() {
+        LocalDateTime hour = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.HOURS);
+
+        // 12 tick-uri în prima oră, 8 în a doua
+        for (int i = 0; i < 12; i++) {
+            priceRepository.save(new Price(symbol, new BigDecimal(100 + i), 10L, hour.plusMinutes(i * 5)));
+        }
+        for (int i = 0; i < 8; i++) {
+            priceRepository.save(new Price(symbol, new BigDecimal(200 - i), 5L, hour.plusHours(1).plusMinutes(i * 5)));
+        }
+        // Tick recent care trebuie păstrat
+        priceRepository.save(new Price(symbol, new BigDecimal("300"), 1L, LocalDateTime.now().minusHours(1)));
+
+        long purged = priceRetentionService.purgeSymbol(symbol, LocalDateTime.now().minusDays(7));
+
+        assertEquals(20, purged, "All expired ticks should be purged");
+        List<Price> remaining = priceRepository.findBySymbolOrderByTimestampDesc(symbol);
+        assertEquals(1, remaining.size(), "Only the recent tick should remain");
+
+        List<PriceRollup> rollups = priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(
+                symbol, retentionProperties.getRollupMinutes());
+        assertEquals(2, rollups.size(), "One rollup per hour");
+
+        PriceRollup first = rollups.get(0);
+        assertEquals(hour, first.getBucketStart());
+        assertEquals(0, new BigDecimal("100").compareTo(first.getOpenPrice()));
+        assertEquals(0, new BigDecimal("111").compareTo(first.getClosePrice()));
+        assertEquals(0, new BigDecimal("111").compareTo(first.getHighPrice()));
+        assertEquals(0, new BigDecimal("100").compareTo(first.getLowPrice()));
+        assertEquals(120L, first.getVolume());
+        assertEquals(12L, first.getTickCount());
+
+        PriceRollup second = rollups.get(1);
+        assertEquals(0, new BigDecimal("200").compareTo(second.getOpenPrice()));
+        assertEquals(0, new BigDecimal("193").compareTo(second.getClosePrice()));
+        assertEquals(40L, second.getVolume());
+        assertEquals(8L, second.getTickCount());
+    }
+
+    @Test
+    public void testLateTickMergesIntoExistingRollup() {
+        LocalDateTime hour = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.HOURS);
+        priceRepository.save(new Price(symbol, new BigDecimal("50"), 1L, hour.plusMinutes(10)));
+        priceRepository.save(new Price(symbol, new BigDecimal("55"), 1L, hour.plusMinutes(20)));
+        priceRetentionService.purgeSymbol(symbol, LocalDateTime.now().minusDays(7));
+
+        // Un tick întârziat, mai vechi decât open-ul existent, ajunge după agregare
+        priceRepository.save(new Price(symbol, new BigDecimal("45"), 1L, hour.plusMinutes(1)));
+        priceRetentionService.purgeSymbol(symbol, LocalDateTime.now().minusDays(7));
+
+        List<PriceRollup> rollups = priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(
+                symbol, retentionProperties.getRollupMinutes());
+        assertEquals(1, rollups.size());
+        assertEquals(0, new BigDecimal("45").compareTo(rollups.get(0).getOpenPrice()), "Earliest tick is the open");
+        assertEquals(0, new BigDecimal("55").compareTo(rollups.get(0).getClosePrice()), "Close is unchanged");
+        assertEquals(3L, rollups.get(0).getTickCount());
+    }
+}
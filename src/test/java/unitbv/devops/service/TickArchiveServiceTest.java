@@ -0,0 +1,101 @@
+package unitbv.devops.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import unitbv.devops.DatabaseTestBase;
+import unitbv.devops.configuration.ArchiveProperties;
+import unitbv.devops.dto.PriceHistoryDTO;
+import unitbv.devops.entity.Price;
+import unitbv.devops.entity.Symbol;
+import unitbv.devops.repository.PriceRepository;
+import unitbv.devops.repository.PriceRollupRepository;
+import unitbv.devops.repository.SymbolRepository;
+import unitbv.devops.storage.TickArchive;
+import unitbv.devops.util.FixedPoint;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickArchiveServiceTest extends DatabaseTestBase {
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Autowired
+    private TickArchiveService tickArchiveService;
+
+    @Autowired
+    private TickArchive tickArchive;
+
+    @Autowired
+    private ArchiveProperties archiveProperties;
+
+    @Autowired
+    private PriceService priceService;
+
+    @Autowired
+    private SymbolRepository symbolRepository;
+
+    @Autowired
+    private PriceRepository priceRepository;
+
+    @Autowired
+    private PriceRollupRepository priceRollupRepository;
+
+    private Symbol symbol;
+
+    @BeforeEach
+    public void setUp() {
+        archiveProperties.setEnabled(true);
+        archiveProperties.setDirectory(archiveDirectory.toString());
+        symbol = symbolRepository.save(new Symbol("ARCX", "Archive Test Symbol", "ARCHIVE_TEST"));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        archiveProperties.setEnabled(false);
+        priceRollupRepository.deleteAll(priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(symbol, 60));
+        priceRepository.deleteAll(priceRepository.findBySymbolOrderByTimestampDesc(symbol));
+        symbolRepository.delete(symbol);
+    }
+
+    @Test
+    public void testColdDaysMoveToArchiveAndStayQueryable() {
+        LocalDateTime coldDay = LocalDateTime.now().minusDays(10).truncatedTo(ChronoUnit.DAYS);
+        for (int i = 0; i < 30; i++) {
+            priceRepository.save(new Price(symbol, new BigDecimal("10.5").add(BigDecimal.valueOf(i)), 100L + i,
+                    coldDay.plusHours(i % 2).plusDays(i / 10).plusMinutes(i)));
+        }
+        priceRepository.save(new Price(symbol, new BigDecimal("99.99"), 1L, LocalDateTime.now().minusMinutes(5)));
+
+        long archived = tickArchiveService.archiveSymbol(symbol, LocalDateTime.now().minusDays(3).truncatedTo(ChronoUnit.DAYS));
+
+        assertEquals(30, archived);
+        assertEquals(3, tickArchive.listDays("ARCX").size(), "One chunk file per day");
+        assertEquals(1, priceRepository.findBySymbolOrderByTimestampDesc(symbol).size(), "Only the hot tick stays in the database");
+        assertFalse(priceRollupRepository.findBySymbolAndResolutionMinutesOrderByBucketStartAsc(symbol, 60).isEmpty(),
+                "Archived ticks are rolled up");
+
+        PriceHistoryDTO range = priceService.getPriceHistory("ARCX", coldDay, LocalDateTime.now(), null);
+        assertEquals(31, range.getPrices().size(), "Range queries read archived chunks transparently");
+        assertEquals(FixedPoint.parse("10.5"), range.getPrices().get(0).getPrice());
+
+        PriceHistoryDTO latestFirst = priceService.getPriceHistory("ARCX", null, null, 5);
+        assertEquals(FixedPoint.parse("99.99"), latestFirst.getPrices().get(0).getPrice());
+        assertEquals(5, latestFirst.getPrices().size());
+
+        // Limita trece peste granița dintre zile: aceleași tick-uri ca istoricul complet, fără a citi toată arhiva
+        PriceHistoryDTO everything = priceService.getPriceHistory("ARCX", null, null, null);
+        assertEquals(31, everything.getPrices().size());
+        assertEquals(everything.getPrices().subList(0, 15), priceService.getPriceHistory("ARCX", null, null, 15).getPrices());
+        assertEquals(everything.getPrices().subList(0, 1), priceService.getPriceHistory("ARCX", null, null, 1).getPrices(),
+                "A limit filled by the database does not touch the archive");
+    }
+}
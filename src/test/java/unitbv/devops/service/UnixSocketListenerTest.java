@@ -0,0 +1,193 @@
+package unitbv.devops.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import unitbv.devops.configuration.IpcProperties;
+import unitbv.devops.dto.AlertDTO;
+import unitbv.devops.dto.AnalysisResultDTO;
+import unitbv.devops.ipc.IpcMessages;
+import unitbv.devops.util.FixedPoint;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class UnixSocketListenerTest {
+
+    private static final String SECRET = "uds-test-secret";
+    private static final LocalDateTime START = LocalDateTime.of(2026, 7, 1, 12, 0);
+    private static final int RESULTS = 10_000;
+
+    @TempDir
+    Path directory;
+
+    private AnalysisResultService analysisResultService;
+    private AlertCoalescer alertCoalescer;
+    private SimpleMeterRegistry meterRegistry;
+    private UnixSocketListener listener;
+    private Path socket;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        analysisResultService = mock(AnalysisResultService.class);
+        alertCoalescer = mock(AlertCoalescer.class);
+        socket = directory.resolve("internal.sock");
+
+        IpcProperties properties = new IpcProperties();
+        properties.getSocket().setEnabled(true);
+        properties.getSocket().setPath(socket.toString());
+        properties.getSocket().setAuthTimeout(Duration.ofMillis(300));
+        properties.getSocket().setMaxConnections(2);
+        meterRegistry = new SimpleMeterRegistry();
+        listener = new UnixSocketListener(properties,
+                new IpcMessageHandler(analysisResultService, alertCoalescer, meterRegistry), SECRET, meterRegistry);
+        listener.start();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        listener.stop();
+    }
+
+    @Test
+    public void testWrongSecretIsRejectedOnce() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            write(channel, frame("wrong".getBytes(StandardCharsets.UTF_8)));
+            assertEquals(0, readAck(channel));
+
+            ByteBuffer eof = ByteBuffer.allocate(1);
+            assertEquals(-1, channel.read(eof), "The connection is closed after a bad secret");
+        }
+        verify(analysisResultService, never()).record(any());
+    }
+
+    @Test
+    public void testFramesAreDispatchedAfterOneHandshake() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            write(channel, frame(SECRET.getBytes(StandardCharsets.UTF_8)));
+            assertEquals(1, readAck(channel));
+
+            long started = System.nanoTime();
+            // Cadrele sunt trimise în blocuri care taie cadre la mijloc
+            ByteBuffer batch = ByteBuffer.allocate(64 * 1024).order(ByteOrder.nativeOrder());
+            for (int i = 0; i < RESULTS; i++) {
+                byte[] record = IpcMessages.encodeAnalysisResult(new AnalysisResultDTO(
+                        "UDSX", FixedPoint.ONE * i, FixedPoint.ONE * i, FixedPoint.ONE * i, (long) i, START.plusSeconds(i), 5));
+                if (batch.remaining() < Integer.BYTES + record.length) {
+                    batch.flip();
+                    write(channel, batch);
+                    batch.clear();
+                }
+                batch.putInt(record.length).put(record);
+            }
+            write(channel, frame(IpcMessages.encodeAlert(
+                    new AlertDTO(null, "UDSX", "SPIKE_UP", new BigDecimal("5.00000000"), START, "uds", false))));
+            batch.flip();
+            write(channel, batch);
+
+            ArgumentCaptor<AlertDTO> alert = ArgumentCaptor.forClass(AlertDTO.class);
+            verify(alertCoalescer, timeout(10_000)).submit(alert.capture());
+            System.out.printf("%n✅ %,d analysis results over the Unix socket in %d ms%n",
+                    RESULTS, (System.nanoTime() - started) / 1_000_000);
+            assertEquals("SPIKE_UP", alert.getValue().getAlertType());
+        }
+        ArgumentCaptor<AnalysisResultDTO> results = ArgumentCaptor.forClass(AnalysisResultDTO.class);
+        verify(analysisResultService, timeout(10_000).times(RESULTS)).record(results.capture());
+        AnalysisResultDTO last = results.getAllValues().get(RESULTS - 1);
+        assertEquals(FixedPoint.ONE * (RESULTS - 1), last.getSma());
+        assertEquals(START.plusSeconds(RESULTS - 1), last.getTimestamp());
+    }
+
+    @Test
+    public void testConnectionWithoutSecretIsClosedAtAuthDeadline() throws IOException {
+        try (SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            channel.connect(UnixDomainSocketAddress.of(socket));
+            long started = System.nanoTime();
+            assertEquals(-1, readAck(channel), "No secret, no acknowledgement");
+            assertTrue(System.nanoTime() - started < 5_000_000_000L);
+        }
+        assertEquals(1.0, meterRegistry.get("ipc.socket.connections.rejected").counter().count());
+    }
+
+    @Test
+    public void testConnectionsOverTheLimitAreClosed() throws Exception {
+        try (SocketChannel first = authenticated(); SocketChannel second = authenticated();
+             SocketChannel third = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            third.connect(UnixDomainSocketAddress.of(socket));
+            assertEquals(-1, third.read(ByteBuffer.allocate(1)), "Closed right after accept");
+            assertEquals(2, listener.getConnectionCount());
+            assertEquals(1.0, meterRegistry.get("ipc.socket.connections.refused").counter().count());
+        }
+    }
+
+    @Test
+    public void testRecordWithStringLengthsPastTheFrameIsRejected() throws IOException {
+        byte[] forged = IpcMessages.encodeAlert(new AlertDTO(null, "UDSX", "SPIKE_UP", BigDecimal.ONE, START, "forged", false));
+        ByteBuffer.wrap(forged).order(ByteOrder.nativeOrder()).putInt(12, 1_000_000);
+        byte[] valid = IpcMessages.encodeAlert(new AlertDTO(null, "UDSX", "SPIKE_DOWN", BigDecimal.ONE, START, "valid", false));
+
+        try (SocketChannel channel = authenticated()) {
+            write(channel, frame(forged));
+            write(channel, frame(new byte[]{2, 0}));
+            write(channel, frame(valid));
+
+            ArgumentCaptor<AlertDTO> alert = ArgumentCaptor.forClass(AlertDTO.class);
+            verify(alertCoalescer, timeout(5_000)).submit(alert.capture());
+            assertEquals("SPIKE_DOWN", alert.getValue().getAlertType(), "The connection keeps reading after a bad record");
+        }
+        verify(alertCoalescer, times(1)).submit(any());
+        assertEquals(2.0, meterRegistry.get("ipc.messages.rejected").counter().count());
+    }
+
+    private SocketChannel authenticated() throws IOException {
+        SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.connect(UnixDomainSocketAddress.of(socket));
+        write(channel, frame(SECRET.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(1, readAck(channel));
+        return channel;
+    }
+
+    private static ByteBuffer frame(byte[] payload) {
+        ByteBuffer frame = ByteBuffer.allocate(Integer.BYTES + payload.length).order(ByteOrder.nativeOrder());
+        frame.putInt(payload.length).put(payload).flip();
+        return frame;
+    }
+
+    private static void write(SocketChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static int readAck(SocketChannel channel) throws IOException {
+        ByteBuffer ack = ByteBuffer.allocate(1);
+        while (ack.hasRemaining()) {
+            if (channel.read(ack) < 0) {
+                return -1;
+            }
+        }
+        return ack.get(0);
+    }
+}
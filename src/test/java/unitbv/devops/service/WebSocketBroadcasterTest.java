@@ -0,0 +1,148 @@
+package unitbv.devops.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+import unitbv.devops.dto.PriceDTO;
+import unitbv.devops.util.FixedPoint;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Broker-ul simplu real, cu canale sincrone: tot lucrul unui broadcast (serializare, fan-out, copierea antetelor
+ * pentru fiecare sesiune) se face pe firul testului, deci timpul CPU al firului e costul broadcast-ului
+ */
+public class WebSocketBroadcasterTest {
+
+    private static final int[] SUBSCRIBERS = {1, 100, 10_000};
+    private static final int DELIVERIES_PER_SIZE = 400_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final List<Message<?>> delivered = new ArrayList<>();
+    private SimpleBrokerMessageHandler broker;
+    private SimpMessagingTemplate messagingTemplate;
+    private WebSocketBroadcaster broadcaster;
+    private boolean recording;
+
+    @AfterEach
+    public void tearDown() {
+        if (broker != null) {
+            broker.stop();
+        }
+    }
+
+    @Test
+    public void testPayloadIsSerializedOnceForAllDestinationsAndSubscribers() throws Exception {
+        setUp(50);
+        PriceDTO price = tick(1);
+
+        recording = true;
+        broadcaster.broadcast(price, "/topic/prices", "/topic/prices/BTC");
+
+        assertEquals(100, delivered.size(), "Every session is subscribed to both topics");
+        Set<Object> payloads = Collections.newSetFromMap(new IdentityHashMap<>());
+        delivered.forEach(message -> payloads.add(message.getPayload()));
+        assertEquals(1, payloads.size(), "All sessions share the same encoded bytes");
+
+        JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsBytes(price));
+        assertEquals(expected, objectMapper.readTree((byte[]) delivered.get(0).getPayload()));
+        assertEquals("application/json", delivered.get(0).getHeaders().get(MessageHeaders.CONTENT_TYPE).toString());
+    }
+
+    @Test
+    public void testBroadcastCpuAcrossSubscriberCounts() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.out.println("\nCPU per price broadcast (/topic/prices + /topic/prices/{symbol}):");
+        for (int subscribers : SUBSCRIBERS) {
+            setUp(subscribers);
+            int broadcasts = Math.max(40, DELIVERIES_PER_SIZE / (2 * subscribers));
+            PriceDTO price = tick(2);
+
+            // Încălzire pentru ambele căi, apoi măsurare alternativă
+            run(broadcasts, price, false);
+            run(broadcasts, price, true);
+            long started = threads.getCurrentThreadCpuTime();
+            run(broadcasts, price, false);
+            long convertAndSend = threads.getCurrentThreadCpuTime() - started;
+            started = threads.getCurrentThreadCpuTime();
+            run(broadcasts, price, true);
+            long serializeOnce = threads.getCurrentThreadCpuTime() - started;
+
+            System.out.printf("  %,6d subscribers: convertAndSend %,9.1f µs, serialize-once %,9.1f µs%n",
+                    subscribers, convertAndSend / 1e3 / broadcasts, serializeOnce / 1e3 / broadcasts);
+            broker.stop();
+        }
+        broker = null;
+    }
+
+    private void run(int broadcasts, PriceDTO price, boolean serializeOnce) {
+        for (int i = 0; i < broadcasts; i++) {
+            if (serializeOnce) {
+                broadcaster.broadcast(price, "/topic/prices", "/topic/prices/BTC");
+            } else {
+                messagingTemplate.convertAndSend("/topic/prices", price);
+                messagingTemplate.convertAndSend("/topic/prices/BTC", price);
+            }
+        }
+    }
+
+    private void setUp(int subscribers) {
+        ExecutorSubscribableChannel clientInbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel clientOutbound = new ExecutorSubscribableChannel();
+        ExecutorSubscribableChannel brokerChannel = new ExecutorSubscribableChannel();
+        clientOutbound.subscribe(message -> {
+            if (recording) {
+                delivered.add(message);
+            }
+        });
+        broker = new SimpleBrokerMessageHandler(clientInbound, clientOutbound, brokerChannel, List.of("/topic"));
+        broker.start();
+        for (int i = 0; i < subscribers; i++) {
+            String sessionId = "session-" + i;
+            SimpMessageHeaderAccessor connect = SimpMessageHeaderAccessor.create(SimpMessageType.CONNECT);
+            connect.setSessionId(sessionId);
+            connect.setHeader(SimpMessageHeaderAccessor.HEART_BEAT_HEADER, new long[]{0, 0});
+            broker.handleMessage(MessageBuilder.createMessage(new byte[0], connect.getMessageHeaders()));
+            subscribe(sessionId, "/topic/prices");
+            subscribe(sessionId, "/topic/prices/BTC");
+        }
+
+        MappingJackson2MessageConverter converter = new MappingJackson2MessageConverter();
+        converter.setObjectMapper(objectMapper);
+        messagingTemplate = new SimpMessagingTemplate(brokerChannel);
+        messagingTemplate.setMessageConverter(converter);
+        broadcaster = new WebSocketBroadcaster(messagingTemplate, objectMapper, new SimpleMeterRegistry());
+    }
+
+    private void subscribe(String sessionId, String destination) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.SUBSCRIBE);
+        accessor.setSessionId(sessionId);
+        accessor.setSubscriptionId(destination);
+        accessor.setDestination(destination);
+        broker.handleMessage(MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders()));
+    }
+
+    private static PriceDTO tick(long id) {
+        return new PriceDTO(id, "BTC", FixedPoint.ONE * 64_250, 3L, LocalDateTime.of(2026, 8, 3, 9, 0));
+    }
+}
@@ -0,0 +1,93 @@
+package unitbv.devops.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import unitbv.devops.configuration.ArchiveProperties;
+import unitbv.devops.util.FixedPoint;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickChunkCodecTest {
+
+    @TempDir
+    Path archiveDirectory;
+
+    @Test
+    public void testRoundTripPreservesEveryColumn() {
+        TickChunk chunk = randomWalk(10_000, 42);
+
+        TickChunk decoded = TickChunkCodec.decode(TickChunkCodec.encode(chunk));
+
+        assertEquals(chunk.size(), decoded.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            assertEquals(chunk.id(i), decoded.id(i));
+            assertEquals(chunk.timestamp(i), decoded.timestamp(i));
+            assertEquals(chunk.price(i), decoded.price(i));
+            assertEquals(chunk.volume(i), decoded.volume(i));
+        }
+    }
+
+    @Test
+    public void testEncodingIsCompact() {
+        TickChunk chunk = randomWalk(100_000, 7);
+        byte[] encoded = TickChunkCodec.encode(chunk);
+
+        double bytesPerTick = (double) encoded.length / chunk.size();
+        System.out.println("\n✅ Tick chunk encoding: " + String.format("%.2f", bytesPerTick) + " bytes/tick");
+        // Un rând în tabela prices ocupă peste 100 de bytes cu tot cu indexuri
+        assertTrue(bytesPerTick < 12, "Expected under 12 bytes per tick, got " + bytesPerTick);
+    }
+
+    @Test
+    public void testCorruptedChunkIsRejected() {
+        byte[] encoded = TickChunkCodec.encode(randomWalk(100, 1));
+        encoded[encoded.length / 2] ^= 0x5A;
+
+        assertThrows(IllegalArgumentException.class, () -> TickChunkCodec.decode(encoded));
+    }
+
+    @Test
+    public void testTimestampConversions() {
+        LocalDateTime timestamp = LocalDateTime.of(2026, 1, 2, 10, 15, 30, 123_456_000);
+        assertEquals(timestamp, TickChunk.fromMicros(TickChunk.toMicros(timestamp)));
+    }
+
+    @Test
+    public void testRewritingADayDoesNotDuplicateTicks() {
+        ArchiveProperties properties = new ArchiveProperties();
+        properties.setDirectory(archiveDirectory.toString());
+        TickArchive archive = new TickArchive(properties);
+        LocalDate day = LocalDate.of(2026, 1, 2);
+
+        TickChunk first = randomWalk(50, 3);
+        archive.writeDay("BTC", day, first);
+        // Arhivare reluată după crash: aceleași tick-uri plus unul întârziat
+        TickChunk retry = randomWalk(50, 3);
+        retry.add(first.id(49) + 1, first.timestamp(49) + 1, first.price(49), 1);
+        archive.writeDay("BTC", day, retry);
+
+        TickChunk stored = archive.readDay("BTC", day);
+        assertEquals(51, stored.size());
+        assertEquals(1, archive.listDays("BTC").size());
+        assertEquals(1, archive.deleteDaysBefore("BTC", day.plusDays(1)));
+        assertNull(archive.readDay("BTC", day));
+    }
+
+    private static TickChunk randomWalk(int count, long seed) {
+        Random random = new Random(seed);
+        TickChunk chunk = new TickChunk(count);
+        long timestamp = TickChunk.toMicros(LocalDateTime.of(2026, 1, 2, 0, 0));
+        long price = FixedPoint.parse("42500.50");
+        for (int i = 0; i < count; i++) {
+            timestamp += 1_000_000L + random.nextInt(1000);
+            price += (random.nextInt(201) - 100) * 1_000_000L;
+            chunk.add(1000 + i * 3L, timestamp, price, 100 + random.nextInt(900));
+        }
+        return chunk;
+    }
+}
@@ -0,0 +1,149 @@
+package unitbv.devops.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TickJournalTest {
+
+    private static final int SEGMENT_RECORDS = 128;
+    private static final long START = 1_767_225_600_000_000L; // 2026-01-01T00:00Z în micros
+
+    @TempDir
+    Path journalDirectory;
+
+    @Test
+    public void testRangeQueriesAcrossSegments() {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            for (int i = 0; i < 1000; i++) {
+                assertEquals(i, journal.append(START + i * 1_000_000L, 4_250_000_000_000L + i, 10 + i));
+            }
+
+            List<Long> sequences = new ArrayList<>();
+            journal.scan(START + 100_000_000L, START + 299_000_000L, (sequence, ts, price, volume) -> sequences.add(sequence));
+            assertEquals(200, sequences.size());
+            assertEquals(100L, sequences.get(0));
+            assertEquals(299L, sequences.get(199));
+
+            List<Long> latest = new ArrayList<>();
+            journal.scanLatest(3, (sequence, ts, price, volume) -> latest.add(sequence));
+            assertEquals(List.of(999L, 998L, 997L), latest);
+        }
+        assertEquals(8, segmentFiles().size(), "1000 records over 128-record segments");
+    }
+
+    @Test
+    public void testReopenRecoversAllCommittedRecords() {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(START + i, i, i);
+            }
+        }
+
+        try (TickJournal reopened = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            assertEquals(300, reopened.size());
+            assertEquals(300, reopened.append(START + 300, 300, 300), "Appends continue after the last record");
+        }
+    }
+
+    @Test
+    public void testTornTailRecordIsTruncated() throws IOException {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(START + i, 100 + i, 1);
+            }
+        }
+
+        // Crash în mijlocul scrierii: payload-ul recordului 10 e pe disc, checksum-ul și markerul nu
+        Path active = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE)) {
+            ByteBuffer torn = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+            torn.putLong(START + 10).putLong(110).flip();
+            channel.write(torn, 10L * TickJournal.RECORD_SIZE);
+        }
+
+        try (TickJournal reopened = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            assertEquals(10, reopened.size(), "The torn record is dropped");
+            assertEquals(10, reopened.append(START + 20, 120, 2));
+            List<Long> prices = new ArrayList<>();
+            reopened.scanLatest(1, (sequence, ts, price, volume) -> prices.add(price));
+            assertEquals(List.of(120L), prices, "The slot of the torn record is reused cleanly");
+        }
+    }
+
+    @Test
+    public void testCorruptedRecordWithMarkerIsTruncated() throws IOException {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            for (int i = 0; i < 10; i++) {
+                journal.append(START + i, 100 + i, 1);
+            }
+        }
+
+        // Markerul a ajuns pe disc, dar prețul ultimului record nu: checksum-ul nu mai corespunde
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            ByteBuffer garbage = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            garbage.putLong(0xDEADBEEFL).flip();
+            channel.write(garbage, 9L * TickJournal.RECORD_SIZE + 8);
+        }
+
+        try (TickJournal reopened = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            assertEquals(9, reopened.size());
+        }
+    }
+
+    @Test
+    public void testOutOfOrderTicksAreStillFound() {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            journal.append(START + 10, 1, 1);
+            journal.append(START + 30, 2, 1);
+            journal.append(START + 20, 3, 1); // tick întârziat
+            journal.append(START + 40, 4, 1);
+
+            List<Long> prices = new ArrayList<>();
+            journal.scan(START + 15, START + 25, (sequence, ts, price, volume) -> prices.add(price));
+            assertEquals(List.of(3L), prices);
+        }
+    }
+
+    @Test
+    public void testExpiredSegmentsCanBeDropped() {
+        try (TickJournal journal = TickJournal.open(journalDirectory, SEGMENT_RECORDS)) {
+            for (int i = 0; i < 300; i++) {
+                journal.append(START + i, i, 1);
+            }
+
+            List<Long> expired = journal.expiredSegments(START + 200);
+            assertEquals(List.of(0L), expired, "Only full segments entirely before the cutoff expire");
+            assertEquals(SEGMENT_RECORDS, journal.readSegment(0).size());
+
+            journal.dropSegment(0);
+            assertEquals(300 - SEGMENT_RECORDS, journal.size());
+            assertEquals(300, journal.nextSequence(), "Sequence numbers are never reused");
+        }
+    }
+
+    @Test
+    public void testSegmentSizeMustBePageAligned() {
+        assertThrows(IllegalArgumentException.class, () -> TickJournal.open(journalDirectory, 100));
+    }
+
+    private List<Path> segmentFiles() {
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            return files.sorted().toList();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
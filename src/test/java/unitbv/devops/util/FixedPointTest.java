@@ -0,0 +1,119 @@
+package unitbv.devops.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import unitbv.devops.dto.PriceDTO;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FixedPointTest {
+
+    private static final int TICKS = 200_000;
+
+    @Test
+    public void testParseAndFormat() {
+        assertEquals(4_250_012_345_678L, FixedPoint.parse("42500.12345678"));
+        assertEquals(150 * FixedPoint.ONE, FixedPoint.parse("150"));
+        assertEquals(-5_000_000L, FixedPoint.parse("-0.05"));
+        assertEquals(2L, FixedPoint.parse("0.000000015"), "Extra decimals round half-up");
+        assertEquals(FixedPoint.parse("1500"), FixedPoint.parse("1.5E3"));
+        assertThrows(NumberFormatException.class, () -> FixedPoint.parse("12a.5"));
+        assertThrows(ArithmeticException.class, () -> FixedPoint.parse("999999999999999"));
+
+        assertEquals("42500.12345678", FixedPoint.toString(4_250_012_345_678L));
+        assertEquals("150", FixedPoint.toString(150 * FixedPoint.ONE));
+        assertEquals("-0.05", FixedPoint.toString(-5_000_000L));
+        assertEquals("0", FixedPoint.toString(0));
+    }
+
+    @Test
+    public void testBigDecimalBoundary() {
+        BigDecimal price = new BigDecimal("142.50");
+        assertEquals(0, price.compareTo(FixedPoint.toBigDecimal(FixedPoint.of(price))));
+        assertEquals(FixedPoint.of(new BigDecimal("10.123456789")), FixedPoint.parse("10.123456789"));
+        assertEquals(3, FixedPoint.divide(10, 4), "2.5 rounds half-up");
+        assertEquals(-3, FixedPoint.divide(-10, 4));
+    }
+
+    @Test
+    public void testJsonKeepsDecimalNumbers() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        PriceDTO dto = new PriceDTO(1L, "BTC", FixedPoint.parse("42500.5"), 10L, LocalDateTime.of(2026, 1, 2, 10, 0));
+
+        String json = mapper.writeValueAsString(dto);
+        assertTrue(json.contains("\"price\":42500.5"), json);
+
+        PriceDTO parsed = mapper.readValue("{\"symbolCode\":\"BTC\",\"price\":42500.50000000,\"volume\":10}", PriceDTO.class);
+        assertEquals(dto.getPrice(), parsed.getPrice());
+        assertEquals(FixedPoint.parse("0.1"), mapper.readValue("{\"price\":\"0.1\"}", PriceDTO.class).getPrice());
+    }
+
+    @Test
+    public void testIngestAndAggregationAllocateLessThanBigDecimal() {
+        char[][] wire = new char[TICKS][];
+        Random random = new Random(11);
+        for (int i = 0; i < TICKS; i++) {
+            wire[i] = String.format("%d.%08d", 40_000 + random.nextInt(5000), random.nextInt(100_000_000)).toCharArray();
+        }
+
+        // Încălzire, ca JIT-ul să compileze ambele variante înainte de măsurare
+        for (int round = 0; round < 3; round++) {
+            bigDecimalPipeline(wire);
+            fixedPointPipeline(wire);
+        }
+
+        long before = allocatedBytes();
+        BigDecimal expected = bigDecimalPipeline(wire);
+        long bigDecimalBytes = allocatedBytes() - before;
+
+        before = allocatedBytes();
+        long actual = fixedPointPipeline(wire);
+        long fixedPointBytes = allocatedBytes() - before;
+
+        System.out.println("\n✅ Parse + sum/min/max/average over " + TICKS + " ticks");
+        System.out.println("   BigDecimal:  " + bigDecimalBytes / TICKS + " bytes/tick");
+        System.out.println("   Fixed-point: " + fixedPointBytes / TICKS + " bytes/tick");
+
+        assertEquals(FixedPoint.of(expected), actual, "Both pipelines compute the same average");
+        assertTrue(fixedPointBytes * 10 < bigDecimalBytes,
+                "Expected at least 10x fewer allocated bytes, got " + fixedPointBytes + " vs " + bigDecimalBytes);
+    }
+
+    private static BigDecimal bigDecimalPipeline(char[][] wire) {
+        BigDecimal sum = BigDecimal.ZERO;
+        BigDecimal min = null;
+        BigDecimal max = null;
+        for (char[] text : wire) {
+            BigDecimal price = new BigDecimal(text).setScale(FixedPoint.SCALE, RoundingMode.HALF_UP);
+            sum = sum.add(price);
+            min = min == null || price.compareTo(min) < 0 ? price : min;
+            max = max == null || price.compareTo(max) > 0 ? price : max;
+        }
+        assertTrue(min.compareTo(max) <= 0);
+        return sum.divide(BigDecimal.valueOf(wire.length), FixedPoint.SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static long fixedPointPipeline(char[][] wire) {
+        long sum = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (char[] text : wire) {
+            long price = FixedPoint.parse(text, 0, text.length);
+            sum += price;
+            min = Math.min(min, price);
+            max = Math.max(max, price);
+        }
+        assertTrue(min <= max);
+        return FixedPoint.divide(sum, wire.length);
+    }
+
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+}
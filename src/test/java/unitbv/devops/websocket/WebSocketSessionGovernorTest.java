@@ -0,0 +1,209 @@
+package unitbv.devops.websocket;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketMessage;
+import org.springframework.web.socket.WebSocketSession;
+import unitbv.devops.configuration.WebSocketSessionProperties;
+import unitbv.devops.configuration.WebSocketSessionProperties.OverflowPolicy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Sesiunea reală e un mock al cărui sendMessage rămâne blocat până la deschiderea porții, ca un client lent:
+ * primul cadru intră în scriere, restul se adună în coada sesiunii guvernate
+ */
+public class WebSocketSessionGovernorTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+    private final CountDownLatch inFlight = new CountDownLatch(1);
+    private final CountDownLatch gate = new CountDownLatch(1);
+    private WebSocketSessionGovernor governor;
+    private WebSocketSession delegate;
+
+    @AfterEach
+    public void tearDown() {
+        gate.countDown();
+        if (governor != null) {
+            governor.shutdown();
+        }
+    }
+
+    @Test
+    public void testConflateKeepsLatestFramePerDestinationAndEveryLosslessFrame() throws Exception {
+        List<TextMessage> frames = List.of(frame("/topic/prices/BTC", "p2"), frame("/topic/prices/ETH", "e1"),
+                frame("/topic/ticks/BTC", "t1"), frame("/topic/prices/batch", "b1"), frame("/topic/prices/BTC", "p3"),
+                frame("/topic/ticks/BTC", "t2"), frame("/topic/prices/batch", "b2"));
+        // Limita e depășită doar de ultimul cadru
+        long limit = frames.stream().mapToLong(TextMessage::getPayloadLength).sum() - 1;
+        GovernedWebSocketSession session = open(OverflowPolicy.CONFLATE, DataSize.ofBytes(limit), Duration.ofSeconds(10));
+        session.sendMessage(frame("/topic/prices/BTC", "p1"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        for (int i = 0; i < frames.size() - 1; i++) {
+            session.sendMessage(frames.get(i));
+        }
+        assertEquals(6, session.getQueueDepth(), "Under the limit nothing is conflated");
+        session.sendMessage(frames.get(frames.size() - 1));
+        assertEquals(6, session.getQueueDepth(), "BTC p2 is replaced by p3, ticks and batches are all kept");
+
+        gate.countDown();
+        awaitDelivered(7);
+        assertEquals(List.of("p1", "p3", "e1", "t1", "b1", "t2", "b2"), delivered,
+                "The conflated destination keeps its original place in the queue");
+        assertEquals(1.0, meterRegistry.get("websocket.sessions.dropped").tag("reason", "conflated").counter().count());
+        assertFalse(session.isEvicted());
+    }
+
+    @Test
+    public void testConflateKeepsEachSubscriptionOfADestination() throws Exception {
+        GovernedWebSocketSession session = open(OverflowPolicy.CONFLATE, DataSize.ofBytes(250), Duration.ofSeconds(10));
+        session.sendMessage(frame("/topic/prices/BTC", "sub-0", "p0"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        session.sendMessage(frame("/topic/prices/BTC", "sub-0", "a1"));
+        session.sendMessage(frame("/topic/prices/BTC", "sub-1", "b1"));
+        session.sendMessage(frame("/topic/prices/BTC", "sub-0", "a2"));
+        session.sendMessage(frame("/topic/prices/BTC", "sub-1", "b2"));
+        assertEquals(2, session.getQueueDepth(), "One frame per subscription once over the limit");
+
+        gate.countDown();
+        awaitDelivered(3);
+        assertEquals(List.of("p0", "a2", "b2"), delivered);
+    }
+
+    @Test
+    public void testDropOldestKeepsBufferUnderLimitAndDeliversNewestFrames() throws Exception {
+        GovernedWebSocketSession session = open(OverflowPolicy.DROP_OLDEST, DataSize.ofBytes(1024), Duration.ofSeconds(10));
+        session.sendMessage(frame("/topic/ticks/BTC", "t0"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 200; i++) {
+            session.sendMessage(frame("/topic/ticks/BTC", "t" + i));
+            assertTrue(session.getQueuedBytes() <= 1024, "Queued " + session.getQueuedBytes() + " bytes");
+        }
+        int queued = session.getQueueDepth();
+        assertTrue(queued > 1 && queued < 200);
+        assertEquals((double) (200 - queued), meterRegistry.get("websocket.session.dropped")
+                .tags("session", "s1", "reason", "dropped_oldest").functionCounter().count());
+
+        gate.countDown();
+        awaitDelivered(queued + 1);
+        assertEquals("t0", delivered.get(0));
+        assertEquals("t" + (201 - queued), delivered.get(1), "The oldest queued frames were dropped");
+        assertEquals("t200", delivered.get(delivered.size() - 1));
+    }
+
+    @Test
+    public void testDisconnectEvictsSessionOnceBufferIsFull() throws Exception {
+        GovernedWebSocketSession session = open(OverflowPolicy.DISCONNECT, DataSize.ofBytes(1024), Duration.ofSeconds(10));
+        session.sendMessage(frame("/topic/prices/BTC", "p0"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        for (int i = 1; i <= 200 && !session.isEvicted(); i++) {
+            session.sendMessage(frame("/topic/prices/BTC", "p" + i));
+        }
+        assertTrue(session.isEvicted());
+        assertEquals(0, session.getQueuedBytes(), "An evicted session releases its queue");
+        verify(delegate, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.get("websocket.sessions.evicted").tag("reason", "buffer").counter().count());
+
+        session.sendMessage(frame("/topic/prices/BTC", "late"));
+        assertEquals(0, session.getQueueDepth(), "Frames for an evicted session are discarded");
+    }
+
+    @Test
+    public void testSendBlockedPastTimeLimitEvictsSessionUnderAnyPolicy() throws Exception {
+        GovernedWebSocketSession session = open(OverflowPolicy.CONFLATE, DataSize.ofKilobytes(64), Duration.ofMillis(100));
+        session.sendMessage(frame("/topic/prices/BTC", "p0"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        Thread.sleep(250);
+        session.sendMessage(frame("/topic/prices/BTC", "p1"));
+
+        assertTrue(session.isEvicted());
+        verify(delegate, timeout(5000)).close(CloseStatus.SESSION_NOT_RELIABLE);
+        assertEquals(1.0, meterRegistry.get("websocket.sessions.evicted").tag("reason", "send_time").counter().count());
+    }
+
+    @Test
+    public void testStalledClientUsesBoundedMemoryAndMetersAreRemovedOnClose() throws Exception {
+        GovernedWebSocketSession session = open(OverflowPolicy.CONFLATE, DataSize.ofKilobytes(16), Duration.ofSeconds(10));
+        session.sendMessage(frame("/topic/prices/BTC", "p0"));
+        assertTrue(inFlight.await(5, TimeUnit.SECONDS));
+
+        long maxQueued = 0;
+        for (int i = 0; i < 100_000; i++) {
+            String destination = i % 10 == 0 ? "/topic/prices/batch" : "/topic/prices/SYM" + (i % 50);
+            session.sendMessage(frame(destination, "{\"sequence\":" + i + ",\"price\":6425000000000}"));
+            maxQueued = Math.max(maxQueued, session.getQueuedBytes());
+        }
+        System.out.printf("%nStalled client after 100k frames: %d queued frames, max %d bytes buffered%n",
+                session.getQueueDepth(), maxQueued);
+        assertTrue(maxQueued <= DataSize.ofKilobytes(16).toBytes(), "Buffered " + maxQueued + " bytes");
+        assertEquals(session.getQueueDepth(), meterRegistry.get("websocket.session.queue.depth").tag("session", "s1").gauge().value());
+
+        governor.unregister("s1");
+        assertNull(meterRegistry.find("websocket.session.queue.depth").tag("session", "s1").gauge());
+        assertTrue(governor.getSessions().isEmpty());
+    }
+
+    @Test
+    public void testDestinationIsReadOnlyFromMessageFrames() {
+        assertEquals("/topic/prices/BTC", GovernedWebSocketSession.messageDestination(frame("/topic/prices/BTC", "{}")));
+        assertNull(GovernedWebSocketSession.messageDestination(new TextMessage("CONNECTED\nversion:1.2\n\n\0")));
+        assertNull(GovernedWebSocketSession.messageDestination(new TextMessage("MESSAGE\nsubscription:sub-0\n\ndestination:/x\0")));
+    }
+
+    private GovernedWebSocketSession open(OverflowPolicy policy, DataSize bufferLimit, Duration sendTimeLimit) throws Exception {
+        WebSocketSessionProperties properties = new WebSocketSessionProperties();
+        properties.setEnabled(true);
+        properties.setOverflowPolicy(policy);
+        properties.setSendBufferSizeLimit(bufferLimit);
+        properties.setSendTimeLimit(sendTimeLimit);
+        governor = new WebSocketSessionGovernor(properties, meterRegistry);
+
+        delegate = mock(WebSocketSession.class);
+        when(delegate.getId()).thenReturn("s1");
+        doAnswer(invocation -> {
+            inFlight.countDown();
+            gate.await();
+            String frame = ((TextMessage) invocation.getArgument(0, WebSocketMessage.class)).getPayload();
+            delivered.add(frame.substring(frame.indexOf("\n\n") + 2, frame.length() - 1));
+            return null;
+        }).when(delegate).sendMessage(any());
+        return governor.register(new GovernedWebSocketSession(delegate, governor));
+    }
+
+    private void awaitDelivered(int frames) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (delivered.size() < frames && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(frames, delivered.size());
+    }
+
+    private static TextMessage frame(String destination, String body) {
+        return frame(destination, "sub-0", body);
+    }
+
+    private static TextMessage frame(String destination, String subscription, String body) {
+        return new TextMessage("MESSAGE\ndestination:" + destination + "\nsubscription:" + subscription
+                + "\nmessage-id:1\n\n" + body + "\0");
+    }
+}